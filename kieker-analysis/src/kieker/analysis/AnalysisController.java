@@ -382,6 +382,24 @@ public final class AnalysisController implements IAnalysisController { // NOPMD
 	@Override
 	public final void connect(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst, final String inputPortName)
 			throws IllegalStateException, AnalysisConfigurationException {
+		this.checkConnection(src, outputPortName, dst, inputPortName);
+		// Use the method of AbstractPlugin (This should be the only allowed call to this method) to check the connection.
+		AbstractPlugin.connect(src, outputPortName, dst, inputPortName); // throws AnalysisConfigurationException
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final void connect(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst, final String inputPortName,
+			final int queueCapacity, final int batchSize) throws IllegalStateException, AnalysisConfigurationException {
+		this.checkConnection(src, outputPortName, dst, inputPortName);
+		// Use the method of AbstractPlugin (This should be the only allowed call to this method) to check the connection.
+		AbstractPlugin.connectAsynchronously(src, outputPortName, dst, inputPortName, queueCapacity, batchSize); // throws AnalysisConfigurationException
+	}
+
+	private void checkConnection(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst, final String inputPortName)
+			throws IllegalStateException, AnalysisConfigurationException {
 		if (this.state != STATE.READY) {
 			throw new IllegalStateException("Unable to connect readers and filters after starting analysis.");
 		}
@@ -399,8 +417,6 @@ public final class AnalysisController implements IAnalysisController { // NOPMD
 		if (!this.filters.contains(dst)) {
 			throw new AnalysisConfigurationException("The plugin '" + dst.getName() + "' (" + dst.getPluginName() + ") is not registered.");
 		}
-		// Use the method of AbstractPlugin (This should be the only allowed call to this method) to check the connection.
-		AbstractPlugin.connect(src, outputPortName, dst, inputPortName); // throws AnalysisConfigurationException
 	}
 
 	/**
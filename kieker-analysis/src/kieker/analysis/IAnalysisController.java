@@ -111,6 +111,34 @@ public interface IAnalysisController extends IProjectContext {
 	public void connect(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst,
 			final String inputPortName) throws IllegalStateException, AnalysisConfigurationException;
 
+	/**
+	 * This method connects two plugins asynchronously. The data delivered via the connection is put into a bounded queue of the destination plugin and passed
+	 * to the input port by a separate thread, which decouples the source plugin from the destination plugin. A source plugin has to wait as long as the queue
+	 * is full. All asynchronous connections to the same destination plugin share the same queue and thread. On termination, the queued data is processed
+	 * before the destination plugin is terminated. The plugins have to be registered within this controller instance.
+	 * 
+	 * @param src
+	 *            The source plugin.
+	 * @param outputPortName
+	 *            The output port of the source plugin.
+	 * @param dst
+	 *            The destination plugin.
+	 * @param inputPortName
+	 *            The input port of the destination port.
+	 * @param queueCapacity
+	 *            The capacity of the queue of the destination plugin.
+	 * @param batchSize
+	 *            The maximal number of queued data passed to the destination plugin at once.
+	 * @throws IllegalStateException
+	 *             If this instance has already been started or has already been terminated.
+	 * @throws AnalysisConfigurationException
+	 *             If the port names, the given plugins, or the queue parameters are invalid or not compatible.
+	 * 
+	 * @since 1.13
+	 */
+	public void connect(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst, final String inputPortName, final int queueCapacity,
+			final int batchSize) throws IllegalStateException, AnalysisConfigurationException;
+
 	/**
 	 * Connects the given repository to this plugin via the given name.
 	 * 
@@ -35,6 +35,7 @@ import kieker.analysis.IProjectContext;
 import kieker.analysis.analysisComponent.AbstractAnalysisComponent;
 import kieker.analysis.display.annotation.Display;
 import kieker.analysis.exception.AnalysisConfigurationException;
+import kieker.analysis.plugin.OutputPortHandle.InputPortConnection;
 import kieker.analysis.plugin.annotation.InputPort;
 import kieker.analysis.plugin.annotation.OutputPort;
 import kieker.analysis.plugin.annotation.Plugin;
@@ -59,7 +60,7 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 
 	private final ConcurrentHashMap<String, List<PluginInputPortReference>> registeredMethods;
 	private final ConcurrentHashMap<String, AbstractRepository> registeredRepositories;
-	private final Map<OutputPort, Class<?>[]> outputPortTypes; // NOCS
+	private final Map<String, OutputPortHandle> outputPortHandles;
 	private final Map<String, RepositoryPort> repositoryPorts;
 	private final Map<String, OutputPort> outputPorts;
 	private final Map<String, InputPort> inputPorts;
@@ -68,6 +69,8 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 	private final List<AbstractPlugin> incomingPlugins;
 	private final List<AbstractPlugin> outgoingPlugins;
 	private volatile STATE state = STATE.READY;
+	// the queue of the asynchronous incoming connections (if any)
+	private volatile AsyncInputQueue asyncInputQueue;
 
 	/**
 	 * Each Plugin requires a constructor with a Configuration object and an IProjectContext.
@@ -84,7 +87,7 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 		// Get all repository and output ports.
 		this.repositoryPorts = new ConcurrentHashMap<String, RepositoryPort>();
 		this.outputPorts = new ConcurrentHashMap<String, OutputPort>();
-		this.outputPortTypes = new ConcurrentHashMap<OutputPort, Class<?>[]>(); // NOCS
+		this.outputPortHandles = new ConcurrentHashMap<String, OutputPortHandle>();
 		final Plugin annotation = this.getClass().getAnnotation(Plugin.class);
 		for (final RepositoryPort repoPort : annotation.repositoryPorts()) {
 			if (this.repositoryPorts.put(repoPort.name(), repoPort) != null) {
@@ -101,7 +104,7 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 				if (outTypes.length == 0) {
 					outTypes = new Class<?>[] { Object.class };
 				}
-				this.outputPortTypes.put(outputPort, outTypes);
+				this.outputPortHandles.put(outputPort.name(), new OutputPortHandle(outputPort.name(), outTypes));
 			}
 		} else {
 			// But inform the user about these invalid ports
@@ -169,6 +172,23 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 	 * @return true if and only if the given output port does exist and if the data is not null and if it suits the port's event types.
 	 */
 	protected final boolean deliver(final String outputPortName, final Object data) {
+		return this.deliver(this.outputPortHandles.get(outputPortName), data);
+	}
+
+	/**
+	 * Delivers the given data to all registered input ports of the given output port. In contrast to {@link #deliver(String, Object)}, the output port does not
+	 * have to be looked up by its name.
+	 * 
+	 * @param outputPort
+	 *            The output port to be used to send the given data, as returned by {@link #getOutputPortHandle(String)}.
+	 * @param data
+	 *            The data to be send; must not be null.
+	 * @return true if and only if the given output port does exist and if the data is not null and if it suits the port's event types and if it could be
+	 *         enqueued for all asynchronously connected input ports.
+	 * 
+	 * @since 1.13
+	 */
+	protected final boolean deliver(final OutputPortHandle outputPort, final Object data) {
 		if (((this.state != STATE.RUNNING) && (this.state != STATE.TERMINATING)) || (data == null)) {
 			return false;
 		}
@@ -177,62 +197,76 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 			((AnalysisController) this.projectContext).handleKiekerMetadataRecord((KiekerMetadataRecord) data);
 			return true;
 		}
-
-		// First step: Get the output port.
-		final OutputPort outputPort = this.outputPorts.get(outputPortName);
 		if (outputPort == null) {
 			return false;
 		}
 
-		// Second step: Check whether the data fits the event types.
-		final Class<?>[] outTypes = this.outputPortTypes.get(outputPort);
-		boolean outTypeMatch = false;
-		for (final Class<?> eventType : outTypes) {
-			if (eventType.isInstance(data)) {
-				outTypeMatch = true;
-				break; // for
-			}
-		}
-		if (!outTypeMatch) {
+		// The type checks of the output port and of the connected input ports are cached per class of the data.
+		final InputPortConnection[] inputPorts = outputPort.getInputPorts(data.getClass());
+		if (inputPorts == null) {
 			return false;
 		}
 
-		// Third step: Send everything to the registered ports.
-		final List<PluginInputPortReference> registeredMethodsOfPort = this.registeredMethods.get(outputPortName);
-
-		for (final PluginInputPortReference pluginInputPortReference : registeredMethodsOfPort) {
-			// Check whether the data fits the event types.
-			Class<?>[] eventTypes = pluginInputPortReference.getEventTypes();
-			if (eventTypes.length == 0) {
-				eventTypes = new Class<?>[] { Object.class };
+		// Send everything to the accepting ports.
+		boolean delivered = true;
+		for (final InputPortConnection inputPort : inputPorts) {
+			if (inputPort.asyncQueue == null) {
+				this.invokeInputPort(inputPort, data);
+			} else if (!inputPort.asyncQueue.enqueue(inputPort, data)) {
+				// the queue has been closed, i.e., the receiving plugin has been terminated or its consumer thread has died
+				this.log.error("Failed to deliver data from " + this.getClass().getName() + ": OutputPort " + inputPort.outputPortName + " to "
+						+ inputPort.reference.getPlugin().getClass().getName() + "'s InputPort " + inputPort.reference.getInputPortMethod().getName()
+						+ " asynchronously: the input queue has been closed");
+				delivered = false;
 			}
-			for (final Class<?> eventType : eventTypes) {
-				if (eventType.isAssignableFrom(data.getClass())) { // data instanceof eventType
-					try {
-						pluginInputPortReference.getInputPortMethod().invoke(pluginInputPortReference.getPlugin(), data);
-					} catch (final InvocationTargetException e) {
-						// This is an exception wrapped by invoke
-						final Throwable cause = e.getCause();
-						if (cause instanceof Error) {
-							// This is a severe case and there is little chance to terminate appropriately
-							throw (Error) cause;
-						} else {
-							this.log.warn("Caught exception when sending data from " + this.getClass().getName() + ": OutputPort " + outputPort.name()
-									+ " to "
-									+ pluginInputPortReference.getPlugin().getClass().getName() + "'s InputPort "
-									+ pluginInputPortReference.getInputPortMethod().getName(), cause);
-						}
-					} catch (final Exception e) { // NOPMD NOCS (catch multiple)
-						// This is an exception wrapped by invoke
-						this.log.error("Caught exception when invoking "
-								+ pluginInputPortReference.getPlugin().getClass().getName() + "'s InputPort "
-								+ pluginInputPortReference.getInputPortMethod().getName(), e);
-					}
-					break; // for
-				}
+		}
+		return delivered;
+	}
+
+	/**
+	 * Passes the given data to the input port of the given connection.
+	 * 
+	 * @param inputPort
+	 *            The connection to the input port.
+	 * @param data
+	 *            The data to be send.
+	 */
+	final void invokeInputPort(final InputPortConnection inputPort, final Object data) {
+		final PluginInputPortReference pluginInputPortReference = inputPort.reference;
+		try {
+			pluginInputPortReference.getInputPortMethod().invoke(pluginInputPortReference.getPlugin(), data);
+		} catch (final InvocationTargetException e) {
+			// This is an exception wrapped by invoke
+			final Throwable cause = e.getCause();
+			if (cause instanceof Error) {
+				// This is a severe case and there is little chance to terminate appropriately
+				throw (Error) cause;
+			} else {
+				this.log.warn("Caught exception when sending data from " + inputPort.source.getClass().getName() + ": OutputPort " + inputPort.outputPortName
+						+ " to "
+						+ pluginInputPortReference.getPlugin().getClass().getName() + "'s InputPort "
+						+ pluginInputPortReference.getInputPortMethod().getName(), cause);
 			}
+		} catch (final Exception e) { // NOPMD NOCS (catch multiple)
+			// This is an exception wrapped by invoke
+			this.log.error("Caught exception when invoking "
+					+ pluginInputPortReference.getPlugin().getClass().getName() + "'s InputPort "
+					+ pluginInputPortReference.getInputPortMethod().getName(), e);
 		}
-		return true;
+	}
+
+	/**
+	 * Delivers the handle of the given output port, which can be used to deliver data via {@link #deliver(OutputPortHandle, Object)}. The handle stays valid
+	 * for the whole lifetime of this plugin, i.e., it can be obtained once in the constructor of the plugin.
+	 * 
+	 * @param outputPortName
+	 *            The name of the output port.
+	 * @return The handle of the output port or null if the output port does not exist.
+	 * 
+	 * @since 1.13
+	 */
+	protected final OutputPortHandle getOutputPortHandle(final String outputPortName) {
+		return this.outputPortHandles.get(outputPortName);
 	}
 
 	/**
@@ -281,10 +315,62 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 	 */
 	public static final void connect(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst, final String inputPortName) throws
 			AnalysisConfigurationException {
+		AbstractPlugin.connect(src, outputPortName, dst, inputPortName, 0, 0);
+	}
+
+	/**
+	 * This method connects two plugins asynchronously: The data delivered via the connection is put into a bounded queue of the destination plugin and passed
+	 * to the input port by a separate thread. All asynchronous connections to the same destination plugin share the same queue and thread. <b>DO NOT USE THIS
+	 * METHOD!</b> Use <code>AnalysisController.connect</code> instead!
+	 * 
+	 * @param src
+	 *            The source plugin.
+	 * @param outputPortName
+	 *            The output port of the source plugin.
+	 * @param dst
+	 *            The destination plugin.
+	 * @param inputPortName
+	 *            The input port of the destination port.
+	 * @param queueCapacity
+	 *            The capacity of the queue of the destination plugin; a delivering plugin waits as long as the queue is full.
+	 * @param batchSize
+	 *            The maximal number of queued data passed to the destination plugin at once.
+	 * @throws AnalysisConfigurationException
+	 *             if any given plugin is invalid, any output or input port doesn't exist or if they are incompatible. Furthermore the destination plugin must
+	 *             not be a reader and the queue parameters must be positive and equal to the ones of previous asynchronous connections to the destination
+	 *             plugin.
+	 * 
+	 * @since 1.13
+	 */
+	public static final void connectAsynchronously(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst, final String inputPortName,
+			final int queueCapacity, final int batchSize) throws AnalysisConfigurationException {
+		if ((queueCapacity <= 0) || (batchSize <= 0)) {
+			throw new AnalysisConfigurationException("Failed to connect plugin '" + src.getName() + "' (" + src.getPluginName() + ") to plugin '"
+					+ dst.getName() + "' (" + dst.getPluginName() + "). Queue capacity and batch size must be positive.");
+		}
+		AbstractPlugin.connect(src, outputPortName, dst, inputPortName, queueCapacity, batchSize);
+	}
+
+	private static void connect(final AbstractPlugin src, final String outputPortName, final AbstractPlugin dst, final String inputPortName,
+			final int queueCapacity, final int batchSize) throws AnalysisConfigurationException {
 		if (!AbstractPlugin.isConnectionAllowed(src, outputPortName, dst, inputPortName)) {
 			throw new AnalysisConfigurationException("Failed to connect plugin '" + src.getName() + "' (" + src.getPluginName() + ") to plugin '"
 					+ dst.getName() + "' (" + dst.getPluginName() + ").");
 		}
+		AsyncInputQueue asyncQueue = null;
+		if (queueCapacity > 0) {
+			synchronized (dst) {
+				asyncQueue = dst.asyncInputQueue;
+				if (asyncQueue == null) {
+					asyncQueue = new AsyncInputQueue(dst, queueCapacity, batchSize);
+					dst.asyncInputQueue = asyncQueue;
+				} else if ((asyncQueue.getQueueCapacity() != queueCapacity) || (asyncQueue.getBatchSize() != batchSize)) {
+					throw new AnalysisConfigurationException("Failed to connect plugin '" + src.getName() + "' (" + src.getPluginName() + ") to plugin '"
+							+ dst.getName() + "' (" + dst.getPluginName() + "). The plugin is already connected asynchronously with a queue capacity of "
+							+ asyncQueue.getQueueCapacity() + " and a batch size of " + asyncQueue.getBatchSize() + ".");
+				}
+			}
+		}
 		// Connect the ports.
 		for (final Method m : dst.getClass().getMethods()) {
 			final InputPort ip = m.getAnnotation(InputPort.class);
@@ -297,7 +383,10 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 						return null;
 					}
 				});
-				src.registeredMethods.get(outputPortName).add(new PluginInputPortReference(dst, inputPortName, m, dst.inputPorts.get(inputPortName).eventTypes()));
+				final PluginInputPortReference inputPortReference = new PluginInputPortReference(dst, inputPortName, m, dst.inputPorts.get(inputPortName)
+						.eventTypes());
+				src.registeredMethods.get(outputPortName).add(inputPortReference);
+				src.outputPortHandles.get(outputPortName).addConnection(new InputPortConnection(src, outputPortName, inputPortReference, asyncQueue));
 				src.outgoingPlugins.add(dst);
 				dst.incomingPlugins.add(src);
 
@@ -553,7 +642,13 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 			return false;
 		}
 		this.state = STATE.RUNNING;
-		return this.init();
+		if (!this.init()) {
+			return false;
+		}
+		if (this.asyncInputQueue != null) {
+			this.asyncInputQueue.start();
+		}
+		return true;
 	}
 
 	/**
@@ -575,6 +670,10 @@ public abstract class AbstractPlugin extends AbstractAnalysisComponent implement
 			plugin.shutdown(error);
 		}
 		// when we arrive here, all incoming plugins are terminated!
+		if (this.asyncInputQueue != null) {
+			// on a regular termination, the asynchronously delivered data is processed before
+			this.asyncInputQueue.terminate(error);
+		}
 		this.terminate(error);
 		if (error) {
 			this.state = STATE.FAILED;
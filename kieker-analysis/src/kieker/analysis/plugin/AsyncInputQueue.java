@@ -0,0 +1,173 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import kieker.analysis.plugin.OutputPortHandle.InputPortConnection;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+
+/**
+ * The bounded queue of a plugin which is connected asynchronously to (some of) its sources. The data delivered via asynchronous connections is enqueued by
+ * the delivering threads and passed to the input ports of the plugin by a dedicated consumer thread, which takes the data from the queue in batches. A
+ * delivering thread is blocked as long as the queue is full (back-pressure).
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+final class AsyncInputQueue implements Runnable {
+	private static final Log LOG = LogFactory.getLog(AsyncInputQueue.class);
+
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+	private static final Delivery END_OF_DATA = new Delivery(null, null);
+
+	private final AbstractPlugin plugin;
+	private final BlockingQueue<Delivery> queue;
+	private final int queueCapacity;
+	private final int batchSize;
+	private final Thread thread;
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new queue for the given plugin. The consumer thread is not started before {@link #start()} is called.
+	 *
+	 * @param plugin
+	 *            The plugin whose input ports are called by the consumer thread.
+	 * @param queueCapacity
+	 *            The maximal number of queued deliveries.
+	 * @param batchSize
+	 *            The maximal number of deliveries taken from the queue at once.
+	 */
+	AsyncInputQueue(final AbstractPlugin plugin, final int queueCapacity, final int batchSize) {
+		this.plugin = plugin;
+		this.queue = new ArrayBlockingQueue<Delivery>(queueCapacity);
+		this.queueCapacity = queueCapacity;
+		this.batchSize = batchSize;
+		// not a daemon: the queued data must not be dropped silently when the JVM exits before the plugin is terminated
+		this.thread = new Thread(this, "AsyncInputQueue-" + plugin.getName());
+	}
+
+	int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	int getBatchSize() {
+		return this.batchSize;
+	}
+
+	void start() {
+		this.thread.start();
+	}
+
+	/**
+	 * Enqueues the given data for the given input port, waiting as long as the queue is full.
+	 *
+	 * @param inputPort
+	 *            The connection to the input port of the plugin which receives the data.
+	 * @param data
+	 *            The data to deliver.
+	 * @return true if and only if the data has been enqueued, i.e., the queue has not been closed.
+	 */
+	boolean enqueue(final InputPortConnection inputPort, final Object data) {
+		final Delivery delivery = new Delivery(inputPort, data);
+		try {
+			// the queue is closed while a full queue is waited for if the plugin is terminated concurrently
+			while (!this.closed) {
+				if (this.queue.offer(delivery, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+			}
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	/**
+	 * Stops the consumer thread and waits for it. On a regular termination, the data queued so far is passed to the plugin before; otherwise it is discarded.
+	 *
+	 * @param error
+	 *            Whether the plugin is terminated due to an error.
+	 */
+	void terminate(final boolean error) {
+		if (!this.thread.isAlive()) {
+			this.closed = true;
+			return;
+		}
+		if (error) {
+			this.queue.clear();
+		}
+		try {
+			// the consumer thread keeps removing data, hence the marker is enqueued eventually
+			this.queue.put(END_OF_DATA);
+			this.thread.join();
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			LOG.warn("Interrupted while waiting for the queued data of plugin '" + this.plugin.getName() + "' to be processed", ex);
+		} finally {
+			this.closed = true;
+			this.queue.clear();
+		}
+	}
+
+	@Override
+	public void run() {
+		final List<Delivery> batch = new ArrayList<Delivery>(this.batchSize);
+		try {
+			while (true) {
+				batch.add(this.queue.take());
+				this.queue.drainTo(batch, this.batchSize - 1);
+				for (final Delivery delivery : batch) {
+					if (delivery == END_OF_DATA) { // NOPMD (CompareObjectsWithEquals)
+						return;
+					}
+					this.plugin.invokeInputPort(delivery.inputPort, delivery.data);
+				}
+				batch.clear();
+			}
+		} catch (final InterruptedException ex) {
+			LOG.warn("Consumer thread of plugin '" + this.plugin.getName() + "' interrupted", ex);
+		} finally {
+			this.closed = true;
+		}
+	}
+
+	/**
+	 * A single queued delivery.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class Delivery {
+		final InputPortConnection inputPort; // NOCS
+		final Object data; // NOCS
+
+		public Delivery(final InputPortConnection inputPort, final Object data) {
+			this.inputPort = inputPort;
+			this.data = data;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import kieker.analysis.plugin.IPlugin.PluginInputPortReference;
+
+/**
+ * A pre-resolved output port of a plugin. It holds the input ports connected to the output port and caches, per concrete class of the delivered data, whether
+ * the data suits the output port and which of the connected input ports accept it. Plugins can obtain a handle once via
+ * {@link AbstractPlugin#getOutputPortHandle(String)} and deliver data via {@link AbstractPlugin#deliver(OutputPortHandle, Object)} without looking up the
+ * port by its name for each delivery.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class OutputPortHandle {
+
+	private static final InputPortConnection[] NO_INPUT_PORTS = new InputPortConnection[0];
+	// marks data types which do not suit the output port (null is not allowed as value of a ConcurrentHashMap)
+	private static final InputPortConnection[] REJECTED = new InputPortConnection[0];
+
+	private final String name;
+	private final Class<?>[] eventTypes;
+	private final ConcurrentHashMap<Class<?>, InputPortConnection[]> inputPortsByDataType = new ConcurrentHashMap<Class<?>, InputPortConnection[]>();
+	private volatile InputPortConnection[] connectedInputPorts = NO_INPUT_PORTS;
+
+	/**
+	 * Creates a new handle of an output port without any connections.
+	 *
+	 * @param name
+	 *            The name of the output port.
+	 * @param eventTypes
+	 *            The event types of the output port; must not be empty.
+	 */
+	OutputPortHandle(final String name, final Class<?>[] eventTypes) {
+		this.name = name;
+		this.eventTypes = eventTypes;
+	}
+
+	/**
+	 * @return The name of the output port.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Connects the given input port to this output port. Connections are only established before the plugins are started.
+	 *
+	 * @param inputPort
+	 *            The input port to connect.
+	 */
+	void addConnection(final InputPortConnection inputPort) {
+		synchronized (this) {
+			final InputPortConnection[] oldInputPorts = this.connectedInputPorts;
+			final InputPortConnection[] newInputPorts = new InputPortConnection[oldInputPorts.length + 1];
+			System.arraycopy(oldInputPorts, 0, newInputPorts, 0, oldInputPorts.length);
+			newInputPorts[oldInputPorts.length] = inputPort;
+			this.connectedInputPorts = newInputPorts;
+			this.inputPortsByDataType.clear();
+		}
+	}
+
+	/**
+	 * Delivers the connected input ports accepting data of the given type.
+	 *
+	 * @param dataType
+	 *            The concrete class of the data to deliver.
+	 * @return The input ports the data has to be delivered to or null if the data does not suit the event types of the output port.
+	 */
+	InputPortConnection[] getInputPorts(final Class<?> dataType) {
+		InputPortConnection[] inputPorts = this.inputPortsByDataType.get(dataType);
+		if (inputPorts == null) {
+			inputPorts = this.resolveInputPorts(dataType);
+			this.inputPortsByDataType.put(dataType, inputPorts);
+		}
+		if (inputPorts == REJECTED) { // NOPMD (CompareObjectsWithEquals)
+			return null;
+		}
+		return inputPorts;
+	}
+
+	private InputPortConnection[] resolveInputPorts(final Class<?> dataType) {
+		if (!OutputPortHandle.isAccepted(this.eventTypes, dataType)) {
+			return REJECTED;
+		}
+		final List<InputPortConnection> inputPorts = new ArrayList<InputPortConnection>(1);
+		for (final InputPortConnection inputPort : this.connectedInputPorts) {
+			final Class<?>[] inputEventTypes = inputPort.reference.getEventTypes();
+			if ((inputEventTypes.length == 0) || OutputPortHandle.isAccepted(inputEventTypes, dataType)) {
+				inputPorts.add(inputPort);
+			}
+		}
+		return inputPorts.toArray(new InputPortConnection[inputPorts.size()]);
+	}
+
+	/**
+	 * A connection of the output port to an input port, which is either synchronous or decoupled via the queue of the receiving plugin.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	static final class InputPortConnection {
+		final AbstractPlugin source; // NOCS
+		final String outputPortName; // NOCS
+		final PluginInputPortReference reference; // NOCS
+		final AsyncInputQueue asyncQueue; // NOCS (null for synchronous connections)
+
+		public InputPortConnection(final AbstractPlugin source, final String outputPortName, final PluginInputPortReference reference,
+				final AsyncInputQueue asyncQueue) {
+			this.source = source;
+			this.outputPortName = outputPortName;
+			this.reference = reference;
+			this.asyncQueue = asyncQueue;
+		}
+	}
+
+	private static boolean isAccepted(final Class<?>[] eventTypes, final Class<?> dataType) {
+		for (final Class<?> eventType : eventTypes) {
+			if (eventType.isAssignableFrom(dataType)) { // data instanceof eventType
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -16,19 +16,19 @@
 
 package kieker.analysis.plugin.filter.flow;
 
-import java.io.Serializable;
-import java.util.Comparator;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import kieker.analysis.IProjectContext;
+import kieker.analysis.plugin.OutputPortHandle;
 import kieker.analysis.plugin.annotation.InputPort;
 import kieker.analysis.plugin.annotation.OutputPort;
 import kieker.analysis.plugin.annotation.Plugin;
@@ -82,7 +82,21 @@ import kieker.common.record.flow.trace.operation.object.BeforeOperationObjectEve
 					defaultValue = EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_VALUE_MAX_TIME),
 			@Property(
 					name = EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_REPAIR_EVENT_BASED_TRACES,
-					defaultValue = "false") })
+					defaultValue = "false"),
+			@Property(
+					name = EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_PERIODIC_TIMEOUT_ONLY,
+					defaultValue = "false",
+					description = "Determines whether timed out traces are only searched for upon the timestamps received via the timestamps input port "
+							+ "instead of upon each incoming record"),
+			@Property(
+					name = EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_NUMBER_OF_WORKERS,
+					defaultValue = "0",
+					description = "The number of worker threads reconstructing the traces in parallel, each responsible for a share of the trace ids "
+							+ "(0 reconstructs the traces in the thread delivering the records)"),
+			@Property(
+					name = EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_WORKER_QUEUE_CAPACITY,
+					defaultValue = "8192",
+					description = "The capacity of the record queue of each worker thread") })
 public final class EventRecordTraceReconstructionFilter extends AbstractFilterPlugin {
 	/**
 	 * The name of the output port delivering the valid traces.
@@ -130,15 +144,42 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 	 * whether to repair BeforeEvents with missing AfterEvents (e.g. because of software crash) or not.
 	 */
 	public static final String CONFIG_PROPERTY_NAME_REPAIR_EVENT_BASED_TRACES = "repairEventBasedTraces";
+	/**
+	 * The name of the property determining whether timed out traces are only searched for upon the timestamps received via {@link #INPUT_PORT_NAME_TIME_EVENT}.
+	 * 
+	 * @since 1.13
+	 */
+	public static final String CONFIG_PROPERTY_NAME_PERIODIC_TIMEOUT_ONLY = "periodicTimeoutOnly";
+	/**
+	 * The name of the property determining the number of worker threads reconstructing the traces in parallel (0 reconstructs them in the calling thread).
+	 * 
+	 * @since 1.13
+	 */
+	public static final String CONFIG_PROPERTY_NAME_NUMBER_OF_WORKERS = "numberOfWorkers";
+	/**
+	 * The name of the property determining the capacity of the record queue of each worker thread.
+	 * 
+	 * @since 1.13
+	 */
+	public static final String CONFIG_PROPERTY_NAME_WORKER_QUEUE_CAPACITY = "workerQueueCapacity";
+
+	private static final Object END_OF_RECORDS = new Object();
 
 	private final TimeUnit timeunit;
 	private final long maxTraceDuration;
 	private final long maxTraceTimeout;
 	private final boolean timeout;
 	private final boolean repairEventBasedTracesEnabled;
-	private long maxEncounteredLoggingTimestamp = -1;
+	private final boolean periodicTimeoutOnly;
+	private final int numberOfWorkers;
+	private final int workerQueueCapacity;
 
-	private final Map<Long, TraceBuffer> traceId2trace;
+	// a single shard in the sequential mode, one shard per worker in the parallel mode
+	private final TraceShard[] shards;
+	private final ReconstructionWorker[] workers;
+	private final Object outputLock = new Object();
+	private final OutputPortHandle validTracesOutputPort;
+	private final OutputPortHandle invalidTracesOutputPort;
 
 	/**
 	 * Creates a new instance of this class using the given parameters.
@@ -152,6 +193,8 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 		super(configuration, projectContext);
 
 		this.timeunit = super.recordsTimeUnitFromProjectContext;
+		this.validTracesOutputPort = this.getOutputPortHandle(OUTPUT_PORT_NAME_TRACE_VALID);
+		this.invalidTracesOutputPort = this.getOutputPortHandle(OUTPUT_PORT_NAME_TRACE_INVALID);
 
 		final String configTimeunitProperty = configuration.getStringProperty(CONFIG_PROPERTY_NAME_TIMEUNIT);
 		TimeUnit configTimeunit;
@@ -167,7 +210,35 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 		this.maxTraceDuration = this.timeunit.convert(configuration.getLongProperty(CONFIG_PROPERTY_NAME_MAX_TRACE_DURATION), configTimeunit);
 		this.maxTraceTimeout = this.timeunit.convert(configuration.getLongProperty(CONFIG_PROPERTY_NAME_MAX_TRACE_TIMEOUT), configTimeunit);
 		this.timeout = !((this.maxTraceTimeout == Long.MAX_VALUE) && (this.maxTraceDuration == Long.MAX_VALUE));
-		this.traceId2trace = new ConcurrentHashMap<Long, TraceBuffer>();
+		this.periodicTimeoutOnly = configuration.getBooleanProperty(CONFIG_PROPERTY_NAME_PERIODIC_TIMEOUT_ONLY);
+		this.numberOfWorkers = Math.max(0, configuration.getIntProperty(CONFIG_PROPERTY_NAME_NUMBER_OF_WORKERS));
+		this.workerQueueCapacity = configuration.getIntProperty(CONFIG_PROPERTY_NAME_WORKER_QUEUE_CAPACITY);
+
+		if (this.numberOfWorkers > 0) {
+			this.shards = new TraceShard[this.numberOfWorkers];
+			this.workers = new ReconstructionWorker[this.numberOfWorkers];
+			for (int i = 0; i < this.numberOfWorkers; i++) {
+				// each shard is only accessed by its worker
+				this.shards[i] = new TraceShard(new HashMap<Long, TraceBuffer>());
+				this.workers[i] = new ReconstructionWorker(this.shards[i], new ArrayBlockingQueue<Object>(this.workerQueueCapacity), i);
+			}
+		} else {
+			this.shards = new TraceShard[] { new TraceShard(new ConcurrentHashMap<Long, TraceBuffer>()) };
+			this.workers = null; // NOPMD (sequential mode)
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean init() {
+		if (this.workers != null) {
+			for (final ReconstructionWorker worker : this.workers) {
+				worker.start();
+			}
+		}
+		return super.init();
 	}
 
 	/**
@@ -181,10 +252,12 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 			description = "Input port for a periodic time signal",
 			eventTypes = { Long.class })
 	public void newEvent(final Long timestamp) {
-		synchronized (this) {
-			if (this.timeout) {
-				this.processTimeoutQueue(timestamp);
+		if (this.workers != null) {
+			for (final ReconstructionWorker worker : this.workers) {
+				worker.enqueue(timestamp);
 			}
+		} else {
+			this.processTimestamp(this.shards[0], timestamp);
 		}
 	}
 
@@ -219,19 +292,45 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 			description = "Reconstruct traces from incoming flow records",
 			eventTypes = { TraceMetadata.class, AbstractTraceEvent.class })
 	public void newEvent(final IFlowRecord record) {
+		if (this.workers != null) {
+			final long traceId;
+			if (record instanceof TraceMetadata) {
+				traceId = ((TraceMetadata) record).getTraceId();
+			} else if (record instanceof AbstractTraceEvent) {
+				traceId = ((AbstractTraceEvent) record).getTraceId();
+			} else {
+				return; // invalid type which should not happen due to the specified eventTypes
+			}
+			// all records of a trace are processed by the same worker
+			final int hash = (int) (traceId ^ (traceId >>> 32));
+			this.workers[(hash & Integer.MAX_VALUE) % this.workers.length].enqueue(record);
+		} else {
+			this.processRecord(this.shards[0], record);
+		}
+	}
+
+	private void processTimestamp(final TraceShard shard, final long timestamp) {
+		synchronized (shard) {
+			if (this.timeout) {
+				this.processTimeoutQueue(shard, timestamp);
+			}
+		}
+	}
+
+	private void processRecord(final TraceShard shard, final IFlowRecord record) {
 		final Long traceId;
 		TraceBuffer traceBuffer;
 		final long loggingTimestamp;
 		if (record instanceof TraceMetadata) {
 			traceId = ((TraceMetadata) record).getTraceId();
-			traceBuffer = this.traceId2trace.get(traceId);
+			traceBuffer = shard.traceId2trace.get(traceId);
 			if (traceBuffer == null) { // first record for this id!
-				synchronized (this) {
-					traceBuffer = this.traceId2trace.get(traceId);
+				synchronized (shard) {
+					traceBuffer = shard.traceId2trace.get(traceId);
 					if (traceBuffer == null) { // NOCS (DCL)
 						traceBuffer = new TraceBuffer();
 						traceBuffer.setRepairEventBasedTracesEnabled(this.repairEventBasedTracesEnabled);
-						this.traceId2trace.put(traceId, traceBuffer);
+						shard.traceId2trace.put(traceId, traceBuffer);
 					}
 				}
 			}
@@ -239,14 +338,14 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 			loggingTimestamp = -1;
 		} else if (record instanceof AbstractTraceEvent) {
 			traceId = ((AbstractTraceEvent) record).getTraceId();
-			traceBuffer = this.traceId2trace.get(traceId);
+			traceBuffer = shard.traceId2trace.get(traceId);
 			if (traceBuffer == null) { // first record for this id!
-				synchronized (this) {
-					traceBuffer = this.traceId2trace.get(traceId);
+				synchronized (shard) {
+					traceBuffer = shard.traceId2trace.get(traceId);
 					if (traceBuffer == null) { // NOCS (DCL)
 						traceBuffer = new TraceBuffer();
 						traceBuffer.setRepairEventBasedTracesEnabled(this.repairEventBasedTracesEnabled);
-						this.traceId2trace.put(traceId, traceBuffer);
+						shard.traceId2trace.put(traceId, traceBuffer);
 					}
 				}
 			}
@@ -255,19 +354,25 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 		} else {
 			return; // invalid type which should not happen due to the specified eventTypes
 		}
-		if (traceBuffer.isFinished()) {
-			synchronized (this) { // has to be synchronized because of timeout cleanup
-				this.traceId2trace.remove(traceId);
+		final boolean finished = traceBuffer.isFinished();
+		if (finished) {
+			synchronized (shard) { // has to be synchronized because of timeout cleanup
+				shard.traceId2trace.remove(traceId);
 			}
-			super.deliver(OUTPUT_PORT_NAME_TRACE_VALID, traceBuffer.toTraceEvents());
+			this.deliverTrace(this.validTracesOutputPort, traceBuffer);
 		}
 		if (this.timeout) {
-			synchronized (this) {
-				// can we assume a rough order of logging timestamps? (yes, except with DB reader)
-				if (loggingTimestamp > this.maxEncounteredLoggingTimestamp) {
-					this.maxEncounteredLoggingTimestamp = loggingTimestamp;
+			synchronized (shard) {
+				if (!finished) {
+					this.scheduleTimeout(shard, traceId, traceBuffer);
+				}
+				if (!this.periodicTimeoutOnly) {
+					// can we assume a rough order of logging timestamps? (yes, except with DB reader)
+					if (loggingTimestamp > shard.maxEncounteredLoggingTimestamp) {
+						shard.maxEncounteredLoggingTimestamp = loggingTimestamp;
+					}
+					this.processTimeoutQueue(shard, shard.maxEncounteredLoggingTimestamp);
 				}
-				this.processTimeoutQueue(this.maxEncounteredLoggingTimestamp);
 			}
 		}
 	}
@@ -277,40 +382,97 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 	 */
 	@Override
 	public void terminate(final boolean error) {
-		synchronized (this) {
-			for (final Entry<Long, TraceBuffer> entry : this.traceId2trace.entrySet()) {
-				final TraceBuffer traceBuffer = entry.getValue();
-				if (this.repairEventBasedTracesEnabled && !traceBuffer.getEventStack().isEmpty()) {
-					traceBuffer.repairAllBeforeEventsLeftInStackAtTermination();
+		if (this.workers != null) {
+			// the workers process all records received so far before they terminate
+			for (final ReconstructionWorker worker : this.workers) {
+				worker.enqueue(END_OF_RECORDS);
+			}
+			try {
+				for (final ReconstructionWorker worker : this.workers) {
+					worker.join();
 				}
-				if (traceBuffer.isInvalid()) {
-					super.deliver(OUTPUT_PORT_NAME_TRACE_INVALID, traceBuffer.toTraceEvents());
-				} else {
-					super.deliver(OUTPUT_PORT_NAME_TRACE_VALID, traceBuffer.toTraceEvents());
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				this.log.warn("Interrupted while waiting for the reconstruction workers to terminate", ex);
+			}
+		}
+		for (final TraceShard shard : this.shards) {
+			synchronized (shard) {
+				for (final Entry<Long, TraceBuffer> entry : shard.traceId2trace.entrySet()) {
+					final TraceBuffer traceBuffer = entry.getValue();
+					if (this.repairEventBasedTracesEnabled && !traceBuffer.getEventStack().isEmpty()) {
+						traceBuffer.repairAllBeforeEventsLeftInStackAtTermination();
+					}
+					if (traceBuffer.isInvalid()) {
+						this.deliverTrace(this.invalidTracesOutputPort, traceBuffer);
+					} else {
+						this.deliverTrace(this.validTracesOutputPort, traceBuffer);
+					}
 				}
+				shard.traceId2trace.clear();
+				shard.timeoutQueue.clear();
+			}
+		}
+	}
+
+	private void deliverTrace(final OutputPortHandle outputPort, final TraceBuffer traceBuffer) {
+		if (this.workers != null) {
+			synchronized (this.outputLock) { // the traces of all workers are merged onto the same output ports
+				super.deliver(outputPort, traceBuffer.toTraceEvents());
 			}
-			this.traceId2trace.clear();
+		} else {
+			super.deliver(outputPort, traceBuffer.toTraceEvents());
 		}
 	}
 
 	// only called within synchronized! We assume timestamps >= 0
-	private void processTimeoutQueue(final long timestamp) {
-		final long duration = timestamp - this.maxTraceDuration;
-		final long traceTimeout = timestamp - this.maxTraceTimeout;
-		for (final Iterator<Entry<Long, TraceBuffer>> iterator = this.traceId2trace.entrySet().iterator(); iterator.hasNext();) {
-			final TraceBuffer traceBuffer = iterator.next().getValue();
-			if ((traceBuffer.getMaxLoggingTimestamp() <= traceTimeout) // long time no see
-					|| (traceBuffer.getMinLoggingTimestamp() <= duration)) { // max duration is gone
-				if (traceBuffer.isInvalid()) {
-					super.deliver(OUTPUT_PORT_NAME_TRACE_INVALID, traceBuffer.toTraceEvents());
-				} else {
-					super.deliver(OUTPUT_PORT_NAME_TRACE_VALID, traceBuffer.toTraceEvents());
-				}
-				iterator.remove();
+	private void processTimeoutQueue(final TraceShard shard, final long timestamp) {
+		while (!shard.timeoutQueue.isEmpty() && (shard.timeoutQueue.peek().timeoutTimestamp <= timestamp)) {
+			final TimeoutEntry entry = shard.timeoutQueue.poll();
+			final TraceBuffer traceBuffer = shard.traceId2trace.get(entry.traceId);
+			if ((traceBuffer == null) || (traceBuffer.scheduledTimeoutTimestamp != entry.timeoutTimestamp)) {
+				continue; // the trace has been finished or the entry is outdated
+			}
+			// the timeout is only rescheduled lazily when it has been postponed by newer events
+			final long timeoutTimestamp = this.getTimeoutTimestamp(traceBuffer);
+			if (timeoutTimestamp > timestamp) {
+				traceBuffer.scheduledTimeoutTimestamp = Long.MAX_VALUE;
+				this.scheduleTimeout(shard, entry.traceId, traceBuffer);
+				continue;
+			}
+			shard.traceId2trace.remove(entry.traceId);
+			if (traceBuffer.isInvalid()) {
+				this.deliverTrace(this.invalidTracesOutputPort, traceBuffer);
+			} else {
+				this.deliverTrace(this.validTracesOutputPort, traceBuffer);
 			}
 		}
 	}
 
+	// only called within synchronized!
+	private void scheduleTimeout(final TraceShard shard, final Long traceId, final TraceBuffer traceBuffer) {
+		final long timeoutTimestamp = this.getTimeoutTimestamp(traceBuffer);
+		// a later timeout (which is the usual case for new events) is detected when the earlier one is reached
+		if (timeoutTimestamp < traceBuffer.scheduledTimeoutTimestamp) {
+			traceBuffer.scheduledTimeoutTimestamp = timeoutTimestamp;
+			shard.timeoutQueue.add(new TimeoutEntry(timeoutTimestamp, traceId));
+		}
+	}
+
+	// a trace times out as soon as its max logging timestamp is maxTraceTimeout ago (long time no see)
+	// or its min logging timestamp is maxTraceDuration ago (max duration is gone)
+	private long getTimeoutTimestamp(final TraceBuffer traceBuffer) {
+		return Math.min(EventRecordTraceReconstructionFilter.saturatedAdd(traceBuffer.getMaxLoggingTimestamp(), this.maxTraceTimeout),
+				EventRecordTraceReconstructionFilter.saturatedAdd(traceBuffer.getMinLoggingTimestamp(), this.maxTraceDuration));
+	}
+
+	private static long saturatedAdd(final long timestamp, final long duration) {
+		if (timestamp > (Long.MAX_VALUE - duration)) {
+			return Long.MAX_VALUE;
+		}
+		return timestamp + duration;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -321,9 +483,104 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 		configuration.setProperty(CONFIG_PROPERTY_NAME_MAX_TRACE_DURATION, String.valueOf(this.maxTraceDuration));
 		configuration.setProperty(CONFIG_PROPERTY_NAME_MAX_TRACE_TIMEOUT, String.valueOf(this.maxTraceTimeout));
 		configuration.setProperty(CONFIG_PROPERTY_NAME_REPAIR_EVENT_BASED_TRACES, Boolean.toString(this.repairEventBasedTracesEnabled));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_PERIODIC_TIMEOUT_ONLY, Boolean.toString(this.periodicTimeoutOnly));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_NUMBER_OF_WORKERS, Integer.toString(this.numberOfWorkers));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_WORKER_QUEUE_CAPACITY, Integer.toString(this.workerQueueCapacity));
 		return configuration;
 	}
 
+	/**
+	 * The open traces of a share of the trace ids together with their timeouts. All accesses except for reading the map are synchronized on the shard.
+	 * 
+	 * @author Kieker Team
+	 * 
+	 * @since 1.13
+	 */
+	private static final class TraceShard {
+		final Map<Long, TraceBuffer> traceId2trace; // NOCS
+		// the traces ordered by the timestamp they (might) time out at
+		final PriorityQueue<TimeoutEntry> timeoutQueue = new PriorityQueue<TimeoutEntry>(); // NOCS
+		long maxEncounteredLoggingTimestamp = -1; // NOCS
+
+		public TraceShard(final Map<Long, TraceBuffer> traceId2trace) {
+			this.traceId2trace = traceId2trace;
+		}
+	}
+
+	/**
+	 * A thread reconstructing the traces of a single shard in the parallel mode.
+	 * 
+	 * @author Kieker Team
+	 * 
+	 * @since 1.13
+	 */
+	private final class ReconstructionWorker extends Thread {
+		private final TraceShard shard;
+		private final BlockingQueue<Object> queue;
+
+		public ReconstructionWorker(final TraceShard shard, final BlockingQueue<Object> queue, final int index) {
+			super("EventRecordTraceReconstructionWorker-" + index);
+			this.setDaemon(true);
+			this.shard = shard;
+			this.queue = queue;
+		}
+
+		public void enqueue(final Object object) {
+			try {
+				this.queue.put(object);
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				EventRecordTraceReconstructionFilter.this.log.error("Interrupted while passing " + object + " to " + this.getName(), ex);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("synthetic-access")
+		public void run() {
+			try {
+				while (true) {
+					final Object object = this.queue.take();
+					if (object == END_OF_RECORDS) { // NOPMD (CompareObjectsWithEquals)
+						break;
+					}
+					try {
+						if (object instanceof Long) {
+							EventRecordTraceReconstructionFilter.this.processTimestamp(this.shard, (Long) object);
+						} else {
+							EventRecordTraceReconstructionFilter.this.processRecord(this.shard, (IFlowRecord) object);
+						}
+					} catch (final RuntimeException ex) { // NOPMD (keep the worker alive)
+						EventRecordTraceReconstructionFilter.this.log.error("Failed to process " + object, ex);
+					}
+				}
+			} catch (final InterruptedException ex) {
+				EventRecordTraceReconstructionFilter.this.log.warn(this.getName() + " interrupted", ex);
+			}
+		}
+	}
+
+	/**
+	 * An entry of the timeout queue. The entry is outdated if the timeout of the trace has been scheduled differently in the meantime.
+	 * 
+	 * @author Kieker Team
+	 * 
+	 * @since 1.13
+	 */
+	private static final class TimeoutEntry implements Comparable<TimeoutEntry> {
+		final long timeoutTimestamp; // NOCS
+		final Long traceId; // NOCS
+
+		public TimeoutEntry(final long timeoutTimestamp, final Long traceId) {
+			this.timeoutTimestamp = timeoutTimestamp;
+			this.traceId = traceId;
+		}
+
+		@Override
+		public int compareTo(final TimeoutEntry other) {
+			return (this.timeoutTimestamp < other.timeoutTimestamp) ? -1 : ((this.timeoutTimestamp == other.timeoutTimestamp) ? 0 : 1); // NOCS
+		}
+	}
+
 	/**
 	 * The TraceBuffer is synchronized to prevent problems with concurrent access.
 	 * 
@@ -331,26 +588,27 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 	 */
 	private static final class TraceBuffer {
 		private static final Log LOG = LogFactory.getLog(TraceBuffer.class);
-		private static final Comparator<AbstractTraceEvent> COMPARATOR = new TraceEventComperator();
 
 		private TraceMetadata trace;
-		private final SortedSet<AbstractTraceEvent> events = new TreeSet<AbstractTraceEvent>(COMPARATOR);
+		private final OrderIndexedEvents events = new OrderIndexedEvents();
 
 		private boolean closeable;
 		private boolean damaged;
 		private int openEvents;
-		private int maxOrderIndex = -1;
 
 		private long minLoggingTimestamp = Long.MAX_VALUE;
 		private long maxLoggingTimestamp = -1;
 
 		private long traceId = -1;
 
+		// only accessed within the synchronized blocks of the filter
+		private long scheduledTimeoutTimestamp = Long.MAX_VALUE;
+
 		private boolean beforeEventStackEmptyAtTermination;
 		private boolean repairEventBasedTracesEnabled;
 
-		private final Deque<BeforeOperationEvent> beforeEventStack = new LinkedList<BeforeOperationEvent>();
-		private final Deque<AbstractTraceEvent> eventQueue = new LinkedList<AbstractTraceEvent>();
+		private final Deque<BeforeOperationEvent> beforeEventStack = new ArrayDeque<BeforeOperationEvent>();
+		private final Deque<AbstractTraceEvent> eventQueue = new ArrayDeque<AbstractTraceEvent>();
 
 		/**
 		 * Creates a new instance of this class.
@@ -388,9 +646,6 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 						this.minLoggingTimestamp = loggingTimestamp;
 					}
 					final int orderIndex = receivedEvent.getOrderIndex();
-					if (orderIndex > this.maxOrderIndex) {
-						this.maxOrderIndex = orderIndex;
-					}
 					if (receivedEvent instanceof BeforeOperationEvent) {
 						if (orderIndex == 0) {
 							this.closeable = true;
@@ -401,20 +656,30 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 					} else if (receivedEvent instanceof AfterOperationFailedEvent) {
 						this.openEvents--;
 					}
-					if (!this.events.add(receivedEvent)) {
-						LOG.error("Duplicate entry for orderIndex " + orderIndex + " with traceId " + myTraceId);
-						this.damaged = true;
-					}
+					this.addEvent(receivedEvent, orderIndex);
 				}
 			}
 		}
 
+		// only called within synchronized!
+		private void addEvent(final AbstractTraceEvent event, final int orderIndex) {
+			if (orderIndex < 0) {
+				LOG.error("Invalid orderIndex " + orderIndex + " with traceId " + event.getTraceId());
+				this.damaged = true;
+				return;
+			}
+			if (!this.events.add(event)) {
+				LOG.error("Duplicate entry for orderIndex " + orderIndex + " with traceId " + event.getTraceId());
+				this.damaged = true;
+			}
+		}
+
 		public void checkIfAfterEventsMissingThenRepair(final AbstractTraceEvent event) {
 			int orderIndex = event.getOrderIndex();
-			final boolean alreadyRepairedSomeEvents = orderIndex <= this.maxOrderIndex;
+			final boolean alreadyRepairedSomeEvents = orderIndex <= this.events.getMaxOrderIndex();
 
 			if (alreadyRepairedSomeEvents) {
-				orderIndex = this.maxOrderIndex + 1;
+				orderIndex = this.events.getMaxOrderIndex() + 1;
 			}
 
 			if (event instanceof BeforeOperationEvent) {
@@ -447,7 +712,7 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 
 				this.beforeEventStack.removeLast();
 				// true as long as no events repaired, event passes without orderIndex adjustment
-				if (!alreadyRepairedSomeEvents && ((orderIndex - 1) == this.maxOrderIndex)) {
+				if (!alreadyRepairedSomeEvents && ((orderIndex - 1) == this.events.getMaxOrderIndex())) {
 					this.eventQueue.add(event);
 				} else {
 					final String opSignature = ((AfterOperationEvent) event).getOperationSignature();
@@ -493,7 +758,7 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 				final String classSignature = beforeEvent.getClassSignature();
 				final long timestamp = beforeEvent.getTimestamp();
 				final long traceID = beforeEvent.getTraceId();
-				final int orderIndex = this.maxOrderIndex + 1;
+				final int orderIndex = this.events.getMaxOrderIndex() + 1;
 
 				if (beforeEvent instanceof BeforeConstructorObjectEvent) {
 					this.insertEvent(new AfterConstructorObjectEvent(timestamp, traceID, orderIndex, opSignature, classSignature,
@@ -536,13 +801,14 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 
 		public boolean isInvalid() {
 			synchronized (this) {
-				return (this.trace == null) || this.damaged || (this.openEvents != 0) || (((this.maxOrderIndex + 1) != this.events.size()) || this.events.isEmpty());
+				return (this.trace == null) || this.damaged || (this.openEvents != 0) || (((this.events.getMaxOrderIndex() + 1L) != this.events.size())
+						|| (this.events.size() == 0));
 			}
 		}
 
 		public TraceEventRecords toTraceEvents() {
 			synchronized (this) {
-				return new TraceEventRecords(this.trace, this.events.toArray(new AbstractTraceEvent[this.events.size()]));
+				return new TraceEventRecords(this.trace, this.events.toArray());
 			}
 		}
 
@@ -565,25 +831,6 @@ public final class EventRecordTraceReconstructionFilter extends AbstractFilterPl
 		public Deque<BeforeOperationEvent> getEventStack() {
 			return this.beforeEventStack;
 		}
-
-		/**
-		 * @author Jan Waller
-		 */
-		private static final class TraceEventComperator implements Comparator<AbstractTraceEvent>, Serializable {
-			private static final long serialVersionUID = 8920737343446332517L;
-
-			/**
-			 * Creates a new instance of this class.
-			 */
-			public TraceEventComperator() {
-				// default empty constructor
-			}
-
-			@Override
-			public int compare(final AbstractTraceEvent o1, final AbstractTraceEvent o2) {
-				return o1.getOrderIndex() - o2.getOrderIndex();
-			}
-		}
 	}
 
 }
@@ -0,0 +1,172 @@
+/***************************************************************************
+ * Copyright 2015 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.plugin.filter.flow;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import kieker.common.record.flow.trace.AbstractTraceEvent;
+
+/**
+ * Keeps the events of a trace ordered by their order index. The events are stored in an array indexed by the order index as long as the order indices are
+ * dense enough, i.e., as long as the largest order index is below {@link #MIN_DENSE_SPAN} or below twice the number of events. Events arriving out of order
+ * are stored in the array as well. Only far too large order indices (e.g., of corrupt events) switch to a sparse storage, which is left again as soon as
+ * the order indices are dense enough. Hence, a huge order index never allocates a huge array.
+ * 
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ * 
+ * @author Kieker Team
+ * 
+ * @since 1.13
+ */
+public final class OrderIndexedEvents {
+	/** The largest order index which is always stored in the array, regardless of the number of events. */
+	public static final int MIN_DENSE_SPAN = 1 << 14;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// the events indexed by their order index; null while the events are stored sparsely
+	private AbstractTraceEvent[] events = new AbstractTraceEvent[INITIAL_CAPACITY];
+	private Map<Integer, AbstractTraceEvent> sparseEvents;
+	private int size;
+	private int maxOrderIndex = -1;
+
+	/**
+	 * Creates a new, empty instance.
+	 */
+	public OrderIndexedEvents() {
+		// default empty constructor
+	}
+
+	/**
+	 * Adds the given event at its order index.
+	 * 
+	 * @param event
+	 *            The event to add; its order index must not be negative.
+	 * @return false if an event with the same order index has been added before; the earlier event is kept in this case.
+	 */
+	public boolean add(final AbstractTraceEvent event) {
+		final int orderIndex = event.getOrderIndex();
+		if (orderIndex < 0) {
+			throw new IllegalArgumentException("Negative orderIndex " + orderIndex);
+		}
+		if (this.events == null) {
+			if (this.sparseEvents.containsKey(orderIndex)) {
+				return false;
+			}
+			final int newMaxOrderIndex = Math.max(orderIndex, this.maxOrderIndex);
+			if (this.isDenseEnough(newMaxOrderIndex)) {
+				// e.g., the delayed events with the small order indices have arrived
+				this.switchToDenseEvents(newMaxOrderIndex + 1);
+				return this.add(event);
+			}
+			this.sparseEvents.put(orderIndex, event);
+			this.added(orderIndex);
+			return true;
+		}
+		if (orderIndex >= this.events.length) {
+			if (!this.isDenseEnough(orderIndex)) {
+				this.switchToSparseEvents();
+				return this.add(event);
+			}
+			final long maxLength = Math.max(MIN_DENSE_SPAN, 2L * (this.size + 1));
+			this.events = Arrays.copyOf(this.events, (int) Math.max(orderIndex + 1L, Math.min(2L * this.events.length, maxLength)));
+		}
+		if (this.events[orderIndex] != null) {
+			return false;
+		}
+		this.events[orderIndex] = event;
+		this.added(orderIndex);
+		return true;
+	}
+
+	private void added(final int orderIndex) {
+		this.size++;
+		if (orderIndex > this.maxOrderIndex) {
+			this.maxOrderIndex = orderIndex;
+		}
+	}
+
+	/**
+	 * @return whether an array for the given order index would be dense enough if it contained one more event
+	 */
+	private boolean isDenseEnough(final int orderIndex) {
+		return (orderIndex < MIN_DENSE_SPAN) || (orderIndex < (2L * (this.size + 1)));
+	}
+
+	private void switchToSparseEvents() {
+		this.sparseEvents = new TreeMap<Integer, AbstractTraceEvent>();
+		for (int i = 0; i < this.events.length; i++) {
+			if (this.events[i] != null) {
+				this.sparseEvents.put(i, this.events[i]);
+			}
+		}
+		this.events = null; // NOPMD (null marks the sparse storage)
+	}
+
+	private void switchToDenseEvents(final int length) {
+		this.events = new AbstractTraceEvent[length];
+		for (final Map.Entry<Integer, AbstractTraceEvent> entry : this.sparseEvents.entrySet()) {
+			this.events[entry.getKey()] = entry.getValue();
+		}
+		this.sparseEvents = null; // NOPMD (set explicitly to null)
+	}
+
+	/**
+	 * @return The number of events.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return The largest order index of all events, or -1 if there is no event.
+	 */
+	public int getMaxOrderIndex() {
+		return this.maxOrderIndex;
+	}
+
+	/**
+	 * @return Whether the events are currently stored in an array indexed by their order index, rather than in the sparse storage.
+	 */
+	public boolean isDense() {
+		return this.events != null;
+	}
+
+	/**
+	 * @return The events ordered by their order index, without the gaps of missing order indices.
+	 */
+	public AbstractTraceEvent[] toArray() {
+		final AbstractTraceEvent[] result = new AbstractTraceEvent[this.size];
+		if (this.events == null) {
+			this.sparseEvents.values().toArray(result);
+		} else if ((this.maxOrderIndex + 1L) == this.size) {
+			System.arraycopy(this.events, 0, result, 0, this.size);
+		} else { // the order indices of an invalid trace may have gaps
+			int i = 0;
+			for (final AbstractTraceEvent event : this.events) {
+				if (event != null) {
+					result[i++] = event;
+				}
+			}
+		}
+		return result;
+	}
+}
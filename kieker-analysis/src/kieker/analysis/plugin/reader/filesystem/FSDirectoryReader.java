@@ -24,6 +24,10 @@ import java.io.FileFilter;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -36,6 +40,9 @@ import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.compact.CompactEncoding;
+import kieker.common.record.compact.CompactRecordDecoder;
+import kieker.common.record.compact.IStringLookup;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.common.util.filesystem.BinaryCompressionMethod;
 import kieker.common.util.filesystem.FSUtil;
@@ -303,6 +310,10 @@ final class FSDirectoryReader implements Runnable {
 		DataInputStream in = null;
 		try {
 			in = method.getDataInputStream(inputFile, 1024 * 1024); // 1 MiB buffer
+			if (FSDirectoryReader.startsWithCompactHeader(in)) {
+				this.processCompactBinaryInput(inputFile, in);
+				return;
+			}
 			while (true) {
 				final Integer id;
 				try {
@@ -310,6 +321,9 @@ final class FSDirectoryReader implements Runnable {
 				} catch (final EOFException eof) {
 					break; // we are finished
 				}
+				if (id == FSUtil.END_OF_DATA_ID) {
+					break; // the remainder of a preallocated file is unused
+				}
 				final String classname = this.stringRegistry.get(id);
 				if (classname == null) {
 					LOG.error("Missing classname mapping for record type id " + "'" + id + "'");
@@ -376,4 +390,75 @@ final class FSDirectoryReader implements Runnable {
 			}
 		}
 	}
+
+	/**
+	 * Tests whether the given stream starts with the header of the {@link CompactEncoding compact encoding}, without consuming any bytes.
+	 */
+	private static boolean startsWithCompactHeader(final DataInputStream in) throws IOException {
+		in.mark(CompactEncoding.HEADER_SIZE);
+		try {
+			return in.readInt() == CompactEncoding.MAGIC;
+		} catch (final EOFException eof) {
+			return false;
+		} finally {
+			in.reset();
+		}
+	}
+
+	/**
+	 * Reads the records of a binary file in the {@link CompactEncoding compact encoding} and passes them to the registered {@link #recordReceiver}.
+	 */
+	private void processCompactBinaryInput(final File inputFile, final DataInputStream in) throws IOException, MonitoringRecordException {
+		final CompactRecordDecoder decoder = new CompactRecordDecoder(new MappingStringLookup(this.stringRegistry));
+		final ReadableByteChannel channel = Channels.newChannel(in);
+		final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024); // the stream is buffered already
+		boolean headerRead = false;
+		boolean endOfStream = false;
+		while (!endOfStream) {
+			endOfStream = channel.read(buffer) == -1;
+			buffer.flip();
+			try {
+				if (!headerRead) {
+					buffer.mark();
+					decoder.startStream(buffer);
+					headerRead = true;
+				}
+				while (buffer.hasRemaining()) {
+					buffer.mark();
+					if (!this.recordReceiver.newMonitoringRecord(decoder.decode(buffer))) {
+						this.terminated = true;
+						return; // we got the signal to stop processing
+					}
+				}
+				buffer.clear();
+			} catch (final BufferUnderflowException ex) {
+				buffer.reset();
+				buffer.compact();
+				if (endOfStream) {
+					LOG.error("Incomplete record at the end of " + inputFile);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Provides the string mappings read from the mapping file to a {@link CompactRecordDecoder}. Unknown ids are resolved to null instead of being waited for;
+	 * the decoder reports them and uses an empty string, as {@link #processBinaryInputFile} does for the fixed-width layout.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class MappingStringLookup implements IStringLookup {
+		private final Map<Integer, String> mappings;
+
+		public MappingStringLookup(final Map<Integer, String> mappings) {
+			this.mappings = mappings;
+		}
+
+		@Override
+		public String get(final int id) {
+			return this.mappings.get(id);
+		}
+	}
 }
@@ -0,0 +1,109 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.plugin.reader.tcp;
+
+import kieker.analysis.IProjectContext;
+import kieker.analysis.plugin.annotation.OutputPort;
+import kieker.analysis.plugin.annotation.Plugin;
+import kieker.analysis.plugin.annotation.Property;
+import kieker.analysis.plugin.reader.AbstractReaderPlugin;
+import kieker.analysis.plugin.reader.tcp.util.IRecordReceivedListener;
+import kieker.analysis.plugin.reader.tcp.util.MultiConnectionRecordReader;
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+
+/**
+ * This is a reader which reads the records of any number of {@code TCPWriter}s connecting to the same pair of TCP ports. In contrast to the {@link TCPReader},
+ * which serves a single writer, all connections are served by a single selector thread and each writer has its own string registry. The records of all
+ * connections are delivered via the same output port. Writers with the same address (e.g., on the same host or behind a NAT) have to connect one after the
+ * other; connections which cannot be paired unambiguously are refused.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+@Plugin(description = "A reader which reads records from any number of TCP connections", outputPorts = {
+	@OutputPort(name = MultiConnectionTcpReader.OUTPUT_PORT_NAME_RECORDS, eventTypes = {
+		IMonitoringRecord.class }, description = "Output Port of the MultiConnectionTcpReader")
+}, configuration = {
+	@Property(name = MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_PORT1, defaultValue = "10133",
+			description = "The first port of the server used for the TCP connections."),
+	@Property(name = MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_PORT2, defaultValue = "10134",
+			description = "The second port of the server used for the TCP connections."),
+	@Property(name = MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_BUFFERSIZE, defaultValue = "65535",
+			description = "The capacity of the pooled read buffers in bytes."),
+	@Property(name = MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_MAX_RECORDS_PER_ROUND, defaultValue = "1024",
+			description = "The maximal number of records decoded from one connection before the other connections are served (0 means no limit). "
+					+ "A connection is not read from as long as it has undecoded records.")
+})
+public final class MultiConnectionTcpReader extends AbstractReaderPlugin implements IRecordReceivedListener {
+
+	/** The name of the output port delivering the received records. */
+	public static final String OUTPUT_PORT_NAME_RECORDS = "monitoringRecords";
+
+	/** The name of the configuration determining the TCP port for the records. */
+	public static final String CONFIG_PROPERTY_NAME_PORT1 = "port1";
+	/** The name of the configuration determining the TCP port for the strings. */
+	public static final String CONFIG_PROPERTY_NAME_PORT2 = "port2";
+	/** The name of the configuration determining the capacity of the read buffers. */
+	public static final String CONFIG_PROPERTY_NAME_BUFFERSIZE = "bufferSize";
+	/** The name of the configuration determining the maximal number of records decoded from one connection at once. */
+	public static final String CONFIG_PROPERTY_NAME_MAX_RECORDS_PER_ROUND = "maxRecordsPerRound";
+
+	private final int port1;
+	private final int port2;
+	private final int bufferSize;
+	private final int maxRecordsPerRound;
+
+	private final MultiConnectionRecordReader recordReader;
+
+	public MultiConnectionTcpReader(final Configuration configuration, final IProjectContext projectContext) {
+		super(configuration, projectContext);
+		this.port1 = this.configuration.getIntProperty(CONFIG_PROPERTY_NAME_PORT1);
+		this.port2 = this.configuration.getIntProperty(CONFIG_PROPERTY_NAME_PORT2);
+		this.bufferSize = this.configuration.getIntProperty(CONFIG_PROPERTY_NAME_BUFFERSIZE);
+		this.maxRecordsPerRound = this.configuration.getIntProperty(CONFIG_PROPERTY_NAME_MAX_RECORDS_PER_ROUND);
+		this.recordReader = new MultiConnectionRecordReader(this.port1, this.port2, this.bufferSize, this.maxRecordsPerRound, this.log, this);
+	}
+
+	@Override
+	public Configuration getCurrentConfiguration() {
+		final Configuration configuration = new Configuration();
+		configuration.setProperty(CONFIG_PROPERTY_NAME_PORT1, Integer.toString(this.port1));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_PORT2, Integer.toString(this.port2));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_BUFFERSIZE, Integer.toString(this.bufferSize));
+		configuration.setProperty(CONFIG_PROPERTY_NAME_MAX_RECORDS_PER_ROUND, Integer.toString(this.maxRecordsPerRound));
+		return configuration;
+	}
+
+	@Override
+	public boolean read() {
+		this.recordReader.run();
+		return true;
+	}
+
+	@Override
+	public void onRecordReceived(final IMonitoringRecord record) {
+		super.deliver(OUTPUT_PORT_NAME_RECORDS, record);
+	}
+
+	@Override
+	public void terminate(final boolean error) {
+		this.log.info("Shutdown of MultiConnectionTcpReader requested.");
+		this.recordReader.terminate();
+	}
+}
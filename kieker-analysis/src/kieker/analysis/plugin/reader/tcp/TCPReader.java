@@ -16,11 +16,15 @@
 
 package kieker.analysis.plugin.reader.tcp;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.SequenceInputStream;
 import java.net.InetSocketAddress;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 
@@ -30,13 +34,18 @@ import kieker.analysis.plugin.annotation.Plugin;
 import kieker.analysis.plugin.annotation.Property;
 import kieker.analysis.plugin.reader.AbstractReaderPlugin;
 import kieker.common.configuration.Configuration;
+import kieker.common.exception.MonitoringRecordException;
 import kieker.common.exception.RecordInstantiationException;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.compact.CompactEncoding;
+import kieker.common.record.compact.CompactRecordDecoder;
 import kieker.common.record.factory.CachedRecordFactoryCatalog;
 import kieker.common.record.factory.IRecordFactory;
 import kieker.common.record.misc.RegistryRecord;
+import kieker.common.util.filesystem.Lz4BlockCodec;
+import kieker.common.util.filesystem.Lz4BlockInputStream;
 import kieker.common.util.registry.ILookup;
 import kieker.common.util.registry.Lookup;
 
@@ -108,13 +117,28 @@ public final class TCPReader extends AbstractReaderPlugin {
 			// BEGIN also loop this one?
 			final SocketChannel socketChannel = serversocket.accept();
 			final ByteBuffer buffer = ByteBuffer.allocateDirect(MESSAGE_BUFFER_SIZE);
-			while ((socketChannel.read(buffer) != -1) && (!this.terminated)) {
+			final ReadableByteChannel channel = this.openChannel(socketChannel, buffer);
+			boolean formatDetected = false;
+			CompactRecordDecoder compactDecoder = null;
+			// the bytes read while detecting the compression are processed before reading again
+			boolean dataAvailable = buffer.position() > 0;
+			while ((dataAvailable || (channel.read(buffer) != -1)) && (!this.terminated)) {
+				dataAvailable = false;
 				buffer.flip();
 				// System.out.println("Reading, remaining:" + buffer.remaining());
 				try {
+					if (!formatDetected) {
+						buffer.mark();
+						compactDecoder = this.detectFormat(buffer);
+						formatDetected = true;
+					}
 					while (buffer.hasRemaining()) {
 						buffer.mark();
-						this.read(buffer);
+						if (compactDecoder != null) {
+							this.read(buffer, compactDecoder);
+						} else {
+							this.read(buffer);
+						}
 					}
 					buffer.clear();
 				} catch (final BufferUnderflowException ex) {
@@ -124,6 +148,7 @@ public final class TCPReader extends AbstractReaderPlugin {
 				}
 			}
 			// System.out.println("Channel closing...");
+			channel.close();
 			socketChannel.close();
 			// END also loop this one?
 		} catch (final ClosedByInterruptException ex) {
@@ -156,6 +181,57 @@ public final class TCPReader extends AbstractReaderPlugin {
 		}
 	}
 
+	/**
+	 * Detects a block-compressed stream by its first int.
+	 *
+	 * @return the channel delivering the decompressed stream if it is compressed; otherwise the socket channel, in which case the bytes read so far remain in
+	 *         the buffer
+	 */
+	private ReadableByteChannel openChannel(final SocketChannel socketChannel, final ByteBuffer buffer) throws IOException {
+		while (buffer.position() < 4) {
+			if (socketChannel.read(buffer) == -1) {
+				return socketChannel;
+			}
+		}
+		if (buffer.getInt(0) != Lz4BlockCodec.STREAM_MAGIC) {
+			return socketChannel;
+		}
+		buffer.flip();
+		final byte[] readBytes = new byte[buffer.remaining()];
+		buffer.get(readBytes);
+		buffer.clear();
+		return Channels.newChannel(new Lz4BlockInputStream(new SequenceInputStream(new ByteArrayInputStream(readBytes), Channels.newInputStream(socketChannel))));
+	}
+
+	/**
+	 * Determines the encoding of the stream by its first bytes.
+	 *
+	 * @return a decoder positioned behind the header if the stream is in the compact encoding, null if it is in the fixed-width layout
+	 */
+	private CompactRecordDecoder detectFormat(final ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < CompactEncoding.HEADER_SIZE) {
+			throw new BufferUnderflowException();
+		}
+		if (!CompactEncoding.startsWithHeader(buffer)) {
+			return null;
+		}
+		final CompactRecordDecoder compactDecoder = new CompactRecordDecoder(this.stringRegistry);
+		try {
+			compactDecoder.startStream(buffer);
+		} catch (final MonitoringRecordException ex) {
+			throw new IOException(ex.getMessage(), ex);
+		}
+		return compactDecoder;
+	}
+
+	private void read(final ByteBuffer buffer, final CompactRecordDecoder compactDecoder) {
+		try {
+			super.deliver(OUTPUT_PORT_NAME_RECORDS, compactDecoder.decode(buffer));
+		} catch (final MonitoringRecordException ex) {
+			this.log.error("Failed to create record", ex);
+		}
+	}
+
 	private void close(final ServerSocketChannel serversocket) {
 		try {
 			serversocket.close();
@@ -0,0 +1,79 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.plugin.reader.tcp.util;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * A pool of direct buffers of the same capacity. Buffers are only taken from the pool as long as they hold data; hence, the number of allocated buffers is
+ * bounded by the number of connections with pending data instead of the number of open connections. This class is not thread-safe.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class ByteBufferPool {
+
+	private final int bufferCapacity;
+	private final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<ByteBuffer>();
+
+	/**
+	 * Creates a new empty pool.
+	 *
+	 * @param bufferCapacity
+	 *            the capacity of the pooled buffers
+	 */
+	public ByteBufferPool(final int bufferCapacity) {
+		this.bufferCapacity = bufferCapacity;
+	}
+
+	/**
+	 * @return a cleared buffer, either taken from the pool or newly allocated
+	 */
+	public ByteBuffer acquire() {
+		final ByteBuffer buffer = this.buffers.pollFirst();
+		if (null == buffer) {
+			return ByteBuffer.allocateDirect(this.bufferCapacity);
+		}
+		return buffer;
+	}
+
+	/**
+	 * Returns the given buffer to the pool. Buffers of a different capacity are left to the garbage collector.
+	 *
+	 * @param buffer
+	 *            the buffer which is no longer used by the caller
+	 */
+	public void release(final ByteBuffer buffer) {
+		if (buffer.capacity() == this.bufferCapacity) {
+			buffer.clear();
+			this.buffers.addFirst(buffer); // reuse the most recently used buffer first
+		}
+	}
+
+	public int getBufferCapacity() {
+		return this.bufferCapacity;
+	}
+
+	/**
+	 * @return the number of buffers currently available in the pool
+	 */
+	public int size() {
+		return this.buffers.size();
+	}
+}
@@ -0,0 +1,576 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.analysis.plugin.reader.tcp.util;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import kieker.common.exception.RecordInstantiationException;
+import kieker.common.logging.Log;
+import kieker.common.record.AbstractMonitoringRecord;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.factory.CachedRecordFactoryCatalog;
+import kieker.common.record.factory.IRecordFactory;
+import kieker.common.util.registry.IRegistry;
+import kieker.common.util.registry.IRegistryRecordReceiver;
+import kieker.common.util.registry.Lookup;
+
+/**
+ * Represents a TCP reader which accepts any number of connections of dual socket writers (such as the {@code TCPWriter}) on one pair of ports and serves all
+ * of them with a single selector thread.
+ *
+ * <p>
+ * A connection to the string port is paired with the connection to the record port from the same address, and each pair has its own string registry. A writer
+ * opens its record connection before its string connection; hence, the pending record connections are always accepted before a string connection. The
+ * pairing is only unambiguous if exactly one record connection from the address waits for its string connection. Otherwise, e.g., for several writers behind
+ * a NAT or on the same host which connect concurrently, the string connection and all waiting record connections from the address are refused with an error,
+ * since records resolved with the string registry of another writer would carry wrong strings.
+ * </p>
+ *
+ * <p>
+ * Read buffers are taken from a {@link ByteBufferPool} as long as a connection has unprocessed data. At most {@code maxRecordsPerRound} records are decoded
+ * from one connection before the other connections are served. A connection is not read from while it has undecoded records or while its records refer to
+ * strings which have not been received yet. This propagates back-pressure to the respective writer via TCP flow control.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class MultiConnectionRecordReader implements Runnable {
+
+	private static final int INT_BYTES = AbstractMonitoringRecord.TYPE_SIZE_INT;
+	private static final int LONG_BYTES = AbstractMonitoringRecord.TYPE_SIZE_LONG;
+	private static final Charset ENCODING = Charset.forName("UTF-8");
+
+	private static final int DECODED = 0;
+	private static final int UNDERFLOW = 1;
+	private static final int MISSING_STRING = 2;
+	private static final int CORRUPT = 3;
+
+	@SuppressWarnings({ "PMD.LoggerIsNotStaticFinal", "PMD.ProperLogger" })
+	protected final Log logger;
+
+	private final int recordPort;
+	private final int stringPort;
+	private final int maxRecordsPerRound;
+	private final IRecordReceivedListener listener;
+	private final ByteBufferPool bufferPool;
+	private final CachedRecordFactoryCatalog recordFactories = new CachedRecordFactoryCatalog();
+
+	private final Map<InetAddress, LinkedList<Peer>> peersWithoutStringConnection = new HashMap<InetAddress, LinkedList<Peer>>();
+	private final List<Connection> pendingConnections = new ArrayList<Connection>();
+	private final List<Connection> processedConnections = new ArrayList<Connection>();
+
+	private volatile Selector selector;
+	private ServerSocketChannel recordServer;
+	private ServerSocketChannel stringServer;
+	private volatile boolean terminated;
+
+	/**
+	 * Constructs a new TCP reader.
+	 *
+	 * @param recordPort
+	 *            on which to accept the connections transmitting the records
+	 * @param stringPort
+	 *            on which to accept the connections transmitting the string registry records
+	 * @param bufferCapacity
+	 *            of the pooled read buffers
+	 * @param maxRecordsPerRound
+	 *            the maximal number of records decoded from one connection before the other connections are served ({@code 0} means no limit)
+	 * @param logger
+	 *            for notification to users and developers
+	 * @param listener
+	 *            which receives the decoded records of all connections
+	 */
+	public MultiConnectionRecordReader(final int recordPort, final int stringPort, final int bufferCapacity, final int maxRecordsPerRound, final Log logger,
+			final IRecordReceivedListener listener) {
+		super();
+		this.recordPort = recordPort;
+		this.stringPort = stringPort;
+		this.maxRecordsPerRound = maxRecordsPerRound;
+		this.logger = logger;
+		this.listener = listener;
+		this.bufferPool = new ByteBufferPool(bufferCapacity);
+	}
+
+	@Override
+	public final void run() {
+		try {
+			this.selector = Selector.open();
+			this.recordServer = this.openServer(this.recordPort);
+			this.stringServer = this.openServer(this.stringPort);
+			while (!this.terminated) {
+				if (this.pendingConnections.isEmpty()) {
+					this.selector.select();
+				} else {
+					this.selector.selectNow();
+				}
+				final Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					final SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) {
+						continue;
+					}
+					if (key.isAcceptable()) {
+						if (key.channel() == this.stringServer) { // NOPMD (CompareObjectsWithEquals)
+							this.acceptStringConnection();
+						} else {
+							this.acceptRecordConnection();
+						}
+					} else if (key.isReadable()) {
+						this.read((Connection) key.attachment());
+					}
+				}
+				this.processPendingConnections();
+			}
+		} catch (final IOException ex) {
+			this.logger.error("Error while reading.", ex);
+		} finally {
+			this.closeAll();
+		}
+	}
+
+	private ServerSocketChannel openServer(final int port) throws IOException {
+		final ServerSocketChannel server = ServerSocketChannel.open();
+		server.configureBlocking(false);
+		server.socket().bind(new InetSocketAddress(port));
+		server.register(this.selector, SelectionKey.OP_ACCEPT);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Listening on port " + port);
+		}
+		return server;
+	}
+
+	/**
+	 * @return true iff a connection has been accepted
+	 */
+	private boolean acceptRecordConnection() throws IOException {
+		final SocketChannel channel = this.recordServer.accept();
+		if (null == channel) {
+			return false;
+		}
+		channel.configureBlocking(false);
+		final Peer peer = new Peer(channel.socket().getInetAddress());
+		LinkedList<Peer> waitingPeers = this.peersWithoutStringConnection.get(peer.address);
+		if (null == waitingPeers) {
+			waitingPeers = new LinkedList<Peer>();
+			this.peersWithoutStringConnection.put(peer.address, waitingPeers);
+		}
+		waitingPeers.add(peer);
+		this.register(channel, false, peer);
+		return true;
+	}
+
+	private void acceptStringConnection() throws IOException {
+		// the record connection of the writer has been established before, but it might not have been accepted yet
+		while (this.acceptRecordConnection()) { // NOPMD (EmptyWhileStmt)
+			// accept all pending record connections
+		}
+		final SocketChannel channel = this.stringServer.accept();
+		if (null == channel) {
+			return;
+		}
+		final LinkedList<Peer> waitingPeers = this.peersWithoutStringConnection.remove(channel.socket().getInetAddress());
+		if ((null == waitingPeers) || (waitingPeers.size() != 1)) {
+			this.refuse(channel, waitingPeers);
+			return;
+		}
+		channel.configureBlocking(false);
+		this.register(channel, true, waitingPeers.getFirst());
+	}
+
+	private void register(final SocketChannel channel, final boolean stringConnection, final Peer peer) throws IOException {
+		final Connection connection = new Connection(channel, stringConnection, peer);
+		if (stringConnection) {
+			peer.stringConnection = connection;
+		} else {
+			peer.recordConnection = connection;
+		}
+		connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug("Accepted " + (stringConnection ? "string" : "record") + " connection from " + channel.socket().getRemoteSocketAddress()); // NOCS
+		}
+	}
+
+	/**
+	 * Refuses a string connection which cannot be paired unambiguously, together with the record connections it might belong to.
+	 */
+	private void refuse(final SocketChannel channel, final List<Peer> waitingPeers) {
+		if (null == waitingPeers) {
+			this.logger.error("Refused string connection from " + channel.socket().getRemoteSocketAddress()
+					+ ": there is no record connection from this address to pair it with.");
+		} else {
+			this.logger.error("Refused string connection from " + channel.socket().getRemoteSocketAddress() + " and closed the " + waitingPeers.size()
+					+ " record connections from this address waiting for their string connection: the writers connected concurrently from the same address,"
+					+ " hence their string registries cannot be told apart.");
+			for (final Peer peer : waitingPeers) {
+				this.close(peer.recordConnection);
+			}
+		}
+		try {
+			channel.close();
+		} catch (final IOException ex) {
+			this.logger.debug("Failed to close TCP connection.", ex);
+		}
+	}
+
+	private void read(final Connection connection) {
+		if (null == connection.buffer) {
+			connection.buffer = this.bufferPool.acquire();
+		}
+		try {
+			if (connection.channel.read(connection.buffer) == -1) {
+				connection.endOfStream = true;
+			}
+		} catch (final IOException ex) {
+			this.logger.warn("Failed to read from " + connection.channel.socket().getRemoteSocketAddress(), ex);
+			this.close(connection);
+			return;
+		}
+		this.process(connection);
+	}
+
+	private void processPendingConnections() {
+		if (this.pendingConnections.isEmpty()) {
+			return;
+		}
+		this.processedConnections.addAll(this.pendingConnections);
+		this.pendingConnections.clear();
+		for (int i = 0; i < this.processedConnections.size(); i++) { // NOPMD (no iterator allocation)
+			final Connection connection = this.processedConnections.get(i);
+			if (connection.key.isValid() && !connection.waitingForStrings) {
+				this.process(connection);
+			}
+		}
+		this.processedConnections.clear();
+	}
+
+	private void process(final Connection connection) {
+		final ByteBuffer buffer = connection.buffer;
+		buffer.flip();
+		int decoded = 0;
+		boolean roundLimitReached = false;
+		while (buffer.hasRemaining()) {
+			if ((this.maxRecordsPerRound > 0) && (decoded >= this.maxRecordsPerRound)) {
+				roundLimitReached = true;
+				break;
+			}
+			buffer.mark();
+			final int result = connection.stringConnection ? this.decodeString(connection.peer, buffer) : this.decodeRecord(connection.peer, buffer); // NOCS
+			if (result == DECODED) {
+				decoded++;
+			} else {
+				buffer.reset();
+				if (result == MISSING_STRING) {
+					connection.waitingForStrings = true;
+				} else if (result == CORRUPT) {
+					this.logger.error("Corrupt data received from " + connection.channel.socket().getRemoteSocketAddress() + ". Closing connection.");
+					this.close(connection);
+					return;
+				}
+				break;
+			}
+		}
+
+		if (buffer.hasRemaining()) {
+			buffer.compact();
+			if (!buffer.hasRemaining()) { // a single message exceeds the buffer
+				connection.buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+				buffer.flip();
+				connection.buffer.put(buffer);
+				this.bufferPool.release(buffer);
+			}
+		} else {
+			this.bufferPool.release(buffer);
+			connection.buffer = null; // NOPMD (the connection does not hold a buffer while it has no data)
+		}
+
+		if (connection.stringConnection && (decoded > 0)) {
+			final Connection recordConnection = connection.peer.recordConnection;
+			if ((null != recordConnection) && recordConnection.waitingForStrings) {
+				recordConnection.waitingForStrings = false;
+				this.pendingConnections.add(recordConnection);
+			}
+		}
+
+		if (roundLimitReached) {
+			this.pendingConnections.add(connection);
+		}
+		if (roundLimitReached || connection.waitingForStrings) {
+			connection.key.interestOps(0); // back-pressure
+		} else if (connection.endOfStream) {
+			this.close(connection);
+		} else {
+			connection.key.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	private int decodeString(final Peer peer, final ByteBuffer buffer) {
+		if (buffer.remaining() < (INT_BYTES + INT_BYTES + INT_BYTES)) {
+			return UNDERFLOW;
+		}
+		final int id = buffer.getInt(); // NOPMD (id must be read before stringLength)
+		final int stringLength = buffer.getInt();
+		if ((id < 0) || (stringLength < 0)) {
+			return CORRUPT;
+		}
+		if (buffer.remaining() < stringLength) {
+			return UNDERFLOW;
+		}
+		final byte[] strBytes = new byte[stringLength];
+		buffer.get(strBytes);
+		peer.lookup.set(new String(strBytes, ENCODING), id);
+		return DECODED;
+	}
+
+	private int decodeRecord(final Peer peer, final ByteBuffer buffer) {
+		if (buffer.remaining() < (INT_BYTES + LONG_BYTES)) {
+			return UNDERFLOW;
+		}
+		final int clazzId = buffer.getInt(); // NOPMD (clazzId must be read before reading timestamp)
+		final long loggingTimestamp = buffer.getLong();
+		if (clazzId < 0) {
+			return CORRUPT;
+		}
+		final String recordClassName = peer.lookup.getNonBlocking(clazzId);
+		if (null == recordClassName) {
+			return MISSING_STRING;
+		}
+		final IRecordFactory<? extends IMonitoringRecord> recordFactory = this.recordFactories.get(recordClassName);
+		if (buffer.remaining() < recordFactory.getRecordSizeInBytes()) { // includes the case where size is -1
+			return UNDERFLOW;
+		}
+
+		final IMonitoringRecord record;
+		try {
+			record = recordFactory.create(buffer, peer.registry);
+		} catch (final BufferUnderflowException ex) {
+			return UNDERFLOW;
+		} catch (final MissingStringException ex) {
+			return MISSING_STRING;
+		} catch (final RecordInstantiationException ex) {
+			// records without a factory are created by reflection, which wraps the exceptions
+			for (Throwable cause = ex.getCause(); null != cause; cause = cause.getCause()) {
+				if (cause instanceof BufferUnderflowException) {
+					return UNDERFLOW;
+				} else if (cause instanceof MissingStringException) {
+					return MISSING_STRING;
+				}
+			}
+			this.logger.error("Failed to create: " + recordClassName, ex);
+			return DECODED;
+		}
+		record.setLoggingTimestamp(loggingTimestamp);
+		this.listener.onRecordReceived(record);
+		return DECODED;
+	}
+
+	private void close(final Connection connection) {
+		connection.key.cancel();
+		try {
+			connection.channel.close();
+		} catch (final IOException ex) {
+			this.logger.debug("Failed to close TCP connection.", ex);
+		}
+		if (null != connection.buffer) {
+			this.bufferPool.release(connection.buffer);
+			connection.buffer = null; // NOPMD (set explicitly to null)
+		}
+		final Peer peer = connection.peer;
+		if (connection.stringConnection) {
+			peer.stringConnection = null; // NOPMD (set explicitly to null)
+		} else {
+			peer.recordConnection = null; // NOPMD (set explicitly to null)
+		}
+		// a record connection whose string connection has not connected yet must not be paired anymore
+		if (!connection.stringConnection) {
+			final LinkedList<Peer> waitingPeers = this.peersWithoutStringConnection.get(peer.address);
+			if ((null != waitingPeers) && waitingPeers.remove(peer) && waitingPeers.isEmpty()) {
+				this.peersWithoutStringConnection.remove(peer.address);
+			}
+		}
+	}
+
+	private void closeAll() {
+		final Selector sel = this.selector;
+		if (null == sel) {
+			return;
+		}
+		for (final SelectionKey key : sel.keys()) {
+			try {
+				key.channel().close();
+			} catch (final IOException ex) {
+				this.logger.debug("Failed to close TCP connection.", ex);
+			}
+		}
+		try {
+			sel.close();
+		} catch (final IOException ex) {
+			this.logger.debug("Failed to close selector.", ex);
+		}
+	}
+
+	/**
+	 * Gracefully terminates this TCP reader.
+	 */
+	public void terminate() {
+		this.terminated = true;
+		final Selector sel = this.selector;
+		if (null != sel) {
+			sel.wakeup();
+		}
+	}
+
+	public int getRecordPort() {
+		return this.recordPort;
+	}
+
+	public int getStringPort() {
+		return this.stringPort;
+	}
+
+	/**
+	 * The writer side of a pair of connections.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class Peer {
+		final InetAddress address; // NOCS
+		final Lookup<String> lookup = new Lookup<String>(); // NOCS
+		final IRegistry<String> registry = new NonBlockingRegistry(this.lookup); // NOCS
+		Connection recordConnection; // NOCS
+		Connection stringConnection; // NOCS
+
+		Peer(final InetAddress address) {
+			this.address = address;
+		}
+	}
+
+	/**
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class Connection {
+		final SocketChannel channel; // NOCS
+		final boolean stringConnection; // NOCS
+		final Peer peer; // NOCS
+		SelectionKey key; // NOCS
+		ByteBuffer buffer; // NOCS
+		boolean waitingForStrings; // NOCS
+		boolean endOfStream; // NOCS
+
+		Connection(final SocketChannel channel, final boolean stringConnection, final Peer peer) {
+			this.channel = channel;
+			this.stringConnection = stringConnection;
+			this.peer = peer;
+		}
+	}
+
+	/**
+	 * A view on a {@link Lookup} which does not wait for missing strings, as this would block all connections, but throws a {@link MissingStringException}.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class NonBlockingRegistry implements IRegistry<String> {
+		private final Lookup<String> lookup;
+
+		NonBlockingRegistry(final Lookup<String> lookup) {
+			this.lookup = lookup;
+		}
+
+		@Override
+		public long getId() {
+			return this.lookup.getId();
+		}
+
+		@Override
+		public int get(final String value) {
+			return this.lookup.get(value);
+		}
+
+		@Override
+		public String get(final int i) {
+			final String value = (i < 0) ? null : this.lookup.getNonBlocking(i); // NOCS (inline conditional)
+			if (null == value) {
+				throw MissingStringException.INSTANCE;
+			}
+			return value;
+		}
+
+		@Override
+		public String[] getAll() {
+			final Object[] values = ((Lookup<?>) this.lookup).getAll(); // the lookup actually returns an Object[]
+			final String[] result = new String[values.length];
+			System.arraycopy(values, 0, result, 0, values.length);
+			return result;
+		}
+
+		@Override
+		public int getSize() {
+			return this.lookup.getSize();
+		}
+
+		@Override
+		public void setRecordReceiver(final IRegistryRecordReceiver registryRecordReceiver) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Signals that a record refers to a string which has not been received yet. A single instance without stack trace is used, since this is part of the
+	 * regular control flow.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class MissingStringException extends RuntimeException {
+		static final MissingStringException INSTANCE = new MissingStringException(); // NOCS
+
+		private static final long serialVersionUID = 1L;
+
+		private MissingStringException() {
+			super("String not yet received");
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() { // NOPMD (no stack trace needed)
+			return this;
+		}
+	}
+}
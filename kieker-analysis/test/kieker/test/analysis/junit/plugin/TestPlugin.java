@@ -16,6 +16,7 @@
 
 package kieker.test.analysis.junit.plugin; // NOCS (outer types)
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Assert;
@@ -125,6 +126,65 @@ public class TestPlugin extends AbstractKiekerTest {
 		Assert.assertEquals(testObject2, list.get(1));
 	}
 
+	/**
+	 * This method tests whether the data delivered via asynchronous connections is passed on completely and in order.
+	 * 
+	 * @throws IllegalStateException
+	 *             If something went wrong during the test.
+	 * @throws AnalysisConfigurationException
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testAsynchronousChaining() throws IllegalStateException, AnalysisConfigurationException {
+		final int numObjects = 1000;
+
+		final IAnalysisController analysisController = new AnalysisController();
+
+		final SimpleRepository simpleRepository = new SimpleRepository(new Configuration(), analysisController);
+		final ListReader<Object> simpleListReader = new ListReader<Object>(new Configuration(), analysisController);
+		final List<Object> objects = new ArrayList<Object>(numObjects);
+		for (int i = 0; i < numObjects; i++) {
+			objects.add(Integer.valueOf(i));
+		}
+		simpleListReader.addAllObjects(objects);
+		final SimpleForwardFilterWithRepository simpleFilter = new SimpleForwardFilterWithRepository(new Configuration(), analysisController);
+		final ListCollectionFilter<Object> simpleSinkPlugin = new ListCollectionFilter<Object>(new Configuration(), analysisController);
+
+		// Connect the plugins; the queues are small in order to make the reader wait for the filters.
+		analysisController.connect(
+				simpleListReader, ListReader.OUTPUT_PORT_NAME,
+				simpleFilter, SimpleForwardFilterWithRepository.INPUT_PORT_NAME, 8, 4);
+		analysisController.connect(
+				simpleFilter, SimpleForwardFilterWithRepository.OUTPUT_PORT_NAME,
+				simpleSinkPlugin, ListCollectionFilter.INPUT_PORT_NAME, 16, 16);
+
+		analysisController.connect(simpleFilter, SimpleForwardFilterWithRepository.REPOSITORY_PORT_NAME, simpleRepository);
+
+		analysisController.run();
+		Assert.assertEquals(AnalysisController.STATE.TERMINATED, analysisController.getState());
+
+		// the queued objects are processed on termination
+		Assert.assertEquals(objects, simpleSinkPlugin.getList());
+	}
+
+	/**
+	 * This method tests that all asynchronous connections to a plugin have to use the same queue parameters.
+	 * 
+	 * @throws AnalysisConfigurationException
+	 *             If something went wrong during the test.
+	 */
+	@Test(expected = AnalysisConfigurationException.class)
+	public void testAsynchronousConnectionsWithDifferentQueues() throws AnalysisConfigurationException {
+		final IAnalysisController analysisController = new AnalysisController();
+
+		final ListReader<Object> firstReader = new ListReader<Object>(new Configuration(), analysisController);
+		final ListReader<Object> secondReader = new ListReader<Object>(new Configuration(), analysisController);
+		final ListCollectionFilter<Object> simpleSinkPlugin = new ListCollectionFilter<Object>(new Configuration(), analysisController);
+
+		analysisController.connect(firstReader, ListReader.OUTPUT_PORT_NAME, simpleSinkPlugin, ListCollectionFilter.INPUT_PORT_NAME, 8, 4);
+		analysisController.connect(secondReader, ListReader.OUTPUT_PORT_NAME, simpleSinkPlugin, ListCollectionFilter.INPUT_PORT_NAME, 16, 4);
+	}
+
 	/**
 	 * This method tests that the analysis controller makes sure that component names are unique.
 	 */
@@ -16,6 +16,9 @@
 
 package kieker.test.analysis.junit.plugin.filter.flow;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -29,6 +32,7 @@ import kieker.analysis.plugin.reader.list.ListReader;
 import kieker.common.configuration.Configuration;
 import kieker.common.record.flow.trace.AbstractTraceEvent;
 import kieker.common.record.flow.trace.TraceMetadata;
+import kieker.common.record.flow.trace.operation.AfterOperationEvent;
 import kieker.common.record.flow.trace.operation.AfterOperationFailedEvent;
 import kieker.common.record.flow.trace.operation.BeforeOperationEvent;
 import kieker.common.record.flow.trace.operation.constructor.AfterConstructorFailedEvent;
@@ -186,6 +190,35 @@ public class TestEventRecordTraceReconstructionFilter extends AbstractKiekerTest
 		Assert.assertEquals("Did not repair all BeforeEvents", sinkPlugin.getList().get(0).getTraceEvents().length, 10);
 	}
 
+	private void runTestPeriodicTimeoutOnly(final Object[] objects, final long maxTraceTimeout, final int numValidTraces, final int numInvalidTraces)
+			throws IllegalStateException, AnalysisConfigurationException {
+		final IAnalysisController controller = new AnalysisController();
+
+		final ListReader<Object> reader = new ListReader<Object>(new Configuration(), controller);
+
+		final Configuration configuration = new Configuration();
+		configuration.setProperty(EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_MAX_TRACE_TIMEOUT, Long.toString(maxTraceTimeout));
+		configuration.setProperty(EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_PERIODIC_TIMEOUT_ONLY, "true");
+		final EventRecordTraceReconstructionFilter traceFilter = new EventRecordTraceReconstructionFilter(configuration, controller);
+
+		final ListCollectionFilter<TraceEventRecords> sinkPlugin = new ListCollectionFilter<TraceEventRecords>(new Configuration(), controller);
+		final ListCollectionFilter<TraceEventRecords> sinkPluginFailed = new ListCollectionFilter<TraceEventRecords>(new Configuration(), controller);
+
+		// the records and the timestamps are delivered to the respective input port
+		controller.connect(reader, ListReader.OUTPUT_PORT_NAME, traceFilter, EventRecordTraceReconstructionFilter.INPUT_PORT_NAME_TRACE_RECORDS);
+		controller.connect(reader, ListReader.OUTPUT_PORT_NAME, traceFilter, EventRecordTraceReconstructionFilter.INPUT_PORT_NAME_TIME_EVENT);
+		controller.connect(traceFilter, EventRecordTraceReconstructionFilter.OUTPUT_PORT_NAME_TRACE_VALID, sinkPlugin, ListCollectionFilter.INPUT_PORT_NAME);
+		controller.connect(traceFilter, EventRecordTraceReconstructionFilter.OUTPUT_PORT_NAME_TRACE_INVALID, sinkPluginFailed, ListCollectionFilter.INPUT_PORT_NAME);
+
+		for (final Object object : objects) {
+			reader.addObject(object);
+		}
+		controller.run();
+		Assert.assertEquals(AnalysisController.STATE.TERMINATED, controller.getState());
+		Assert.assertEquals("Unexpected number of valid traces", numValidTraces, sinkPlugin.getList().size());
+		Assert.assertEquals("Unexpected number of invalid traces", numInvalidTraces, sinkPluginFailed.getList().size());
+	}
+
 	@Test
 	public void testTraceMaxLong() throws IllegalStateException, AnalysisConfigurationException {
 		final TraceEventRecords bookstoreTrace = BookstoreEventRecordFactory.validSyncTraceBeforeAfterEvents(START_TIME, TRACE_ID, SESSION_ID, HOSTNAME);
@@ -224,6 +257,148 @@ public class TestEventRecordTraceReconstructionFilter extends AbstractKiekerTest
 		this.runTestFailedInterleaved(bookstoreTrace1, bookstoreTrace2, Long.MAX_VALUE, 1);
 	}
 
+	@Test
+	public void testPeriodicTimeoutOnlyIgnoresRecordTimestamps() throws IllegalStateException, AnalysisConfigurationException {
+		final TraceEventRecords bookstoreTrace1 = BookstoreEventRecordFactory.validSyncTraceAdditionalCallEventsGap(START_TIME, TRACE_ID, SESSION_ID, HOSTNAME);
+		final TraceEventRecords bookstoreTrace2 = BookstoreEventRecordFactory.validSyncTraceAdditionalCallEventsGap(START_TIME, TRACE_ID + 1, SESSION_ID, HOSTNAME);
+		final List<Object> objects = new ArrayList<Object>();
+		objects.add(bookstoreTrace1.getTraceMetadata());
+		objects.add(bookstoreTrace2.getTraceMetadata());
+		final AbstractTraceEvent[] events1 = bookstoreTrace1.getTraceEvents();
+		final AbstractTraceEvent[] events2 = bookstoreTrace2.getTraceEvents();
+		for (int i = 0; i < events1.length; i++) {
+			objects.add(events1[i]);
+			objects.add(events2[i]);
+		}
+		// without timestamps, none of the traces times out (in contrast to testTraceLongerThanMaxTimeoutPasses)
+		this.runTestPeriodicTimeoutOnly(objects.toArray(), 1, 2, 0);
+	}
+
+	@Test
+	public void testPeriodicTimeoutOnTimestamp() throws IllegalStateException, AnalysisConfigurationException {
+		final TraceEventRecords bookstoreTrace = BookstoreEventRecordFactory.validSyncTraceBeforeAfterEvents(START_TIME, TRACE_ID, SESSION_ID, HOSTNAME);
+		final AbstractTraceEvent[] events = bookstoreTrace.getTraceEvents();
+		final int half = events.length / 2;
+		final List<Object> objects = new ArrayList<Object>();
+		objects.add(bookstoreTrace.getTraceMetadata());
+		for (int i = 0; i < half; i++) {
+			objects.add(events[i]);
+		}
+		objects.add(Long.valueOf(events[half - 1].getTimestamp() + 10));
+		for (int i = half; i < events.length; i++) {
+			objects.add(events[i]);
+		}
+		// the first half times out, the second half is an incomplete trace on its own
+		this.runTestPeriodicTimeoutOnly(objects.toArray(), 5, 0, 2);
+	}
+
+	@Test
+	public void testLargeTraceInReverseOrder() throws IllegalStateException, AnalysisConfigurationException {
+		final int numCalls = 5000;
+		final AbstractTraceEvent[] events = new AbstractTraceEvent[(2 * numCalls) + 2];
+		int orderIndex = 0;
+		events[orderIndex] = new BeforeOperationEvent(START_TIME, TRACE_ID, orderIndex++, "opSignature0", "myClass0");
+		for (int i = 1; i <= numCalls; i++) {
+			events[orderIndex] = new BeforeOperationEvent(START_TIME + orderIndex, TRACE_ID, orderIndex++, "opSignature" + i, "myClass" + i);
+			events[orderIndex] = new AfterOperationEvent(START_TIME + orderIndex, TRACE_ID, orderIndex++, "opSignature" + i, "myClass" + i);
+		}
+		events[orderIndex] = new AfterOperationEvent(START_TIME + orderIndex, TRACE_ID, orderIndex, "opSignature0", "myClass0");
+		final TraceEventRecords records = new TraceEventRecords(new TraceMetadata(TRACE_ID, -1, SESSION_ID, HOSTNAME, -1, -1), events);
+
+		final IAnalysisController controller = new AnalysisController();
+		final ListReader<Object> reader = new ListReader<Object>(new Configuration(), controller);
+		final EventRecordTraceReconstructionFilter traceFilter = new EventRecordTraceReconstructionFilter(new Configuration(), controller);
+		final ListCollectionFilter<TraceEventRecords> sinkPlugin = new ListCollectionFilter<TraceEventRecords>(new Configuration(), controller);
+		controller.connect(reader, ListReader.OUTPUT_PORT_NAME, traceFilter, EventRecordTraceReconstructionFilter.INPUT_PORT_NAME_TRACE_RECORDS);
+		controller.connect(traceFilter, EventRecordTraceReconstructionFilter.OUTPUT_PORT_NAME_TRACE_VALID, sinkPlugin, ListCollectionFilter.INPUT_PORT_NAME);
+
+		// the trace is complete not before its first event has been received
+		reader.addObject(records.getTraceMetadata());
+		for (int i = events.length - 1; i >= 0; i--) {
+			reader.addObject(events[i]);
+		}
+		controller.run();
+		Assert.assertEquals(AnalysisController.STATE.TERMINATED, controller.getState());
+
+		Assert.assertEquals("No trace passed filter", 1, sinkPlugin.getList().size());
+		Assert.assertEquals(records, sinkPlugin.getList().get(0));
+	}
+
+	@Test
+	public void testHugeOrderIndicesMarkTraceInvalid() throws IllegalStateException, AnalysisConfigurationException {
+		final AbstractTraceEvent[] events = {
+			new BeforeOperationEvent(START_TIME, TRACE_ID, 0, "opSignature0", "myClass0"),
+			new BeforeOperationEvent(START_TIME + 1, TRACE_ID, 1, "opSignature1", "myClass1"),
+			new AfterOperationEvent(START_TIME + 2, TRACE_ID, 2, "opSignature1", "myClass1"),
+			new AfterOperationEvent(START_TIME + 3, TRACE_ID, 2000000000, "opSignature0", "myClass0"),
+			new BeforeOperationEvent(START_TIME + 4, TRACE_ID, Integer.MAX_VALUE, "opSignature2", "myClass2"),
+		};
+		final TraceEventRecords records = new TraceEventRecords(new TraceMetadata(TRACE_ID, -1, SESSION_ID, HOSTNAME, -1, -1), events);
+
+		final IAnalysisController controller = new AnalysisController();
+		final ListReader<Object> reader = new ListReader<Object>(new Configuration(), controller);
+		final EventRecordTraceReconstructionFilter traceFilter = new EventRecordTraceReconstructionFilter(new Configuration(), controller);
+		final ListCollectionFilter<TraceEventRecords> validSink = new ListCollectionFilter<TraceEventRecords>(new Configuration(), controller);
+		final ListCollectionFilter<TraceEventRecords> invalidSink = new ListCollectionFilter<TraceEventRecords>(new Configuration(), controller);
+		controller.connect(reader, ListReader.OUTPUT_PORT_NAME, traceFilter, EventRecordTraceReconstructionFilter.INPUT_PORT_NAME_TRACE_RECORDS);
+		controller.connect(traceFilter, EventRecordTraceReconstructionFilter.OUTPUT_PORT_NAME_TRACE_VALID, validSink, ListCollectionFilter.INPUT_PORT_NAME);
+		controller.connect(traceFilter, EventRecordTraceReconstructionFilter.OUTPUT_PORT_NAME_TRACE_INVALID, invalidSink, ListCollectionFilter.INPUT_PORT_NAME);
+
+		reader.addObject(records.getTraceMetadata());
+		for (final AbstractTraceEvent e : events) {
+			reader.addObject(e);
+		}
+		controller.run();
+		Assert.assertEquals(AnalysisController.STATE.TERMINATED, controller.getState());
+
+		// neither a huge array is allocated nor does the order index overflow; the trace is kept in order index order
+		Assert.assertEquals("There should be no valid trace", 0, validSink.getList().size());
+		Assert.assertEquals("There should be one invalid trace", 1, invalidSink.getList().size());
+		Assert.assertEquals(records, invalidSink.getList().get(0));
+	}
+
+	@Test
+	public void testParallelReconstructionOfInterleavedTraces() throws IllegalStateException, AnalysisConfigurationException {
+		final int numTraces = 200;
+		final List<TraceEventRecords> traces = new ArrayList<TraceEventRecords>();
+		for (int t = 0; t < numTraces; t++) {
+			traces.add(BookstoreEventRecordFactory.validSyncTraceBeforeAfterEvents(START_TIME + t, TRACE_ID + t, SESSION_ID, HOSTNAME));
+		}
+
+		final IAnalysisController controller = new AnalysisController();
+		final ListReader<Object> reader = new ListReader<Object>(new Configuration(), controller);
+		final Configuration configuration = new Configuration();
+		configuration.setProperty(EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_NUMBER_OF_WORKERS, "4");
+		configuration.setProperty(EventRecordTraceReconstructionFilter.CONFIG_PROPERTY_NAME_WORKER_QUEUE_CAPACITY, "16");
+		final EventRecordTraceReconstructionFilter traceFilter = new EventRecordTraceReconstructionFilter(configuration, controller);
+		final ListCollectionFilter<TraceEventRecords> sinkPlugin = new ListCollectionFilter<TraceEventRecords>(new Configuration(), controller);
+		final ListCollectionFilter<TraceEventRecords> sinkPluginFailed = new ListCollectionFilter<TraceEventRecords>(new Configuration(), controller);
+		controller.connect(reader, ListReader.OUTPUT_PORT_NAME, traceFilter, EventRecordTraceReconstructionFilter.INPUT_PORT_NAME_TRACE_RECORDS);
+		controller.connect(traceFilter, EventRecordTraceReconstructionFilter.OUTPUT_PORT_NAME_TRACE_VALID, sinkPlugin, ListCollectionFilter.INPUT_PORT_NAME);
+		controller.connect(traceFilter, EventRecordTraceReconstructionFilter.OUTPUT_PORT_NAME_TRACE_INVALID, sinkPluginFailed, ListCollectionFilter.INPUT_PORT_NAME);
+
+		// the records of all traces are interleaved
+		for (final TraceEventRecords trace : traces) {
+			reader.addObject(trace.getTraceMetadata());
+		}
+		final int numEvents = traces.get(0).getTraceEvents().length;
+		for (int i = 0; i < numEvents; i++) {
+			for (final TraceEventRecords trace : traces) {
+				reader.addObject(trace.getTraceEvents()[i]);
+			}
+		}
+		controller.run();
+		Assert.assertEquals(AnalysisController.STATE.TERMINATED, controller.getState());
+
+		Assert.assertEquals("Unexpected number of invalid traces", 0, sinkPluginFailed.getList().size());
+		final List<TraceEventRecords> reconstructedTraces = sinkPlugin.getList();
+		Assert.assertEquals("Unexpected number of valid traces", numTraces, reconstructedTraces.size());
+		for (final TraceEventRecords reconstructedTrace : reconstructedTraces) {
+			final int t = (int) (reconstructedTrace.getTraceMetadata().getTraceId() - TRACE_ID);
+			Assert.assertEquals("Unexpected trace", traces.get(t), reconstructedTrace);
+		}
+	}
+
 	@Test
 	public void testEventBasedTraceRepairWithoutAnyAfterEvent() throws IllegalStateException, AnalysisConfigurationException {
 		final TraceEventRecords brokenTrace = this.brokenEventsWithoutAfterEvents(START_TIME, TRACE_ID, SESSION_ID, HOSTNAME);
@@ -0,0 +1,120 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.analysis.junit.plugin.filter.flow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.analysis.plugin.filter.flow.OrderIndexedEvents;
+import kieker.common.record.flow.trace.AbstractTraceEvent;
+import kieker.common.record.flow.trace.operation.BeforeOperationEvent;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the storage of the {@link OrderIndexedEvents}, in particular that dense order indices are kept in the array regardless of their arrival order.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestOrderIndexedEvents extends AbstractKiekerTest {
+
+	private static final long TRACE_ID = 978668L;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestOrderIndexedEvents() {
+		// empty default constructor
+	}
+
+	/**
+	 * Adds dense order indices in random order; the first one is the largest order index. The events must be kept in the array all the time.
+	 */
+	@Test
+	public void testDenseEventsOutOfOrderStayInArray() {
+		final int numEvents = 10000;
+		final List<AbstractTraceEvent> events = this.createEvents(numEvents);
+		final List<AbstractTraceEvent> arrivalOrder = new ArrayList<AbstractTraceEvent>(events.subList(0, numEvents - 1));
+		Collections.shuffle(arrivalOrder, new Random(42));
+		arrivalOrder.add(0, events.get(numEvents - 1));
+
+		final OrderIndexedEvents orderIndexedEvents = new OrderIndexedEvents();
+		for (final AbstractTraceEvent event : arrivalOrder) {
+			Assert.assertTrue(orderIndexedEvents.add(event));
+			Assert.assertTrue("Dense events must be stored in the array", orderIndexedEvents.isDense());
+		}
+		Assert.assertEquals(numEvents, orderIndexedEvents.size());
+		Assert.assertEquals(numEvents - 1, orderIndexedEvents.getMaxOrderIndex());
+		Assert.assertEquals(events, Arrays.asList(orderIndexedEvents.toArray()));
+	}
+
+	/**
+	 * Adds the last event of a long trace first. The events are stored sparsely only until the order indices are dense enough.
+	 */
+	@Test
+	public void testLargeFirstOrderIndexReturnsToArray() {
+		final int numEvents = 4 * OrderIndexedEvents.MIN_DENSE_SPAN;
+		final List<AbstractTraceEvent> events = this.createEvents(numEvents);
+
+		final OrderIndexedEvents orderIndexedEvents = new OrderIndexedEvents();
+		Assert.assertTrue(orderIndexedEvents.add(events.get(numEvents - 1)));
+		Assert.assertFalse("A far too large order index must not be stored in the array", orderIndexedEvents.isDense());
+		for (int i = 0; i < (numEvents - 1); i++) {
+			Assert.assertTrue(orderIndexedEvents.add(events.get(i)));
+		}
+		Assert.assertTrue("Dense events must be stored in the array again", orderIndexedEvents.isDense());
+		Assert.assertEquals(events, Arrays.asList(orderIndexedEvents.toArray()));
+	}
+
+	/**
+	 * Adds huge order indices, which must neither allocate a huge array nor overflow, as well as a duplicate.
+	 */
+	@Test
+	public void testHugeOrderIndicesAndDuplicates() {
+		final OrderIndexedEvents orderIndexedEvents = new OrderIndexedEvents();
+		final List<AbstractTraceEvent> events = this.createEvents(3);
+		events.add(this.createEvent(2000000000));
+		events.add(this.createEvent(Integer.MAX_VALUE));
+		for (final AbstractTraceEvent event : events) {
+			Assert.assertTrue(orderIndexedEvents.add(event));
+		}
+		Assert.assertFalse(orderIndexedEvents.isDense());
+		Assert.assertFalse("Duplicate order index accepted", orderIndexedEvents.add(this.createEvent(1)));
+		Assert.assertEquals(Integer.MAX_VALUE, orderIndexedEvents.getMaxOrderIndex());
+		Assert.assertEquals(events, Arrays.asList(orderIndexedEvents.toArray()));
+	}
+
+	private List<AbstractTraceEvent> createEvents(final int numEvents) {
+		final List<AbstractTraceEvent> events = new ArrayList<AbstractTraceEvent>(numEvents);
+		for (int i = 0; i < numEvents; i++) {
+			events.add(this.createEvent(i));
+		}
+		return events;
+	}
+
+	private AbstractTraceEvent createEvent(final int orderIndex) {
+		return new BeforeOperationEvent(orderIndex, TRACE_ID, orderIndex, "opSignature" + orderIndex, "myClass");
+	}
+}
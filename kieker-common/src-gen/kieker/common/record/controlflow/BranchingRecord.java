@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -144,6 +145,16 @@ public class BranchingRecord extends AbstractMonitoringRecord implements IMonito
 		buffer.putInt(this.getBranchingOutcome());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putInt(this.getBranchID());
+		serializer.putInt(this.getBranchingOutcome());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -213,6 +214,21 @@ public class OperationExecutionRecord extends AbstractMonitoringRecord implement
 		buffer.putInt(this.getEss());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putString(this.getOperationSignature());
+		serializer.putString(this.getSessionId());
+		serializer.putLong(this.getTraceId());
+		serializer.putLong(this.getTin());
+		serializer.putLong(this.getTout());
+		serializer.putString(this.getHostname());
+		serializer.putInt(this.getEoi());
+		serializer.putInt(this.getEss());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
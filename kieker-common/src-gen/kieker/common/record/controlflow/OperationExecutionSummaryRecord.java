@@ -0,0 +1,372 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.common.record.controlflow;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import kieker.common.record.AbstractMonitoringRecord;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
+import kieker.common.util.registry.IRegistry;
+import kieker.common.util.Version;
+
+
+/**
+ * @author Kieker Team
+ * 
+ * @since 1.13
+ */
+public class OperationExecutionSummaryRecord extends AbstractMonitoringRecord implements IMonitoringRecord.Factory, IMonitoringRecord.BinaryFactory {
+	/** Descriptive definition of the serialization size of the record. */
+	public static final int SIZE = TYPE_SIZE_LONG // OperationExecutionSummaryRecord.timestamp
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.interval
+			 + TYPE_SIZE_STRING // OperationExecutionSummaryRecord.hostname
+			 + TYPE_SIZE_STRING // OperationExecutionSummaryRecord.operationSignature
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.count
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.minResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.maxResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.sumResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.medianResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.p90ResponseTime
+			 + TYPE_SIZE_LONG // OperationExecutionSummaryRecord.p99ResponseTime
+	;
+	private static final long serialVersionUID = 4371236398163436254L;
+	
+	public static final Class<?>[] TYPES = {
+		long.class, // OperationExecutionSummaryRecord.timestamp
+		long.class, // OperationExecutionSummaryRecord.interval
+		String.class, // OperationExecutionSummaryRecord.hostname
+		String.class, // OperationExecutionSummaryRecord.operationSignature
+		long.class, // OperationExecutionSummaryRecord.count
+		long.class, // OperationExecutionSummaryRecord.minResponseTime
+		long.class, // OperationExecutionSummaryRecord.maxResponseTime
+		long.class, // OperationExecutionSummaryRecord.sumResponseTime
+		long.class, // OperationExecutionSummaryRecord.medianResponseTime
+		long.class, // OperationExecutionSummaryRecord.p90ResponseTime
+		long.class, // OperationExecutionSummaryRecord.p99ResponseTime
+	};
+	
+	/* user-defined constants */
+	public static final String NO_HOSTNAME = "<default-host>";
+	public static final String NO_OPERATION_SIGNATURE = "noOperation";
+	/* default constants */
+	public static final long TIMESTAMP = 0L;
+	public static final long INTERVAL = 0L;
+	public static final String HOSTNAME = NO_HOSTNAME;
+	public static final String OPERATION_SIGNATURE = NO_OPERATION_SIGNATURE;
+	public static final long COUNT = 0L;
+	public static final long MIN_RESPONSE_TIME = 0L;
+	public static final long MAX_RESPONSE_TIME = 0L;
+	public static final long SUM_RESPONSE_TIME = 0L;
+	public static final long MEDIAN_RESPONSE_TIME = 0L;
+	public static final long P90_RESPONSE_TIME = 0L;
+	public static final long P99_RESPONSE_TIME = 0L;
+	/* property declarations */
+	private final long timestamp;
+	private final long interval;
+	private final String hostname;
+	private final String operationSignature;
+	private final long count;
+	private final long minResponseTime;
+	private final long maxResponseTime;
+	private final long sumResponseTime;
+	private final long medianResponseTime;
+	private final long p90ResponseTime;
+	private final long p99ResponseTime;
+
+	/**
+	 * Creates a new instance of this class using the given parameters.
+	 * 
+	 * @param timestamp
+	 *            timestamp
+	 * @param interval
+	 *            interval
+	 * @param hostname
+	 *            hostname
+	 * @param operationSignature
+	 *            operationSignature
+	 * @param count
+	 *            count
+	 * @param minResponseTime
+	 *            minResponseTime
+	 * @param maxResponseTime
+	 *            maxResponseTime
+	 * @param sumResponseTime
+	 *            sumResponseTime
+	 * @param medianResponseTime
+	 *            medianResponseTime
+	 * @param p90ResponseTime
+	 *            p90ResponseTime
+	 * @param p99ResponseTime
+	 *            p99ResponseTime
+	 */
+	public OperationExecutionSummaryRecord(final long timestamp, final long interval, final String hostname, final String operationSignature, final long count, final long minResponseTime, final long maxResponseTime, final long sumResponseTime, final long medianResponseTime, final long p90ResponseTime, final long p99ResponseTime) {
+		this.timestamp = timestamp;
+		this.interval = interval;
+		this.hostname = hostname == null?NO_HOSTNAME:hostname;
+		this.operationSignature = operationSignature == null?NO_OPERATION_SIGNATURE:operationSignature;
+		this.count = count;
+		this.minResponseTime = minResponseTime;
+		this.maxResponseTime = maxResponseTime;
+		this.sumResponseTime = sumResponseTime;
+		this.medianResponseTime = medianResponseTime;
+		this.p90ResponseTime = p90ResponseTime;
+		this.p99ResponseTime = p99ResponseTime;
+	}
+
+	/**
+	 * This constructor converts the given array into a record.
+	 * It is recommended to use the array which is the result of a call to {@link #toArray()}.
+	 * 
+	 * @param values
+	 *            The values for the record.
+	 */
+	public OperationExecutionSummaryRecord(final Object[] values) { // NOPMD (direct store of values)
+		AbstractMonitoringRecord.checkArray(values, TYPES);
+		this.timestamp = (Long) values[0];
+		this.interval = (Long) values[1];
+		this.hostname = (String) values[2];
+		this.operationSignature = (String) values[3];
+		this.count = (Long) values[4];
+		this.minResponseTime = (Long) values[5];
+		this.maxResponseTime = (Long) values[6];
+		this.sumResponseTime = (Long) values[7];
+		this.medianResponseTime = (Long) values[8];
+		this.p90ResponseTime = (Long) values[9];
+		this.p99ResponseTime = (Long) values[10];
+	}
+	
+	/**
+	 * This constructor uses the given array to initialize the fields of this record.
+	 * 
+	 * @param values
+	 *            The values for the record.
+	 * @param valueTypes
+	 *            The types of the elements in the first array.
+	 */
+	protected OperationExecutionSummaryRecord(final Object[] values, final Class<?>[] valueTypes) { // NOPMD (values stored directly)
+		AbstractMonitoringRecord.checkArray(values, valueTypes);
+		this.timestamp = (Long) values[0];
+		this.interval = (Long) values[1];
+		this.hostname = (String) values[2];
+		this.operationSignature = (String) values[3];
+		this.count = (Long) values[4];
+		this.minResponseTime = (Long) values[5];
+		this.maxResponseTime = (Long) values[6];
+		this.sumResponseTime = (Long) values[7];
+		this.medianResponseTime = (Long) values[8];
+		this.p90ResponseTime = (Long) values[9];
+		this.p99ResponseTime = (Long) values[10];
+	}
+
+	/**
+	 * This constructor converts the given array into a record.
+	 * 
+	 * @param buffer
+	 *            The bytes for the record.
+	 * 
+	 * @throws BufferUnderflowException
+	 *             if buffer not sufficient
+	 */
+	public OperationExecutionSummaryRecord(final ByteBuffer buffer, final IRegistry<String> stringRegistry) throws BufferUnderflowException {
+		this.timestamp = buffer.getLong();
+		this.interval = buffer.getLong();
+		this.hostname = stringRegistry.get(buffer.getInt());
+		this.operationSignature = stringRegistry.get(buffer.getInt());
+		this.count = buffer.getLong();
+		this.minResponseTime = buffer.getLong();
+		this.maxResponseTime = buffer.getLong();
+		this.sumResponseTime = buffer.getLong();
+		this.medianResponseTime = buffer.getLong();
+		this.p90ResponseTime = buffer.getLong();
+		this.p99ResponseTime = buffer.getLong();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] toArray() {
+		return new Object[] {
+			this.getTimestamp(),
+			this.getInterval(),
+			this.getHostname(),
+			this.getOperationSignature(),
+			this.getCount(),
+			this.getMinResponseTime(),
+			this.getMaxResponseTime(),
+			this.getSumResponseTime(),
+			this.getMedianResponseTime(),
+			this.getP90ResponseTime(),
+			this.getP99ResponseTime()
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void registerStrings(final IRegistry<String> stringRegistry) {	// NOPMD (generated code)
+		stringRegistry.get(this.getHostname());
+		stringRegistry.get(this.getOperationSignature());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void writeBytes(final ByteBuffer buffer, final IRegistry<String> stringRegistry) throws BufferOverflowException {
+		buffer.putLong(this.getTimestamp());
+		buffer.putLong(this.getInterval());
+		buffer.putInt(stringRegistry.get(this.getHostname()));
+		buffer.putInt(stringRegistry.get(this.getOperationSignature()));
+		buffer.putLong(this.getCount());
+		buffer.putLong(this.getMinResponseTime());
+		buffer.putLong(this.getMaxResponseTime());
+		buffer.putLong(this.getSumResponseTime());
+		buffer.putLong(this.getMedianResponseTime());
+		buffer.putLong(this.getP90ResponseTime());
+		buffer.putLong(this.getP99ResponseTime());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getInterval());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getOperationSignature());
+		serializer.putLong(this.getCount());
+		serializer.putLong(this.getMinResponseTime());
+		serializer.putLong(this.getMaxResponseTime());
+		serializer.putLong(this.getSumResponseTime());
+		serializer.putLong(this.getMedianResponseTime());
+		serializer.putLong(this.getP90ResponseTime());
+		serializer.putLong(this.getP99ResponseTime());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<?>[] getValueTypes() {
+		return TYPES; // NOPMD
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getSize() {
+		return SIZE;
+	}
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @deprecated This record uses the {@link kieker.common.record.IMonitoringRecord.Factory} mechanism. Hence, this method is not implemented.
+	 */
+	@Override
+	@Deprecated
+	public void initFromArray(final Object[] values) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @deprecated This record uses the {@link kieker.common.record.IMonitoringRecord.BinaryFactory} mechanism. Hence, this method is not implemented.
+	 */
+	@Override
+	@Deprecated
+	public void initFromBytes(final ByteBuffer buffer, final IRegistry<String> stringRegistry) throws BufferUnderflowException {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (obj == null) return false;
+		if (obj == this) return true;
+		if (obj.getClass() != this.getClass()) return false;
+		
+		final OperationExecutionSummaryRecord castedRecord = (OperationExecutionSummaryRecord) obj;
+		if (this.getLoggingTimestamp() != castedRecord.getLoggingTimestamp()) return false;
+		if (this.getTimestamp() != castedRecord.getTimestamp()) return false;
+		if (this.getInterval() != castedRecord.getInterval()) return false;
+		if (!this.getHostname().equals(castedRecord.getHostname())) return false;
+		if (!this.getOperationSignature().equals(castedRecord.getOperationSignature())) return false;
+		if (this.getCount() != castedRecord.getCount()) return false;
+		if (this.getMinResponseTime() != castedRecord.getMinResponseTime()) return false;
+		if (this.getMaxResponseTime() != castedRecord.getMaxResponseTime()) return false;
+		if (this.getSumResponseTime() != castedRecord.getSumResponseTime()) return false;
+		if (this.getMedianResponseTime() != castedRecord.getMedianResponseTime()) return false;
+		if (this.getP90ResponseTime() != castedRecord.getP90ResponseTime()) return false;
+		if (this.getP99ResponseTime() != castedRecord.getP99ResponseTime()) return false;
+		return true;
+	}
+
+	public final long getTimestamp() {
+		return this.timestamp;
+	}
+	
+	public final long getInterval() {
+		return this.interval;
+	}
+	
+	public final String getHostname() {
+		return this.hostname;
+	}
+	
+	public final String getOperationSignature() {
+		return this.operationSignature;
+	}
+	
+	public final long getCount() {
+		return this.count;
+	}
+	
+	public final long getMinResponseTime() {
+		return this.minResponseTime;
+	}
+	
+	public final long getMaxResponseTime() {
+		return this.maxResponseTime;
+	}
+	
+	public final long getSumResponseTime() {
+		return this.sumResponseTime;
+	}
+	
+	public final long getMedianResponseTime() {
+		return this.medianResponseTime;
+	}
+	
+	public final long getP90ResponseTime() {
+		return this.p90ResponseTime;
+	}
+	
+	public final long getP99ResponseTime() {
+		return this.p99ResponseTime;
+	}
+	
+}
@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -152,6 +153,18 @@ public class ConstructionEvent extends AbstractTraceEvent  {
 		buffer.putInt(this.getObjectId());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getTraceId());
+		serializer.putInt(this.getOrderIndex());
+		serializer.putString(this.getClassSignature());
+		serializer.putInt(this.getObjectId());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
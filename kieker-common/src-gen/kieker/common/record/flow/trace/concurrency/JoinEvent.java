@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -139,6 +140,17 @@ public class JoinEvent extends AbstractTraceEvent  {
 		buffer.putLong(this.getJoinedTraceId());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getTraceId());
+		serializer.putInt(this.getOrderIndex());
+		serializer.putLong(this.getJoinedTraceId());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -127,6 +128,16 @@ public class SplitEvent extends AbstractTraceEvent  {
 		buffer.putInt(this.getOrderIndex());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getTraceId());
+		serializer.putInt(this.getOrderIndex());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -41,6 +41,10 @@ public abstract class AbstractOperationEvent extends AbstractTraceEvent implemen
 	/* property declarations */
 	private final String operationSignature;
 	private final String classSignature;
+	/* pre-resolved string ids (not part of the record's data) */
+	private final transient IRegistry<String> idRegistry;
+	private final transient int operationSignatureId;
+	private final transient int classSignatureId;
 
 	/**
 	 * Creates a new instance of this class using the given parameters.
@@ -60,6 +64,40 @@ public abstract class AbstractOperationEvent extends AbstractTraceEvent implemen
 		super(timestamp, traceId, orderIndex);
 		this.operationSignature = operationSignature == null?OPERATION_SIGNATURE:operationSignature;
 		this.classSignature = classSignature == null?CLASS_SIGNATURE:classSignature;
+		this.idRegistry = null;
+		this.operationSignatureId = 0;
+		this.classSignatureId = 0;
+	}
+
+	/**
+	 * Creates a new instance of this class using the given parameters and the ids of the signatures in the given string registry. Serializing the record for
+	 * this registry does not need to look up the signatures.
+	 * 
+	 * @param timestamp
+	 *            timestamp
+	 * @param traceId
+	 *            traceId
+	 * @param orderIndex
+	 *            orderIndex
+	 * @param operationSignature
+	 *            operationSignature
+	 * @param classSignature
+	 *            classSignature
+	 * @param stringRegistry
+	 *            the string registry the ids have been obtained from
+	 * @param operationSignatureId
+	 *            the id of the operationSignature in the string registry
+	 * @param classSignatureId
+	 *            the id of the classSignature in the string registry
+	 */
+	public AbstractOperationEvent(final long timestamp, final long traceId, final int orderIndex, final String operationSignature, final String classSignature,
+			final IRegistry<String> stringRegistry, final int operationSignatureId, final int classSignatureId) {
+		super(timestamp, traceId, orderIndex);
+		this.operationSignature = operationSignature == null?OPERATION_SIGNATURE:operationSignature;
+		this.classSignature = classSignature == null?CLASS_SIGNATURE:classSignature;
+		this.idRegistry = stringRegistry;
+		this.operationSignatureId = operationSignatureId;
+		this.classSignatureId = classSignatureId;
 	}
 
 	
@@ -75,6 +113,9 @@ public abstract class AbstractOperationEvent extends AbstractTraceEvent implemen
 		super(values, valueTypes);
 		this.operationSignature = (String) values[3];
 		this.classSignature = (String) values[4];
+		this.idRegistry = null;
+		this.operationSignatureId = 0;
+		this.classSignatureId = 0;
 	}
 
 	/**
@@ -90,6 +131,9 @@ public abstract class AbstractOperationEvent extends AbstractTraceEvent implemen
 		super(buffer, stringRegistry);
 		this.operationSignature = stringRegistry.get(buffer.getInt());
 		this.classSignature = stringRegistry.get(buffer.getInt());
+		this.idRegistry = null;
+		this.operationSignatureId = 0;
+		this.classSignatureId = 0;
 	}
 
 	/**
@@ -140,5 +184,23 @@ public abstract class AbstractOperationEvent extends AbstractTraceEvent implemen
 	public final String getClassSignature() {
 		return this.classSignature;
 	}
+
+	/**
+	 * @param stringRegistry
+	 *            the string registry used for serialization
+	 * @return the id of the operationSignature in the given registry; the pre-resolved id if it has been obtained from this registry
+	 */
+	protected final int getOperationSignatureId(final IRegistry<String> stringRegistry) {
+		return stringRegistry == this.idRegistry ? this.operationSignatureId : stringRegistry.get(this.operationSignature); // NOPMD NOCS (identity)
+	}
+
+	/**
+	 * @param stringRegistry
+	 *            the string registry used for serialization
+	 * @return the id of the classSignature in the given registry; the pre-resolved id if it has been obtained from this registry
+	 */
+	protected final int getClassSignatureId(final IRegistry<String> stringRegistry) {
+		return stringRegistry == this.idRegistry ? this.classSignatureId : stringRegistry.get(this.classSignature); // NOPMD NOCS (identity)
+	}
 	
 }
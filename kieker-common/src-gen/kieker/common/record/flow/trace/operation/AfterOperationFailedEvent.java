@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -78,6 +79,34 @@ public class AfterOperationFailedEvent extends AfterOperationEvent implements IE
 		this.cause = cause == null?CAUSE:cause;
 	}
 
+	/**
+	 * Creates a new instance of this class using the given parameters and the ids of the signatures in the given string registry.
+	 * 
+	 * @param timestamp
+	 *            timestamp
+	 * @param traceId
+	 *            traceId
+	 * @param orderIndex
+	 *            orderIndex
+	 * @param operationSignature
+	 *            operationSignature
+	 * @param classSignature
+	 *            classSignature
+	 * @param cause
+	 *            cause
+	 * @param stringRegistry
+	 *            the string registry the ids have been obtained from
+	 * @param operationSignatureId
+	 *            the id of the operationSignature in the string registry
+	 * @param classSignatureId
+	 *            the id of the classSignature in the string registry
+	 */
+	public AfterOperationFailedEvent(final long timestamp, final long traceId, final int orderIndex, final String operationSignature, final String classSignature, final String cause,
+			final IRegistry<String> stringRegistry, final int operationSignatureId, final int classSignatureId) {
+		super(timestamp, traceId, orderIndex, operationSignature, classSignature, stringRegistry, operationSignatureId, classSignatureId);
+		this.cause = cause == null?CAUSE:cause;
+	}
+
 	/**
 	 * This constructor converts the given array into a record.
 	 * It is recommended to use the array which is the result of a call to {@link #toArray()}.
@@ -150,11 +179,24 @@ public class AfterOperationFailedEvent extends AfterOperationEvent implements IE
 		buffer.putLong(this.getTimestamp());
 		buffer.putLong(this.getTraceId());
 		buffer.putInt(this.getOrderIndex());
-		buffer.putInt(stringRegistry.get(this.getOperationSignature()));
-		buffer.putInt(stringRegistry.get(this.getClassSignature()));
+		buffer.putInt(this.getOperationSignatureId(stringRegistry));
+		buffer.putInt(this.getClassSignatureId(stringRegistry));
 		buffer.putInt(stringRegistry.get(this.getCause()));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getTraceId());
+		serializer.putInt(this.getOrderIndex());
+		serializer.putString(this.getOperationSignature());
+		serializer.putString(this.getClassSignature());
+		serializer.putString(this.getCause());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
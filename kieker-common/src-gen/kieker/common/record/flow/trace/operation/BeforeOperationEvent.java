@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -70,6 +71,31 @@ public class BeforeOperationEvent extends AbstractOperationEvent  {
 		super(timestamp, traceId, orderIndex, operationSignature, classSignature);
 	}
 
+	/**
+	 * Creates a new instance of this class using the given parameters and the ids of the signatures in the given string registry.
+	 * 
+	 * @param timestamp
+	 *            timestamp
+	 * @param traceId
+	 *            traceId
+	 * @param orderIndex
+	 *            orderIndex
+	 * @param operationSignature
+	 *            operationSignature
+	 * @param classSignature
+	 *            classSignature
+	 * @param stringRegistry
+	 *            the string registry the ids have been obtained from
+	 * @param operationSignatureId
+	 *            the id of the operationSignature in the string registry
+	 * @param classSignatureId
+	 *            the id of the classSignature in the string registry
+	 */
+	public BeforeOperationEvent(final long timestamp, final long traceId, final int orderIndex, final String operationSignature, final String classSignature,
+			final IRegistry<String> stringRegistry, final int operationSignatureId, final int classSignatureId) {
+		super(timestamp, traceId, orderIndex, operationSignature, classSignature, stringRegistry, operationSignatureId, classSignatureId);
+	}
+
 	/**
 	 * This constructor converts the given array into a record.
 	 * It is recommended to use the array which is the result of a call to {@link #toArray()}.
@@ -137,8 +163,20 @@ public class BeforeOperationEvent extends AbstractOperationEvent  {
 		buffer.putLong(this.getTimestamp());
 		buffer.putLong(this.getTraceId());
 		buffer.putInt(this.getOrderIndex());
-		buffer.putInt(stringRegistry.get(this.getOperationSignature()));
-		buffer.putInt(stringRegistry.get(this.getClassSignature()));
+		buffer.putInt(this.getOperationSignatureId(stringRegistry));
+		buffer.putInt(this.getClassSignatureId(stringRegistry));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getTraceId());
+		serializer.putInt(this.getOrderIndex());
+		serializer.putString(this.getOperationSignature());
+		serializer.putString(this.getClassSignature());
 	}
 
 	/**
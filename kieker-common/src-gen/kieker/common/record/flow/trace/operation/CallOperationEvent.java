@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -162,12 +163,26 @@ public class CallOperationEvent extends AbstractOperationEvent implements ICallR
 		buffer.putLong(this.getTimestamp());
 		buffer.putLong(this.getTraceId());
 		buffer.putInt(this.getOrderIndex());
-		buffer.putInt(stringRegistry.get(this.getOperationSignature()));
-		buffer.putInt(stringRegistry.get(this.getClassSignature()));
+		buffer.putInt(this.getOperationSignatureId(stringRegistry));
+		buffer.putInt(this.getClassSignatureId(stringRegistry));
 		buffer.putInt(stringRegistry.get(this.getCalleeOperationSignature()));
 		buffer.putInt(stringRegistry.get(this.getCalleeClassSignature()));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putLong(this.getTraceId());
+		serializer.putInt(this.getOrderIndex());
+		serializer.putString(this.getOperationSignature());
+		serializer.putString(this.getClassSignature());
+		serializer.putString(this.getCalleeOperationSignature());
+		serializer.putString(this.getCalleeClassSignature());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -162,6 +163,19 @@ public class ClassLoadingRecord extends AbstractJVMRecord  {
 		buffer.putLong(this.getUnloadedClassCount());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getVmName());
+		serializer.putLong(this.getTotalLoadedClassCount());
+		serializer.putInt(this.getLoadedClassCount());
+		serializer.putLong(this.getUnloadedClassCount());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
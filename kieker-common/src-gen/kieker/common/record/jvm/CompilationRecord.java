@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -153,6 +154,18 @@ public class CompilationRecord extends AbstractJVMRecord  {
 		buffer.putLong(this.getTotalCompilationTimeMS());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getVmName());
+		serializer.putString(this.getJitCompilerName());
+		serializer.putLong(this.getTotalCompilationTimeMS());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
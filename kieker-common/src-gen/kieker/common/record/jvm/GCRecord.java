@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -164,6 +165,19 @@ public class GCRecord extends AbstractJVMRecord  {
 		buffer.putLong(this.getCollectionTimeMS());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getVmName());
+		serializer.putString(this.getGcName());
+		serializer.putLong(this.getCollectionCount());
+		serializer.putLong(this.getCollectionTimeMS());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -228,6 +229,25 @@ public class MemoryRecord extends AbstractJVMRecord  {
 		buffer.putInt(this.getObjectPendingFinalizationCount());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getVmName());
+		serializer.putLong(this.getHeapMaxBytes());
+		serializer.putLong(this.getHeapUsedBytes());
+		serializer.putLong(this.getHeapCommittedBytes());
+		serializer.putLong(this.getHeapInitBytes());
+		serializer.putLong(this.getNonHeapMaxBytes());
+		serializer.putLong(this.getNonHeapUsedBytes());
+		serializer.putLong(this.getNonHeapCommittedBytes());
+		serializer.putLong(this.getNonHeapInitBytes());
+		serializer.putInt(this.getObjectPendingFinalizationCount());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
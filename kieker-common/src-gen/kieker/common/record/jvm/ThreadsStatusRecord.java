@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -173,6 +174,20 @@ public class ThreadsStatusRecord extends AbstractJVMRecord  {
 		buffer.putLong(this.getTotalStartedThreadCount());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getVmName());
+		serializer.putLong(this.getThreadCount());
+		serializer.putLong(this.getDaemonThreadCount());
+		serializer.putLong(this.getPeakThreadCount());
+		serializer.putLong(this.getTotalStartedThreadCount());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -212,6 +213,21 @@ public class KiekerMetadataRecord extends AbstractMonitoringRecord implements IM
 		buffer.putLong(this.getNumberOfRecords());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putString(this.getVersion());
+		serializer.putString(this.getControllerName());
+		serializer.putString(this.getHostname());
+		serializer.putInt(this.getExperimentId());
+		serializer.putBoolean(this.isDebugMode());
+		serializer.putLong(this.getTimeOffset());
+		serializer.putString(this.getTimeUnit());
+		serializer.putLong(this.getNumberOfRecords());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
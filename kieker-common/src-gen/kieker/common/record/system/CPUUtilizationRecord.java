@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -230,6 +231,23 @@ public class CPUUtilizationRecord extends AbstractMonitoringRecord implements IM
 		buffer.putDouble(this.getIdle());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getCpuID());
+		serializer.putDouble(this.getUser());
+		serializer.putDouble(this.getSystem());
+		serializer.putDouble(this.getWait());
+		serializer.putDouble(this.getNice());
+		serializer.putDouble(this.getIrq());
+		serializer.putDouble(this.getTotalUtilization());
+		serializer.putDouble(this.getIdle());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
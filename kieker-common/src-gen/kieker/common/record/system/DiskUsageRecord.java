@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -218,6 +219,22 @@ public class DiskUsageRecord extends AbstractMonitoringRecord implements IMonito
 		buffer.putDouble(this.getWritesPerSecond());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getDeviceName());
+		serializer.putDouble(this.getQueue());
+		serializer.putDouble(this.getReadBytesPerSecond());
+		serializer.putDouble(this.getReadsPerSecond());
+		serializer.putDouble(this.getServiceTime());
+		serializer.putDouble(this.getWriteBytesPerSecond());
+		serializer.putDouble(this.getWritesPerSecond());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
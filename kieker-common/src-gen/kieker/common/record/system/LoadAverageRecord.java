@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -169,6 +170,18 @@ public class LoadAverageRecord extends AbstractMonitoringRecord implements IMoni
 		buffer.putDouble(this.getFifteenMinLoadAverage());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putDouble(this.getOneMinLoadAverage());
+		serializer.putDouble(this.getFiveMinLoadAverage());
+		serializer.putDouble(this.getFifteenMinLoadAverage());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
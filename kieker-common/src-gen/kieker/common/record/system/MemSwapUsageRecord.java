@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -205,6 +206,21 @@ public class MemSwapUsageRecord extends AbstractMonitoringRecord implements IMon
 		buffer.putLong(this.getSwapFree());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putLong(this.getMemTotal());
+		serializer.putLong(this.getMemUsed());
+		serializer.putLong(this.getMemFree());
+		serializer.putLong(this.getSwapTotal());
+		serializer.putLong(this.getSwapUsed());
+		serializer.putLong(this.getSwapFree());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
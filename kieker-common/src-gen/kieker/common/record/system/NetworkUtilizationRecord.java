@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -314,6 +315,30 @@ public class NetworkUtilizationRecord extends AbstractMonitoringRecord implement
 		buffer.putDouble(this.getRxPacketsPerSecond());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getInterfaceName());
+		serializer.putLong(this.getSpeed());
+		serializer.putDouble(this.getTxBytesPerSecond());
+		serializer.putDouble(this.getTxCarrierPerSecond());
+		serializer.putDouble(this.getTxCollisionsPerSecond());
+		serializer.putDouble(this.getTxDroppedPerSecond());
+		serializer.putDouble(this.getTxErrorsPerSecond());
+		serializer.putDouble(this.getTxOverrunsPerSecond());
+		serializer.putDouble(this.getTxPacketsPerSecond());
+		serializer.putDouble(this.getRxBytesPerSecond());
+		serializer.putDouble(this.getRxDroppedPerSecond());
+		serializer.putDouble(this.getRxErrorsPerSecond());
+		serializer.putDouble(this.getRxFramePerSecond());
+		serializer.putDouble(this.getRxOverrunsPerSecond());
+		serializer.putDouble(this.getRxPacketsPerSecond());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -158,6 +159,17 @@ public class ResourceUtilizationRecord extends AbstractMonitoringRecord implemen
 		buffer.putDouble(this.getUtilization());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putString(this.getHostname());
+		serializer.putString(this.getResourceName());
+		serializer.putDouble(this.getUtilization());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
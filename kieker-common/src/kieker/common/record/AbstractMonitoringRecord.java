@@ -26,6 +26,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import kieker.common.exception.MonitoringRecordException;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 
 /**
@@ -118,6 +119,44 @@ public abstract class AbstractMonitoringRecord implements IMonitoringRecord {
 		return sb.toString();
 	}
 
+	/**
+	 * Passes the values delivered by {@link #toArray()} to the given serializer. Records should override this method to pass their values directly, since
+	 * this implementation boxes each value.
+	 *
+	 * @param serializer
+	 *            The serializer receiving the values.
+	 *
+	 * @since 1.13
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		final Class<?>[] types = this.getValueTypes();
+		final Object[] values = this.toArray();
+		for (int i = 0; i < values.length; i++) {
+			final Class<?> type = types[i];
+			final Object value = values[i];
+			if ((type == long.class) || (type == Long.class)) {
+				serializer.putLong((Long) value);
+			} else if ((type == int.class) || (type == Integer.class)) {
+				serializer.putInt((Integer) value);
+			} else if ((type == double.class) || (type == Double.class)) {
+				serializer.putDouble((Double) value);
+			} else if ((type == float.class) || (type == Float.class)) {
+				serializer.putFloat((Float) value);
+			} else if ((type == short.class) || (type == Short.class)) { // NOPMD (short)
+				serializer.putShort((Short) value);
+			} else if ((type == byte.class) || (type == Byte.class)) {
+				serializer.putByte((Byte) value);
+			} else if ((type == boolean.class) || (type == Boolean.class)) {
+				serializer.putBoolean((Boolean) value);
+			} else if (type == String.class) {
+				serializer.putString((String) value);
+			} else {
+				serializer.putString(String.valueOf(value));
+			}
+		}
+	}
+
 	/**
 	 * Provides an ordering of IMonitoringRecords by the loggingTimestamp.
 	 * Classes overriding the implementation should respect this ordering. (see #326)
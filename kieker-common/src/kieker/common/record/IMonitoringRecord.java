@@ -21,6 +21,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 
 /**
@@ -101,6 +102,17 @@ public interface IMonitoringRecord extends Serializable, Comparable<IMonitoringR
 	 */
 	public void writeBytes(ByteBuffer buffer, IRegistry<String> stringRegistry) throws BufferOverflowException;
 
+	/**
+	 * This method should pass the values of the record to the given serializer, in the same order as {@link #toArray()} delivers them, but without boxing
+	 * them or creating any other objects.
+	 *
+	 * @param serializer
+	 *            The serializer receiving the values.
+	 *
+	 * @since 1.13
+	 */
+	public void serialize(IValueSerializer serializer);
+
 	/**
 	 * This method should initialize the record based on the given values. The array should be one of those resulting from a call to
 	 * {@link #writeBytes(ByteBuffer, IRegistry)}.
@@ -0,0 +1,153 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.record.compact;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Constants and primitives of the compact binary record encoding, an alternative to the fixed-width layout of {@link kieker.common.record.IMonitoringRecord#writeBytes}.
+ *
+ * <p>
+ * A compactly encoded stream starts with a header consisting of the (negative) int {@link #MAGIC} and the version byte {@link #VERSION}. Since record type ids
+ * are never negative, readers can distinguish it from a stream in the fixed-width layout by its first int. Each record is encoded as follows:
+ * </p>
+ * <ul>
+ * <li>the record type id as an unsigned varint,</li>
+ * <li>the logging timestamp as a zig-zag varint of its difference to the logging timestamp of the previous record,</li>
+ * <li>each int or long field (e.g., timestamps, trace ids, and order indices) as a zig-zag varint of its difference to the int or long field at the same
+ * position of the previous record,</li>
+ * <li>each string field as the unsigned varint of its id in the string registry, each short field as a zig-zag varint, and all other fields in their fixed
+ * width.</li>
+ * </ul>
+ * The differences are computed per stream (e.g., per file or per connection), hence the state has to be reset at the beginning of each stream.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class CompactEncoding { // NOCS NOPMD (constants interface)
+
+	/** The first int of a compactly encoded stream. */
+	public static final int MAGIC = 0xC0DEC0DE;
+	/** The version of the encoding following {@link #MAGIC}. */
+	public static final byte VERSION = 1;
+	/** The size of the stream header in bytes. */
+	public static final int HEADER_SIZE = 4 + 1;
+
+	/** The maximal size of a varint-encoded long in bytes. */
+	public static final int MAX_VARLONG_SIZE = 10;
+	/** The maximal size of a varint-encoded int in bytes. */
+	public static final int MAX_VARINT_SIZE = 5;
+
+	private CompactEncoding() {
+		// private default constructor
+	}
+
+	/**
+	 * Writes the stream header to the given buffer.
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 */
+	public static void putHeader(final ByteBuffer buffer) {
+		buffer.putInt(MAGIC);
+		buffer.put(VERSION);
+	}
+
+	/**
+	 * Tests, without changing its position, whether the given buffer starts with the stream header. The buffer has to contain at least four bytes.
+	 *
+	 * @param buffer
+	 *            The buffer to test.
+	 * @return true if and only if the next int of the buffer is {@link #MAGIC}.
+	 */
+	public static boolean startsWithHeader(final ByteBuffer buffer) {
+		return buffer.getInt(buffer.position()) == MAGIC;
+	}
+
+	/**
+	 * Determines the maximal size of a record with the given value types, including its type id and logging timestamp.
+	 *
+	 * @param valueTypes
+	 *            The value types of the record.
+	 * @return The maximal size of the encoded record in bytes.
+	 */
+	public static int maxRecordSize(final Class<?>[] valueTypes) {
+		// no value is encoded in more bytes than a long
+		return MAX_VARINT_SIZE + MAX_VARLONG_SIZE + (valueTypes.length * MAX_VARLONG_SIZE);
+	}
+
+	/**
+	 * Writes the given value as an unsigned varint (seven bits per byte, least significant group first).
+	 *
+	 * @param buffer
+	 *            The buffer to write to.
+	 * @param value
+	 *            The value to write; negative values occupy the maximal size.
+	 */
+	public static void putVarLong(final ByteBuffer buffer, final long value) {
+		long remaining = value;
+		while ((remaining & ~0x7FL) != 0L) {
+			buffer.put((byte) ((remaining & 0x7F) | 0x80));
+			remaining >>>= 7;
+		}
+		buffer.put((byte) remaining);
+	}
+
+	/**
+	 * Reads an unsigned varint written by {@link #putVarLong(ByteBuffer, long)}.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @return The value read.
+	 *
+	 * @throws java.nio.BufferUnderflowException
+	 *             If the buffer ends within the varint.
+	 * @throws IllegalArgumentException
+	 *             If the varint is longer than {@link #MAX_VARLONG_SIZE} bytes.
+	 */
+	public static long getVarLong(final ByteBuffer buffer) {
+		long value = 0L;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+
+	/**
+	 * @param value
+	 *            A signed value.
+	 * @return The value mapped to a non-negative one of similar magnitude (0, -1, 1, -2, ... become 0, 1, 2, 3, ...).
+	 */
+	public static long zigZag(final long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * @param value
+	 *            A value mapped by {@link #zigZag(long)}.
+	 * @return The original signed value.
+	 */
+	public static long unZigZag(final long value) {
+		return (value >>> 1) ^ -(value & 1L);
+	}
+}
@@ -0,0 +1,208 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.record.compact;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import kieker.common.exception.MonitoringRecordException;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.AbstractMonitoringRecord;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.util.registry.IRegistry;
+
+/**
+ * Decodes the records of a single stream in the {@link CompactEncoding compact encoding}. Instances keep the values of the previously decoded record and are
+ * not thread-safe.
+ *
+ * <p>
+ * A record is decoded completely before the state is updated. Hence, if the buffer ends within a record, the resulting
+ * {@link java.nio.BufferUnderflowException} leaves the decoder unchanged and the record can be decoded again once more data is available. A string id
+ * without mapping does not abort the record: like the reader of the fixed-width layout, the decoder logs an error and uses an empty string.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class CompactRecordDecoder {
+
+	private static final Log LOG = LogFactory.getLog(CompactRecordDecoder.class);
+
+	private static final int INITIAL_FIELDS = 16;
+
+	private final IStringLookup stringLookup;
+	private final Map<Integer, Class<? extends IMonitoringRecord>> classesByTypeId = new HashMap<Integer, Class<? extends IMonitoringRecord>>(); // NOPMD
+
+	private long lastLoggingTimestamp;
+	private long[] lastLongs = new long[INITIAL_FIELDS];
+	private int[] lastInts = new int[INITIAL_FIELDS];
+
+	/**
+	 * Creates a new decoder.
+	 *
+	 * @param stringLookup
+	 *            The lookup resolving the record type ids and the ids of the string fields.
+	 */
+	public CompactRecordDecoder(final IStringLookup stringLookup) {
+		this.stringLookup = stringLookup;
+	}
+
+	/**
+	 * Creates a new decoder.
+	 *
+	 * @param stringRegistry
+	 *            The registry resolving the record type ids and the ids of the string fields.
+	 */
+	public CompactRecordDecoder(final IRegistry<String> stringRegistry) {
+		this(new RegistryStringLookup(stringRegistry));
+	}
+
+	/**
+	 * Reads the stream header from the given buffer and resets the state of the decoder. Has to be called at the beginning of each stream.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 *
+	 * @throws MonitoringRecordException
+	 *             If the buffer does not start with a header of a supported version.
+	 * @throws java.nio.BufferUnderflowException
+	 *             If the buffer contains less than {@link CompactEncoding#HEADER_SIZE} bytes.
+	 */
+	public void startStream(final ByteBuffer buffer) throws MonitoringRecordException {
+		final int magic = buffer.getInt();
+		final byte version = buffer.get();
+		if (magic != CompactEncoding.MAGIC) {
+			throw new MonitoringRecordException("Stream does not start with the header of the compact encoding");
+		}
+		if (version != CompactEncoding.VERSION) {
+			throw new MonitoringRecordException("Unsupported version " + version + " of the compact encoding");
+		}
+		this.lastLoggingTimestamp = 0L;
+		Arrays.fill(this.lastLongs, 0L);
+		Arrays.fill(this.lastInts, 0);
+	}
+
+	/**
+	 * Reads the next record from the given buffer.
+	 *
+	 * @param buffer
+	 *            The buffer to read from.
+	 * @return The decoded record.
+	 *
+	 * @throws MonitoringRecordException
+	 *             If the record type is unknown or the record cannot be created.
+	 * @throws java.nio.BufferUnderflowException
+	 *             If the buffer ends within the record; the state of the decoder is unchanged in this case.
+	 */
+	public IMonitoringRecord decode(final ByteBuffer buffer) throws MonitoringRecordException {
+		final Class<? extends IMonitoringRecord> clazz = this.recordClass((int) CompactEncoding.getVarLong(buffer));
+		final Class<?>[] types = AbstractMonitoringRecord.typesForClass(clazz);
+		if (types.length > this.lastLongs.length) {
+			this.lastLongs = Arrays.copyOf(this.lastLongs, types.length);
+			this.lastInts = Arrays.copyOf(this.lastInts, types.length);
+		}
+
+		final long loggingTimestamp = this.lastLoggingTimestamp + CompactEncoding.unZigZag(CompactEncoding.getVarLong(buffer));
+		final Object[] values = new Object[types.length];
+		// logged only once the record is complete, since an incomplete record is decoded again
+		String unmappedStringIds = null;
+		for (int i = 0; i < types.length; i++) {
+			final Class<?> type = types[i];
+			if ((type == long.class) || (type == Long.class)) {
+				values[i] = this.lastLongs[i] + CompactEncoding.unZigZag(CompactEncoding.getVarLong(buffer));
+			} else if ((type == int.class) || (type == Integer.class)) {
+				values[i] = this.lastInts[i] + (int) CompactEncoding.unZigZag(CompactEncoding.getVarLong(buffer));
+			} else if (type == String.class) {
+				final int stringId = (int) CompactEncoding.getVarLong(buffer);
+				final String string = this.stringLookup.get(stringId);
+				if (string == null) {
+					// the remainder of the record is read nevertheless, otherwise the following records would be decoded with a wrong state
+					unmappedStringIds = (unmappedStringIds == null) ? Integer.toString(stringId) : (unmappedStringIds + ", " + stringId); // NOCS (inline cond)
+					values[i] = "";
+				} else {
+					values[i] = string;
+				}
+			} else if ((type == double.class) || (type == Double.class)) {
+				values[i] = buffer.getDouble();
+			} else if ((type == float.class) || (type == Float.class)) {
+				values[i] = buffer.getFloat();
+			} else if ((type == short.class) || (type == Short.class)) { // NOPMD (short)
+				values[i] = (short) CompactEncoding.unZigZag(CompactEncoding.getVarLong(buffer));
+			} else if ((type == byte.class) || (type == Byte.class)) {
+				values[i] = buffer.get();
+			} else if ((type == boolean.class) || (type == Boolean.class)) {
+				values[i] = buffer.get() != 0;
+			} else {
+				throw new MonitoringRecordException("Unsupported type " + type.getName() + " of record " + clazz.getName());
+			}
+		}
+
+		// the record has been read completely
+		if (unmappedStringIds != null) {
+			LOG.error("No String mapping found for id " + unmappedStringIds);
+		}
+		this.lastLoggingTimestamp = loggingTimestamp;
+		for (int i = 0; i < types.length; i++) {
+			if (values[i] instanceof Long) {
+				this.lastLongs[i] = (Long) values[i];
+			} else if (values[i] instanceof Integer) {
+				this.lastInts[i] = (Integer) values[i];
+			}
+		}
+		final IMonitoringRecord record = AbstractMonitoringRecord.createFromArray(clazz, values);
+		record.setLoggingTimestamp(loggingTimestamp);
+		return record;
+	}
+
+	private Class<? extends IMonitoringRecord> recordClass(final int recordTypeId) throws MonitoringRecordException {
+		Class<? extends IMonitoringRecord> clazz = this.classesByTypeId.get(recordTypeId);
+		if (clazz == null) {
+			final String classname = this.stringLookup.get(recordTypeId);
+			if (classname == null) {
+				throw new MonitoringRecordException("Missing classname mapping for record type id '" + recordTypeId + "'");
+			}
+			clazz = AbstractMonitoringRecord.classForName(classname);
+			this.classesByTypeId.put(recordTypeId, clazz);
+		}
+		return clazz;
+	}
+
+	/**
+	 * Resolves the ids by means of a string registry.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class RegistryStringLookup implements IStringLookup {
+		private final IRegistry<String> stringRegistry;
+
+		public RegistryStringLookup(final IRegistry<String> stringRegistry) {
+			this.stringRegistry = stringRegistry;
+		}
+
+		@Override
+		public String get(final int id) {
+			return this.stringRegistry.get(id);
+		}
+	}
+}
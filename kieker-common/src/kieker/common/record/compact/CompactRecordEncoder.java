@@ -0,0 +1,120 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.record.compact;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.util.registry.IRegistry;
+
+/**
+ * Encodes records of a single stream in the {@link CompactEncoding compact encoding}. Instances keep the values of the previously encoded record and are not
+ * thread-safe.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class CompactRecordEncoder {
+
+	private static final int INITIAL_FIELDS = 16;
+
+	private final IRegistry<String> stringRegistry;
+
+	private long lastLoggingTimestamp;
+	private long[] lastLongs = new long[INITIAL_FIELDS];
+	private int[] lastInts = new int[INITIAL_FIELDS];
+
+	/**
+	 * Creates a new encoder.
+	 *
+	 * @param stringRegistry
+	 *            The registry providing the ids of the string fields.
+	 */
+	public CompactRecordEncoder(final IRegistry<String> stringRegistry) {
+		this.stringRegistry = stringRegistry;
+	}
+
+	/**
+	 * Writes the stream header to the given buffer and resets the state of the encoder. Has to be called at the beginning of each stream.
+	 *
+	 * @param buffer
+	 *            The buffer to write to; it has to provide at least {@link CompactEncoding#HEADER_SIZE} bytes.
+	 */
+	public void startStream(final ByteBuffer buffer) {
+		this.lastLoggingTimestamp = 0L;
+		Arrays.fill(this.lastLongs, 0L);
+		Arrays.fill(this.lastInts, 0);
+		CompactEncoding.putHeader(buffer);
+	}
+
+	/**
+	 * Writes the given record to the given buffer.
+	 *
+	 * @param monitoringRecord
+	 *            The record to encode.
+	 * @param recordTypeId
+	 *            The id of the record's class name in the string registry.
+	 * @param buffer
+	 *            The buffer to write to; it has to provide at least {@link CompactEncoding#maxRecordSize(Class[])} bytes.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the record has a value type which is not supported.
+	 */
+	public void encode(final IMonitoringRecord monitoringRecord, final int recordTypeId, final ByteBuffer buffer) {
+		final Class<?>[] types = monitoringRecord.getValueTypes();
+		final Object[] values = monitoringRecord.toArray();
+		if (types.length > this.lastLongs.length) {
+			this.lastLongs = Arrays.copyOf(this.lastLongs, types.length);
+			this.lastInts = Arrays.copyOf(this.lastInts, types.length);
+		}
+
+		CompactEncoding.putVarLong(buffer, recordTypeId);
+		final long loggingTimestamp = monitoringRecord.getLoggingTimestamp();
+		CompactEncoding.putVarLong(buffer, CompactEncoding.zigZag(loggingTimestamp - this.lastLoggingTimestamp));
+		this.lastLoggingTimestamp = loggingTimestamp;
+
+		for (int i = 0; i < types.length; i++) {
+			final Class<?> type = types[i];
+			if ((type == long.class) || (type == Long.class)) {
+				final long value = (Long) values[i];
+				CompactEncoding.putVarLong(buffer, CompactEncoding.zigZag(value - this.lastLongs[i]));
+				this.lastLongs[i] = value;
+			} else if ((type == int.class) || (type == Integer.class)) {
+				final int value = (Integer) values[i];
+				CompactEncoding.putVarLong(buffer, CompactEncoding.zigZag(value - this.lastInts[i]));
+				this.lastInts[i] = value;
+			} else if (type == String.class) {
+				CompactEncoding.putVarLong(buffer, this.stringRegistry.get((String) values[i]));
+			} else if ((type == double.class) || (type == Double.class)) {
+				buffer.putDouble((Double) values[i]);
+			} else if ((type == float.class) || (type == Float.class)) {
+				buffer.putFloat((Float) values[i]);
+			} else if ((type == short.class) || (type == Short.class)) { // NOPMD (short)
+				CompactEncoding.putVarLong(buffer, CompactEncoding.zigZag((Short) values[i]));
+			} else if ((type == byte.class) || (type == Byte.class)) {
+				buffer.put((Byte) values[i]);
+			} else if ((type == boolean.class) || (type == Boolean.class)) {
+				buffer.put((Boolean) values[i] ? (byte) 1 : (byte) 0); // NOCS (inline cond)
+			} else {
+				throw new IllegalArgumentException("Unsupported type " + type.getName() + " of record " + monitoringRecord.getClass().getName());
+			}
+		}
+	}
+}
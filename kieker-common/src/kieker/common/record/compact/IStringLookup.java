@@ -0,0 +1,39 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.record.compact;
+
+/**
+ * Resolves the ids of the record types and of the string fields for a {@link CompactRecordDecoder}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public interface IStringLookup {
+
+	/**
+	 * Gets the string with the given id.
+	 *
+	 * @param id
+	 *            The id of the string.
+	 * @return The string, or null if the id is unknown.
+	 *
+	 * @since 1.13
+	 */
+	public String get(int id);
+}
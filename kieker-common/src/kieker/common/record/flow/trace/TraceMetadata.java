@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.record.flow.IFlowRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 
 /**
@@ -152,6 +153,19 @@ public class TraceMetadata extends AbstractMonitoringRecord implements IMonitori
 		buffer.putInt(this.getParentOrderId());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTraceId());
+		serializer.putLong(this.getThreadId());
+		serializer.putString(this.getSessionId());
+		serializer.putString(this.getHostname());
+		serializer.putLong(this.getParentTraceId());
+		serializer.putInt(this.getParentOrderId());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -0,0 +1,77 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.record.io;
+
+/**
+ * Receives the values of a record one by one, in the order of the record's value types ({@link kieker.common.record.IMonitoringRecord#getValueTypes()}).
+ * In contrast to {@link kieker.common.record.IMonitoringRecord#toArray()}, the values are passed without boxing them.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public interface IValueSerializer {
+
+	/**
+	 * @param value
+	 *            The next value of the record.
+	 */
+	public void putBoolean(boolean value);
+
+	/**
+	 * @param value
+	 *            The next value of the record.
+	 */
+	public void putByte(byte value);
+
+	/**
+	 * @param value
+	 *            The next value of the record.
+	 */
+	public void putShort(short value); // NOPMD (short)
+
+	/**
+	 * @param value
+	 *            The next value of the record.
+	 */
+	public void putInt(int value);
+
+	/**
+	 * @param value
+	 *            The next value of the record.
+	 */
+	public void putLong(long value);
+
+	/**
+	 * @param value
+	 *            The next value of the record.
+	 */
+	public void putFloat(float value);
+
+	/**
+	 * @param value
+	 *            The next value of the record.
+	 */
+	public void putDouble(double value);
+
+	/**
+	 * @param value
+	 *            The next value of the record; may be null.
+	 */
+	public void putString(String value);
+}
@@ -0,0 +1,285 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.record.io;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Serializes the values of records into the semicolon separated text format used by the ASCII writers. In contrast to building the line from
+ * {@link kieker.common.record.IMonitoringRecord#toArray()}, the values are written into a reusable character buffer, so that serializing a record creates
+ * no objects for its primitive values. The produced text is the same as {@link String#valueOf(Object)} produces for the boxed values.
+ *
+ * <p>
+ * Instances are not thread-safe. A typical usage is to {@link #reset()} the serializer, append the line, and pass the buffer to a writer by calling
+ * {@link #writeTo(Writer)}.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class TextValueSerializer implements IValueSerializer {
+
+	/** The separator written between two values. */
+	public static final char SEPARATOR = ';';
+
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+	private static final int DEFAULT_CAPACITY = 256;
+
+	/** Integral doubles below this bound are written without calling {@link Double#toString(double)}; it matches the bound of the plain notation. */
+	private static final double PLAIN_NOTATION_BOUND = 1e7;
+
+	private static final char[] DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' };
+	private static final char[] TRUE = { 't', 'r', 'u', 'e' };
+	private static final char[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+	private static final char[] NULL = { 'n', 'u', 'l', 'l' };
+	private static final char[] MIN_LONG = Long.toString(Long.MIN_VALUE).toCharArray();
+
+	private char[] buffer;
+	private int length;
+	private boolean firstValue = true;
+
+	/**
+	 * Creates a new serializer with a default initial capacity.
+	 */
+	public TextValueSerializer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new serializer.
+	 *
+	 * @param initialCapacity
+	 *            The initial capacity of the buffer in characters; the buffer grows when necessary.
+	 */
+	public TextValueSerializer(final int initialCapacity) {
+		this.buffer = new char[Math.max(initialCapacity, 16)];
+	}
+
+	/**
+	 * Discards the content of the buffer. The next value will be written without a leading separator.
+	 */
+	public void reset() {
+		this.length = 0;
+		this.firstValue = true;
+	}
+
+	/**
+	 * Appends the given character without a separator.
+	 *
+	 * @param c
+	 *            The character to append.
+	 */
+	public void appendChar(final char c) {
+		this.ensureCapacity(1);
+		this.buffer[this.length++] = c;
+	}
+
+	/**
+	 * Appends the given text without a separator.
+	 *
+	 * @param text
+	 *            The text to append.
+	 */
+	public void appendText(final String text) {
+		final int textLength = text.length();
+		this.ensureCapacity(textLength);
+		text.getChars(0, textLength, this.buffer, this.length);
+		this.length += textLength;
+	}
+
+	/**
+	 * Appends the line separator of the platform, i.e., the one {@link java.io.PrintWriter#println()} writes.
+	 */
+	public void appendLineSeparator() {
+		this.appendText(LINE_SEPARATOR);
+	}
+
+	/**
+	 * @return The number of characters in the buffer.
+	 */
+	public int length() {
+		return this.length;
+	}
+
+	/**
+	 * Writes the content of the buffer to the given writer.
+	 *
+	 * @param writer
+	 *            The writer to write to.
+	 *
+	 * @throws IOException
+	 *             If the writer fails.
+	 */
+	public void writeTo(final Writer writer) throws IOException {
+		writer.write(this.buffer, 0, this.length);
+	}
+
+	@Override
+	public String toString() {
+		return new String(this.buffer, 0, this.length);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putBoolean(final boolean value) {
+		this.startValue();
+		this.appendChars(value ? TRUE : FALSE); // NOCS (inline cond)
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putByte(final byte value) {
+		this.startValue();
+		this.appendLong(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putShort(final short value) { // NOPMD (short)
+		this.startValue();
+		this.appendLong(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putInt(final int value) {
+		this.startValue();
+		this.appendLong(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putLong(final long value) {
+		this.startValue();
+		this.appendLong(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putFloat(final float value) {
+		this.startValue();
+		if (!this.appendIntegral(value)) {
+			this.appendText(Float.toString(value));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putDouble(final double value) {
+		this.startValue();
+		if (!this.appendIntegral(value)) {
+			this.appendText(Double.toString(value));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putString(final String value) {
+		this.startValue();
+		if (value == null) {
+			this.appendChars(NULL);
+		} else {
+			this.appendText(value);
+		}
+	}
+
+	private void startValue() {
+		if (this.firstValue) {
+			this.firstValue = false;
+		} else {
+			this.appendChar(SEPARATOR);
+		}
+	}
+
+	/**
+	 * Writes integral values in the plain notation, e.g., <code>42.0</code>, which {@link Double#toString(double)} and {@link Float#toString(float)} use
+	 * for them.
+	 *
+	 * @return true if the value has been written, false if it has to be converted by the JDK
+	 */
+	private boolean appendIntegral(final double value) {
+		if ((value > -PLAIN_NOTATION_BOUND) && (value < PLAIN_NOTATION_BOUND) && (value == (long) value)) {
+			if ((value == 0.0) && (Double.doubleToRawLongBits(value) != 0L)) { // negative zero
+				this.appendChar('-');
+			}
+			this.appendLong((long) value);
+			this.ensureCapacity(2);
+			this.buffer[this.length++] = '.';
+			this.buffer[this.length++] = '0';
+			return true;
+		}
+		return false;
+	}
+
+	private void appendLong(final long value) {
+		if (value == Long.MIN_VALUE) {
+			this.appendChars(MIN_LONG);
+			return;
+		}
+		long remaining = value;
+		if (remaining < 0) {
+			this.appendChar('-');
+			remaining = -remaining;
+		}
+		int digits = 1;
+		for (long bound = 10; (digits < 19) && (remaining >= bound); bound *= 10) {
+			digits++;
+		}
+		this.ensureCapacity(digits);
+		int pos = this.length + digits;
+		this.length = pos;
+		do {
+			this.buffer[--pos] = DIGITS[(int) (remaining % 10)];
+			remaining /= 10;
+		} while (remaining != 0);
+	}
+
+	private void appendChars(final char[] chars) {
+		this.ensureCapacity(chars.length);
+		System.arraycopy(chars, 0, this.buffer, this.length, chars.length);
+		this.length += chars.length;
+	}
+
+	private void ensureCapacity(final int additional) {
+		final int required = this.length + additional;
+		if (required > this.buffer.length) {
+			final char[] newBuffer = new char[Math.max(required, this.buffer.length * 2)];
+			System.arraycopy(this.buffer, 0, newBuffer, 0, this.length);
+			this.buffer = newBuffer;
+		}
+	}
+}
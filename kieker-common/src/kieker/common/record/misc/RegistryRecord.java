@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.ILookup;
 import kieker.common.util.registry.IRegistry;
 
@@ -139,6 +140,15 @@ public final class RegistryRecord extends AbstractMonitoringRecord implements IM
 		buffer.put(this.strBytes);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putInt(this.getId());
+		serializer.putString(this.getString());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
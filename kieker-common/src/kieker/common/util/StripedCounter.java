@@ -0,0 +1,96 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.common.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter for frequent increments by many threads and rare reads, like the {@code LongAdder} of Java 8. The counter consists of several cells, each on its
+ * own cache line. Each thread increments the cell selected by its id, so concurrent increments by different threads (mostly) do not contend for the same
+ * cache line. Reading the counter sums up all cells; the sum is not an atomic snapshot if the counter is incremented concurrently.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class StripedCounter {
+
+	// 8 longs fill a cache line of 64 bytes
+	private static final int CELL_DISTANCE = 8;
+	private static final int MAX_CELLS = 64;
+
+	private final AtomicLongArray cells;
+	private final int cellMask;
+
+	/**
+	 * Creates a new counter with a number of cells suited to the number of available processors.
+	 */
+	public StripedCounter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a new counter for the given number of concurrently incrementing threads.
+	 *
+	 * @param parallelism
+	 *            The expected number of concurrently incrementing threads.
+	 */
+	public StripedCounter(final int parallelism) {
+		int numCells = 1;
+		while ((numCells < parallelism) && (numCells < MAX_CELLS)) {
+			numCells <<= 1;
+		}
+		this.cellMask = numCells - 1;
+		// one additional cache line separates the first cell from the array header
+		this.cells = new AtomicLongArray((numCells + 1) * CELL_DISTANCE);
+	}
+
+	/**
+	 * Increments the counter by one.
+	 */
+	public void increment() {
+		this.add(1L);
+	}
+
+	/**
+	 * Adds the given value to the counter.
+	 *
+	 * @param value
+	 *            The value to add.
+	 */
+	public void add(final long value) {
+		// thread ids are assigned consecutively, hence they are distributed evenly over the cells
+		final int cell = (int) (Thread.currentThread().getId() & this.cellMask);
+		this.cells.getAndAdd((cell + 1) * CELL_DISTANCE, value);
+	}
+
+	/**
+	 * @return The current value of the counter.
+	 */
+	public long sum() {
+		long sum = 0;
+		for (int cell = 0; cell <= this.cellMask; cell++) {
+			sum += this.cells.get((cell + 1) * CELL_DISTANCE);
+		}
+		return sum;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString(this.sum());
+	}
+}
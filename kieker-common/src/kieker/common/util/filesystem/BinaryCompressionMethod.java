@@ -24,6 +24,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -47,6 +49,11 @@ public enum BinaryCompressionMethod {
 			return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile), bufferSize));
 		}
 
+		@Override
+		public WritableByteChannel getWritableByteChannel(final File outputFile) throws IOException {
+			return new FileOutputStream(outputFile).getChannel();
+		}
+
 		@Override
 		public DataInputStream getDataInputStream(final File inputFile, final int bufferSize) throws IOException {
 			return new DataInputStream(new BufferedInputStream(new FileInputStream(inputFile), bufferSize));
@@ -59,6 +66,11 @@ public enum BinaryCompressionMethod {
 			return new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(new FileOutputStream(outputFile)), bufferSize));
 		}
 
+		@Override
+		public WritableByteChannel getWritableByteChannel(final File outputFile) throws IOException {
+			return new DeflaterByteChannel(new FileOutputStream(outputFile).getChannel(), false);
+		}
+
 		@Override
 		public DataInputStream getDataInputStream(final File inputFile, final int bufferSize) throws IOException {
 			return new DataInputStream(new BufferedInputStream(new InflaterInputStream(new FileInputStream(inputFile)), bufferSize));
@@ -71,6 +83,11 @@ public enum BinaryCompressionMethod {
 			return new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(outputFile)), bufferSize));
 		}
 
+		@Override
+		public WritableByteChannel getWritableByteChannel(final File outputFile) throws IOException {
+			return new DeflaterByteChannel(new FileOutputStream(outputFile).getChannel(), true);
+		}
+
 		@Override
 		public DataInputStream getDataInputStream(final File inputFile, final int bufferSize) throws IOException {
 			return new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(inputFile)), bufferSize));
@@ -87,12 +104,44 @@ public enum BinaryCompressionMethod {
 			return new DataOutputStream(new BufferedOutputStream(zipStream, bufferSize));
 		}
 
+		@Override
+		public WritableByteChannel getWritableByteChannel(final File outputFile) throws IOException {
+			final ZipOutputStream zipStream = new ZipOutputStream(new FileOutputStream(outputFile));
+			String shortname = outputFile.getName();
+			shortname = shortname.substring(0, shortname.length() - 4); // strip ".zip"
+			zipStream.putNextEntry(new ZipEntry(shortname));
+			return Channels.newChannel(zipStream);
+		}
+
 		@Override
 		public DataInputStream getDataInputStream(final File inputFile, final int bufferSize) throws IOException {
 			final ZipInputStream zipStream = new ZipInputStream(new FileInputStream(inputFile));
 			zipStream.getNextEntry();
 			return new DataInputStream(new BufferedInputStream(zipStream, bufferSize));
 		}
+	},
+	/**
+	 * A binary compression method using the fast {@link Lz4BlockCodec LZ4 block compression}. Each block has a length header, so that the blocks can be located
+	 * and decompressed independently.
+	 *
+	 * @since 1.13
+	 */
+	LZ4(".bin.lz4b") {
+		@Override
+		public DataOutputStream getDataOutputStream(final File outputFile, final int bufferSize) throws IOException {
+			// each buffered chunk becomes a block
+			return new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(this.getWritableByteChannel(outputFile)), bufferSize));
+		}
+
+		@Override
+		public WritableByteChannel getWritableByteChannel(final File outputFile) throws IOException {
+			return new Lz4BlockByteChannel(new FileOutputStream(outputFile).getChannel());
+		}
+
+		@Override
+		public DataInputStream getDataInputStream(final File inputFile, final int bufferSize) throws IOException {
+			return new DataInputStream(new BufferedInputStream(new Lz4BlockInputStream(new FileInputStream(inputFile)), bufferSize));
+		}
 	};
 
 	private final String fileExtension;
@@ -121,6 +170,23 @@ public enum BinaryCompressionMethod {
 	 */
 	public abstract DataOutputStream getDataOutputStream(final File outputFile, final int bufferSize) throws IOException;
 
+	/**
+	 * Implementing compression methods should override this method to deliver a channel which can be used to write data in a compressed way into the given
+	 * file. In contrast to {@link #getDataOutputStream(File, int)}, the channel is not buffered. Callers are expected to write whole blocks of data at once, each
+	 * of which is compressed in one go.
+	 * 
+	 * @param outputFile
+	 *            The output file.
+	 * 
+	 * @return A new channel for the given file.
+	 * 
+	 * @throws IOException
+	 *             If something went wrong during the initialization.
+	 * 
+	 * @since 1.13
+	 */
+	public abstract WritableByteChannel getWritableByteChannel(final File outputFile) throws IOException;
+
 	/**
 	 * Implementing compression methods should override this method to deliver an input stream which can be used to read data in a non-compressed way from the given
 	 * file.
@@ -0,0 +1,146 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.common.util.filesystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A channel compressing each block of data written to it with a single reused {@link Deflater} and passing the compressed data to an underlying channel. The
+ * output is either a zlib stream (as written by {@link java.util.zip.DeflaterOutputStream}) or a GZIP stream (as written by
+ * {@link java.util.zip.GZIPOutputStream}).
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+final class DeflaterByteChannel implements WritableByteChannel {
+
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+	private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+	private final WritableByteChannel channel;
+	private final boolean gzip;
+	private final Deflater deflater;
+	private final CRC32 crc;
+	private final byte[] output = new byte[OUTPUT_BUFFER_SIZE];
+	private final ByteBuffer outputBuffer = ByteBuffer.wrap(this.output);
+	private byte[] input = new byte[0]; // only used for buffers without accessible array
+	private boolean open = true;
+
+	/**
+	 * Creates a new instance of this class using the given parameters.
+	 *
+	 * @param channel
+	 *            The channel receiving the compressed data.
+	 * @param gzip
+	 *            Whether to write the GZIP format instead of the zlib format.
+	 *
+	 * @throws IOException
+	 *             If the GZIP header could not be written.
+	 */
+	public DeflaterByteChannel(final WritableByteChannel channel, final boolean gzip) throws IOException {
+		this.channel = channel;
+		this.gzip = gzip;
+		this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, gzip); // GZIP requires raw deflate data
+		if (gzip) {
+			this.crc = new CRC32();
+			this.writeFully(ByteBuffer.wrap(GZIP_HEADER));
+		} else {
+			this.crc = null; // NOPMD (not used for zlib)
+		}
+	}
+
+	@Override
+	public int write(final ByteBuffer src) throws IOException {
+		if (!this.open) {
+			throw new ClosedChannelException();
+		}
+		final int length = src.remaining();
+		final byte[] array;
+		final int offset;
+		if (src.hasArray()) {
+			array = src.array();
+			offset = src.arrayOffset() + src.position();
+			src.position(src.limit());
+		} else {
+			if (this.input.length < length) {
+				this.input = new byte[length];
+			}
+			array = this.input;
+			offset = 0;
+			src.get(array, 0, length);
+		}
+		if (this.gzip) {
+			this.crc.update(array, offset, length);
+		}
+		this.deflater.setInput(array, offset, length);
+		while (!this.deflater.needsInput()) {
+			this.writeCompressed();
+		}
+		return length;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return this.open;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!this.open) {
+			return;
+		}
+		this.open = false;
+		try {
+			this.deflater.finish();
+			while (!this.deflater.finished()) {
+				this.writeCompressed();
+			}
+			if (this.gzip) {
+				final ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+				trailer.putInt((int) this.crc.getValue());
+				trailer.putInt((int) this.deflater.getBytesRead());
+				trailer.flip();
+				this.writeFully(trailer);
+			}
+		} finally {
+			this.deflater.end();
+			this.channel.close();
+		}
+	}
+
+	private void writeCompressed() throws IOException {
+		final int length = this.deflater.deflate(this.output, 0, this.output.length);
+		if (length > 0) {
+			this.outputBuffer.clear();
+			this.outputBuffer.limit(length);
+			this.writeFully(this.outputBuffer);
+		}
+	}
+
+	private void writeFully(final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			this.channel.write(buffer);
+		}
+	}
+}
@@ -38,6 +38,13 @@ public final class FSUtil { // NOCS NOPMD (constants interface)
 	/** The extension of Kieker's zipped record files. */
 	public static final String ZIP_FILE_EXTENSION = ".zip";
 
+	/**
+	 * The record type id marking the end of the data within a binary record file whose size has been preallocated.
+	 * 
+	 * @since 1.13
+	 */
+	public static final int END_OF_DATA_ID = -1;
+
 	/** The encoding usually used within Kieker. */
 	public static final String ENCODING = "UTF-8";
 
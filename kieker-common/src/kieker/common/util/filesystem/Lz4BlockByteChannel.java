@@ -0,0 +1,118 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.util.filesystem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A channel compressing each block of data written to it with an {@link Lz4BlockCodec} and passing the framed blocks to an underlying channel. Each call of
+ * {@link #write(ByteBuffer)} results in one block (or several ones if the data exceeds {@link Lz4BlockCodec#MAX_BLOCK_SIZE}).
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class Lz4BlockByteChannel implements WritableByteChannel {
+
+	private final WritableByteChannel channel;
+	private final Lz4BlockCodec codec = new Lz4BlockCodec();
+	private byte[] input = new byte[0]; // only used for buffers without accessible array
+	private byte[] output = new byte[0];
+	private boolean open = true;
+
+	/**
+	 * Creates a new instance of this class using the given parameters. The stream header is written immediately.
+	 *
+	 * @param channel
+	 *            The channel receiving the compressed blocks.
+	 *
+	 * @throws IOException
+	 *             If the stream header could not be written.
+	 */
+	public Lz4BlockByteChannel(final WritableByteChannel channel) throws IOException {
+		this.channel = channel;
+		final ByteBuffer header = ByteBuffer.allocate(4);
+		header.putInt(Lz4BlockCodec.STREAM_MAGIC);
+		header.flip();
+		this.writeFully(header);
+	}
+
+	@Override
+	public int write(final ByteBuffer src) throws IOException {
+		if (!this.open) {
+			throw new ClosedChannelException();
+		}
+		final int length = src.remaining();
+		final byte[] array;
+		final int offset;
+		if (src.hasArray()) {
+			array = src.array();
+			offset = src.arrayOffset() + src.position();
+			src.position(src.limit());
+		} else {
+			if (this.input.length < length) {
+				this.input = new byte[length];
+			}
+			array = this.input;
+			offset = 0;
+			src.get(array, 0, length);
+		}
+		for (int blockOffset = 0; blockOffset < length; blockOffset += Lz4BlockCodec.MAX_BLOCK_SIZE) {
+			this.writeBlock(array, offset + blockOffset, Math.min(length - blockOffset, Lz4BlockCodec.MAX_BLOCK_SIZE));
+		}
+		return length;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return this.open;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.open) {
+			this.open = false;
+			this.channel.close();
+		}
+	}
+
+	private void writeBlock(final byte[] array, final int offset, final int length) throws IOException {
+		final int maxLength = Lz4BlockCodec.BLOCK_HEADER_SIZE + Lz4BlockCodec.maxCompressedLength(length);
+		if (this.output.length < maxLength) {
+			this.output = new byte[maxLength];
+		}
+		int compressedLength = this.codec.compress(array, offset, length, this.output, Lz4BlockCodec.BLOCK_HEADER_SIZE);
+		if (compressedLength >= length) { // incompressible data is stored as is
+			System.arraycopy(array, offset, this.output, Lz4BlockCodec.BLOCK_HEADER_SIZE, length);
+			compressedLength = length;
+		}
+		final ByteBuffer block = ByteBuffer.wrap(this.output, 0, Lz4BlockCodec.BLOCK_HEADER_SIZE + compressedLength);
+		block.putInt(0, length);
+		block.putInt(4, compressedLength);
+		this.writeFully(block);
+	}
+
+	private void writeFully(final ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			this.channel.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,263 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.util.filesystem;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A fast block compression in the LZ4 block format, implemented in pure Java. It trades compression ratio for speed: matches are found via a single hash table
+ * of four-byte sequences without any further search, which is usually fast enough to compress the output of a writer thread on the fly.
+ *
+ * <p>
+ * Blocks are framed as follows: a stream starts with the int {@link #STREAM_MAGIC}, followed by the blocks. Each block consists of a header with two ints, the
+ * uncompressed length and the compressed length, followed by the compressed data. If both lengths are equal, the block is stored uncompressed. Since each
+ * block can be located and decompressed on its own by means of its header, readers may decompress several blocks in parallel.
+ * </p>
+ *
+ * <p>
+ * Instances keep a hash table for the compression and are not thread-safe.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class Lz4BlockCodec {
+
+	/** The first int of a stream of blocks. */
+	public static final int STREAM_MAGIC = 0xB10C4C5A;
+	/** The size of a block header in bytes. */
+	public static final int BLOCK_HEADER_SIZE = 4 + 4;
+	/** The maximal uncompressed size of a single block in bytes; larger data has to be split into several blocks. */
+	public static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+	private static final int MIN_MATCH = 4;
+	// the last match has to start at least 12 bytes before the end, and the last 5 bytes are always literals
+	private static final int MF_LIMIT = 12;
+	private static final int LAST_LITERALS = 5;
+	private static final int MAX_DISTANCE = 65535;
+	private static final int HASH_LOG = 12;
+	// search for matches less thoroughly within incompressible data
+	private static final int SKIP_TRIGGER = 6;
+	private static final int RUN_MASK = 15;
+
+	private final int[] hashTable = new int[1 << HASH_LOG];
+
+	/**
+	 * Creates a new codec.
+	 */
+	public Lz4BlockCodec() {
+		// no initialization necessary
+	}
+
+	/**
+	 * @param length
+	 *            The uncompressed length of a block.
+	 * @return The maximal length of the compressed block (without the header).
+	 */
+	public static int maxCompressedLength(final int length) {
+		return length + (length / 255) + 16;
+	}
+
+	/**
+	 * Compresses the given data.
+	 *
+	 * @param src
+	 *            The array containing the data.
+	 * @param srcOff
+	 *            The offset of the data.
+	 * @param srcLen
+	 *            The length of the data.
+	 * @param dst
+	 *            The array receiving the compressed data; it has to provide at least {@link #maxCompressedLength(int)} bytes.
+	 * @param dstOff
+	 *            The offset of the compressed data.
+	 * @return The length of the compressed data.
+	 */
+	public int compress(final byte[] src, final int srcOff, final int srcLen, final byte[] dst, final int dstOff) {
+		final int srcEnd = srcOff + srcLen;
+		final int matchLimit = srcEnd - LAST_LITERALS;
+		final int mfLimit = srcEnd - MF_LIMIT;
+		final int[] table = this.hashTable;
+		Arrays.fill(table, -1);
+
+		int anchor = srcOff;
+		int dp = dstOff;
+		int ip = srcOff;
+		while (ip < mfLimit) {
+			final int sequence = Lz4BlockCodec.readInt(src, ip);
+			final int hash = Lz4BlockCodec.hash(sequence);
+			int ref = table[hash];
+			table[hash] = ip;
+			if ((ref < 0) || ((ip - ref) > MAX_DISTANCE) || (Lz4BlockCodec.readInt(src, ref) != sequence)) {
+				ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+				continue;
+			}
+			int start = ip;
+			while ((start > anchor) && (ref > srcOff) && (src[start - 1] == src[ref - 1])) {
+				start--;
+				ref--;
+			}
+			int matchEnd = start + MIN_MATCH;
+			int refEnd = ref + MIN_MATCH;
+			while ((matchEnd < matchLimit) && (src[matchEnd] == src[refEnd])) {
+				matchEnd++;
+				refEnd++;
+			}
+			dp = Lz4BlockCodec.writeSequence(src, anchor, start - anchor, dst, dp, start - ref, matchEnd - start - MIN_MATCH);
+			ip = matchEnd;
+			anchor = ip;
+		}
+		return Lz4BlockCodec.writeSequence(src, anchor, srcEnd - anchor, dst, dp, 0, -1) - dstOff;
+	}
+
+	/**
+	 * Decompresses the given data.
+	 *
+	 * @param src
+	 *            The array containing the compressed data.
+	 * @param srcOff
+	 *            The offset of the compressed data.
+	 * @param srcLen
+	 *            The length of the compressed data.
+	 * @param dst
+	 *            The array receiving the uncompressed data.
+	 * @param dstOff
+	 *            The offset of the uncompressed data.
+	 * @param dstLen
+	 *            The expected length of the uncompressed data.
+	 *
+	 * @throws IOException
+	 *             If the compressed data is malformed or does not decompress to exactly the expected length.
+	 */
+	public static void decompress(final byte[] src, final int srcOff, final int srcLen, final byte[] dst, final int dstOff, final int dstLen)
+			throws IOException {
+		final int srcEnd = srcOff + srcLen;
+		final int dstEnd = dstOff + dstLen;
+		int sp = srcOff;
+		int dp = dstOff;
+		while (sp < srcEnd) {
+			final int token = src[sp++] & 0xFF;
+			int literalLength = token >>> 4;
+			if (literalLength == RUN_MASK) {
+				int b;
+				do {
+					if (sp >= srcEnd) {
+						throw new IOException("Malformed compressed block");
+					}
+					b = src[sp++] & 0xFF;
+					literalLength += b;
+				} while (b == 255);
+			}
+			if ((literalLength > (srcEnd - sp)) || (literalLength > (dstEnd - dp))) {
+				throw new IOException("Malformed compressed block");
+			}
+			System.arraycopy(src, sp, dst, dp, literalLength);
+			sp += literalLength;
+			dp += literalLength;
+			if (sp == srcEnd) {
+				break; // the last sequence has no match
+			}
+
+			if ((srcEnd - sp) < 2) {
+				throw new IOException("Malformed compressed block");
+			}
+			final int offset = (src[sp] & 0xFF) | ((src[sp + 1] & 0xFF) << 8);
+			sp += 2;
+			if ((offset == 0) || (offset > (dp - dstOff))) {
+				throw new IOException("Malformed compressed block");
+			}
+			int matchLength = token & RUN_MASK;
+			if (matchLength == RUN_MASK) {
+				int b;
+				do {
+					if (sp >= srcEnd) {
+						throw new IOException("Malformed compressed block");
+					}
+					b = src[sp++] & 0xFF;
+					matchLength += b;
+				} while (b == 255);
+			}
+			matchLength += MIN_MATCH;
+			if (matchLength > (dstEnd - dp)) {
+				throw new IOException("Malformed compressed block");
+			}
+			// the match may overlap the bytes being written (repeated patterns), hence it is copied byte by byte
+			int ref = dp - offset;
+			final int matchEnd = dp + matchLength;
+			while (dp < matchEnd) {
+				dst[dp++] = dst[ref++];
+			}
+		}
+		if (dp != dstEnd) {
+			throw new IOException("Compressed block has " + (dp - dstOff) + " bytes instead of " + dstLen);
+		}
+	}
+
+	/**
+	 * Writes a sequence of literals followed by a match. A negative match length denotes the last sequence, which has no match.
+	 *
+	 * @return The position behind the sequence.
+	 */
+	private static int writeSequence(final byte[] src, final int literalOff, final int literalLength, final byte[] dst, final int dstOff, final int offset,
+			final int matchLength) {
+		int dp = dstOff;
+		final int tokenPos = dp++;
+		int token;
+		if (literalLength >= RUN_MASK) {
+			token = RUN_MASK << 4;
+			dp = Lz4BlockCodec.writeLength(dst, dp, literalLength - RUN_MASK);
+		} else {
+			token = literalLength << 4;
+		}
+		System.arraycopy(src, literalOff, dst, dp, literalLength);
+		dp += literalLength;
+		if (matchLength >= 0) {
+			dst[dp++] = (byte) offset;
+			dst[dp++] = (byte) (offset >>> 8);
+			if (matchLength >= RUN_MASK) {
+				token |= RUN_MASK;
+				dp = Lz4BlockCodec.writeLength(dst, dp, matchLength - RUN_MASK);
+			} else {
+				token |= matchLength;
+			}
+		}
+		dst[tokenPos] = (byte) token;
+		return dp;
+	}
+
+	private static int writeLength(final byte[] dst, final int dstOff, final int length) {
+		int dp = dstOff;
+		int remaining = length;
+		while (remaining >= 255) {
+			dst[dp++] = (byte) 255;
+			remaining -= 255;
+		}
+		dst[dp++] = (byte) remaining;
+		return dp;
+	}
+
+	private static int readInt(final byte[] array, final int off) {
+		return (array[off] & 0xFF) | ((array[off + 1] & 0xFF) << 8) | ((array[off + 2] & 0xFF) << 16) | (array[off + 3] << 24);
+	}
+
+	private static int hash(final int sequence) {
+		return (sequence * -1640531535) >>> (32 - HASH_LOG);
+	}
+}
@@ -0,0 +1,142 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.common.util.filesystem;
+
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream decompressing a stream of blocks written by an {@link Lz4BlockByteChannel}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class Lz4BlockInputStream extends FilterInputStream {
+
+	private final DataInputStream in; // NOPMD (hides the field of the superclass on purpose)
+	private byte[] compressed = new byte[0];
+	private byte[] block = new byte[0];
+	private int position;
+	private int limit;
+
+	/**
+	 * Creates a new instance of this class reading from the given stream. The stream header is read immediately.
+	 *
+	 * @param in
+	 *            The stream providing the compressed blocks.
+	 *
+	 * @throws IOException
+	 *             If the stream header could not be read or is invalid.
+	 */
+	public Lz4BlockInputStream(final InputStream in) throws IOException {
+		super(in);
+		this.in = new DataInputStream(in);
+		if (this.in.readInt() != Lz4BlockCodec.STREAM_MAGIC) {
+			throw new IOException("Stream does not start with the header of a block-compressed stream");
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		if ((this.position == this.limit) && !this.readBlock()) {
+			return -1;
+		}
+		return this.block[this.position++] & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if ((this.position == this.limit) && !this.readBlock()) {
+			return -1;
+		}
+		final int length = Math.min(len, this.limit - this.position);
+		System.arraycopy(this.block, this.position, b, off, length);
+		this.position += length;
+		return length;
+	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+		if ((this.position == this.limit) && !this.readBlock()) {
+			return 0;
+		}
+		final int length = (int) Math.min(n, this.limit - this.position);
+		this.position += length;
+		return length;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return this.limit - this.position;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public synchronized void mark(final int readlimit) { // NOPMD (synchronized as in the superclass)
+		// not supported
+	}
+
+	@Override
+	public synchronized void reset() throws IOException { // NOPMD (synchronized as in the superclass)
+		throw new IOException("mark/reset not supported");
+	}
+
+	/**
+	 * Reads and decompresses the next non-empty block.
+	 *
+	 * @return false if the end of the stream has been reached
+	 */
+	private boolean readBlock() throws IOException {
+		do {
+			final int first = this.in.read();
+			if (first < 0) {
+				return false; // the stream may only end between two blocks
+			}
+			final int length = (first << 24) | (this.in.readUnsignedByte() << 16) | this.in.readUnsignedShort();
+			final int compressedLength = this.in.readInt();
+			if ((length < 0) || (length > Lz4BlockCodec.MAX_BLOCK_SIZE) || (compressedLength < 0) || (compressedLength > length)) {
+				throw new IOException("Invalid block header (length " + length + ", compressed length " + compressedLength + ")");
+			}
+			if (this.block.length < length) {
+				this.block = new byte[length];
+			}
+			if (compressedLength == length) { // stored uncompressed
+				this.in.readFully(this.block, 0, length);
+			} else {
+				if (this.compressed.length < compressedLength) {
+					this.compressed = new byte[compressedLength];
+				}
+				this.in.readFully(this.compressed, 0, compressedLength);
+				Lz4BlockCodec.decompress(this.compressed, 0, compressedLength, this.block, 0, length);
+			}
+			this.position = 0;
+			this.limit = length;
+		} while (this.limit == 0);
+		return true;
+	}
+}
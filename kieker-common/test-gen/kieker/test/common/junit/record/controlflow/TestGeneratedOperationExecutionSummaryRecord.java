@@ -0,0 +1,182 @@
+/***************************************************************************
+ * Copyright 2015 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.common.junit.record.controlflow;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.record.controlflow.OperationExecutionSummaryRecord;
+import kieker.common.util.registry.IRegistry;
+import kieker.common.util.registry.Registry;
+
+import kieker.test.common.junit.AbstractGeneratedKiekerTest;
+import kieker.test.common.util.record.BookstoreOperationExecutionRecordFactory;
+		
+/**
+ * Creates {@link OperationExecutionSummaryRecord}s via the available constructors and
+ * checks the values passed values via getters.
+ * 
+ * @author Kieker Build
+ * 
+ * @since 1.13
+ */
+public class TestGeneratedOperationExecutionSummaryRecord extends AbstractGeneratedKiekerTest {
+
+	public TestGeneratedOperationExecutionSummaryRecord() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests {@link OperationExecutionSummaryRecord#TestOperationExecutionSummaryRecord(long, long, String, String, long, long, long, long, long, long, long)}.
+	 */
+	@Test
+	public void testToArray() { // NOPMD (assert missing)
+	for (int i=0;i<ARRAY_LENGTH;i++) {
+			// initialize
+			OperationExecutionSummaryRecord record = new OperationExecutionSummaryRecord(LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), STRING_VALUES.get(i % STRING_VALUES.size()), STRING_VALUES.get(i % STRING_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()));
+			
+			// check values
+			Assert.assertEquals("OperationExecutionSummaryRecord.timestamp values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getTimestamp());
+			Assert.assertEquals("OperationExecutionSummaryRecord.interval values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getInterval());
+			Assert.assertEquals("OperationExecutionSummaryRecord.hostname values are not equal.", STRING_VALUES.get(i % STRING_VALUES.size()) == null?"<default-host>":STRING_VALUES.get(i % STRING_VALUES.size()), record.getHostname());
+			Assert.assertEquals("OperationExecutionSummaryRecord.operationSignature values are not equal.", STRING_VALUES.get(i % STRING_VALUES.size()) == null?"noOperation":STRING_VALUES.get(i % STRING_VALUES.size()), record.getOperationSignature());
+			Assert.assertEquals("OperationExecutionSummaryRecord.count values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getCount());
+			Assert.assertEquals("OperationExecutionSummaryRecord.minResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMinResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.maxResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMaxResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.sumResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getSumResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.medianResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMedianResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.p90ResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getP90ResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.p99ResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getP99ResponseTime());
+			
+			Object[] values = record.toArray();
+			
+			Assert.assertNotNull("Record array serialization failed. No values array returned.", values);
+			Assert.assertEquals("Record array size does not match expected number of properties 11.", 11, values.length);
+			
+			// check all object values exist
+			Assert.assertNotNull("Array value [0] of type Long must be not null.", values[0]); 
+			Assert.assertNotNull("Array value [1] of type Long must be not null.", values[1]); 
+			Assert.assertNotNull("Array value [2] of type String must be not null.", values[2]); 
+			Assert.assertNotNull("Array value [3] of type String must be not null.", values[3]); 
+			Assert.assertNotNull("Array value [4] of type Long must be not null.", values[4]); 
+			Assert.assertNotNull("Array value [5] of type Long must be not null.", values[5]); 
+			Assert.assertNotNull("Array value [6] of type Long must be not null.", values[6]); 
+			Assert.assertNotNull("Array value [7] of type Long must be not null.", values[7]); 
+			Assert.assertNotNull("Array value [8] of type Long must be not null.", values[8]); 
+			Assert.assertNotNull("Array value [9] of type Long must be not null.", values[9]); 
+			Assert.assertNotNull("Array value [10] of type Long must be not null.", values[10]); 
+			
+			// check all types
+			Assert.assertTrue("Type of array value [0] " + values[0].getClass().getCanonicalName() + " does not match the desired type Long", values[0] instanceof Long);
+			Assert.assertTrue("Type of array value [1] " + values[1].getClass().getCanonicalName() + " does not match the desired type Long", values[1] instanceof Long);
+			Assert.assertTrue("Type of array value [2] " + values[2].getClass().getCanonicalName() + " does not match the desired type String", values[2] instanceof String);
+			Assert.assertTrue("Type of array value [3] " + values[3].getClass().getCanonicalName() + " does not match the desired type String", values[3] instanceof String);
+			Assert.assertTrue("Type of array value [4] " + values[4].getClass().getCanonicalName() + " does not match the desired type Long", values[4] instanceof Long);
+			Assert.assertTrue("Type of array value [5] " + values[5].getClass().getCanonicalName() + " does not match the desired type Long", values[5] instanceof Long);
+			Assert.assertTrue("Type of array value [6] " + values[6].getClass().getCanonicalName() + " does not match the desired type Long", values[6] instanceof Long);
+			Assert.assertTrue("Type of array value [7] " + values[7].getClass().getCanonicalName() + " does not match the desired type Long", values[7] instanceof Long);
+			Assert.assertTrue("Type of array value [8] " + values[8].getClass().getCanonicalName() + " does not match the desired type Long", values[8] instanceof Long);
+			Assert.assertTrue("Type of array value [9] " + values[9].getClass().getCanonicalName() + " does not match the desired type Long", values[9] instanceof Long);
+			Assert.assertTrue("Type of array value [10] " + values[10].getClass().getCanonicalName() + " does not match the desired type Long", values[10] instanceof Long);
+								
+			// check all object values 
+			Assert.assertEquals("Array value [0] " + values[0] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[0]
+					);
+			Assert.assertEquals("Array value [1] " + values[1] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[1]
+					);
+			Assert.assertEquals("Array value [2] " + values[2] + " does not match the desired value " + STRING_VALUES.get(i % STRING_VALUES.size()),
+				STRING_VALUES.get(i % STRING_VALUES.size()) == null?"<default-host>":STRING_VALUES.get(i % STRING_VALUES.size()), values[2]
+			);
+			Assert.assertEquals("Array value [3] " + values[3] + " does not match the desired value " + STRING_VALUES.get(i % STRING_VALUES.size()),
+				STRING_VALUES.get(i % STRING_VALUES.size()) == null?"noOperation":STRING_VALUES.get(i % STRING_VALUES.size()), values[3]
+			);
+			Assert.assertEquals("Array value [4] " + values[4] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[4]
+					);
+			Assert.assertEquals("Array value [5] " + values[5] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[5]
+					);
+			Assert.assertEquals("Array value [6] " + values[6] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[6]
+					);
+			Assert.assertEquals("Array value [7] " + values[7] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[7]
+					);
+			Assert.assertEquals("Array value [8] " + values[8] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[8]
+					);
+			Assert.assertEquals("Array value [9] " + values[9] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[9]
+					);
+			Assert.assertEquals("Array value [10] " + values[10] + " does not match the desired value " + LONG_VALUES.get(i % LONG_VALUES.size()),
+				LONG_VALUES.get(i % LONG_VALUES.size()), values[10]
+					);
+		}
+	}
+	
+	/**
+	 * Tests {@link OperationExecutionSummaryRecord#TestOperationExecutionSummaryRecord(long, long, String, String, long, long, long, long, long, long, long)}.
+	 */
+	@Test
+	public void testBuffer() { // NOPMD (assert missing)
+		for (int i=0;i<ARRAY_LENGTH;i++) {
+			// initialize
+			OperationExecutionSummaryRecord record = new OperationExecutionSummaryRecord(LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), STRING_VALUES.get(i % STRING_VALUES.size()), STRING_VALUES.get(i % STRING_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()));
+			
+			// check values
+			Assert.assertEquals("OperationExecutionSummaryRecord.timestamp values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getTimestamp());
+			Assert.assertEquals("OperationExecutionSummaryRecord.interval values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getInterval());
+			Assert.assertEquals("OperationExecutionSummaryRecord.hostname values are not equal.", STRING_VALUES.get(i % STRING_VALUES.size()) == null?"<default-host>":STRING_VALUES.get(i % STRING_VALUES.size()), record.getHostname());
+			Assert.assertEquals("OperationExecutionSummaryRecord.operationSignature values are not equal.", STRING_VALUES.get(i % STRING_VALUES.size()) == null?"noOperation":STRING_VALUES.get(i % STRING_VALUES.size()), record.getOperationSignature());
+			Assert.assertEquals("OperationExecutionSummaryRecord.count values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getCount());
+			Assert.assertEquals("OperationExecutionSummaryRecord.minResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMinResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.maxResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMaxResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.sumResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getSumResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.medianResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMedianResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.p90ResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getP90ResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.p99ResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getP99ResponseTime());
+		}
+	}
+	
+	/**
+	 * Tests {@link OperationExecutionSummaryRecord#TestOperationExecutionSummaryRecord(long, long, String, String, long, long, long, long, long, long, long)}.
+	 */
+	@Test
+	public void testParameterConstruction() { // NOPMD (assert missing)
+		for (int i=0;i<ARRAY_LENGTH;i++) {
+			// initialize
+			OperationExecutionSummaryRecord record = new OperationExecutionSummaryRecord(LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), STRING_VALUES.get(i % STRING_VALUES.size()), STRING_VALUES.get(i % STRING_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()), LONG_VALUES.get(i % LONG_VALUES.size()));
+			
+			// check values
+			Assert.assertEquals("OperationExecutionSummaryRecord.timestamp values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getTimestamp());
+			Assert.assertEquals("OperationExecutionSummaryRecord.interval values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getInterval());
+			Assert.assertEquals("OperationExecutionSummaryRecord.hostname values are not equal.", STRING_VALUES.get(i % STRING_VALUES.size()) == null?"<default-host>":STRING_VALUES.get(i % STRING_VALUES.size()), record.getHostname());
+			Assert.assertEquals("OperationExecutionSummaryRecord.operationSignature values are not equal.", STRING_VALUES.get(i % STRING_VALUES.size()) == null?"noOperation":STRING_VALUES.get(i % STRING_VALUES.size()), record.getOperationSignature());
+			Assert.assertEquals("OperationExecutionSummaryRecord.count values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getCount());
+			Assert.assertEquals("OperationExecutionSummaryRecord.minResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMinResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.maxResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMaxResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.sumResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getSumResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.medianResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getMedianResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.p90ResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getP90ResponseTime());
+			Assert.assertEquals("OperationExecutionSummaryRecord.p99ResponseTime values are not equal.", (long) LONG_VALUES.get(i % LONG_VALUES.size()), record.getP99ResponseTime());
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.test.common.junit.record.compact;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.compact.CompactEncoding;
+import kieker.common.record.compact.CompactRecordDecoder;
+import kieker.common.record.compact.CompactRecordEncoder;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.record.flow.trace.operation.AfterOperationEvent;
+import kieker.common.record.flow.trace.operation.BeforeOperationEvent;
+import kieker.common.util.registry.IRegistry;
+import kieker.common.util.registry.Registry;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the {@link CompactRecordEncoder} and the {@link CompactRecordDecoder}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestCompactEncoding extends AbstractKiekerTest {
+
+	private static final int NUM_TRACES = 100;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestCompactEncoding() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests the zig-zag mapping and the varints at the boundaries of the value range.
+	 */
+	@Test
+	public void testVarLong() {
+		final long[] values = { 0L, 1L, -1L, 63L, -64L, 64L, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+		final ByteBuffer buffer = ByteBuffer.allocate(values.length * CompactEncoding.MAX_VARLONG_SIZE);
+		for (final long value : values) {
+			CompactEncoding.putVarLong(buffer, CompactEncoding.zigZag(value));
+		}
+		buffer.flip();
+		for (final long value : values) {
+			Assert.assertEquals(value, CompactEncoding.unZigZag(CompactEncoding.getVarLong(buffer)));
+		}
+		Assert.assertFalse(buffer.hasRemaining());
+		Assert.assertEquals(1, this.varLongSize(CompactEncoding.zigZag(-64L)));
+		Assert.assertEquals(CompactEncoding.MAX_VARLONG_SIZE, this.varLongSize(CompactEncoding.zigZag(Long.MIN_VALUE)));
+	}
+
+	/**
+	 * Tests that a stream of records is decoded to equal records, that it is smaller than the fixed-width layout, and that a record split across buffers can
+	 * be decoded once the remainder is available.
+	 */
+	@Test
+	public void testRoundTrip() throws Exception { // NOPMD (JUnitTestsShouldIncludeAssert)
+		final IRegistry<String> stringRegistry = new Registry<String>();
+		final List<IMonitoringRecord> records = new ArrayList<IMonitoringRecord>();
+		long time = 1477000000000000000L;
+		for (int trace = 0; trace < NUM_TRACES; trace++) {
+			records.add(new BeforeOperationEvent(time++, trace, 0, "public void Foo.bar()", "Foo"));
+			records.add(new BeforeOperationEvent(time++, trace, 1, "private int Foo.baz(int)", "Foo"));
+			records.add(new AfterOperationEvent(time++, trace, 2, "private int Foo.baz(int)", "Foo"));
+			records.add(new AfterOperationEvent(time++, trace, 3, "public void Foo.bar()", "Foo"));
+			records.add(new OperationExecutionRecord("public void Foo.bar()", "session", trace, time - 4, time, "host", 0, 0));
+		}
+		for (int i = 0; i < records.size(); i++) {
+			records.get(i).setLoggingTimestamp(time + i);
+		}
+
+		final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+		final CompactRecordEncoder encoder = new CompactRecordEncoder(stringRegistry);
+		encoder.startStream(buffer);
+		int fixedWidthSize = 0;
+		for (final IMonitoringRecord record : records) {
+			encoder.encode(record, stringRegistry.get(record.getClass().getName()), buffer);
+			fixedWidthSize += 4 + 8 + record.getSize();
+		}
+		buffer.flip();
+		Assert.assertTrue("Compact encoding not smaller than fixed-width layout", (buffer.remaining() * 3) < fixedWidthSize);
+
+		// feed the stream in small chunks to provoke records split across buffers
+		final ByteBuffer chunk = ByteBuffer.allocate(64);
+		final CompactRecordDecoder decoder = new CompactRecordDecoder(stringRegistry);
+		final List<IMonitoringRecord> decoded = new ArrayList<IMonitoringRecord>();
+		boolean headerRead = false;
+		while (buffer.hasRemaining()) {
+			while (chunk.hasRemaining() && buffer.hasRemaining()) {
+				chunk.put(buffer.get());
+			}
+			chunk.flip();
+			try {
+				if (!headerRead) {
+					chunk.mark();
+					decoder.startStream(chunk);
+					headerRead = true;
+				}
+				while (chunk.hasRemaining()) {
+					chunk.mark();
+					decoded.add(decoder.decode(chunk));
+				}
+				chunk.clear();
+			} catch (final BufferUnderflowException ex) {
+				chunk.reset();
+				chunk.compact();
+			}
+		}
+		Assert.assertEquals(records, decoded);
+		for (int i = 0; i < records.size(); i++) {
+			Assert.assertEquals(records.get(i).getLoggingTimestamp(), decoded.get(i).getLoggingTimestamp());
+		}
+	}
+
+	private int varLongSize(final long value) {
+		final ByteBuffer buffer = ByteBuffer.allocate(CompactEncoding.MAX_VARLONG_SIZE);
+		CompactEncoding.putVarLong(buffer, value);
+		return buffer.position();
+	}
+}
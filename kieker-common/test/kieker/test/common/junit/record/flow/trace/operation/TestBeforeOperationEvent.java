@@ -101,4 +101,32 @@ public class TestBeforeOperationEvent extends AbstractKiekerTest {
 		Assert.assertEquals(0, event1.compareTo(event2));
 		Assert.assertTrue(UtilityClass.refersToSameOperationAs(event1, event2));
 	}
+
+	/**
+	 * Tests that the pre-resolved ids of {@link BeforeOperationEvent} are written for the registry they have been obtained from and ignored for other
+	 * registries.
+	 */
+	@Test
+	public void testSerializePreResolvedIds() {
+		final IRegistry<String> stringRegistry = new Registry<String>();
+		final int operationSignatureId = stringRegistry.get(FQ_OPERATION_SIGNATURE);
+		final int classSignatureId = stringRegistry.get(FQ_CLASSNAME);
+
+		final BeforeOperationEvent event1 =
+				new BeforeOperationEvent(TSTAMP, TRACE_ID, ORDER_INDEX, FQ_OPERATION_SIGNATURE, FQ_CLASSNAME, stringRegistry, operationSignatureId, classSignatureId);
+
+		final ByteBuffer buffer = ByteBuffer.allocate(event1.getSize());
+		event1.writeBytes(buffer, stringRegistry);
+		Assert.assertEquals("Unexpected number of registered strings", 2, stringRegistry.getSize());
+		buffer.flip();
+		Assert.assertEquals(event1, new BeforeOperationEvent(buffer, stringRegistry));
+
+		// the ids are not valid for another registry
+		final IRegistry<String> otherRegistry = new Registry<String>();
+		otherRegistry.get("unrelated string");
+		buffer.clear();
+		event1.writeBytes(buffer, otherRegistry);
+		buffer.flip();
+		Assert.assertEquals(event1, new BeforeOperationEvent(buffer, otherRegistry));
+	}
 }
@@ -0,0 +1,128 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.test.common.junit.record.io;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.BranchingRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.record.flow.trace.TraceMetadata;
+import kieker.common.record.io.TextValueSerializer;
+import kieker.common.record.misc.EmptyRecord;
+import kieker.common.record.misc.KiekerMetadataRecord;
+import kieker.common.record.misc.RegistryRecord;
+import kieker.common.record.system.CPUUtilizationRecord;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests that the {@link TextValueSerializer} produces the same text as the boxed values of the records.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestTextValueSerializer extends AbstractKiekerTest {
+
+	/**
+	 * Default constructor.
+	 */
+	public TestTextValueSerializer() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests the single values, especially at the boundaries of the value ranges.
+	 */
+	@Test
+	public void testValues() {
+		final long[] longs = { 0L, 1L, -1L, 9L, 10L, -10L, 999999999999999999L, 1000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE, };
+		for (final long value : longs) {
+			final TextValueSerializer serializer = new TextValueSerializer();
+			serializer.putLong(value);
+			Assert.assertEquals(String.valueOf(value), serializer.toString());
+		}
+		final int[] ints = { 0, 7, -42, Integer.MAX_VALUE, Integer.MIN_VALUE, };
+		for (final int value : ints) {
+			final TextValueSerializer serializer = new TextValueSerializer();
+			serializer.putInt(value);
+			Assert.assertEquals(String.valueOf(value), serializer.toString());
+		}
+		final double[] doubles = { 0.0, -0.0, 1.0, -1.0, 0.5, 1.0 / 3, 9999999.0, 1e7, -1e7, 1e-3, 1e-4, 123456.75, Double.MAX_VALUE, Double.MIN_VALUE,
+			Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, };
+		for (final double value : doubles) {
+			final TextValueSerializer serializer = new TextValueSerializer();
+			serializer.putDouble(value);
+			Assert.assertEquals(String.valueOf(value), serializer.toString());
+		}
+		final float[] floats = { 0.0f, -0.0f, 2.0f, 0.1f, 16777216.0f, Float.NaN, };
+		for (final float value : floats) {
+			final TextValueSerializer serializer = new TextValueSerializer();
+			serializer.putFloat(value);
+			Assert.assertEquals(String.valueOf(value), serializer.toString());
+		}
+
+		final TextValueSerializer serializer = new TextValueSerializer(1);
+		serializer.putBoolean(true);
+		serializer.putBoolean(false);
+		serializer.putByte(Byte.MIN_VALUE);
+		serializer.putShort(Short.MAX_VALUE);
+		serializer.putString(null);
+		serializer.putString("a\u00e4\u20ac");
+		Assert.assertEquals("true;false;-128;32767;null;a\u00e4\u20ac", serializer.toString());
+	}
+
+	/**
+	 * Tests that the serialized records match {@link IMonitoringRecord#toString()}, which is based on the boxed values, and that the serializer can be
+	 * reused.
+	 *
+	 * @throws IOException
+	 *             If the writer fails.
+	 */
+	@Test
+	public void testRecords() throws IOException {
+		final IMonitoringRecord[] records = {
+			new OperationExecutionRecord("public void a.B.c(int)", "session;1", 4711L, -5L, Long.MAX_VALUE, "host", 0, -1),
+			new TraceMetadata(1L, 2L, "session", "host", -1L, 3),
+			new CPUUtilizationRecord(123456789L, "host", "cpu0", 0.25, 1.0, 0.0, -0.0, 1e-5, 1.0 / 3, 3e12),
+			new KiekerMetadataRecord("1.13", "controller", "host", 7, true, 1L, "NANOSECONDS", 42L),
+			new BranchingRecord(1L, 2, 3),
+			new RegistryRecord(17, "kieker.common.record.misc.RegistryRecord"),
+			new EmptyRecord(),
+		};
+		final TextValueSerializer serializer = new TextValueSerializer(8);
+		final StringWriter writer = new StringWriter();
+		final StringBuilder expected = new StringBuilder();
+		for (final IMonitoringRecord record : records) {
+			record.setLoggingTimestamp(record.hashCode());
+			serializer.reset();
+			serializer.appendChar('$');
+			serializer.putLong(record.getLoggingTimestamp());
+			record.serialize(serializer);
+			serializer.appendLineSeparator();
+			serializer.writeTo(writer);
+			expected.append('$').append(record.toString()).append(System.getProperty("line.separator"));
+		}
+		Assert.assertEquals(expected.toString(), writer.toString());
+	}
+}
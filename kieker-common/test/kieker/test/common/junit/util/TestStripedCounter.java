@@ -0,0 +1,93 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.common.junit.util;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.util.StripedCounter;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the {@link StripedCounter}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestStripedCounter extends AbstractKiekerTest {
+
+	private static final int NUM_THREADS = 8;
+	private static final int NUM_INCREMENTS = 100000;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestStripedCounter() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests a counter used by a single thread.
+	 */
+	@Test
+	public void testSingleThread() {
+		final StripedCounter counter = new StripedCounter(1);
+		Assert.assertEquals(0L, counter.sum());
+		counter.increment();
+		counter.add(41L);
+		Assert.assertEquals(42L, counter.sum());
+		Assert.assertEquals("42", counter.toString());
+	}
+
+	/**
+	 * Tests that no increments get lost if more threads than cells increment the counter concurrently.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testConcurrentIncrements() throws InterruptedException {
+		final StripedCounter counter = new StripedCounter(NUM_THREADS / 2);
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final Thread[] threads = new Thread[NUM_THREADS];
+		for (int i = 0; i < NUM_THREADS; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+					} catch (final InterruptedException ex) {
+						return;
+					}
+					for (int j = 0; j < NUM_INCREMENTS; j++) {
+						counter.increment();
+					}
+				}
+			};
+			threads[i].start();
+		}
+		startLatch.countDown();
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals((long) NUM_THREADS * NUM_INCREMENTS, counter.sum());
+	}
+}
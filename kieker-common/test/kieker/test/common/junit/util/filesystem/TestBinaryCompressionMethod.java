@@ -0,0 +1,106 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.common.junit.util.filesystem;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import kieker.common.util.filesystem.BinaryCompressionMethod;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests that data written block-wise via {@link BinaryCompressionMethod#getWritableByteChannel(File)} can be read by
+ * {@link BinaryCompressionMethod#getDataInputStream(File, int)}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestBinaryCompressionMethod extends AbstractKiekerTest {
+
+	private static final int NUMBER_OF_BLOCKS = 50;
+	private static final int BLOCK_SIZE = 10000;
+
+	/** A rule making sure that a temporary folder exists for every test method (which is removed after the test). */
+	@Rule
+	public final TemporaryFolder tmpFolder = new TemporaryFolder(); // NOCS (@Rule must be public)
+
+	/**
+	 * Default constructor.
+	 */
+	public TestBinaryCompressionMethod() {
+		// empty default constructor
+	}
+
+	/**
+	 * Writes and reads back the same data with every compression method.
+	 *
+	 * @throws IOException
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testWriteAndReadBlocks() throws IOException {
+		for (final BinaryCompressionMethod method : BinaryCompressionMethod.values()) {
+			final File file = new File(this.tmpFolder.getRoot(), "kieker" + method.getFileExtension());
+			final byte[] expected = TestBinaryCompressionMethod.createData();
+
+			final WritableByteChannel channel = method.getWritableByteChannel(file);
+			final ByteBuffer heapBuffer = ByteBuffer.allocate(BLOCK_SIZE);
+			final ByteBuffer directBuffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+			for (int block = 0; block < NUMBER_OF_BLOCKS; block++) {
+				final ByteBuffer buffer = ((block % 2) == 0) ? heapBuffer : directBuffer; // NOCS (inline conditional)
+				buffer.clear();
+				buffer.put(expected, block * BLOCK_SIZE, BLOCK_SIZE);
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+			channel.close();
+
+			final byte[] actual = new byte[expected.length];
+			final DataInputStream in = method.getDataInputStream(file, 8192);
+			try {
+				in.readFully(actual);
+				Assert.assertEquals("Unexpected data after the end for " + method, -1, in.read());
+			} finally {
+				in.close();
+			}
+			Assert.assertArrayEquals("Data mismatch for " + method, expected, actual);
+		}
+	}
+
+	private static byte[] createData() {
+		final Random random = new Random(42);
+		final byte[] data = new byte[NUMBER_OF_BLOCKS * BLOCK_SIZE];
+		for (int i = 0; i < data.length; i++) {
+			// compressible, but not trivially so
+			data[i] = (byte) (((i / 16) % 7) + random.nextInt(4));
+		}
+		return data;
+	}
+}
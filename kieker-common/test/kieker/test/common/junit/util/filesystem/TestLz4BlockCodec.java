@@ -0,0 +1,144 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.test.common.junit.util.filesystem;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.util.filesystem.Lz4BlockCodec;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the {@link Lz4BlockCodec}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestLz4BlockCodec extends AbstractKiekerTest {
+
+	private final Lz4BlockCodec codec = new Lz4BlockCodec();
+
+	/**
+	 * Default constructor.
+	 */
+	public TestLz4BlockCodec() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests blocks too short to contain any match.
+	 *
+	 * @throws IOException
+	 *             If the test fails.
+	 */
+	@Test
+	public void testShortBlocks() throws IOException {
+		for (int length = 0; length < 20; length++) {
+			final byte[] data = new byte[length];
+			Arrays.fill(data, (byte) 'a');
+			this.assertRoundTrip(data);
+		}
+	}
+
+	/**
+	 * Tests long runs of a single byte and of a short pattern, which result in overlapping matches and long length extensions.
+	 *
+	 * @throws IOException
+	 *             If the test fails.
+	 */
+	@Test
+	public void testRepetitiveData() throws IOException {
+		final byte[] data = new byte[100000];
+		Arrays.fill(data, (byte) 7);
+		Assert.assertTrue("Run not compressed", this.assertRoundTrip(data) < 1000);
+
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) ("kieker.common.record.flow.trace.operation.BeforeOperationEvent".charAt(i % 62) + (i / 1000));
+		}
+		Assert.assertTrue("Pattern not compressed", this.assertRoundTrip(data) < (data.length / 10));
+	}
+
+	/**
+	 * Tests random data, which cannot be compressed.
+	 *
+	 * @throws IOException
+	 *             If the test fails.
+	 */
+	@Test
+	public void testRandomData() throws IOException {
+		final byte[] data = new byte[65536];
+		new Random(42).nextBytes(data);
+		final int compressedLength = this.assertRoundTrip(data);
+		Assert.assertTrue(compressedLength <= Lz4BlockCodec.maxCompressedLength(data.length));
+	}
+
+	/**
+	 * Tests that corrupted blocks are rejected instead of producing wrong data or exceptions other than {@link IOException}.
+	 */
+	@Test
+	public void testMalformedData() {
+		final byte[] data = new byte[10000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i % 100);
+		}
+		final byte[] compressed = new byte[Lz4BlockCodec.maxCompressedLength(data.length)];
+		final int compressedLength = this.codec.compress(data, 0, data.length, compressed, 0);
+		final byte[] decompressed = new byte[data.length];
+
+		this.assertMalformed(compressed, compressedLength - 1, decompressed); // truncated
+		this.assertMalformed(compressed, compressedLength, new byte[data.length - 1]); // too long for the expected length
+		final Random random = new Random(42);
+		for (int i = 0; i < 100; i++) {
+			final byte[] corrupted = Arrays.copyOf(compressed, compressedLength);
+			corrupted[random.nextInt(compressedLength)] ^= (byte) (1 + random.nextInt(255));
+			try {
+				Lz4BlockCodec.decompress(corrupted, 0, compressedLength, decompressed, 0, decompressed.length);
+			} catch (final IOException ex) { // NOPMD (EmptyCatchBlock)
+				// expected unless the corruption happened to hit a literal
+			}
+		}
+	}
+
+	/**
+	 * @return the compressed length
+	 */
+	private int assertRoundTrip(final byte[] data) throws IOException {
+		final int offset = 3; // make sure that offsets are respected
+		final byte[] compressed = new byte[offset + Lz4BlockCodec.maxCompressedLength(data.length)];
+		final int compressedLength = this.codec.compress(data, 0, data.length, compressed, offset);
+		final byte[] decompressed = new byte[offset + data.length];
+		Lz4BlockCodec.decompress(compressed, offset, compressedLength, decompressed, offset, data.length);
+		Assert.assertArrayEquals(data, Arrays.copyOfRange(decompressed, offset, decompressed.length));
+		return compressedLength;
+	}
+
+	private void assertMalformed(final byte[] compressed, final int compressedLength, final byte[] decompressed) {
+		try {
+			Lz4BlockCodec.decompress(compressed, 0, compressedLength, decompressed, 0, decompressed.length);
+			Assert.fail("Malformed block not detected");
+		} catch (final IOException ex) { // NOPMD (EmptyCatchBlock)
+			// expected
+		}
+	}
+}
@@ -63,6 +63,30 @@ public interface IProbeController {
 	 */
 	public boolean isProbeActivated(final String signature);
 
+	/**
+	 * Returns the version of the current list of patterns. The version changes whenever the list of patterns changes. Hence, probes may cache the result of
+	 * {@link #isProbeActivated(String)} for a signature as long as the version does not change.
+	 * 
+	 * @return
+	 *         the current version of the list of patterns
+	 * 
+	 * @since 1.13
+	 */
+	public int getProbePatternVersion();
+
+	/**
+	 * Determines in advance whether the probes are activated for the methods and constructors declared by the given class, so that the first invocations of
+	 * these operations do not have to match their signatures against the patterns. This method can be called, e.g., when the class is loaded.
+	 * 
+	 * This method does nothing if adaptive monitoring is disabled.
+	 * 
+	 * @param clazz
+	 *            the class whose operations are to be evaluated
+	 * 
+	 * @since 1.13
+	 */
+	public void warmUpSignatureCache(final Class<?> clazz);
+
 	/**
 	 * Overwrites the current list of patterns with a new pattern list.
 	 * 
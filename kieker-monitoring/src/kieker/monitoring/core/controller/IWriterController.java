@@ -55,4 +55,26 @@ public interface IWriterController extends IMonitoringRecordReceiver {
 	 * @since 1.3
 	 */
 	public abstract long getNumberOfInserts();
+
+	/**
+	 * Shows how many records the writer has accepted since the last restart of the execution environment.
+	 *
+	 * @return The number of written records or -1 if the writer does not provide statistics.
+	 *
+	 * @see kieker.monitoring.writer.IWriterStatistics
+	 *
+	 * @since 1.13
+	 */
+	public abstract long getNumberOfWrittenRecords();
+
+	/**
+	 * Shows how many records the writer has dropped since the last restart of the execution environment.
+	 *
+	 * @return The number of dropped records or -1 if the writer does not provide statistics.
+	 *
+	 * @see kieker.monitoring.writer.IWriterStatistics
+	 *
+	 * @since 1.13
+	 */
+	public abstract long getNumberOfDroppedRecords();
 }
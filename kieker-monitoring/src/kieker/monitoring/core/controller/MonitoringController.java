@@ -204,6 +204,10 @@ public final class MonitoringController extends AbstractController implements IM
 		return this.samplingController;
 	}
 
+	protected StateController getStateController() {
+		return this.stateController;
+	}
+
 	// DELEGATE TO OTHER CONTROLLERS
 	// #############################
 
@@ -284,6 +288,16 @@ public final class MonitoringController extends AbstractController implements IM
 		return this.writerController.getNumberOfInserts();
 	}
 
+	@Override
+	public final long getNumberOfWrittenRecords() {
+		return this.writerController.getNumberOfWrittenRecords();
+	}
+
+	@Override
+	public final long getNumberOfDroppedRecords() {
+		return this.writerController.getNumberOfDroppedRecords();
+	}
+
 	@Override
 	public final ScheduledSamplerJob schedulePeriodicSampler(final ISampler sampler, final long initialDelay, final long period, final TimeUnit timeUnit) {
 		return this.samplingController.schedulePeriodicSampler(sampler, initialDelay, period, timeUnit);
@@ -334,6 +348,16 @@ public final class MonitoringController extends AbstractController implements IM
 		return this.probeController.isProbeActivated(signature);
 	}
 
+	@Override
+	public int getProbePatternVersion() {
+		return this.probeController.getProbePatternVersion();
+	}
+
+	@Override
+	public void warmUpSignatureCache(final Class<?> clazz) {
+		this.probeController.warmUpSignatureCache(clazz);
+	}
+
 	@Override
 	public void setProbePatternList(final List<String> patternList) {
 		this.probeController.setProbePatternList(patternList);
@@ -25,13 +25,14 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
@@ -48,7 +49,9 @@ import kieker.common.util.map.BoundedConcurrentHashMap.BoundedCacheBehaviour;
 import kieker.monitoring.core.configuration.ConfigurationFactory;
 import kieker.monitoring.core.signaturePattern.InvalidPatternException;
 import kieker.monitoring.core.signaturePattern.PatternEntry;
+import kieker.monitoring.core.signaturePattern.PatternMatcher;
 import kieker.monitoring.core.signaturePattern.PatternParser;
+import kieker.monitoring.core.signaturePattern.SignatureFactory;
 
 /**
  * @author Jan Waller, Bjoern Weissenfels, Nils Christian Ehmke
@@ -58,6 +61,8 @@ import kieker.monitoring.core.signaturePattern.PatternParser;
 public class ProbeController extends AbstractController implements IProbeController {
 	static final Log LOG = LogFactory.getLog(ProbeController.class); // NOPMD package for inner class
 	private static final String ENCODING = "UTF-8";
+	/** The name of constructors in signatures (as used by AspectJ). */
+	private static final String CONSTRUCTOR_NAME = "<init>";
 
 	private final boolean enabled;
 	private final String configFilePathname;
@@ -69,6 +74,8 @@ public class ProbeController extends AbstractController implements IProbeControl
 
 	private final ConcurrentMap<String, Boolean> signatureCache;
 	private final List<PatternEntry> patternList = new ArrayList<PatternEntry>(); // only accessed synchronized
+	private volatile PatternMatcher patternMatcher = new PatternMatcher(this.patternList); // only modified synchronized
+	private volatile int patternVersion; // only modified synchronized
 
 	/**
 	 * Creates a new instance of this class using the given configuration to initialize the class.
@@ -213,6 +220,14 @@ public class ProbeController extends AbstractController implements IProbeControl
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getProbePatternVersion() {
+		return this.patternVersion;
+	}
+
 	/**
 	 * Sets the list of probe patterns.
 	 * 
@@ -230,7 +245,6 @@ public class ProbeController extends AbstractController implements IProbeControl
 
 		synchronized (this) {
 			this.patternList.clear();
-			this.signatureCache.clear();
 			for (final String string : strPatternList) {
 				if (string.length() > 0) { // ignore empty lines
 					try {
@@ -253,6 +267,9 @@ public class ProbeController extends AbstractController implements IProbeControl
 					}
 				}
 			}
+			this.patternMatcher = new PatternMatcher(this.patternList);
+			this.signatureCache.clear();
+			this.patternVersion++;
 			if (updateConfig && this.configFileUpdate) {
 				this.updatePatternFile();
 			}
@@ -292,6 +309,37 @@ public class ProbeController extends AbstractController implements IProbeControl
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void warmUpSignatureCache(final Class<?> clazz) {
+		if (!this.enabled) {
+			return;
+		}
+		final Method[] methods;
+		final Constructor<?>[] constructors;
+		try {
+			methods = clazz.getDeclaredMethods();
+			constructors = clazz.getDeclaredConstructors();
+		} catch (final SecurityException ex) {
+			LOG.warn("Failed to warm up the signature cache for " + clazz.getName(), ex);
+			return;
+		} catch (final LinkageError ex) { // NOPMD (e.g., NoClassDefFoundError of a parameter type)
+			LOG.warn("Failed to warm up the signature cache for " + clazz.getName(), ex);
+			return;
+		}
+		final String className = clazz.getName();
+		for (final Method method : methods) {
+			this.isProbeActivated(SignatureFactory.createMethodSignature(method.getModifiers(), method.getReturnType(), className, method.getName(),
+					method.getParameterTypes()));
+		}
+		for (final Constructor<?> constructor : constructors) {
+			this.isProbeActivated(SignatureFactory.createConstructorSignature(constructor.getModifiers(), className, CONSTRUCTOR_NAME,
+					constructor.getParameterTypes()));
+		}
+	}
+
 	/**
 	 * This method tests if the given signature matches a pattern and completes accordingly the signatureCache map.
 	 * 
@@ -299,21 +347,15 @@ public class ProbeController extends AbstractController implements IProbeControl
 	 *            The signature to match.
 	 */
 	private boolean matchesPattern(final String signature) {
-		synchronized (this) {
-			final ListIterator<PatternEntry> patternListIterator = this.patternList.listIterator(this.patternList.size());
-			while (patternListIterator.hasPrevious()) {
-				final PatternEntry patternEntry = patternListIterator.previous();
-				if (patternEntry.getPattern().matcher(signature).matches()) {
-					final boolean value = patternEntry.isActivated();
-					this.signatureCache.put(signature, value);
-					return value;
-				}
-			}
+		final PatternMatcher matcher = this.patternMatcher;
+		final PatternEntry patternEntry = matcher.findLastMatchingEntry(signature);
+		final boolean value = (patternEntry == null) || patternEntry.isActivated(); // if nothing matches, the default is true!
+		this.signatureCache.put(signature, value);
+		if (matcher != this.patternMatcher) { // NOPMD (CompareObjectsWithEquals)
+			// the patterns have been changed concurrently, the result might be outdated
+			this.signatureCache.remove(signature);
 		}
-		// Do not forget to remember this default value
-		this.signatureCache.put(signature, true);
-
-		return true; // if nothing matches, the default is true!
+		return value;
 	}
 
 	private boolean addPattern(final String strPattern, final boolean activated) {
@@ -322,8 +364,6 @@ public class ProbeController extends AbstractController implements IProbeControl
 			return false;
 		}
 		synchronized (this) {
-			// we must always clear the cache!
-			this.signatureCache.clear();
 			final Pattern pattern;
 			try {
 				pattern = PatternParser.parseToPattern(strPattern);
@@ -332,6 +372,10 @@ public class ProbeController extends AbstractController implements IProbeControl
 				return false;
 			}
 			this.patternList.add(new PatternEntry(strPattern, pattern, activated));
+			this.patternMatcher = new PatternMatcher(this.patternList);
+			// we must always clear the cache!
+			this.signatureCache.clear();
+			this.patternVersion++;
 			if (this.configFileUpdate) {
 				this.updatePatternFile();
 			}
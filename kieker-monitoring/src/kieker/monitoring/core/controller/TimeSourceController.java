@@ -16,6 +16,9 @@
 
 package kieker.monitoring.core.controller;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import kieker.common.configuration.Configuration;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
@@ -58,6 +61,13 @@ public final class TimeSourceController extends AbstractController implements IT
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Shutting down TimeSource Controller");
 		}
+		if (this.timeSource instanceof Closeable) { // e.g., stops the ticker thread of a cached timer
+			try {
+				((Closeable) this.timeSource).close();
+			} catch (final IOException ex) {
+				LOG.warn("Failed to close the time source", ex);
+			}
+		}
 	}
 
 	@Override
@@ -16,15 +16,17 @@
 
 package kieker.monitoring.core.controller;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import kieker.common.configuration.Configuration;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.record.misc.RegistryRecord;
+import kieker.common.util.StripedCounter;
 import kieker.monitoring.core.configuration.ConfigurationFactory;
 import kieker.monitoring.writer.IMonitoringWriter;
+import kieker.monitoring.writer.IWriterStatistics;
 
 /**
  * @author Andre van Hoorn, Matthias Rohr, Jan Waller, Robert von Massow
@@ -34,14 +36,18 @@ import kieker.monitoring.writer.IMonitoringWriter;
 public final class WriterController extends AbstractController implements IWriterController {
 	private static final Log LOG = LogFactory.getLog(WriterController.class);
 
-	/** the total number of monitoring records received. */
-	private final AtomicLong numberOfInserts = new AtomicLong(0);
+	/** the total number of monitoring records received (striped, since it is incremented by all monitored threads). */
+	private final StripedCounter numberOfInserts = new StripedCounter();
+	/** Whether the metadata record still has to be sent before the first record. */
+	private final AtomicBoolean metadataRecordPending = new AtomicBoolean(true);
 	/** Monitoring Writer. */
 	private final IMonitoringWriter monitoringWriter;
 	/** Whether or not the {@link IMonitoringRecord#setLoggingTimestamp(long)} is automatically set. */
 	private final boolean autoSetLoggingTimestamp;
 	/** Whether or not to automatically log the metadata record. */
 	private final boolean logMetadataRecord;
+	/** The state controller, which is asked directly whether monitoring is enabled. */
+	private volatile StateController stateController;
 
 	/**
 	 * Creates a new instance of this class using the given parameters.
@@ -64,6 +70,7 @@ public final class WriterController extends AbstractController implements IWrite
 
 	@Override
 	protected final void init() {
+		this.stateController = super.monitoringController.getStateController();
 		if (this.monitoringWriter != null) {
 			try {
 				this.monitoringWriter.setController(super.monitoringController);
@@ -89,6 +96,12 @@ public final class WriterController extends AbstractController implements IWrite
 		final StringBuilder sb = new StringBuilder(256);
 		sb.append("WriterController:\n\tNumber of Inserts: '");
 		sb.append(this.getNumberOfInserts());
+		if (this.monitoringWriter instanceof IWriterStatistics) {
+			sb.append("'\n\tRecords written: '");
+			sb.append(this.getNumberOfWrittenRecords());
+			sb.append("'; Records dropped: '");
+			sb.append(this.getNumberOfDroppedRecords());
+		}
 		sb.append("'\n\tAutomatic assignment of logging timestamps: '");
 		sb.append(this.autoSetLoggingTimestamp);
 		sb.append("'\n");
@@ -109,15 +122,18 @@ public final class WriterController extends AbstractController implements IWrite
 		try {
 			// fast lane for RegistryRecords (these must always be delivered without blocking!)
 			if (!(record instanceof RegistryRecord)) {
-				final IMonitoringController monitoringController = super.monitoringController;
-				if (!monitoringController.isMonitoringEnabled()) { // enabled and not terminated
+				final StateController stateControllerLocal = this.stateController;
+				if ((stateControllerLocal == null) || !stateControllerLocal.isMonitoringEnabled()) { // initialized, enabled, and not terminated
 					return false;
 				}
+				final IMonitoringController monitoringController = super.monitoringController;
 				if (this.autoSetLoggingTimestamp) {
 					record.setLoggingTimestamp(monitoringController.getTimeSource().getTime());
 				}
-				if ((0L == this.numberOfInserts.getAndIncrement()) && this.logMetadataRecord) {
-					this.monitoringController.sendMetadataAsRecord();
+				this.numberOfInserts.increment();
+				// the flag is only written once; reading it first keeps its cache line shared afterwards
+				if (this.logMetadataRecord && this.metadataRecordPending.get() && this.metadataRecordPending.getAndSet(false)) {
+					monitoringController.sendMetadataAsRecord();
 				}
 				if (!this.monitoringWriter.newMonitoringRecord(record)) {
 					LOG.error("Error writing the monitoring data. Will terminate monitoring!");
@@ -144,6 +160,28 @@ public final class WriterController extends AbstractController implements IWrite
 	 */
 	@Override
 	public final long getNumberOfInserts() {
-		return this.numberOfInserts.longValue();
+		return this.numberOfInserts.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final long getNumberOfWrittenRecords() {
+		if (this.monitoringWriter instanceof IWriterStatistics) {
+			return ((IWriterStatistics) this.monitoringWriter).getNumberOfWrittenRecords();
+		}
+		return -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final long getNumberOfDroppedRecords() {
+		if (this.monitoringWriter instanceof IWriterStatistics) {
+			return ((IWriterStatistics) this.monitoringWriter).getNumberOfDroppedRecords();
+		}
+		return -1;
 	}
 }
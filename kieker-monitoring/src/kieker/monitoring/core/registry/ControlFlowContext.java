@@ -0,0 +1,171 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.registry;
+
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+
+/**
+ * The control flow information (trace id, execution order index (eoi), and execution stack size (ess)) of a single thread. Each thread has exactly one
+ * instance, which is obtained via {@link ControlFlowRegistry#getThreadLocalContext()} and reused for all its traces. Hence, a probe has to look up the
+ * context only once per execution and does not box any values.
+ *
+ * <p>
+ * Instances are not thread-safe and must not be passed to other threads.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class ControlFlowContext {
+	private static final Log LOG = LogFactory.getLog(ControlFlowContext.class);
+
+	/** Marks the trace id of a thread which does not take part in a trace. */
+	public static final long NO_TRACE_ID = -1;
+
+	// marks an eoi or ess which has not been registered (-1 is returned in this case)
+	private static final int UNSET = Integer.MIN_VALUE;
+
+	private long traceId = NO_TRACE_ID;
+	private int eoi = UNSET;
+	private int ess = UNSET;
+
+	/**
+	 * Creates a new context without any control flow information.
+	 */
+	ControlFlowContext() {
+		// only created by the ControlFlowRegistry
+	}
+
+	/**
+	 * Starts a new trace with the given id, i.e., the current execution is the entry point of the trace with eoi 0 and ess 0.
+	 *
+	 * @param newTraceId
+	 *            The id of the new trace.
+	 */
+	public void startTrace(final long newTraceId) {
+		this.traceId = newTraceId;
+		this.eoi = 0;
+		this.ess = 1; // next operation is ess + 1
+	}
+
+	/**
+	 * Removes all control flow information, e.g., when the entry point of a trace has been left.
+	 */
+	public void reset() {
+		this.traceId = NO_TRACE_ID;
+		this.eoi = UNSET;
+		this.ess = UNSET;
+	}
+
+	/**
+	 * @return The trace id or {@link #NO_TRACE_ID} if no trace id has been registered.
+	 */
+	public long getTraceId() {
+		return this.traceId;
+	}
+
+	/**
+	 * @param traceId
+	 *            The trace id to register.
+	 */
+	public void setTraceId(final long traceId) {
+		this.traceId = traceId;
+	}
+
+	/**
+	 * Removes the registered trace id.
+	 */
+	public void unsetTraceId() {
+		this.traceId = NO_TRACE_ID;
+	}
+
+	/**
+	 * @return The registered eoi; -1 if no eoi has been registered.
+	 */
+	public int getEOI() {
+		if (this.eoi == UNSET) {
+			LOG.error("eoi has not been registered before");
+			return -1;
+		}
+		return this.eoi;
+	}
+
+	/**
+	 * @param eoi
+	 *            The eoi to register.
+	 */
+	public void setEOI(final int eoi) {
+		this.eoi = eoi;
+	}
+
+	/**
+	 * @return The incremented eoi; -1 if no eoi has been registered.
+	 */
+	public int incrementAndGetEOI() {
+		if (this.eoi == UNSET) {
+			LOG.error("eoi has not been registered before");
+			return -1;
+		}
+		return ++this.eoi;
+	}
+
+	/**
+	 * Removes the registered eoi.
+	 */
+	public void unsetEOI() {
+		this.eoi = UNSET;
+	}
+
+	/**
+	 * @return The registered ess; -1 if no ess has been registered.
+	 */
+	public int getESS() {
+		if (this.ess == UNSET) {
+			LOG.error("ess has not been registered before");
+			return -1;
+		}
+		return this.ess;
+	}
+
+	/**
+	 * @param ess
+	 *            The ess to register.
+	 */
+	public void setESS(final int ess) {
+		this.ess = ess;
+	}
+
+	/**
+	 * @return The registered ess before the incrementation; -1 if no ess has been registered.
+	 */
+	public int getAndIncrementESS() {
+		if (this.ess == UNSET) {
+			LOG.error("ess has not been registered before");
+			return -1;
+		}
+		return this.ess++;
+	}
+
+	/**
+	 * Removes the registered ess.
+	 */
+	public void unsetESS() {
+		this.ess = UNSET;
+	}
+}
@@ -40,9 +40,13 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	// far. Of course, negative values may occur (as a result of an overflow) -- this does not hurt!
 	private final AtomicLong lastThreadId = new AtomicLong(MonitoringController.getInstance().isDebug() ? 0 // NOCS
 			: (long) new Random().nextInt(65536) << (Long.SIZE - 16 - 1));
-	private final transient ThreadLocal<Long> threadLocalTraceId = new ThreadLocal<Long>();
-	private final transient ThreadLocal<Integer> threadLocalEoi = new ThreadLocal<Integer>();
-	private final transient ThreadLocal<Integer> threadLocalEss = new ThreadLocal<Integer>();
+	// the trace id, eoi, and ess of each thread are kept in a single context, which is reused for all traces of the thread
+	private final transient ThreadLocal<ControlFlowContext> threadLocalContext = new ThreadLocal<ControlFlowContext>() {
+		@Override
+		protected ControlFlowContext initialValue() {
+			return new ControlFlowContext();
+		}
+	};
 
 	static {
 		LOG.info("First threadId will be " + INSTANCE.lastThreadId.get());
@@ -72,6 +76,18 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 		}
 	}
 
+	/**
+	 * This method returns the control flow context of the current thread. Probes should look up the context once per execution and use it instead of the
+	 * other thread-local methods of this registry, each of which looks up the context again.
+	 * 
+	 * @return The control flow context of the current thread.
+	 * 
+	 * @since 1.13
+	 */
+	public final ControlFlowContext getThreadLocalContext() {
+		return this.threadLocalContext.get();
+	}
+
 	/**
 	 * This method returns a thread-local traceid which is globally unique and stored it local for the thread. The thread is responsible for invalidating the stored
 	 * curTraceId using the method unsetThreadLocalTraceId()!
@@ -80,7 +96,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 */
 	public final long getAndStoreUniqueThreadLocalTraceId() {
 		final long id = this.getUniqueTraceId();
-		this.threadLocalTraceId.set(id);
+		this.threadLocalContext.get().setTraceId(id);
 		return id;
 	}
 
@@ -91,7 +107,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 *            The trace ID to store in a thread-local way.
 	 */
 	public final void storeThreadLocalTraceId(final long traceId) {
-		this.threadLocalTraceId.set(traceId);
+		this.threadLocalContext.get().setTraceId(traceId);
 	}
 
 	/**
@@ -100,18 +116,14 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return the traceid. -1 if no curTraceId has been registered for this thread.
 	 */
 	public final long recallThreadLocalTraceId() {
-		final Long traceIdObj = this.threadLocalTraceId.get();
-		if (traceIdObj == null) {
-			return -1;
-		}
-		return traceIdObj;
+		return this.threadLocalContext.get().getTraceId();
 	}
 
 	/**
 	 * This method unsets a previously registered traceid.
 	 */
 	public final void unsetThreadLocalTraceId() {
-		this.threadLocalTraceId.remove();
+		this.threadLocalContext.get().unsetTraceId();
 	}
 
 	/**
@@ -121,7 +133,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 *            The execution order index to register.
 	 */
 	public final void storeThreadLocalEOI(final int eoi) {
-		this.threadLocalEoi.set(eoi);
+		this.threadLocalContext.get().setEOI(eoi);
 	}
 
 	/**
@@ -130,14 +142,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return Increments the thread local execution order index and returns it.
 	 */
 	public final int incrementAndRecallThreadLocalEOI() {
-		final Integer curEoi = this.threadLocalEoi.get();
-		if (curEoi == null) {
-			LOG.error("eoi has not been registered before");
-			return -1;
-		}
-		final int newEoi = curEoi + 1;
-		this.threadLocalEoi.set(newEoi);
-		return newEoi;
+		return this.threadLocalContext.get().incrementAndGetEOI();
 	}
 
 	/**
@@ -146,19 +151,14 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return the sessionid. -1 if no curEoi registered.
 	 */
 	public final int recallThreadLocalEOI() {
-		final Integer curEoi = this.threadLocalEoi.get();
-		if (curEoi == null) {
-			LOG.error("eoi has not been registered before");
-			return -1;
-		}
-		return curEoi;
+		return this.threadLocalContext.get().getEOI();
 	}
 
 	/**
 	 * This method unsets a previously registered traceid.
 	 */
 	public final void unsetThreadLocalEOI() {
-		this.threadLocalEoi.remove();
+		this.threadLocalContext.get().unsetEOI();
 	}
 
 	/**
@@ -169,7 +169,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 *            The execution stack size to store.
 	 */
 	public final void storeThreadLocalESS(final int ess) {
-		this.threadLocalEss.set(ess);
+		this.threadLocalContext.get().setESS(ess);
 	}
 
 	/**
@@ -178,13 +178,7 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return The current execution stack size, before the incrementation.
 	 */
 	public final int recallAndIncrementThreadLocalESS() {
-		final Integer curEss = this.threadLocalEss.get();
-		if (curEss == null) {
-			LOG.error("ess has not been registered before");
-			return -1;
-		}
-		this.threadLocalEss.set(curEss + 1);
-		return curEss;
+		return this.threadLocalContext.get().getAndIncrementESS();
 	}
 
 	/**
@@ -193,18 +187,13 @@ public enum ControlFlowRegistry { // Singleton (Effective Java #3)
 	 * @return the sessionid. -1 if no curEss registered.
 	 */
 	public final int recallThreadLocalESS() {
-		final Integer ess = this.threadLocalEss.get();
-		if (ess == null) {
-			LOG.error("ess has not been registered before");
-			return -1;
-		}
-		return ess;
+		return this.threadLocalContext.get().getESS();
 	}
 
 	/**
 	 * This method unsets a previously registered curEss.
 	 */
 	public final void unsetThreadLocalESS() {
-		this.threadLocalEss.remove();
+		this.threadLocalContext.get().unsetESS();
 	}
 }
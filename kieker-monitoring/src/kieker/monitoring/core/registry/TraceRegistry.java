@@ -16,9 +16,11 @@
 
 package kieker.monitoring.core.registry;
 
+import java.lang.ref.WeakReference;
 import java.security.SecureRandom;
-import java.util.Stack;
-import java.util.WeakHashMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import kieker.common.logging.Log;
@@ -37,19 +39,25 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 
 	private static final Log LOG = LogFactory.getLog(TraceRegistry.class); // NOPMD (enum logger)
 
+	/** the number of registered split points after which split points of terminated threads are removed. */
+	private static final int PARENT_TRACE_CLEANUP_INTERVAL = 1024;
+
 	private final AtomicInteger nextTraceId = new AtomicInteger(0);
 	private final long unique = MonitoringController.getInstance().isDebug() ? 0 : ((long) new SecureRandom().nextInt()) << 32; // NOCS
 	/** the hostname is final after the instantiation of the monitoring controller. */
 	private final String hostname = MonitoringController.getInstance().getHostname();
 
-	/** the current trace; null if new trace. */
-	private final ThreadLocal<TraceMetadata> traceStorage = new ThreadLocal<TraceMetadata>();
-
-	/** used to store the stack of enclosing traces; null if no sub trace created yet. */
-	private final ThreadLocal<Stack<TraceMetadata>> enclosingTraceStack = new ThreadLocal<Stack<TraceMetadata>>();
+	/** the current trace and the stack of enclosing traces of each thread. */
+	private final ThreadLocal<TraceStack> traceStorage = new ThreadLocal<TraceStack>() {
+		@Override
+		protected TraceStack initialValue() {
+			return new TraceStack();
+		}
+	};
 
-	/** store the parent Trace. */
-	private final WeakHashMap<Thread, TracePoint> parentTrace = new WeakHashMap<Thread, TracePoint>();
+	/** store the parent Trace (by thread id); only accessed if a split point has been registered. */
+	private final ConcurrentHashMap<Long, TracePoint> parentTrace = new ConcurrentHashMap<Long, TracePoint>();
+	private final AtomicInteger parentTraceRegistrations = new AtomicInteger(0);
 
 	private final long getId() {
 		return this.unique | this.nextTraceId.getAndIncrement();
@@ -62,7 +70,7 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	 *         Trace object or null
 	 */
 	public final TraceMetadata getTrace() {
-		return this.traceStorage.get();
+		return this.traceStorage.get().current;
 	}
 
 	/**
@@ -72,14 +80,10 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	 *         Trace object
 	 */
 	public final TraceMetadata registerTrace() {
-		final TraceMetadata enclosingTrace = this.traceStorage.get();
+		final TraceStack traceStack = this.traceStorage.get();
+		final TraceMetadata enclosingTrace = traceStack.current;
 		if (enclosingTrace != null) { // we create a subtrace
-			Stack<TraceMetadata> localTraceStack = this.enclosingTraceStack.get();
-			if (localTraceStack == null) {
-				localTraceStack = new Stack<TraceMetadata>();
-				this.enclosingTraceStack.set(localTraceStack);
-			}
-			localTraceStack.push(enclosingTrace);
+			traceStack.push(enclosingTrace);
 		}
 		final Thread thread = Thread.currentThread();
 		final TracePoint tp = this.getAndRemoveParentTraceId(thread);
@@ -101,7 +105,7 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 		}
 		final String sessionId = SessionRegistry.INSTANCE.recallThreadLocalSessionId();
 		final TraceMetadata trace = new TraceMetadata(traceId, thread.getId(), sessionId, this.hostname, parentTraceId, parentOrderId);
-		this.traceStorage.set(trace);
+		traceStack.current = trace;
 		return trace;
 	}
 
@@ -111,23 +115,21 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	 * Future calls of getTrace() will either return null or the enclosing trace object.
 	 */
 	public final void unregisterTrace() {
-		final Stack<TraceMetadata> localTraceStack = this.enclosingTraceStack.get();
-		if (localTraceStack != null) { // we might have an enclosing trace and and are able to restore it
-			if (!localTraceStack.isEmpty()) { // we actually found something
-				this.traceStorage.set(localTraceStack.pop());
-			} else {
-				this.enclosingTraceStack.remove();
-				this.traceStorage.remove();
-			}
-		} else {
-			this.traceStorage.remove();
-		}
+		final TraceStack traceStack = this.traceStorage.get();
+		traceStack.current = traceStack.pop(); // null if there is no enclosing trace
 	}
 
 	private final TracePoint getAndRemoveParentTraceId(final Thread t) {
-		synchronized (this) {
-			return this.parentTrace.remove(t);
+		if (this.parentTrace.isEmpty()) { // fast path: no pending split points at all
+			return null;
 		}
+		final Long threadId = t.getId();
+		final TracePoint tp = this.parentTrace.get(threadId);
+		// thread ids may be reused after a thread has terminated, hence the thread itself has to match
+		if ((tp != null) && (tp.thread.get() == t) && this.parentTrace.remove(threadId, tp)) {
+			return tp;
+		}
+		return null;
 	}
 
 	/**
@@ -142,8 +144,61 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	 *            the parent order id
 	 */
 	public final void setParentTraceId(final Thread t, final long traceId, final int orderId) {
-		synchronized (this) {
-			this.parentTrace.put(t, new TracePoint(traceId, orderId));
+		this.parentTrace.put(t.getId(), new TracePoint(t, traceId, orderId));
+		if ((this.parentTraceRegistrations.incrementAndGet() % PARENT_TRACE_CLEANUP_INTERVAL) == 0) {
+			this.removeStaleParentTraceIds();
+		}
+	}
+
+	/**
+	 * Removes the split points of threads which have terminated (or have been garbage collected) without creating a trace.
+	 */
+	private final void removeStaleParentTraceIds() {
+		for (final Map.Entry<Long, TracePoint> entry : this.parentTrace.entrySet()) {
+			final Thread thread = entry.getValue().thread.get();
+			if ((thread == null) || (thread.getState() == Thread.State.TERMINATED)) {
+				this.parentTrace.remove(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * The current trace and the enclosing traces of a single thread. Only accessed by its thread.
+	 * 
+	 * @author Kieker Team
+	 * 
+	 * @since 1.13
+	 */
+	private static final class TraceStack {
+		private static final int INITIAL_CAPACITY = 4;
+
+		/** the current trace; null if new trace. */
+		TraceMetadata current; // NOCS (package visible for the registry)
+
+		private TraceMetadata[] enclosingTraces = new TraceMetadata[INITIAL_CAPACITY];
+		private int size;
+
+		public TraceStack() {
+			// empty default constructor
+		}
+
+		public void push(final TraceMetadata trace) {
+			if (this.size == this.enclosingTraces.length) {
+				this.enclosingTraces = Arrays.copyOf(this.enclosingTraces, this.size << 1);
+			}
+			this.enclosingTraces[this.size++] = trace;
+		}
+
+		/**
+		 * @return the innermost enclosing trace or null if there is none
+		 */
+		public TraceMetadata pop() {
+			if (this.size == 0) {
+				return null;
+			}
+			final TraceMetadata trace = this.enclosingTraces[--this.size];
+			this.enclosingTraces[this.size] = null; // NOPMD (null assignment to allow gc)
+			return trace;
 		}
 	}
 
@@ -151,10 +206,12 @@ public enum TraceRegistry { // Singleton (Effective Java #3)
 	 * @author Jan Waller
 	 */
 	private static final class TracePoint {
+		public final WeakReference<Thread> thread; // NOCS (public no setters or getters)
 		public final long traceId; // NOCS (public no setters or getters)
 		public final int orderId; // NOCS (public no setters or getters)
 
-		public TracePoint(final long traceId, final int orderId) {
+		public TracePoint(final Thread thread, final long traceId, final int orderId) {
+			this.thread = new WeakReference<Thread>(thread);
 			this.traceId = traceId;
 			this.orderId = orderId;
 		}
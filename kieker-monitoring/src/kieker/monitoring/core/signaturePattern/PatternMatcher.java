@@ -0,0 +1,144 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.core.signaturePattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compiled form of a list of {@link PatternEntry}s, which determines the last entry matching a signature without testing each pattern.
+ *
+ * <p>
+ * Most patterns contain an identifier without wildcards (e.g., the class name or the method name), which appears as a whole token in each signature matched
+ * by the pattern. The entries are indexed by such an identifier. Only the entries indexed by one of the tokens of a signature and the entries without such an
+ * identifier (e.g., {@code *} or regular expressions) have to be tested for the signature.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class PatternMatcher {
+
+	private static final int[] NO_ENTRIES = new int[0];
+
+	private final PatternEntry[] entries;
+	private final Map<String, int[]> entriesByIdentifier;
+	private final int[] unindexedEntries;
+
+	/**
+	 * Compiles the given list of pattern entries. In case multiple entries match a signature, the last one is relevant.
+	 *
+	 * @param patternEntries
+	 *            The pattern entries; the list is copied.
+	 */
+	public PatternMatcher(final List<PatternEntry> patternEntries) {
+		this.entries = patternEntries.toArray(new PatternEntry[patternEntries.size()]);
+		final Map<String, List<Integer>> indices = new HashMap<String, List<Integer>>(); // NOPMD (no concurrent access)
+		final List<Integer> unindexed = new ArrayList<Integer>();
+		for (int i = 0; i < this.entries.length; i++) {
+			final String identifier = PatternParser.findRequiredIdentifier(this.entries[i].getStrPattern());
+			if (identifier == null) {
+				unindexed.add(i);
+			} else {
+				List<Integer> entryIndices = indices.get(identifier);
+				if (entryIndices == null) {
+					entryIndices = new ArrayList<Integer>(1);
+					indices.put(identifier, entryIndices);
+				}
+				entryIndices.add(i);
+			}
+		}
+		this.entriesByIdentifier = new HashMap<String, int[]>(); // NOPMD (immutable after construction)
+		for (final Map.Entry<String, List<Integer>> entry : indices.entrySet()) {
+			this.entriesByIdentifier.put(entry.getKey(), PatternMatcher.toArray(entry.getValue()));
+		}
+		this.unindexedEntries = PatternMatcher.toArray(unindexed);
+	}
+
+	/**
+	 * Searches the last pattern entry matching the given signature.
+	 *
+	 * @param signature
+	 *            The signature to match.
+	 * @return The last matching entry or null if no entry matches.
+	 */
+	public PatternEntry findLastMatchingEntry(final String signature) {
+		final int[] candidates = this.collectCandidates(signature);
+		int lastCandidate = -1;
+		for (int i = candidates.length - 1; i >= 0; i--) {
+			if (candidates[i] == lastCandidate) { // the signature contains several identifiers of the entry
+				continue;
+			}
+			lastCandidate = candidates[i];
+			final PatternEntry entry = this.entries[lastCandidate];
+			if (entry.getPattern().matcher(signature).matches()) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return The indices of the entries possibly matching the given signature in ascending order (possibly with duplicates).
+	 */
+	private int[] collectCandidates(final String signature) {
+		if (this.entriesByIdentifier.isEmpty()) {
+			return this.unindexedEntries;
+		}
+		int[] candidates = this.unindexedEntries;
+		int numCandidates = candidates.length;
+		final int length = signature.length();
+		int tokenStart = -1;
+		for (int i = 0; i <= length; i++) {
+			if ((i < length) && Character.isJavaIdentifierPart(signature.charAt(i))) {
+				if (tokenStart < 0) {
+					tokenStart = i;
+				}
+			} else if (tokenStart >= 0) {
+				final int[] tokenEntries = this.entriesByIdentifier.get(signature.substring(tokenStart, i));
+				if (tokenEntries != null) {
+					if ((numCandidates + tokenEntries.length) > candidates.length) {
+						candidates = Arrays.copyOf(candidates, Math.max(numCandidates + tokenEntries.length, candidates.length << 1));
+					}
+					System.arraycopy(tokenEntries, 0, candidates, numCandidates, tokenEntries.length);
+					numCandidates += tokenEntries.length;
+				}
+				tokenStart = -1;
+			}
+		}
+		if (candidates == this.unindexedEntries) { // NOPMD (CompareObjectsWithEquals)
+			return candidates;
+		}
+		Arrays.sort(candidates, 0, numCandidates);
+		return (numCandidates == candidates.length) ? candidates : Arrays.copyOf(candidates, numCandidates); // NOCS (inline cond)
+	}
+
+	private static int[] toArray(final List<Integer> list) {
+		if (list.isEmpty()) {
+			return NO_ENTRIES;
+		}
+		final int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+}
@@ -158,6 +158,53 @@ public final class PatternParser {
 		return Pattern.compile(sb.toString());
 	}
 
+	/**
+	 * Searches an identifier without wildcards in the fully qualified method name of the given pattern. Each signature matched by the pattern contains this
+	 * identifier as a whole token (i.e., it is neither preceded nor followed by a character of a Java identifier). The class name is preferred to the method
+	 * name and the method name is preferred to the package names.
+	 * 
+	 * @param strPattern
+	 *            A valid pattern string.
+	 * @return Such an identifier or null if the pattern does not contain one (e.g., regular expressions or wildcards only).
+	 */
+	static final String findRequiredIdentifier(final String strPattern) {
+		final String trimPattern = strPattern.trim();
+		if ((trimPattern.length() == 0) || (trimPattern.charAt(0) == SignatureFactory.PATTERN_PREFIX)) {
+			return null;
+		}
+		final int openingParenthesis = trimPattern.indexOf('(');
+		if (openingParenthesis == -1) { // e.g. "*"
+			return null;
+		}
+		final String[] array = trimPattern.substring(0, openingParenthesis).trim().split("\\s+"); // NOPMD
+		final String[] segments = array[array.length - 1].split("\\.");
+		final int methodNameIndex = segments.length - 1;
+		if ((methodNameIndex > 0) && PatternParser.isIdentifierWithoutWildcard(segments[methodNameIndex - 1])) {
+			return segments[methodNameIndex - 1];
+		}
+		if (PatternParser.isIdentifierWithoutWildcard(segments[methodNameIndex])) {
+			return segments[methodNameIndex];
+		}
+		for (int i = methodNameIndex - 2; i >= 0; i--) {
+			if (PatternParser.isIdentifierWithoutWildcard(segments[i])) {
+				return segments[i];
+			}
+		}
+		return null;
+	}
+
+	private static final boolean isIdentifierWithoutWildcard(final String identifier) {
+		if ((identifier.length() == 0) || !Character.isJavaIdentifierStart(identifier.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < identifier.length(); i++) {
+			if (!Character.isJavaIdentifierPart(identifier.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private static final String parseMethodName(final String methodName) throws InvalidPatternException {
 		try {
 			return PatternParser.parseIdentifier(methodName);
@@ -16,6 +16,8 @@
 
 package kieker.monitoring.core.signaturePattern;
 
+import java.lang.reflect.Modifier;
+
 /**
  * This class can be used to create signatures (for example a string containing the whole signature of a method).
  *
@@ -285,4 +287,91 @@ public final class SignatureFactory {
 		}
 		return signature.toString();
 	}
+
+	/**
+	 * Creates the signature of a method as used by the probes, e.g., {@code public static void a.b.C.m(int, java.lang.String[])}.
+	 *
+	 * @param modifiers
+	 *            The modifiers of the method (see {@link java.lang.reflect.Modifier}).
+	 * @param returnType
+	 *            The return type of the method.
+	 * @param declaringTypeName
+	 *            The fully qualified name of the class declaring the method.
+	 * @param name
+	 *            The name of the method.
+	 * @param parameterTypes
+	 *            The parameter types of the method.
+	 * @return The signature of the method.
+	 *
+	 * @since 1.13
+	 */
+	public static String createMethodSignature(final int modifiers, final Class<?> returnType, final String declaringTypeName, final String name,
+			final Class<?>[] parameterTypes) {
+		final StringBuilder sb = new StringBuilder(256);
+		SignatureFactory.addModifiers(sb, modifiers);
+		SignatureFactory.addType(sb, returnType);
+		sb.append(' ');
+		return SignatureFactory.addNameAndParameters(sb, declaringTypeName, name, parameterTypes).toString();
+	}
+
+	/**
+	 * Creates the signature of a constructor as used by the probes, e.g., {@code public a.b.C.<init>(int)}.
+	 *
+	 * @param modifiers
+	 *            The modifiers of the constructor (see {@link java.lang.reflect.Modifier}).
+	 * @param declaringTypeName
+	 *            The fully qualified name of the class declaring the constructor.
+	 * @param name
+	 *            The name of the constructor ({@code <init>}).
+	 * @param parameterTypes
+	 *            The parameter types of the constructor.
+	 * @return The signature of the constructor.
+	 *
+	 * @since 1.13
+	 */
+	public static String createConstructorSignature(final int modifiers, final String declaringTypeName, final String name, final Class<?>[] parameterTypes) {
+		final StringBuilder sb = new StringBuilder(256);
+		SignatureFactory.addModifiers(sb, modifiers);
+		return SignatureFactory.addNameAndParameters(sb, declaringTypeName, name, parameterTypes).toString();
+	}
+
+	private static void addModifiers(final StringBuilder sb, final int modifiers) {
+		final String modString = Modifier.toString(modifiers);
+		sb.append(modString);
+		if (modString.length() > 0) {
+			sb.append(' ');
+		}
+	}
+
+	private static StringBuilder addNameAndParameters(final StringBuilder sb, final String declaringTypeName, final String name,
+			final Class<?>[] parameterTypes) {
+		sb.append(declaringTypeName);
+		sb.append('.');
+		sb.append(name);
+		sb.append('(');
+		if (null != parameterTypes) {
+			boolean first = true;
+			for (final Class<?> parameterType : parameterTypes) {
+				if (first) {
+					first = false;
+				} else {
+					sb.append(", ");
+				}
+				SignatureFactory.addType(sb, parameterType);
+			}
+		}
+		sb.append(')');
+		return sb;
+	}
+
+	private static void addType(final StringBuilder sb, final Class<?> clazz) {
+		if (null == clazz) {
+			sb.append("ANONYMOUS");
+		} else if (clazz.isArray()) {
+			SignatureFactory.addType(sb, clazz.getComponentType());
+			sb.append("[]");
+		} else {
+			sb.append(clazz.getName());
+		}
+	}
 }
@@ -16,16 +16,17 @@
 
 package kieker.monitoring.probe.aspectj;
 
-import java.lang.reflect.Modifier;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.ConstructorSignature;
 import org.aspectj.lang.reflect.MethodSignature;
 
+import kieker.monitoring.core.signaturePattern.SignatureFactory;
 import kieker.monitoring.probe.IMonitoringProbe;
 
 /**
@@ -37,6 +38,8 @@ import kieker.monitoring.probe.IMonitoringProbe;
 public abstract class AbstractAspectJProbe implements IMonitoringProbe {
 
 	private final ConcurrentMap<Signature, String> signatureCache = new ConcurrentHashMap<Signature, String>();
+	// static parts do not override equals and hashCode, i.e., they are compared by identity
+	private final ConcurrentMap<JoinPoint.StaticPart, JoinPointInfo> joinPointCache = new ConcurrentHashMap<JoinPoint.StaticPart, JoinPointInfo>();
 
 	// Pointcuts should not be final!
 
@@ -76,85 +79,43 @@ public abstract class AbstractAspectJProbe implements IMonitoringProbe {
 		String signatureString = this.signatureCache.get(sig);
 		if (null != signatureString) {
 			return signatureString;
-		} else {
-			if (sig instanceof MethodSignature) {
-				final MethodSignature signature = (MethodSignature) sig;
-				final StringBuilder sb = new StringBuilder(256);
-				// modifiers
-				final String modString = Modifier.toString(signature.getModifiers());
-				sb.append(modString);
-				if (modString.length() > 0) {
-					sb.append(' ');
-				}
-				// return
-				this.addType(sb, signature.getReturnType());
-				sb.append(' ');
-				// component
-				sb.append(signature.getDeclaringTypeName());
-				sb.append('.');
-				// name
-				sb.append(signature.getName());
-				// parameters
-				sb.append('(');
-				this.addTypeList(sb, signature.getParameterTypes());
-				sb.append(')');
-				// throws
-				// this.addTypeList(sb, signature.getExceptionTypes());
-				signatureString = sb.toString();
-			} else if (sig instanceof ConstructorSignature) {
-				final ConstructorSignature signature = (ConstructorSignature) sig;
-				final StringBuilder sb = new StringBuilder(256);
-				// modifiers
-				final String modString = Modifier.toString(signature.getModifiers());
-				sb.append(modString);
-				if (modString.length() > 0) {
-					sb.append(' ');
-				}
-				// component
-				sb.append(signature.getDeclaringTypeName());
-				sb.append('.');
-				// name
-				sb.append(signature.getName());
-				// parameters
-				sb.append('(');
-				this.addTypeList(sb, signature.getParameterTypes());
-				sb.append(')');
-				// throws
-				// this.addTypeList(sb, signature.getExceptionTypes());
-				signatureString = sb.toString();
-			} else {
-				signatureString = sig.toLongString();
-			}
 		}
+		signatureString = this.buildLongString(sig);
 		this.signatureCache.putIfAbsent(sig, signatureString);
 		return signatureString;
 	}
 
-	private final StringBuilder addTypeList(final StringBuilder sb, final Class<?>[] clazzes) {
-		if (null != clazzes) {
-			boolean first = true;
-			for (final Class<?> clazz : clazzes) {
-				if (first) {
-					first = false;
-				} else {
-					sb.append(", ");
-				}
-				this.addType(sb, clazz);
-			}
+	/**
+	 * Delivers the precomputed information of the given static join point, i.e., its long signature string and the state of its probe. The information is
+	 * computed on the first call for each join point.
+	 * 
+	 * @param staticPart
+	 *            the static part of a join point, e.g., {@code thisJoinPointStaticPart} or {@code thisEnclosingJoinPointStaticPart}
+	 * @return the information of the join point
+	 * 
+	 * @since 1.13
+	 */
+	protected final JoinPointInfo getJoinPointInfo(final JoinPoint.StaticPart staticPart) {
+		final JoinPointInfo info = this.joinPointCache.get(staticPart);
+		if (null != info) {
+			return info;
 		}
-		return sb;
+		final JoinPointInfo newInfo = new JoinPointInfo(this.buildLongString(staticPart.getSignature()));
+		final JoinPointInfo existingInfo = this.joinPointCache.putIfAbsent(staticPart, newInfo);
+		return (null != existingInfo) ? existingInfo : newInfo; // NOCS (inline cond)
 	}
 
-	private final StringBuilder addType(final StringBuilder sb, final Class<?> clazz) {
-		if (null == clazz) {
-			sb.append("ANONYMOUS");
-		} else if (clazz.isArray()) {
-			final Class<?> componentType = clazz.getComponentType();
-			this.addType(sb, componentType);
-			sb.append("[]");
+	private final String buildLongString(final Signature sig) {
+		if (sig instanceof MethodSignature) {
+			final MethodSignature signature = (MethodSignature) sig;
+			return SignatureFactory.createMethodSignature(signature.getModifiers(), signature.getReturnType(), signature.getDeclaringTypeName(),
+					signature.getName(), signature.getParameterTypes());
+		} else if (sig instanceof ConstructorSignature) {
+			final ConstructorSignature signature = (ConstructorSignature) sig;
+			return SignatureFactory.createConstructorSignature(signature.getModifiers(), signature.getDeclaringTypeName(), signature.getName(),
+					signature.getParameterTypes());
 		} else {
-			sb.append(clazz.getName());
+			return sig.toLongString();
 		}
-		return sb;
 	}
 }
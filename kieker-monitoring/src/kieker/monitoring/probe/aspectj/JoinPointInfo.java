@@ -0,0 +1,134 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.probe.aspectj;
+
+import kieker.monitoring.core.controller.IProbeController;
+import kieker.monitoring.core.controller.IRegistryController;
+
+/**
+ * The precomputed information of a single static join point: its long signature string, the id of this string in the string registry, and whether the probe
+ * is activated for the signature. The activation state is cached together with the version of the probe patterns it has been determined for
+ * ({@link IProbeController#getProbePatternVersion()}), so it is determined again as soon as the patterns change.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class JoinPointInfo {
+
+	private static final int UNREGISTERED_ID = -1;
+	// (state >> 1) is never an int for this value
+	private static final long UNKNOWN_ACTIVATION_STATE = Long.MIN_VALUE;
+
+	private final String signature;
+
+	// these fields are set lazily; races are benign since all threads determine the same values
+	private volatile int signatureId = UNREGISTERED_ID;
+	// the pattern version shifted left by one; the lowest bit is set iff the probe is activated
+	private volatile long activationState = UNKNOWN_ACTIVATION_STATE;
+	// the class name requested last together with its id; most join points are always executed on instances of the same class
+	private volatile ClassNameId lastClassNameId;
+
+	/**
+	 * Creates a new instance of this class.
+	 *
+	 * @param signature
+	 *            The long signature string of the join point.
+	 */
+	public JoinPointInfo(final String signature) {
+		this.signature = signature;
+	}
+
+	/**
+	 * @return The long signature string of the join point.
+	 */
+	public String getSignature() {
+		return this.signature;
+	}
+
+	/**
+	 * Delivers the id of the signature, registering the signature in the given string registry on the first call.
+	 *
+	 * @param registryController
+	 *            The string registry; it has to be the same for all calls.
+	 * @return The id of the signature in the string registry.
+	 */
+	public int getSignatureId(final IRegistryController registryController) {
+		int id = this.signatureId;
+		if (id == UNREGISTERED_ID) {
+			id = registryController.getUniqueIdForString(this.signature);
+			this.signatureId = id;
+		}
+		return id;
+	}
+
+	/**
+	 * Delivers the id of the given class name (e.g., the class of the object executing the join point), registering it in the given string registry if
+	 * necessary. The id of the class name requested last is cached.
+	 *
+	 * @param className
+	 *            The class name.
+	 * @param registryController
+	 *            The string registry; it has to be the same for all calls.
+	 * @return The id of the class name in the string registry.
+	 */
+	public int getClassNameId(final String className, final IRegistryController registryController) {
+		final ClassNameId last = this.lastClassNameId;
+		if ((last != null) && last.className.equals(className)) {
+			return last.id;
+		}
+		final int id = registryController.getUniqueIdForString(className);
+		this.lastClassNameId = new ClassNameId(className, id);
+		return id;
+	}
+
+	/**
+	 * Tests whether the probe is activated for the join point. The probe controller is only asked if the probe patterns have changed since the last call.
+	 *
+	 * @param probeController
+	 *            The probe controller; it has to be the same for all calls.
+	 * @return true if the probe is activated for the signature of the join point
+	 */
+	public boolean isProbeActivated(final IProbeController probeController) {
+		// the version has to be read before the activation is determined, otherwise a concurrent change might be missed
+		final int version = probeController.getProbePatternVersion();
+		final long state = this.activationState;
+		if ((state >> 1) == version) {
+			return (state & 1L) != 0L;
+		}
+		final boolean activated = probeController.isProbeActivated(this.signature);
+		this.activationState = (((long) version) << 1) | (activated ? 1L : 0L); // NOCS (inline cond)
+		return activated;
+	}
+
+	/**
+	 * An immutable pair of a class name and its id.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class ClassNameId {
+		final String className; // NOCS
+		final int id; // NOCS
+
+		public ClassNameId(final String className, final int id) {
+			this.className = className;
+			this.id = id;
+		}
+	}
+}
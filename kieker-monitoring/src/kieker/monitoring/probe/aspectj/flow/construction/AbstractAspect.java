@@ -17,7 +17,6 @@
 package kieker.monitoring.probe.aspectj.flow.construction;
 
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
@@ -61,8 +60,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return;
 		}
-		final Signature signature = jp.getSignature();
-		if (!CTRLINST.isProbeActivated(this.signatureToLongString(signature))) {
+		if (!this.getJoinPointInfo(jp).isProbeActivated(CTRLINST)) {
 			return;
 		}
 		// common fields
@@ -72,7 +70,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 			trace = TRACEREGISTRY.registerTrace();
 			CTRLINST.newMonitoringRecord(trace);
 		}
-		final ConstructionEvent crecord = new ConstructionEvent(TIME.getTime(), trace.getTraceId(), trace.getNextOrderId(), signature.getDeclaringTypeName(),
+		final ConstructionEvent crecord = new ConstructionEvent(TIME.getTime(), trace.getTraceId(), trace.getNextOrderId(), jp.getSignature().getDeclaringTypeName(),
 				System.identityHashCode(thisObject));
 		CTRLINST.newMonitoringRecord(crecord);
 	}
@@ -29,6 +29,7 @@ import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
 import kieker.monitoring.core.registry.TraceRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.JoinPointInfo;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -70,10 +71,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 			return thisJoinPoint.proceed();
 		}
 		final Signature calleeSig = thisJoinPoint.getSignature();
-		final String callee = this.signatureToLongString(calleeSig);
-		if (!CTRLINST.isProbeActivated(callee)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String callee = joinPointInfo.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -83,7 +85,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		}
 		final long traceId = trace.getTraceId();
 		// caller
-		final String caller = this.signatureToLongString(thisEnclosingJoinPoint.getSignature());
+		final String caller = this.getJoinPointInfo(thisEnclosingJoinPoint).getSignature();
 		final String callerClazz = thisObject.getClass().getName();
 		// callee
 		final String calleeClazz = calleeSig.getDeclaringTypeName();
@@ -121,10 +123,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 			return thisJoinPoint.proceed();
 		}
 		final Signature calleeSig = thisJoinPoint.getSignature();
-		final String callee = this.signatureToLongString(calleeSig);
-		if (!CTRLINST.isProbeActivated(callee)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String callee = joinPointInfo.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -135,7 +138,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		final long traceId = trace.getTraceId();
 		// caller
 		final Signature callerSig = thisEnclosingJoinPoint.getSignature();
-		final String caller = this.signatureToLongString(callerSig);
+		final String caller = this.getJoinPointInfo(thisEnclosingJoinPoint).getSignature();
 		final String callerClazz = callerSig.getDeclaringTypeName();
 		// callee
 		final String calleeClazz = calleeSig.getDeclaringTypeName();
@@ -29,6 +29,7 @@ import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
 import kieker.monitoring.core.registry.TraceRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.JoinPointInfo;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -64,10 +65,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String operationSignature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(operationSignature)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String operationSignature = joinPointInfo.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -29,6 +29,7 @@ import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
 import kieker.monitoring.core.registry.TraceRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.JoinPointInfo;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -54,10 +55,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String callee = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(callee)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String callee = joinPointInfo.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -67,7 +69,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		}
 		final long traceId = trace.getTraceId();
 		// caller
-		final String caller = this.signatureToLongString(thisEnclosingJoinPoint.getSignature());
+		final String caller = this.getJoinPointInfo(thisEnclosingJoinPoint).getSignature();
 		final String callerClazz = thisObject.getClass().getName();
 		final int callerObject = System.identityHashCode(thisObject);
 		// callee
@@ -94,10 +96,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String callee = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(callee)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String callee = joinPointInfo.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -108,7 +111,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		final long traceId = trace.getTraceId();
 		// caller
 		final Signature callerSig = thisEnclosingJoinPoint.getSignature();
-		final String caller = this.signatureToLongString(callerSig);
+		final String caller = this.getJoinPointInfo(thisEnclosingJoinPoint).getSignature();
 		final String callerClazz = callerSig.getDeclaringTypeName();
 		// callee
 		final String calleeClazz = targetObject.getClass().getName();
@@ -135,10 +138,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 			return thisJoinPoint.proceed();
 		}
 		final Signature calleeSig = thisJoinPoint.getSignature();
-		final String callee = this.signatureToLongString(calleeSig);
-		if (!CTRLINST.isProbeActivated(callee)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String callee = joinPointInfo.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -148,7 +152,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		}
 		final long traceId = trace.getTraceId();
 		// caller
-		final String caller = this.signatureToLongString(thisEnclosingJoinPoint.getSignature());
+		final String caller = this.getJoinPointInfo(thisEnclosingJoinPoint).getSignature();
 		final String callerClazz = thisObject.getClass().getName();
 		final int callerObject = System.identityHashCode(thisObject);
 		// callee
@@ -175,10 +179,11 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 			return thisJoinPoint.proceed();
 		}
 		final Signature calleeSig = thisJoinPoint.getSignature();
-		final String callee = this.signatureToLongString(calleeSig);
-		if (!CTRLINST.isProbeActivated(callee)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String callee = joinPointInfo.getSignature();
 		// common fields
 		TraceMetadata trace = TRACEREGISTRY.getTrace();
 		final boolean newTrace = trace == null;
@@ -189,7 +194,7 @@ public abstract class AbstractAspect extends AbstractAspectJProbe {
 		final long traceId = trace.getTraceId();
 		// caller
 		final Signature callerSig = thisEnclosingJoinPoint.getSignature();
-		final String caller = this.signatureToLongString(callerSig);
+		final String caller = this.getJoinPointInfo(thisEnclosingJoinPoint).getSignature();
 		final String callerClazz = callerSig.getDeclaringTypeName();
 		// callee
 		final String calleeClazz = calleeSig.getDeclaringTypeName();
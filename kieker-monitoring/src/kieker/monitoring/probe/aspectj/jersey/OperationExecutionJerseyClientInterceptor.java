@@ -36,9 +36,11 @@ import kieker.common.logging.LogFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.JoinPointInfo;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -76,10 +78,11 @@ public class OperationExecutionJerseyClientInterceptor extends AbstractAspectJPr
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String signature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(signature)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String signature = joinPointInfo.getSignature();
 
 		boolean entrypoint = true;
 		final String hostname = VMNAME;
@@ -87,19 +90,19 @@ public class OperationExecutionJerseyClientInterceptor extends AbstractAspectJPr
 		final int eoi; // this is executionOrderIndex-th execution in this trace
 		final int ess; // this is the height in the dynamic call tree of this execution
 		final int nextESS;
-		long traceId = CF_REGISTRY.recallThreadLocalTraceId(); // traceId, -1 if entry point
+		final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
+		long traceId = cfContext.getTraceId(); // traceId, -1 if entry point
 		if (traceId == -1) {
 			entrypoint = true;
-			traceId = CF_REGISTRY.getAndStoreUniqueThreadLocalTraceId();
-			CF_REGISTRY.storeThreadLocalEOI(0);
-			CF_REGISTRY.storeThreadLocalESS(1); // next operation is ess + 1
+			traceId = CF_REGISTRY.getUniqueTraceId();
+			cfContext.startTrace(traceId); // next operation is ess + 1
 			eoi = 0;
 			ess = 0;
 			nextESS = 1;
 		} else {
 			entrypoint = false;
-			eoi = CF_REGISTRY.incrementAndRecallThreadLocalEOI();
-			ess = CF_REGISTRY.recallAndIncrementThreadLocalESS();
+			eoi = cfContext.incrementAndGetEOI();
+			ess = cfContext.getAndIncrementESS();
 			nextESS = ess + 1;
 			if ((eoi == -1) || (ess == -1)) {
 				LOG.error("eoi and/or ess have invalid values:" + " eoi == " + eoi + " ess == " + ess);
@@ -174,7 +177,7 @@ public class OperationExecutionJerseyClientInterceptor extends AbstractAspectJPr
 						if (!"null".equals(retEOIStr)) {
 							try {
 								retEOI = Integer.parseInt(retEOIStr);
-								CF_REGISTRY.storeThreadLocalEOI(retEOI);
+								cfContext.setEOI(retEOI);
 							} catch (final NumberFormatException exc) {
 								LOG.warn("Invalid eoi", exc);
 							}
@@ -195,12 +198,10 @@ public class OperationExecutionJerseyClientInterceptor extends AbstractAspectJPr
 			CTRLINST.newMonitoringRecord(new OperationExecutionRecord(signature, sessionId, traceId, tin, tout, hostname, eoi, ess));
 			// cleanup
 			if (entrypoint) {
-				CF_REGISTRY.unsetThreadLocalTraceId();
-				CF_REGISTRY.unsetThreadLocalEOI();
-				CF_REGISTRY.unsetThreadLocalESS();
+				cfContext.reset();
 				SESSION_REGISTRY.unsetThreadLocalSessionId();
 			} else {
-				CF_REGISTRY.storeThreadLocalESS(ess); // next operation is ess
+				cfContext.setESS(ess); // next operation is ess
 			}
 		}
 		return retval;
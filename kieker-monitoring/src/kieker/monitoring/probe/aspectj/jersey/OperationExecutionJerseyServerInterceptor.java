@@ -34,9 +34,11 @@ import kieker.common.logging.LogFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.JoinPointInfo;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -74,10 +76,11 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String signature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(signature)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String signature = joinPointInfo.getSignature();
 
 		boolean entrypoint = true;
 		final String hostname = VMNAME;
@@ -86,6 +89,7 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 		int eoi; // this is executionOrderIndex-th execution in this trace
 		int ess; // this is the height in the dynamic call tree of this execution
 
+		final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
 		final Object[] args = thisJoinPoint.getArgs();
 		final ContainerRequest request = (ContainerRequest) args[1];
 
@@ -94,9 +98,8 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 		if ((requestJerseyHeader == null) || (requestJerseyHeader.isEmpty())) {
 			LOG.debug("No monitoring data found in the incoming request header");
 			// LOG.info("Will continue without sending back reponse header");
-			traceId = CF_REGISTRY.getAndStoreUniqueThreadLocalTraceId();
-			CF_REGISTRY.storeThreadLocalEOI(0);
-			CF_REGISTRY.storeThreadLocalESS(1); // next operation is ess + 1
+			traceId = CF_REGISTRY.getUniqueTraceId();
+			cfContext.startTrace(traceId); // next operation is ess + 1
 			eoi = 0;
 			ess = 0;
 		} else {
@@ -147,9 +150,9 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 			}
 
 			// Store thread-local values
-			CF_REGISTRY.storeThreadLocalTraceId(traceId);
-			CF_REGISTRY.storeThreadLocalEOI(eoi); // this execution has EOI=eoi; next execution will get eoi with incrementAndRecall
-			CF_REGISTRY.storeThreadLocalESS(ess + 1); // this execution has ESS=ess
+			cfContext.setTraceId(traceId);
+			cfContext.setEOI(eoi); // this execution has EOI=eoi; next execution will get eoi with incrementAndGet
+			cfContext.setESS(ess + 1); // this execution has ESS=ess
 			SESSION_REGISTRY.storeThreadLocalSessionId(sessionId);
 		}
 
@@ -165,9 +168,9 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 			CTRLINST.newMonitoringRecord(new OperationExecutionRecord(signature, sessionId, traceId, tin, tout, hostname, eoi, ess));
 			// cleanup
 			if (entrypoint) {
-				this.unsetKiekerThreadLocalData();
+				cfContext.reset();
 			} else {
-				CF_REGISTRY.storeThreadLocalESS(ess); // next operation is ess
+				cfContext.setESS(ess); // next operation is ess
 			}
 		}
 		return retval;
@@ -183,12 +186,14 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String signature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(signature)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String signature = joinPointInfo.getSignature();
 
-		final long traceId = CF_REGISTRY.recallThreadLocalTraceId();
+		final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
+		final long traceId = cfContext.getTraceId();
 
 		if (traceId == -1) {
 			// Kieker trace Id not registered. Should not happen, since this is a response message!
@@ -202,7 +207,7 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 
 		// Pass back trace id, session id, eoi but not ess (use old value before the request)
 		final List<Object> responseHeaderList = new ArrayList<Object>();
-		responseHeaderList.add(Long.toString(traceId) + "," + sessionId + "," + Integer.toString(CF_REGISTRY.recallThreadLocalEOI()));
+		responseHeaderList.add(Long.toString(traceId) + "," + sessionId + "," + Integer.toString(cfContext.getEOI()));
 		responseHeader.put(JerseyHeaderConstants.OPERATION_EXECUTION_JERSEY_HEADER, responseHeaderList);
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Sending response with header = " + responseHeader.toString() + " to the request: " + containerResponse.getContainerRequest().getRequestUri());
@@ -212,10 +217,4 @@ public class OperationExecutionJerseyServerInterceptor extends AbstractAspectJPr
 
 		return retval;
 	}
-
-	private final void unsetKiekerThreadLocalData() {
-		CF_REGISTRY.unsetThreadLocalTraceId();
-		CF_REGISTRY.unsetThreadLocalEOI();
-		CF_REGISTRY.unsetThreadLocalESS();
-	}
 }
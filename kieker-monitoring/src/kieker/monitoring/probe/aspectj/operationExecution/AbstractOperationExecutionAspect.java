@@ -26,9 +26,11 @@ import kieker.common.logging.LogFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+import kieker.monitoring.probe.aspectj.JoinPointInfo;
 import kieker.monitoring.timer.ITimeSource;
 
 /**
@@ -58,28 +60,29 @@ public abstract class AbstractOperationExecutionAspect extends AbstractAspectJPr
 		if (!CTRLINST.isMonitoringEnabled()) {
 			return thisJoinPoint.proceed();
 		}
-		final String signature = this.signatureToLongString(thisJoinPoint.getSignature());
-		if (!CTRLINST.isProbeActivated(signature)) {
+		final JoinPointInfo joinPointInfo = this.getJoinPointInfo(thisJoinPoint.getStaticPart());
+		if (!joinPointInfo.isProbeActivated(CTRLINST)) {
 			return thisJoinPoint.proceed();
 		}
+		final String signature = joinPointInfo.getSignature();
 		// collect data
 		final boolean entrypoint;
 		final String hostname = VMNAME;
 		final String sessionId = SESSIONREGISTRY.recallThreadLocalSessionId();
 		final int eoi; // this is executionOrderIndex-th execution in this trace
 		final int ess; // this is the height in the dynamic call tree of this execution
-		long traceId = CFREGISTRY.recallThreadLocalTraceId(); // traceId, -1 if entry point
+		final ControlFlowContext cfContext = CFREGISTRY.getThreadLocalContext();
+		long traceId = cfContext.getTraceId(); // traceId, -1 if entry point
 		if (traceId == -1) {
 			entrypoint = true;
-			traceId = CFREGISTRY.getAndStoreUniqueThreadLocalTraceId();
-			CFREGISTRY.storeThreadLocalEOI(0);
-			CFREGISTRY.storeThreadLocalESS(1); // next operation is ess + 1
+			traceId = CFREGISTRY.getUniqueTraceId();
+			cfContext.startTrace(traceId); // next operation is ess + 1
 			eoi = 0;
 			ess = 0;
 		} else {
 			entrypoint = false;
-			eoi = CFREGISTRY.incrementAndRecallThreadLocalEOI(); // ess > 1
-			ess = CFREGISTRY.recallAndIncrementThreadLocalESS(); // ess >= 0
+			eoi = cfContext.incrementAndGetEOI(); // ess > 1
+			ess = cfContext.getAndIncrementESS(); // ess >= 0
 			if ((eoi == -1) || (ess == -1)) {
 				LOG.error("eoi and/or ess have invalid values:" + " eoi == " + eoi + " ess == " + ess);
 				CTRLINST.terminateMonitoring();
@@ -97,11 +100,9 @@ public abstract class AbstractOperationExecutionAspect extends AbstractAspectJPr
 			CTRLINST.newMonitoringRecord(new OperationExecutionRecord(signature, sessionId, traceId, tin, tout, hostname, eoi, ess));
 			// cleanup
 			if (entrypoint) {
-				CFREGISTRY.unsetThreadLocalTraceId();
-				CFREGISTRY.unsetThreadLocalEOI();
-				CFREGISTRY.unsetThreadLocalESS();
+				cfContext.reset();
 			} else {
-				CFREGISTRY.storeThreadLocalESS(ess); // next operation is ess
+				cfContext.setESS(ess); // next operation is ess
 			}
 		}
 		return retval;
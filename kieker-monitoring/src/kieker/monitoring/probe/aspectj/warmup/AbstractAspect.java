@@ -0,0 +1,57 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.probe.aspectj.warmup;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.probe.aspectj.AbstractAspectJProbe;
+
+/**
+ * Warms up the signature cache of the probe controller for each initialized class (see {@link IMonitoringController#warmUpSignatureCache(Class)}), such that
+ * the first invocations of its operations do not have to match their signatures against the patterns of adaptive monitoring.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+@Aspect
+public abstract class AbstractAspect extends AbstractAspectJProbe {
+	private static final IMonitoringController CTRLINST = MonitoringController.getInstance();
+
+	/**
+	 * The pointcut for the static initialization of the classes to warm up. Inheriting classes should extend the pointcut in order to find the correct classes
+	 * (e.g. all classes or only classes with specific annotations).
+	 */
+	@Pointcut
+	public abstract void monitoredClass();
+
+	/**
+	 * This is an advice which will be used after the static initialization of a class.
+	 *
+	 * @param jp
+	 *            The static information about this joint point.
+	 */
+	@After("monitoredClass() && notWithinKieker()")
+	public void afterClassInitialization(final JoinPoint.StaticPart jp) {
+		CTRLINST.warmUpSignatureCache(jp.getSignature().getDeclaringType());
+	}
+}
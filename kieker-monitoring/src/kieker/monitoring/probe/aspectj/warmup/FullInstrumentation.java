@@ -0,0 +1,42 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.probe.aspectj.warmup;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+@Aspect
+public class FullInstrumentation extends AbstractAspect {
+
+	/**
+	 * Default constructor.
+	 */
+	public FullInstrumentation() {
+		// empty default constructor
+	}
+
+	@Override
+	@Pointcut("staticinitialization(*)")
+	public void monitoredClass() {
+		// Aspect Declaration (MUST be empty)
+	}
+}
@@ -29,6 +29,7 @@ import kieker.common.logging.LogFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.IMonitoringProbe;
@@ -154,10 +155,10 @@ public class OperationExecutionSOAPRequestInInterceptor extends SoapHeaderInterc
 			}
 
 			// Store thread-local values
-			CF_REGISTRY.storeThreadLocalTraceId(traceId);
-			CF_REGISTRY.storeThreadLocalEOI(eoi); // this execution has EOI=eoi; next execution will get eoi with
-													// incrementAndRecall
-			CF_REGISTRY.storeThreadLocalESS(ess + 1); // this execution has ESS=ess
+			final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
+			cfContext.setTraceId(traceId);
+			cfContext.setEOI(eoi); // this execution has EOI=eoi; next execution will get eoi with incrementAndGet
+			cfContext.setESS(ess + 1); // this execution has ESS=ess
 			SESSION_REGISTRY.storeThreadLocalSessionId(sessionId);
 			SOAP_REGISTRY.storeThreadLocalInRequestIsEntryCall(isEntryCall);
 			SOAP_REGISTRY.storeThreadLocalInRequestTin(tin);
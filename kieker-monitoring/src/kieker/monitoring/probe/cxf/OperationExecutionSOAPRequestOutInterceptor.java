@@ -27,6 +27,7 @@ import org.w3c.dom.Element;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.IMonitoringProbe;
@@ -97,7 +98,8 @@ public class OperationExecutionSOAPRequestOutInterceptor extends SoapHeaderOutFi
 
 		String sessionID = SESSION_REGISTRY.recallThreadLocalSessionId();
 
-		long traceId = CF_REGISTRY.recallThreadLocalTraceId();
+		final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
+		long traceId = cfContext.getTraceId();
 		int eoi;
 		int ess;
 
@@ -109,11 +111,12 @@ public class OperationExecutionSOAPRequestOutInterceptor extends SoapHeaderOutFi
 		if (traceId == -1) {
 			// traceId has not been registered before. This might be caused by a thread which has been spawned asynchronously. We will now acquire a thread id and
 			// store it in the thread local variable.
-			traceId = CF_REGISTRY.getAndStoreUniqueThreadLocalTraceId();
+			traceId = CF_REGISTRY.getUniqueTraceId();
+			cfContext.setTraceId(traceId);
 			eoi = 0; // eoi of this execution
-			CF_REGISTRY.storeThreadLocalEOI(eoi);
+			cfContext.setEOI(eoi);
 			ess = 0; // ess of this execution
-			CF_REGISTRY.storeThreadLocalESS(ess);
+			cfContext.setESS(ess);
 			isEntryCall = true;
 			if (sessionID == null) {
 				sessionID = SESSION_ID_ASYNC_TRACE;
@@ -121,8 +124,8 @@ public class OperationExecutionSOAPRequestOutInterceptor extends SoapHeaderOutFi
 			}
 		} else {
 			// thread-local traceId exists: eoi and ess should have been registered before
-			eoi = CF_REGISTRY.incrementAndRecallThreadLocalEOI();
-			ess = CF_REGISTRY.recallThreadLocalESS(); // do not increment in this case!
+			eoi = cfContext.incrementAndGetEOI();
+			ess = cfContext.getESS(); // do not increment in this case!
 			if (sessionID == null) {
 				sessionID = OperationExecutionRecord.NO_SESSION_ID;
 			}
@@ -29,6 +29,7 @@ import kieker.common.logging.LogFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.IMonitoringProbe;
@@ -146,10 +147,11 @@ public class OperationExecutionSOAPResponseInInterceptor extends SoapHeaderInter
 			}
 
 			// Recall my thread-local data stored before the SOAP call
-			final long myTraceId = CF_REGISTRY.recallThreadLocalTraceId();
+			final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
+			final long myTraceId = cfContext.getTraceId();
 			final String mySessionId = SESSION_REGISTRY.recallThreadLocalSessionId();
-			final int myEoi = CF_REGISTRY.recallThreadLocalEOI();
-			final int myEss = CF_REGISTRY.recallThreadLocalESS();
+			final int myEoi = cfContext.getEOI();
+			final int myEss = cfContext.getESS();
 			final long myTin = SOAP_REGISTRY.recallThreadLocalOutRequestTin();
 			final long myTout = this.timeSource.getTime();
 
@@ -164,7 +166,7 @@ public class OperationExecutionSOAPResponseInInterceptor extends SoapHeaderInter
 
 			// Store received Kieker EOI. ESS remains the same as before the call since we didn't increment the variable!
 
-			CF_REGISTRY.storeThreadLocalEOI(eoi);
+			cfContext.setEOI(eoi);
 
 			if (isEntryCall) { // clean up iff trace's origin was right before the call!
 				this.unsetKiekerThreadLocalData();
@@ -184,10 +186,8 @@ public class OperationExecutionSOAPResponseInInterceptor extends SoapHeaderInter
 	}
 
 	private final void unsetKiekerThreadLocalData() {
-		CF_REGISTRY.unsetThreadLocalTraceId();
+		CF_REGISTRY.getThreadLocalContext().reset();
 		SESSION_REGISTRY.unsetThreadLocalSessionId();
-		CF_REGISTRY.unsetThreadLocalEOI();
-		CF_REGISTRY.unsetThreadLocalESS();
 		SOAP_REGISTRY.unsetThreadLocalOutRequestIsEntryCall();
 		SOAP_REGISTRY.unsetThreadLocalOutRequestTin();
 	}
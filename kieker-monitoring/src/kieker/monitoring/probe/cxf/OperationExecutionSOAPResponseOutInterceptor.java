@@ -29,6 +29,7 @@ import kieker.common.logging.LogFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.IMonitoringProbe;
@@ -96,7 +97,8 @@ public class OperationExecutionSOAPResponseOutInterceptor extends SoapHeaderOutF
 			return;
 		}
 		String sessionID;
-		final long traceId = CF_REGISTRY.recallThreadLocalTraceId();
+		final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
+		final long traceId = cfContext.getTraceId();
 		long tin;
 		long tout;
 		boolean isEntryCall = true;
@@ -112,7 +114,7 @@ public class OperationExecutionSOAPResponseOutInterceptor extends SoapHeaderOutF
 			return;
 		} else {
 			// thread-local traceId exists: eoi, ess, and sessionID should have been registered before
-			eoi = CF_REGISTRY.recallThreadLocalEOI();
+			eoi = cfContext.getEOI();
 			sessionID = SESSION_REGISTRY.recallThreadLocalSessionId();
 			myEoi = SOAP_REGISTRY.recallThreadLocalInRequestEOI();
 			myEss = SOAP_REGISTRY.recallThreadLocalInRequestESS();
@@ -158,9 +160,7 @@ public class OperationExecutionSOAPResponseOutInterceptor extends SoapHeaderOutF
 	}
 
 	private final void unsetKiekerThreadLocalData() {
-		CF_REGISTRY.unsetThreadLocalTraceId();
-		CF_REGISTRY.unsetThreadLocalEOI();
-		CF_REGISTRY.unsetThreadLocalESS();
+		CF_REGISTRY.getThreadLocalContext().reset();
 		SESSION_REGISTRY.unsetThreadLocalSessionId();
 		SOAP_REGISTRY.unsetThreadLocalInRequestIsEntryCall();
 		SOAP_REGISTRY.unsetThreadLocalInRequestTin();
@@ -34,6 +34,7 @@ import kieker.common.util.signature.ClassOperationSignaturePair;
 import kieker.common.util.signature.Signature;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.IMonitoringProbe;
@@ -171,10 +172,14 @@ public class SessionAndTraceRegistrationFilter implements Filter, IMonitoringPro
 		long traceId = OperationExecutionRecord.NO_TRACE_ID; // note that we must NOT register anything to the CF_REGISTRY here!
 
 		// If this filter execution shall be part of the traced control flow, we need to register some control flow information.
+		final ControlFlowContext cfContext;
 		if (this.logFilterExecution) {
-			traceId = CF_REGISTRY.getAndStoreUniqueThreadLocalTraceId();
-			CF_REGISTRY.storeThreadLocalEOI(0); // current execution's eoi is 0
-			CF_REGISTRY.storeThreadLocalESS(1); // *current* execution's ess is 0; next execution is at stack depth 1
+			cfContext = CF_REGISTRY.getThreadLocalContext();
+			traceId = CF_REGISTRY.getUniqueTraceId();
+			// current execution's eoi is 0; *current* execution's ess is 0; next execution is at stack depth 1
+			cfContext.startTrace(traceId);
+		} else {
+			cfContext = null;
 		}
 
 		final long tin = TIMESOURCE.getTime(); // the entry timestamp
@@ -195,9 +200,7 @@ public class SessionAndTraceRegistrationFilter implements Filter, IMonitoringPro
 								VM_NAME, 0, 0)); // 0,0 state that this method is the application entry point
 
 				// Reset the thread-local trace information
-				CF_REGISTRY.unsetThreadLocalTraceId();
-				CF_REGISTRY.unsetThreadLocalEOI();
-				CF_REGISTRY.unsetThreadLocalESS();
+				cfContext.reset();
 			}
 		}
 	}
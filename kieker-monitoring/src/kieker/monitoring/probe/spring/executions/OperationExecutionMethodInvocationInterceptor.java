@@ -24,6 +24,7 @@ import kieker.common.logging.LogFactory;
 import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.core.registry.ControlFlowContext;
 import kieker.monitoring.core.registry.ControlFlowRegistry;
 import kieker.monitoring.core.registry.SessionRegistry;
 import kieker.monitoring.probe.IMonitoringProbe;
@@ -77,18 +78,18 @@ public class OperationExecutionMethodInvocationInterceptor implements MethodInte
 		final int eoi; // this is executionOrderIndex-th execution in this trace
 		final int ess; // this is the height in the dynamic call tree of this execution
 		final boolean entrypoint;
-		long traceId = CF_REGISTRY.recallThreadLocalTraceId(); // traceId, -1 if entry point
+		final ControlFlowContext cfContext = CF_REGISTRY.getThreadLocalContext();
+		long traceId = cfContext.getTraceId(); // traceId, -1 if entry point
 		if (traceId == -1) {
 			entrypoint = true;
-			traceId = CF_REGISTRY.getAndStoreUniqueThreadLocalTraceId();
-			CF_REGISTRY.storeThreadLocalEOI(0);
-			CF_REGISTRY.storeThreadLocalESS(1); // next operation is ess + 1
+			traceId = CF_REGISTRY.getUniqueTraceId();
+			cfContext.startTrace(traceId); // next operation is ess + 1
 			eoi = 0;
 			ess = 0;
 		} else {
 			entrypoint = false;
-			eoi = CF_REGISTRY.incrementAndRecallThreadLocalEOI(); // ess > 1
-			ess = CF_REGISTRY.recallAndIncrementThreadLocalESS(); // ess >= 0
+			eoi = cfContext.incrementAndGetEOI(); // ess > 1
+			ess = cfContext.getAndIncrementESS(); // ess >= 0
 			if ((eoi == -1) || (ess == -1)) {
 				LOG.error("eoi and/or ess have invalid values:" + " eoi == " + eoi + " ess == " + ess);
 				this.monitoringCtrl.terminateMonitoring();
@@ -104,11 +105,9 @@ public class OperationExecutionMethodInvocationInterceptor implements MethodInte
 					new OperationExecutionRecord(signature, sessionId, traceId, tin, tout, this.hostname, eoi, ess));
 			// cleanup
 			if (entrypoint) {
-				CF_REGISTRY.unsetThreadLocalTraceId();
-				CF_REGISTRY.unsetThreadLocalEOI();
-				CF_REGISTRY.unsetThreadLocalESS();
+				cfContext.reset();
 			} else {
-				CF_REGISTRY.storeThreadLocalESS(ess); // next operation is ess
+				cfContext.setESS(ess); // next operation is ess
 			}
 		}
 		return retval;
@@ -0,0 +1,39 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue;
+
+/**
+ * A wait strategy determines what a thread does while it cannot make progress on a non-blocking queue, i.e., while the consumer finds the queue empty or
+ * while a producer finds the queue full. Implementations must be stateless, because a single instance is shared by all producers and the consumer.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public interface IWaitStrategy {
+
+	/**
+	 * Called each time the calling thread failed to make progress.
+	 *
+	 * @param idleCounter
+	 *            the number of consecutive unsuccessful attempts so far (starts with 0)
+	 *
+	 * @return the value to pass as idle counter on the next unsuccessful attempt
+	 */
+	public int idle(int idleCounter);
+
+}
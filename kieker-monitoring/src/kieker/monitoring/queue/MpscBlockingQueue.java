@@ -0,0 +1,268 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.jctools.queues.MpscArrayQueue;
+import org.jctools.util.UnsafeRefArrayAccess;
+
+/**
+ * A bounded, lock-free multi-producer/single-consumer queue. It is backed by a ring buffer whose producer and consumer sequences are padded onto separate
+ * cache lines ({@link MpscArrayQueue}). The blocking operations of the {@link BlockingQueue} interface are realized by means of an {@link IWaitStrategy}
+ * instead of locks and conditions.
+ *
+ * <p>
+ * Only a single thread may consume from this queue at any time. The capacity is rounded up to the next power of two.
+ * </p>
+ *
+ * <p>
+ * The iterator is weakly consistent: it traverses the elements in the queue upon its creation, may reflect later modifications (e.g., it skips elements
+ * consumed meanwhile), and never throws a {@link java.util.ConcurrentModificationException}. Hence, {@link #contains(Object)}, {@link #toArray()}, and {@link #containsAll(Collection)} are
+ * supported. The iterator does not support {@link Iterator#remove()}, since elements cannot be removed from the middle of the lock-free queue. Thus,
+ * {@link #remove(Object)}, {@link #removeAll(Collection)}, and {@link #retainAll(Collection)} throw an {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * @param <E>
+ *            the type of the elements
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class MpscBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+	private final IterableMpscArrayQueue<E> queue;
+	private final IWaitStrategy waitStrategy;
+
+	/**
+	 * Creates a new instance of this class using the given parameters.
+	 *
+	 * @param capacity
+	 *            the minimal capacity of the queue
+	 * @param waitStrategy
+	 *            the strategy used by producers and the consumer while the queue is full or empty, respectively
+	 */
+	public MpscBlockingQueue(final int capacity, final IWaitStrategy waitStrategy) {
+		super();
+		this.queue = new IterableMpscArrayQueue<E>(capacity);
+		this.waitStrategy = waitStrategy;
+	}
+
+	@Override
+	public boolean offer(final E e) {
+		return this.queue.offer(e);
+	}
+
+	@Override
+	public E poll() {
+		return this.queue.poll();
+	}
+
+	@Override
+	public E peek() {
+		return this.queue.peek();
+	}
+
+	@Override
+	public int size() {
+		return this.queue.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.queue.isEmpty();
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return this.queue.iterator();
+	}
+
+	@Override
+	public void put(final E e) throws InterruptedException {
+		int idleCounter = 0;
+		while (!this.queue.offer(e)) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			idleCounter = this.waitStrategy.idle(idleCounter);
+		}
+	}
+
+	@Override
+	public boolean offer(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		int idleCounter = 0;
+		while (!this.queue.offer(e)) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if ((deadline - System.nanoTime()) <= 0) {
+				return false;
+			}
+			idleCounter = this.waitStrategy.idle(idleCounter);
+		}
+		return true;
+	}
+
+	@Override
+	public E take() throws InterruptedException {
+		int idleCounter = 0;
+		E e = this.queue.poll();
+		while (e == null) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			idleCounter = this.waitStrategy.idle(idleCounter);
+			e = this.queue.poll();
+		}
+		return e;
+	}
+
+	@Override
+	public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		int idleCounter = 0;
+		E e = this.queue.poll();
+		while (e == null) {
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+			if ((deadline - System.nanoTime()) <= 0) {
+				return null;
+			}
+			idleCounter = this.waitStrategy.idle(idleCounter);
+			e = this.queue.poll();
+		}
+		return e;
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return this.queue.capacity() - this.queue.size();
+	}
+
+	@Override
+	public int drainTo(final Collection<? super E> c) {
+		return this.drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(final Collection<? super E> c, final int maxElements) {
+		if (c == this) { // NOPMD (CompareObjectsWithEquals)
+			throw new IllegalArgumentException();
+		}
+		int drained = 0;
+		while (drained < maxElements) {
+			// not a relaxed poll: it would miss an element currently being published, and the drain at the end of monitoring would lose it
+			final E e = this.queue.poll();
+			if (e == null) {
+				break;
+			}
+			c.add(e);
+			drained++;
+		}
+		return drained;
+	}
+
+	@Override
+	public String toString() {
+		return "MpscBlockingQueue (capacity: " + this.queue.capacity() + ", size: " + this.queue.size() + ")";
+	}
+
+	/**
+	 * An {@link MpscArrayQueue} with a weakly consistent iterator, which the queue of JCTools does not provide.
+	 *
+	 * @param <E>
+	 *            the type of the elements
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class IterableMpscArrayQueue<E> extends MpscArrayQueue<E> {
+
+		public IterableMpscArrayQueue(final int capacity) {
+			super(capacity);
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new WeaklyConsistentIterator();
+		}
+
+		/**
+		 * Iterates over the slots between the consumer index and the producer index at the time of its creation. Slots which have been consumed meanwhile
+		 * or whose element is not published yet are skipped.
+		 *
+		 * @author Kieker Team
+		 *
+		 * @since 1.13
+		 */
+		private final class WeaklyConsistentIterator implements Iterator<E> {
+			private final long producerIndex;
+			private long index;
+			private E next;
+
+			public WeaklyConsistentIterator() {
+				final IterableMpscArrayQueue<E> q = IterableMpscArrayQueue.this;
+				final long consumerIndex = q.currentConsumerIndex(); // read first, hence never beyond the producer index
+				this.producerIndex = q.currentProducerIndex();
+				// the consumer might have proceeded between both reads; older slots already contain newer elements
+				this.index = Math.max(consumerIndex, this.producerIndex - q.capacity());
+				this.next = this.advance();
+			}
+
+			private E advance() {
+				final IterableMpscArrayQueue<E> q = IterableMpscArrayQueue.this;
+				while (this.index < this.producerIndex) {
+					final E e = UnsafeRefArrayAccess.lvElement(q.buffer, q.calcElementOffset(this.index++));
+					if (e != null) {
+						return e;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return this.next != null;
+			}
+
+			@Override
+			public E next() {
+				final E e = this.next;
+				if (e == null) {
+					throw new NoSuchElementException();
+				}
+				this.next = this.advance();
+				return e;
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spins and yields for a short while and then parks the waiting thread for a fixed period on every further attempt. Producers never have to signal a parked
+ * consumer, hence the park period is the upper bound of the additional latency.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class ParkWaitStrategy implements IWaitStrategy {
+
+	/** The default park period in nanoseconds. */
+	public static final long DEFAULT_PARK_NANOS = 100000L;
+
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = SPIN_TRIES + 10;
+
+	private final long parkNanos;
+
+	/**
+	 * Creates a new instance of this class using the default park period.
+	 */
+	public ParkWaitStrategy() {
+		this(DEFAULT_PARK_NANOS);
+	}
+
+	/**
+	 * Creates a new instance of this class using the given parameters.
+	 *
+	 * @param parkNanos
+	 *            the period in nanoseconds the waiting thread is parked on each attempt
+	 */
+	public ParkWaitStrategy(final long parkNanos) {
+		this.parkNanos = parkNanos;
+	}
+
+	@Override
+	public int idle(final int idleCounter) {
+		if (idleCounter >= YIELD_TRIES) {
+			LockSupport.parkNanos(this.parkNanos);
+			return idleCounter;
+		} else if (idleCounter >= SPIN_TRIES) {
+			Thread.yield();
+		}
+		return idleCounter + 1;
+	}
+
+}
@@ -0,0 +1,46 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.queue;
+
+/**
+ * Spins for a short while and then yields the CPU on every further attempt.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class YieldWaitStrategy implements IWaitStrategy {
+
+	private static final int SPIN_TRIES = 100;
+
+	/**
+	 * Creates a new instance of this class.
+	 */
+	public YieldWaitStrategy() {
+		// nothing to do
+	}
+
+	@Override
+	public int idle(final int idleCounter) {
+		if (idleCounter >= SPIN_TRIES) {
+			Thread.yield();
+			return idleCounter;
+		}
+		return idleCounter + 1;
+	}
+
+}
@@ -0,0 +1,219 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.timer;
+
+import java.io.Closeable;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+
+/**
+ * A timer implementation, counting in nanoseconds since a specified offset, which does not read the system clock on each call. Instead, a background ticker
+ * thread publishes the current time periodically (see {@link #CONFIG_RESOLUTION}) and {@link #getTime()} just reads the published time. Hence, the timestamps
+ * lag behind by up to one resolution (plus the scheduling delay of the ticker thread), and timestamps taken within the same tick are equal.
+ * 
+ * <p>
+ * In the hybrid mode (see {@link #CONFIG_HYBRID}), the clock is read if a thread requests another timestamp within the same tick, so short durations are
+ * still measured, while the timestamps of a thread remain monotonic. Thus, only the first timestamp of a thread in each tick comes without a clock read.
+ * </p>
+ * 
+ * <p>
+ * The resolution is limited by the granularity of the operating system's timer (usually about 50 microseconds).
+ * </p>
+ * 
+ * @author Kieker Team
+ * 
+ * @since 1.13
+ */
+public final class CachedSystemTimer extends AbstractTimeSource implements Closeable {
+	/** This is the name of the configuration determining the used offset (in nanoseconds). */
+	public static final String CONFIG_OFFSET = CachedSystemTimer.class.getName() + ".offset";
+	/** This is the name of the configuration determining the used time unit (0 = nanoseconds, 1 = microseconds, 2 = milliseconds, 3 = seconds). */
+	public static final String CONFIG_UNIT = CachedSystemTimer.class.getName() + ".unit";
+	/** This is the name of the configuration determining the interval (in microseconds) in which the published time is updated. */
+	public static final String CONFIG_RESOLUTION = CachedSystemTimer.class.getName() + ".resolution";
+	/** This is the name of the configuration determining whether durations within a single tick are measured (hybrid mode). */
+	public static final String CONFIG_HYBRID = CachedSystemTimer.class.getName() + ".hybrid";
+
+	private static final Log LOG = LogFactory.getLog(CachedSystemTimer.class);
+
+	private final long offset;
+	private final long clockdifference;
+	private final TimeUnit timeunit;
+	private final long resolution;
+	private final boolean hybrid;
+	private final Thread ticker;
+	private final ThreadLocal<ThreadClock> threadClock;
+
+	/** the published time in nanoseconds since the offset. */
+	private volatile long currentTime;
+	private volatile boolean closed;
+
+	/**
+	 * 
+	 * Creates a new instance of this class using the given parameters.
+	 * 
+	 * @param configuration
+	 *            The configuration for this timer.
+	 */
+	public CachedSystemTimer(final Configuration configuration) {
+		super(configuration);
+		this.clockdifference = System.nanoTime() - (TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()));
+		if (configuration.getStringProperty(CONFIG_OFFSET).length() == 0) {
+			this.offset = System.nanoTime();
+		} else {
+			this.offset = this.clockdifference + configuration.getLongProperty(CONFIG_OFFSET);
+		}
+		final int timeunitval = configuration.getIntProperty(CONFIG_UNIT);
+		switch (timeunitval) {
+		case 0:
+			this.timeunit = TimeUnit.NANOSECONDS;
+			break;
+		case 1:
+			this.timeunit = TimeUnit.MICROSECONDS;
+			break;
+		case 2:
+			this.timeunit = TimeUnit.MILLISECONDS;
+			break;
+		case 3:
+			this.timeunit = TimeUnit.SECONDS;
+			break;
+		default:
+			LOG.warn("Failed to determine value of " + CONFIG_UNIT + " (0, 1, 2, or 3 expected). Setting to 0=nanoseconds");
+			this.timeunit = TimeUnit.NANOSECONDS;
+			break;
+		}
+		final long resolutionval = configuration.getLongProperty(CONFIG_RESOLUTION);
+		if (resolutionval <= 0) {
+			LOG.warn("Invalid value of " + CONFIG_RESOLUTION + " (positive number expected). Setting to 100 microseconds");
+			this.resolution = TimeUnit.MICROSECONDS.toNanos(100);
+		} else {
+			this.resolution = TimeUnit.MICROSECONDS.toNanos(resolutionval);
+		}
+		this.hybrid = configuration.getBooleanProperty(CONFIG_HYBRID);
+		this.threadClock = this.hybrid ? new ThreadLocal<ThreadClock>() { // NOCS (inline cond)
+			@Override
+			protected ThreadClock initialValue() {
+				return new ThreadClock();
+			}
+		} : null;
+		this.ticker = new Thread(new Ticker(), "CachedSystemTimer-Ticker");
+		this.ticker.setDaemon(true);
+		this.ticker.start();
+		// starting the thread might take a while
+		this.currentTime = System.nanoTime() - this.offset;
+	}
+
+	@Override
+	public final long getTime() {
+		final long time = this.currentTime;
+		if (!this.hybrid) {
+			return this.timeunit.convert(time, TimeUnit.NANOSECONDS);
+		}
+		final ThreadClock clock = this.threadClock.get();
+		long preciseTime;
+		if (time != clock.lastTick) { // first timestamp of this thread within this tick
+			clock.lastTick = time;
+			preciseTime = time;
+		} else {
+			preciseTime = System.nanoTime() - this.offset;
+		}
+		// the ticker might publish a time read before the last clock read of this thread
+		if (preciseTime < clock.lastTime) {
+			preciseTime = clock.lastTime;
+		}
+		clock.lastTime = preciseTime;
+		return this.timeunit.convert(preciseTime, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public long getOffset() {
+		return this.timeunit.convert(this.offset - this.clockdifference, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public final TimeUnit getTimeUnit() {
+		return this.timeunit;
+	}
+
+	/**
+	 * Stops the ticker thread. Afterwards, the published time is not updated anymore.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		LockSupport.unpark(this.ticker);
+	}
+
+	@Override
+	public final String toString() {
+		final StringBuilder sb = new StringBuilder(128);
+		sb.append("Time in " + this.timeunit.toString().toLowerCase(Locale.ENGLISH) + " (with a resolution of ");
+		sb.append(TimeUnit.NANOSECONDS.toMicros(this.resolution));
+		sb.append(" microseconds");
+		if (this.hybrid) {
+			sb.append(", nanoseconds precision within a tick");
+		}
+		sb.append(") since ");
+		sb.append(new Date(TimeUnit.NANOSECONDS.toMillis(this.offset - this.clockdifference)));
+		return sb.toString();
+	}
+
+	/**
+	 * Publishes the current time once per resolution.
+	 * 
+	 * @author Kieker Team
+	 * 
+	 * @since 1.13
+	 */
+	private final class Ticker implements Runnable {
+
+		public Ticker() {
+			// nothing to do
+		}
+
+		@Override
+		public void run() {
+			final CachedSystemTimer timer = CachedSystemTimer.this;
+			while (!timer.closed) {
+				timer.currentTime = System.nanoTime() - timer.offset;
+				LockSupport.parkNanos(timer.resolution);
+			}
+		}
+	}
+
+	/**
+	 * The last published time and the last timestamp seen by a single thread in the hybrid mode.
+	 * 
+	 * @author Kieker Team
+	 * 
+	 * @since 1.13
+	 */
+	private static final class ThreadClock {
+		long lastTick = Long.MIN_VALUE; // NOCS
+		long lastTime = Long.MIN_VALUE; // NOCS
+
+		public ThreadClock() {
+			// nothing to do
+		}
+	}
+}
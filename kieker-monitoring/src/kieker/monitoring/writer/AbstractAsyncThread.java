@@ -16,8 +16,11 @@
 
 package kieker.monitoring.writer;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
@@ -33,9 +36,13 @@ import kieker.monitoring.core.controller.IMonitoringController;
 public abstract class AbstractAsyncThread extends Thread {
 	private static final Log LOG = LogFactory.getLog(AbstractAsyncThread.class);
 	private static final IMonitoringRecord END_OF_MONITORING_MARKER = new EmptyRecord();
+	/** The default maximal number of records consumed as one batch. */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 256;
 	/** The monitoring controller for the current monitoring session. */
 	protected final IMonitoringController monitoringController;
 	private final BlockingQueue<IMonitoringRecord> writeQueue;
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+	private long maxBatchLatency; // in nanoseconds, 0 means do not wait for further records
 	private boolean finished; // only accessed in synchronized blocks
 	private CountDownLatch shutdownLatch; // only accessed in synchronized blocks
 
@@ -52,6 +59,19 @@ public abstract class AbstractAsyncThread extends Thread {
 		this.monitoringController = monitoringController;
 	}
 
+	/**
+	 * Configures how many records are consumed at once. Must be called before the thread is started.
+	 * 
+	 * @param batchSize
+	 *            The maximal number of records passed to {@link #consume(List)} at once.
+	 * @param batchLatency
+	 *            The maximal time (in milliseconds) to wait for further records to fill up a batch; 0 means only records already available are taken.
+	 */
+	final void configureBatching(final int batchSize, final long batchLatency) {
+		this.maxBatchSize = Math.max(1, batchSize);
+		this.maxBatchLatency = TimeUnit.MILLISECONDS.toNanos(Math.max(0, batchLatency));
+	}
+
 	/**
 	 * Initializes the shutdown of this thread if necessary. The method returns immediately in every case and counts the latch down eventually (assuming that no
 	 * exception occurs).
@@ -92,19 +112,25 @@ public abstract class AbstractAsyncThread extends Thread {
 		try {
 			// making it a local variable for faster access
 			final BlockingQueue<IMonitoringRecord> writeQueueLocal = this.writeQueue;
+			final int maxBatchSizeLocal = this.maxBatchSize;
+			final List<IMonitoringRecord> batch = new ArrayList<IMonitoringRecord>(maxBatchSizeLocal);
 			while (true) {
 				try {
-					IMonitoringRecord monitoringRecord = writeQueueLocal.take();
-					if (monitoringRecord == END_OF_MONITORING_MARKER) { // NOPMD (CompareObjectsWithEquals
+					// block for the first record only and take everything else that is already available in one go
+					batch.add(writeQueueLocal.take());
+					writeQueueLocal.drainTo(batch, maxBatchSizeLocal - 1);
+					if (this.maxBatchLatency > 0) {
+						this.fillBatch(batch);
+					}
+					final boolean endOfMonitoring = this.consumeBatch(batch);
+					batch.clear();
+					if (endOfMonitoring) {
 						if (LOG.isDebugEnabled()) {
 							LOG.debug("Terminating writer thread, " + writeQueueLocal.size() + " entries remaining");
 						}
-						monitoringRecord = writeQueueLocal.poll();
-						while (monitoringRecord != null) {
-							if (monitoringRecord != END_OF_MONITORING_MARKER) { // NOPMD (CompareObjectsWithEquals
-								this.consume(monitoringRecord);
-							}
-							monitoringRecord = writeQueueLocal.poll();
+						while (writeQueueLocal.drainTo(batch, maxBatchSizeLocal) > 0) {
+							this.consumeBatch(batch);
+							batch.clear();
 						}
 						this.writeQueue.put(END_OF_MONITORING_MARKER);
 						this.cleanup();
@@ -115,8 +141,6 @@ public abstract class AbstractAsyncThread extends Thread {
 							this.finished = true;
 						}
 						break; // while
-					} else {
-						this.consume(monitoringRecord);
 					}
 				} catch (final InterruptedException ex) {
 					continue; // while
@@ -141,6 +165,63 @@ public abstract class AbstractAsyncThread extends Thread {
 		}
 	}
 
+	/**
+	 * Waits at most {@code maxBatchLatency} for further records until the batch is full or contains the {@code end of monitoring} marker.
+	 *
+	 * @param batch
+	 *            The records taken from the queue so far.
+	 *
+	 * @throws InterruptedException
+	 *             If the thread was interrupted while waiting.
+	 */
+	private void fillBatch(final List<IMonitoringRecord> batch) throws InterruptedException {
+		final BlockingQueue<IMonitoringRecord> writeQueueLocal = this.writeQueue;
+		final long deadline = System.nanoTime() + this.maxBatchLatency;
+		int checked = 0;
+		while (batch.size() < this.maxBatchSize) {
+			for (; checked < batch.size(); checked++) {
+				if (batch.get(checked) == END_OF_MONITORING_MARKER) { // NOPMD (CompareObjectsWithEquals)
+					return;
+				}
+			}
+			final long timeout = deadline - System.nanoTime();
+			if (timeout <= 0) {
+				return;
+			}
+			final IMonitoringRecord monitoringRecord = writeQueueLocal.poll(timeout, TimeUnit.NANOSECONDS);
+			if (monitoringRecord == null) {
+				return;
+			}
+			batch.add(monitoringRecord);
+			writeQueueLocal.drainTo(batch, this.maxBatchSize - batch.size());
+		}
+	}
+
+	/**
+	 * Removes the {@code end of monitoring} marker from the given batch and passes the remaining records to {@link #consume(List)}.
+	 *
+	 * @param batch
+	 *            The records taken from the queue.
+	 *
+	 * @return true iff the batch contained the {@code end of monitoring} marker.
+	 *
+	 * @throws Exception
+	 *             Indicates that something went wrong during the consumption.
+	 */
+	private boolean consumeBatch(final List<IMonitoringRecord> batch) throws Exception {
+		boolean endOfMonitoring = false;
+		for (int i = batch.size() - 1; i >= 0; i--) {
+			if (batch.get(i) == END_OF_MONITORING_MARKER) { // NOPMD (CompareObjectsWithEquals)
+				batch.remove(i);
+				endOfMonitoring = true;
+			}
+		}
+		if (!batch.isEmpty()) {
+			this.consume(batch);
+		}
+		return endOfMonitoring;
+	}
+
 	/**
 	 * Returns a human-readable information string about the writer's configuration and state.
 	 * 
@@ -166,6 +247,23 @@ public abstract class AbstractAsyncThread extends Thread {
 	 */
 	protected abstract void consume(final IMonitoringRecord monitoringRecord) throws Exception;
 
+	/**
+	 * Consumes a batch of records taken from the queue at once. The default implementation passes each record to {@link #consume(IMonitoringRecord)}.
+	 * Inheriting classes should override this method if they can, for example, flush their output or issue a system call once per batch instead of once per
+	 * record. The list is reused after this method returns and must not be kept.
+	 * 
+	 * @param monitoringRecords
+	 *            The records to consume (never empty).
+	 * 
+	 * @throws Exception
+	 *             Indicates that something went wrong during the consumption.
+	 */
+	protected void consume(final List<IMonitoringRecord> monitoringRecords) throws Exception {
+		for (int i = 0; i < monitoringRecords.size(); i++) { // NOPMD (no iterator allocation on the hot path)
+			this.consume(monitoringRecords.get(i));
+		}
+	}
+
 	/**
 	 * Inheriting classes should implement this method to do some cleanup work like, for example, closing open connections.
 	 */
@@ -16,7 +16,9 @@
 
 package kieker.monitoring.writer;
 
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -28,22 +30,38 @@ import kieker.common.configuration.Configuration;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.util.StripedCounter;
+import kieker.monitoring.queue.IWaitStrategy;
+import kieker.monitoring.queue.MpscBlockingQueue;
+import kieker.monitoring.queue.ParkWaitStrategy;
+import kieker.monitoring.queue.SpinWaitStrategy;
+import kieker.monitoring.queue.YieldWaitStrategy;
 
 /**
  * @author Jan Waller
  *
  * @since 1.3
  */
-public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
+public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter implements IWriterStatistics {
 
 	/** The name of the configuration determining the size of the queue of this writer. */
 	public static final String CONFIG_QUEUESIZE = "QueueSize";
 	/** The name of the configuration determining the size of the prioritized queue of this writer. */
 	public static final String CONFIG_PRIORITIZED_QUEUESIZE = "PrioritizedQueueSize";
+	/** The name of the configuration determining the capacity of the overflow for registry records which do not fit into the prioritized queue. */
+	public static final String CONFIG_PRIORITIZED_OVERFLOWSIZE = "PrioritizedOverflowSize";
 	/** The name of the configuration determining the behavior of this writer in case of a full queue. */
 	public static final String CONFIG_BEHAVIOR = "QueueFullBehavior";
 	/** The name of the configuration determining the maximal shutdown delay of this writer (in milliseconds). */
 	public static final String CONFIG_SHUTDOWNDELAY = "MaxShutdownDelay";
+	/** The name of the configuration determining the implementation of the queue of this writer (0 = lock-based, 1 = lock-free). */
+	public static final String CONFIG_QUEUETYPE = "QueueType";
+	/** The name of the configuration determining the wait strategy of a lock-free queue (0 = park, 1 = yield, 2 = spin). */
+	public static final String CONFIG_WAITSTRATEGY = "QueueWaitStrategy";
+	/** The name of the configuration determining the maximal number of records the writer threads consume at once. */
+	public static final String CONFIG_MAXBATCHSIZE = "MaxBatchSize";
+	/** The name of the configuration determining the maximal time (in milliseconds) the writer threads wait to fill up a batch. */
+	public static final String CONFIG_MAXBATCHLATENCY = "MaxBatchLatency";
 
 	private static final Log LOG = LogFactory.getLog(AbstractAsyncWriter.class);
 
@@ -55,7 +73,17 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 	private final List<AbstractAsyncThread> workers = new CopyOnWriteArrayList<AbstractAsyncThread>();
 	private final int queueFullBehavior;
 	private final int maxShutdownDelay;
+	private final int maxBatchSize;
+	private final int maxBatchLatency;
 	private final AtomicLong missedRecords;
+	private final StripedCounter writtenRecords = new StripedCounter();
+
+	// registry records which did not fit into the prioritized queue, in their original order; also used as the lock for the following fields
+	private final Queue<IMonitoringRecord> registryOverflow = new ArrayDeque<IMonitoringRecord>();
+	private final int registryOverflowCapacity;
+	private RegistryHandOffThread registryHandOffThread;
+	private boolean registryOverflowClosed;
+	private long numberOfRegistryOverflows;
 
 	/**
 	 * This constructor initializes the writer based on the given configuration.
@@ -75,9 +103,13 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 			this.queueFullBehavior = queueFullBehaviorTmp;
 		}
 		this.missedRecords = new AtomicLong(0);
-		this.blockingQueue = new ArrayBlockingQueue<IMonitoringRecord>(configuration.getIntProperty(prefix + CONFIG_QUEUESIZE));
+		this.blockingQueue = AbstractAsyncWriter.createQueue(configuration.getIntProperty(prefix + CONFIG_QUEUESIZE),
+				configuration.getIntProperty(prefix + CONFIG_QUEUETYPE), configuration.getIntProperty(prefix + CONFIG_WAITSTRATEGY), prefix);
 		this.prioritizedBlockingQueue = new ArrayBlockingQueue<IMonitoringRecord>(configuration.getIntProperty(prefix + CONFIG_PRIORITIZED_QUEUESIZE));
+		this.registryOverflowCapacity = Math.max(1, configuration.getIntProperty(prefix + CONFIG_PRIORITIZED_OVERFLOWSIZE));
 		this.maxShutdownDelay = configuration.getIntProperty(prefix + CONFIG_SHUTDOWNDELAY);
+		this.maxBatchSize = configuration.getIntProperty(prefix + CONFIG_MAXBATCHSIZE);
+		this.maxBatchLatency = configuration.getIntProperty(prefix + CONFIG_MAXBATCHLATENCY);
 	}
 
 	/**
@@ -89,11 +121,51 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 		final String prefix = this.getClass().getName() + "."; // can't use this.prefix, maybe uninitialized
 		configuration.setProperty(prefix + CONFIG_QUEUESIZE, "10000");
 		configuration.setProperty(prefix + CONFIG_PRIORITIZED_QUEUESIZE, "100");
+		configuration.setProperty(prefix + CONFIG_PRIORITIZED_OVERFLOWSIZE, "10000");
 		configuration.setProperty(prefix + CONFIG_BEHAVIOR, "0");
 		configuration.setProperty(prefix + CONFIG_SHUTDOWNDELAY, "-1");
+		configuration.setProperty(prefix + CONFIG_QUEUETYPE, "0");
+		configuration.setProperty(prefix + CONFIG_WAITSTRATEGY, "0");
+		configuration.setProperty(prefix + CONFIG_MAXBATCHSIZE, Integer.toString(AbstractAsyncThread.DEFAULT_MAX_BATCH_SIZE));
+		configuration.setProperty(prefix + CONFIG_MAXBATCHLATENCY, "0");
 		return configuration;
 	}
 
+	private static BlockingQueue<IMonitoringRecord> createQueue(final int capacity, final int queueType, final int waitStrategy, final String prefix) {
+		switch (queueType) {
+		case 0: // lock-based ArrayBlockingQueue
+			return new ArrayBlockingQueue<IMonitoringRecord>(capacity);
+		case 1: // lock-free multi-producer/single-consumer ring buffer
+			return new MpscBlockingQueue<IMonitoringRecord>(capacity, AbstractAsyncWriter.createWaitStrategy(waitStrategy, prefix));
+		default:
+			LOG.warn("Unknown value '" + queueType + "' for " + prefix + CONFIG_QUEUETYPE + "; using default value 0");
+			return new ArrayBlockingQueue<IMonitoringRecord>(capacity);
+		}
+	}
+
+	private static IWaitStrategy createWaitStrategy(final int waitStrategy, final String prefix) {
+		switch (waitStrategy) {
+		case 0:
+			return new ParkWaitStrategy();
+		case 1:
+			return new YieldWaitStrategy();
+		case 2:
+			return new SpinWaitStrategy();
+		default:
+			LOG.warn("Unknown value '" + waitStrategy + "' for " + prefix + CONFIG_WAITSTRATEGY + "; using default value 0");
+			return new ParkWaitStrategy();
+		}
+	}
+
+	/**
+	 * Returns whether the (non-prioritized) queue of this writer may only be consumed by a single worker.
+	 *
+	 * @return true iff the configured queue is a single-consumer queue
+	 */
+	protected final boolean hasSingleConsumerQueue() {
+		return this.blockingQueue instanceof MpscBlockingQueue;
+	}
+
 	/**
 	 * This method must be called at the end of the child constructor!
 	 *
@@ -102,6 +174,7 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 	 */
 	protected final void addWorker(final AbstractAsyncThread worker) {
 		this.workers.add(worker);
+		worker.configureBatching(this.maxBatchSize, this.maxBatchLatency);
 		worker.setDaemon(true); // might lead to inconsistent data due to harsh shutdown
 		worker.start();
 	}
@@ -111,6 +184,8 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 	 */
 	@Override
 	public final void terminate() {
+		// the overflowing registry records have to be enqueued before the workers are shut down
+		this.closeRegistryOverflow();
 		final CountDownLatch cdl = new CountDownLatch(this.workers.size());
 		for (final AbstractAsyncThread worker : this.workers) {
 			worker.initShutdown(cdl); // notify all workers
@@ -146,6 +221,7 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 				for (int i = 0; i < 10; i++) { // drop out if more than 10 times interrupted
 					try {
 						this.blockingQueue.put(monitoringRecord);
+						this.writtenRecords.increment();
 						return true;
 					} catch (final InterruptedException ignore) {
 						// The interrupt status has been reset by the put method when throwing the exception.
@@ -162,6 +238,8 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 						// warn upon the first failed element and upon all 1024th one
 						LOG.warn("Queue is full, dropping record. Current number of dropped records: " + tmpMissedRecords);
 					}
+				} else {
+					this.writtenRecords.increment();
 				}
 				return true;
 			default: // tries to add immediately (error if full)
@@ -172,6 +250,7 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 							"Failed to add new monitoring record to queue. Queue is full. Either increase 'QueueSize' or change 'QueueFullBehavior' for the configured writer."); // NOCS
 					return false;
 				}
+				this.writtenRecords.increment();
 				return true;
 			}
 		} catch (final Exception ex) { // NOPMD NOCS (IllegalCatchCheck)
@@ -180,21 +259,37 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>
+	 * If the prioritized queue is full, the record is added to a bounded overflow, from which a single hand-off thread moves the records to the prioritized
+	 * queue as soon as there is space. Registry records are neither dropped nor reordered, i.e., as long as the overflow contains records, all further
+	 * records are added to the overflow, too. Only if the overflow is full as well, the calling thread waits for the hand-off thread.
+	 * </p>
+	 */
 	@Override
 	public boolean newMonitoringRecordNonBlocking(final IMonitoringRecord monitoringRecord) {
 		try {
-			if (!this.prioritizedBlockingQueue.offer(monitoringRecord)) {
-				new Thread() {
-					@Override
-					public void run() {
-						try {
-							AbstractAsyncWriter.this.prioritizedBlockingQueue.put(monitoringRecord);
-							return;
-						} catch (final InterruptedException ignore) {
-							Thread.currentThread().interrupt(); // propagate interrupt
-						}
-					}
-				}.start();
+			synchronized (this.registryOverflow) {
+				if (this.registryOverflow.isEmpty() && this.prioritizedBlockingQueue.offer(monitoringRecord)) {
+					return true;
+				}
+				while (!this.registryOverflowClosed && (this.registryOverflow.size() >= this.registryOverflowCapacity)) {
+					this.registryOverflow.wait();
+				}
+				if (this.registryOverflowClosed) {
+					LOG.error("Failed to add new monitoring record to queue. The writer has been terminated.");
+					return false;
+				}
+				this.registryOverflow.add(monitoringRecord);
+				this.numberOfRegistryOverflows++;
+				if (this.registryHandOffThread == null) {
+					this.registryHandOffThread = new RegistryHandOffThread();
+					this.registryHandOffThread.start();
+				} else {
+					this.registryOverflow.notifyAll();
+				}
 			}
 			return true;
 		} catch (final Exception ex) { // NOPMD NOCS (IllegalCatchCheck)
@@ -203,12 +298,64 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 		}
 	}
 
+	/**
+	 * Shows how often a registry record has not fit into the prioritized queue and has been added to the overflow.
+	 *
+	 * @return The number of registry records added to the overflow so far.
+	 */
+	public final long getNumberOfRegistryOverflows() {
+		synchronized (this.registryOverflow) {
+			return this.numberOfRegistryOverflows;
+		}
+	}
+
+	/**
+	 * Rejects further overflowing registry records and waits for the hand-off thread to enqueue the remaining ones.
+	 */
+	private void closeRegistryOverflow() {
+		final Thread handOffThread;
+		synchronized (this.registryOverflow) {
+			this.registryOverflowClosed = true;
+			this.registryOverflow.notifyAll();
+			handOffThread = this.registryHandOffThread;
+		}
+		if (handOffThread != null) {
+			try {
+				if (this.maxShutdownDelay > -1) {
+					handOffThread.join(Math.max(1, this.maxShutdownDelay));
+				} else {
+					handOffThread.join();
+				}
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt(); // propagate interrupt
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final long getNumberOfWrittenRecords() {
+		return this.writtenRecords.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final long getNumberOfDroppedRecords() {
+		return this.missedRecords.get();
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder sb = new StringBuilder(64);
 		sb.append(super.toString());
 		sb.append("\n\tRecords lost: ");
 		sb.append(this.missedRecords.get());
+		sb.append("\n\tRegistry records overflowed: ");
+		sb.append(this.getNumberOfRegistryOverflows());
 		sb.append("\n\tWriter Threads (");
 		sb.append(this.workers.size());
 		sb.append("): ");
@@ -218,4 +365,51 @@ public abstract class AbstractAsyncWriter extends AbstractMonitoringWriter {
 		}
 		return sb.toString();
 	}
+
+	/**
+	 * The thread moving the overflowing registry records to the prioritized queue. It is started when the prioritized queue overflows for the first time.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private final class RegistryHandOffThread extends Thread {
+
+		public RegistryHandOffThread() {
+			super(AbstractAsyncWriter.this.getClass().getSimpleName() + "-RegistryHandOff");
+			this.setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			final Queue<IMonitoringRecord> overflow = AbstractAsyncWriter.this.registryOverflow;
+			try {
+				while (true) {
+					final IMonitoringRecord registryRecord;
+					synchronized (overflow) {
+						while (overflow.isEmpty()) {
+							if (AbstractAsyncWriter.this.registryOverflowClosed) {
+								return;
+							}
+							overflow.wait();
+						}
+						// the record stays in the overflow until it has been enqueued, so no later record can overtake it
+						registryRecord = overflow.peek();
+					}
+					AbstractAsyncWriter.this.prioritizedBlockingQueue.put(registryRecord);
+					synchronized (overflow) {
+						overflow.remove();
+						overflow.notifyAll();
+					}
+				}
+			} catch (final InterruptedException ex) {
+				LOG.error("Interrupted while handing off registry records; some registry records might be lost.", ex);
+			} finally {
+				synchronized (overflow) {
+					AbstractAsyncWriter.this.registryOverflowClosed = true;
+					overflow.notifyAll();
+				}
+			}
+		}
+	}
 }
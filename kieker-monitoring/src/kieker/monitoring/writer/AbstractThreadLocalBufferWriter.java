@@ -0,0 +1,409 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.misc.RegistryRecord;
+import kieker.common.util.StripedCounter;
+import kieker.common.util.registry.IRegistry;
+
+/**
+ * A writer which serializes the records in the threads creating them, instead of passing the records to a writer thread via a shared queue. Each thread
+ * serializes its records into its own chunk (a direct {@link ByteBuffer}) using {@link IMonitoringRecord#writeBytes(ByteBuffer, IRegistry)}. Each record is
+ * preceded by the id of its class name and its logging timestamp, i.e., the chunks use the same binary format as the {@code TCPWriter}. Full chunks are
+ * handed to a single writer thread, which passes them to {@link #writeChunk(ByteBuffer)}. Chunks which have not been filled up are handed over periodically
+ * (see {@link #CONFIG_FLUSH_INTERVAL}) and on termination.
+ *
+ * <p>
+ * The records of a single thread are written in order; the records of different threads may be interleaved in chunks. {@link RegistryRecord}s are passed
+ * directly to {@link #writeRegistryRecord(IMonitoringRecord)} by the thread registering the string. If the writer thread cannot keep up and the number of
+ * full chunks exceeds {@link #CONFIG_QUEUESIZE}, the monitored threads are blocked.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public abstract class AbstractThreadLocalBufferWriter extends AbstractMonitoringWriter implements IWriterStatistics {
+
+	/** The name of the configuration determining the size of the chunks in bytes. */
+	public static final String CONFIG_CHUNKSIZE = "ChunkSize";
+	/** The name of the configuration determining the maximal number of full chunks waiting for the writer thread. */
+	public static final String CONFIG_QUEUESIZE = "QueueSize";
+	/** The name of the configuration determining the interval (in milliseconds) in which chunks which are not full are written. */
+	public static final String CONFIG_FLUSH_INTERVAL = "FlushInterval";
+
+	private static final Log LOG = LogFactory.getLog(AbstractThreadLocalBufferWriter.class);
+
+	private static final ByteBuffer END_OF_CHUNKS = ByteBuffer.allocate(0);
+
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+	/** The string registry used to serialize the records. */
+	protected IRegistry<String> stringRegistry;
+
+	private final int chunkSize;
+	private final long flushIntervalNanos;
+	private final BlockingQueue<ByteBuffer> fullChunks;
+	private final ConcurrentLinkedQueue<ByteBuffer> freeChunks = new ConcurrentLinkedQueue<ByteBuffer>();
+	private final CopyOnWriteArrayList<ChunkHolder> chunkHolders = new CopyOnWriteArrayList<ChunkHolder>();
+	private final Object registryRecordLock = new Object();
+	private final StripedCounter writtenRecords = new StripedCounter();
+	private final AtomicLong droppedRecords = new AtomicLong();
+	private final ThreadLocal<ChunkHolder> threadLocalChunkHolder = new ThreadLocal<ChunkHolder>() {
+		@Override
+		protected ChunkHolder initialValue() {
+			final ChunkHolder chunkHolder = new ChunkHolder(Thread.currentThread(), AbstractThreadLocalBufferWriter.this.obtainFreeChunk());
+			AbstractThreadLocalBufferWriter.this.chunkHolders.add(chunkHolder);
+			return chunkHolder;
+		}
+	};
+
+	private volatile boolean terminated;
+	private volatile boolean writerFailed;
+	private WriterThread writerThread;
+
+	/**
+	 * This constructor initializes the writer based on the given configuration.
+	 *
+	 * @param configuration
+	 *            The configuration for this writer.
+	 */
+	protected AbstractThreadLocalBufferWriter(final Configuration configuration) {
+		super(configuration);
+		final String prefix = this.getClass().getName() + ".";
+		this.chunkSize = configuration.getIntProperty(prefix + CONFIG_CHUNKSIZE);
+		this.fullChunks = new ArrayBlockingQueue<ByteBuffer>(Math.max(1, configuration.getIntProperty(prefix + CONFIG_QUEUESIZE)));
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, configuration.getIntProperty(prefix + CONFIG_FLUSH_INTERVAL)));
+	}
+
+	/**
+	 * {@inheritDoc} Make sure that the required properties always have default values!
+	 */
+	@Override
+	protected Configuration getDefaultConfiguration() {
+		final Configuration configuration = new Configuration(super.getDefaultConfiguration());
+		final String prefix = this.getClass().getName() + "."; // can't use this.prefix, maybe uninitialized
+		configuration.setProperty(prefix + CONFIG_CHUNKSIZE, "65536");
+		configuration.setProperty(prefix + CONFIG_QUEUESIZE, "64");
+		configuration.setProperty(prefix + CONFIG_FLUSH_INTERVAL, "1000");
+		return configuration;
+	}
+
+	@Override
+	protected final void init() throws Exception {
+		this.stringRegistry = this.monitoringController.getStringRegistry();
+		this.openOutput();
+		this.writerThread = new WriterThread();
+		this.writerThread.setDaemon(true); // might lead to inconsistent data due to harsh shutdown
+		this.writerThread.start();
+	}
+
+	/**
+	 * Opens the output of this writer. Called once before any other method of the subclass.
+	 *
+	 * @throws Exception
+	 *             If the output could not be opened.
+	 */
+	protected abstract void openOutput() throws Exception;
+
+	/**
+	 * Writes the given chunk. Only called by the writer thread.
+	 *
+	 * @param chunk
+	 *            A buffer containing serialized records between its position and its limit.
+	 *
+	 * @throws IOException
+	 *             If the chunk could not be written.
+	 */
+	protected abstract void writeChunk(ByteBuffer chunk) throws IOException;
+
+	/**
+	 * Writes the given registry record immediately. Calls are serialized, but they may come from any thread.
+	 *
+	 * @param registryRecord
+	 *            The registry record to write.
+	 *
+	 * @throws IOException
+	 *             If the record could not be written.
+	 */
+	protected abstract void writeRegistryRecord(IMonitoringRecord registryRecord) throws IOException;
+
+	/**
+	 * Closes the output of this writer. Called once after all chunks have been written.
+	 */
+	protected abstract void closeOutput();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final boolean newMonitoringRecord(final IMonitoringRecord monitoringRecord) {
+		if (monitoringRecord instanceof RegistryRecord) {
+			return this.newMonitoringRecordNonBlocking(monitoringRecord);
+		}
+		final int size = 4 + 8 + monitoringRecord.getSize();
+		if (size > this.chunkSize) {
+			LOG.error("Record of type " + monitoringRecord.getClass().getName() + " is larger than the chunk size of " + this.chunkSize + " bytes.");
+			this.droppedRecords.incrementAndGet();
+			return false;
+		}
+		final ChunkHolder chunkHolder = this.threadLocalChunkHolder.get();
+		chunkHolder.lock.lock();
+		try {
+			if (this.terminated) {
+				return false;
+			}
+			ByteBuffer chunk = chunkHolder.chunk;
+			if (size > chunk.remaining()) {
+				if (!this.handOver(chunk)) {
+					this.droppedRecords.incrementAndGet();
+					return false;
+				}
+				chunk = this.obtainFreeChunk();
+				chunkHolder.chunk = chunk;
+			}
+			chunk.putInt(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
+			chunk.putLong(monitoringRecord.getLoggingTimestamp());
+			monitoringRecord.writeBytes(chunk, this.stringRegistry);
+			this.writtenRecords.increment();
+			return true;
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt(); // propagate interrupt
+			LOG.error("Interrupted while waiting for the writer thread to write a chunk.", ex);
+			return false;
+		} finally {
+			chunkHolder.lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final boolean newMonitoringRecordNonBlocking(final IMonitoringRecord monitoringRecord) {
+		if (!(monitoringRecord instanceof RegistryRecord)) {
+			return this.newMonitoringRecord(monitoringRecord);
+		}
+		try {
+			synchronized (this.registryRecordLock) {
+				this.writeRegistryRecord(monitoringRecord);
+			}
+			return true;
+		} catch (final IOException ex) {
+			LOG.error("Failed to write registry record.", ex);
+			return false;
+		}
+	}
+
+	/**
+	 * The framework ensures, that this method is called only once!
+	 */
+	@Override
+	public final void terminate() {
+		this.terminated = true;
+		// the writer thread itself terminates the monitoring if it fails
+		if ((this.writerThread != null) && (Thread.currentThread() != this.writerThread)) { // NOPMD (CompareObjectsWithEquals)
+			try {
+				for (final ChunkHolder chunkHolder : this.chunkHolders) {
+					chunkHolder.lock.lock();
+					try {
+						final ByteBuffer chunk = chunkHolder.chunk;
+						if ((chunk.position() > 0) && this.handOver(chunk)) {
+							chunkHolder.chunk = this.obtainFreeChunk();
+						}
+					} finally {
+						chunkHolder.lock.unlock();
+					}
+				}
+				if (this.handOver(END_OF_CHUNKS)) {
+					this.writerThread.join();
+				}
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt(); // propagate interrupt
+				LOG.warn("Interrupted while waiting for the writer thread; some records might be lost.", ex);
+			}
+		}
+		this.closeOutput();
+	}
+
+	/**
+	 * Passes the given chunk to the writer thread, waiting as long as the queue of full chunks is full.
+	 *
+	 * @return false if the writer thread has failed, i.e., the chunk has been discarded.
+	 */
+	private boolean handOver(final ByteBuffer chunk) throws InterruptedException {
+		chunk.flip();
+		while (!this.writerFailed) {
+			if (this.fullChunks.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				return true;
+			}
+		}
+		chunk.clear();
+		return false;
+	}
+
+	private ByteBuffer obtainFreeChunk() {
+		final ByteBuffer chunk = this.freeChunks.poll();
+		if (chunk != null) {
+			return chunk;
+		}
+		return ByteBuffer.allocateDirect(this.chunkSize);
+	}
+
+	/**
+	 * Hands over the chunks which are not full (and currently not used) to the writer thread. Only called by the writer thread.
+	 */
+	private void handOverPartialChunks() {
+		final Iterator<ChunkHolder> iter = this.chunkHolders.iterator();
+		while (iter.hasNext()) {
+			final ChunkHolder chunkHolder = iter.next();
+			// the writer thread must not wait for a producer which might in turn wait for the writer thread
+			if ((this.fullChunks.remainingCapacity() > 0) && chunkHolder.lock.tryLock()) {
+				try {
+					final ByteBuffer chunk = chunkHolder.chunk;
+					if (chunk.position() > 0) {
+						chunk.flip();
+						if (this.fullChunks.offer(chunk)) { // the producers might have filled up the queue concurrently
+							chunkHolder.chunk = this.obtainFreeChunk();
+						} else {
+							chunk.position(chunk.limit());
+							chunk.limit(chunk.capacity());
+						}
+					} else if (!chunkHolder.isThreadAlive()) {
+						// the chunk holder is not reachable any more via its thread local
+						this.chunkHolders.remove(chunkHolder);
+						this.freeChunks.offer(chunk);
+					}
+				} finally {
+					chunkHolder.lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final long getNumberOfWrittenRecords() {
+		return this.writtenRecords.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final long getNumberOfDroppedRecords() {
+		return this.droppedRecords.get();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder(64);
+		sb.append(super.toString());
+		sb.append("\n\tThreads with chunks: ");
+		sb.append(this.chunkHolders.size());
+		sb.append("\n\tFull chunks waiting: ");
+		sb.append(this.fullChunks.size());
+		return sb.toString();
+	}
+
+	/**
+	 * The current chunk of a single thread.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class ChunkHolder {
+		final ReentrantLock lock = new ReentrantLock(); // NOCS (package visible for the writer)
+		ByteBuffer chunk; // NOCS (only accessed while holding the lock)
+		private final WeakReference<Thread> thread;
+
+		public ChunkHolder(final Thread thread, final ByteBuffer chunk) {
+			this.thread = new WeakReference<Thread>(thread);
+			this.chunk = chunk;
+		}
+
+		public boolean isThreadAlive() {
+			final Thread t = this.thread.get();
+			return (t != null) && t.isAlive();
+		}
+	}
+
+	/**
+	 * The thread writing the full chunks.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private final class WriterThread extends Thread {
+
+		public WriterThread() {
+			super(AbstractThreadLocalBufferWriter.this.getClass().getSimpleName() + "-WriterThread");
+		}
+
+		@Override
+		public void run() {
+			final AbstractThreadLocalBufferWriter writer = AbstractThreadLocalBufferWriter.this;
+			long nextFlush = System.nanoTime() + writer.flushIntervalNanos;
+			try {
+				while (true) {
+					final ByteBuffer chunk = writer.fullChunks.poll(Math.max(0, nextFlush - System.nanoTime()), TimeUnit.NANOSECONDS);
+					if (chunk == END_OF_CHUNKS) { // NOPMD (CompareObjectsWithEquals)
+						break;
+					}
+					if (chunk != null) {
+						writer.writeChunk(chunk);
+						chunk.clear();
+						writer.freeChunks.offer(chunk);
+					}
+					if ((nextFlush - System.nanoTime()) <= 0) {
+						writer.handOverPartialChunks();
+						nextFlush = System.nanoTime() + writer.flushIntervalNanos;
+					}
+				}
+			} catch (final InterruptedException ex) {
+				LOG.warn("Writer thread interrupted; some records might be lost.", ex);
+				writer.writerFailed = true;
+				writer.fullChunks.clear();
+			} catch (final IOException ex) {
+				LOG.error("Failed to write a chunk. Will terminate monitoring!", ex);
+				writer.writerFailed = true;
+				writer.fullChunks.clear();
+				writer.monitoringController.terminateMonitoring();
+			}
+		}
+	}
+}
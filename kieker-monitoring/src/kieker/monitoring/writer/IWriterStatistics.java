@@ -0,0 +1,47 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer;
+
+/**
+ * Optional interface of a {@link IMonitoringWriter} reporting how many records it has written and dropped. The statistics are published by the
+ * {@link kieker.monitoring.core.controller.IWriterController} and thus via JMX. The throughput of the writer results from sampling the number of written
+ * records repeatedly.
+ *
+ * <p>
+ * The methods are called rarely, but possibly concurrently to the writer; they must not block.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public interface IWriterStatistics {
+
+	/**
+	 * @return The number of records accepted by the writer so far, i.e., the records which have not been dropped.
+	 *
+	 * @since 1.13
+	 */
+	public abstract long getNumberOfWrittenRecords();
+
+	/**
+	 * @return The number of records dropped by the writer so far, e.g., due to a full queue.
+	 *
+	 * @since 1.13
+	 */
+	public abstract long getNumberOfDroppedRecords();
+}
@@ -18,13 +18,18 @@ package kieker.monitoring.writer;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 
 import kieker.common.configuration.Configuration;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
+import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.TextValueSerializer;
 
 /**
  * A writer that prints incoming records to the specified PrintStream.
@@ -46,6 +51,14 @@ public class PrintStreamWriter extends AbstractMonitoringWriter {
 	private final String configPrintStreamName;
 
 	private PrintStream printStream;
+	private Writer writer;
+
+	private final ThreadLocal<TextValueSerializer> serializers = new ThreadLocal<TextValueSerializer>() {
+		@Override
+		protected TextValueSerializer initialValue() {
+			return new TextValueSerializer();
+		}
+	};
 
 	/**
 	 * Creates a new instance of this writer.
@@ -68,6 +81,11 @@ public class PrintStreamWriter extends AbstractMonitoringWriter {
 		} else {
 			this.printStream = new PrintStream(new FileOutputStream(this.configPrintStreamName), false, ENCODING);
 		}
+		if ((this.printStream == System.out) || (this.printStream == System.err)) {
+			this.writer = new OutputStreamWriter(this.printStream); // default encoding, like the console stream itself
+		} else {
+			this.writer = new OutputStreamWriter(this.printStream, ENCODING);
+		}
 	}
 
 	/**
@@ -75,7 +93,27 @@ public class PrintStreamWriter extends AbstractMonitoringWriter {
 	 */
 	@Override
 	public boolean newMonitoringRecord(final IMonitoringRecord record) {
-		this.printStream.println(record.getClass().getSimpleName() + ": " + record.toString());
+		final TextValueSerializer line = this.serializers.get();
+		line.reset();
+		line.appendText(record.getClass().getSimpleName());
+		line.appendText(": ");
+		if (record instanceof AbstractMonitoringRecord) {
+			line.putLong(record.getLoggingTimestamp());
+			record.serialize(line);
+		} else { // only AbstractMonitoringRecord guarantees that toString() delivers the serialized values
+			line.appendText(record.toString());
+		}
+		line.appendLineSeparator();
+		try {
+			// the writer is flushed for every record to pass it on to the print stream immediately, as PrintStream#println(String) does
+			synchronized (this.writer) {
+				line.writeTo(this.writer);
+				this.writer.flush();
+			}
+		} catch (final IOException ex) {
+			LOG.error("Failed to print record: " + record, ex);
+			return false;
+		}
 		return true;
 	}
 
@@ -0,0 +1,375 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.monitoring.writer.aggregation;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.record.controlflow.OperationExecutionSummaryRecord;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.writer.AbstractMonitoringWriter;
+import kieker.monitoring.writer.IMonitoringWriter;
+
+/**
+ * A writer which aggregates the {@link OperationExecutionRecord}s in the monitored application instead of writing each of them. The response times
+ * ({@code tout - tin}) are folded into statistics per hostname and operation signature, which are passed as {@link OperationExecutionSummaryRecord}s to a
+ * downstream writer at the end of each period (see {@link #CONFIG_PERIOD}) and on termination. All other records are passed to the downstream writer
+ * directly.
+ *
+ * <p>
+ * Each monitored thread folds its records into its own accumulator, which is only shared with the thread emitting the summaries once per period. Hence, a
+ * record costs an uncontended compare-and-set instead of a shared lock or queue. The downstream writer is configured by the properties of this writer
+ * which are prefixed with its class name, e.g.,
+ * {@code kieker.monitoring.writer.aggregation.OperationExecutionAggregationWriter.kieker.monitoring.writer.filesystem.AsyncFsWriter.customStoragePath};
+ * all other properties of the downstream writer keep their default values.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class OperationExecutionAggregationWriter extends AbstractMonitoringWriter {
+
+	/** The name of the configuration determining the class name of the downstream writer. */
+	public static final String CONFIG_WRITER = "Writer";
+	/** The name of the configuration determining the length of the aggregation period (in milliseconds). */
+	public static final String CONFIG_PERIOD = "Period";
+	/** The name of the configuration determining whether the aggregated records are passed to the downstream writer, too. */
+	public static final String CONFIG_FORWARD_RECORDS = "ForwardRecords";
+
+	private static final Log LOG = LogFactory.getLog(OperationExecutionAggregationWriter.class);
+
+	private final IMonitoringWriter writer;
+	private final long periodMillis;
+	private final boolean forwardRecords;
+	private final CopyOnWriteArrayList<Accumulator> accumulators = new CopyOnWriteArrayList<Accumulator>();
+	private final ThreadLocal<Accumulator> threadLocalAccumulator = new ThreadLocal<Accumulator>() {
+		@Override
+		protected Accumulator initialValue() {
+			final Accumulator accumulator = new Accumulator(Thread.currentThread());
+			OperationExecutionAggregationWriter.this.accumulators.add(accumulator);
+			return accumulator;
+		}
+	};
+	private final CountDownLatch terminationLatch = new CountDownLatch(1);
+
+	// only accessed by the thread emitting the summaries
+	private final Map<String, Map<String, ResponseTimeStatistics>> periodStatistics = new HashMap<String, Map<String, ResponseTimeStatistics>>(); // NOPMD
+	private long lastEmissionTime;
+
+	private SummaryThread summaryThread;
+
+	/**
+	 * Creates a new instance of this class using the given configuration.
+	 *
+	 * @param configuration
+	 *            The configuration for this writer.
+	 */
+	public OperationExecutionAggregationWriter(final Configuration configuration) {
+		super(configuration);
+		final String prefix = OperationExecutionAggregationWriter.class.getName() + ".";
+		this.periodMillis = Math.max(1, configuration.getLongProperty(prefix + CONFIG_PERIOD));
+		this.forwardRecords = configuration.getBooleanProperty(prefix + CONFIG_FORWARD_RECORDS);
+		this.writer = OperationExecutionAggregationWriter.createWriter(configuration.getStringProperty(prefix + CONFIG_WRITER),
+				configuration.getPropertiesStartingWith(prefix), prefix);
+	}
+
+	/**
+	 * {@inheritDoc} Make sure that the required properties always have default values!
+	 */
+	@Override
+	protected Configuration getDefaultConfiguration() {
+		final Configuration configuration = new Configuration(super.getDefaultConfiguration());
+		final String prefix = OperationExecutionAggregationWriter.class.getName() + ".";
+		configuration.setProperty(prefix + CONFIG_WRITER, "kieker.monitoring.writer.filesystem.AsyncFsWriter");
+		configuration.setProperty(prefix + CONFIG_PERIOD, "1000");
+		configuration.setProperty(prefix + CONFIG_FORWARD_RECORDS, "false");
+		return configuration;
+	}
+
+	private static IMonitoringWriter createWriter(final String classname, final Configuration ownConfiguration, final String prefix) {
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		final String writerPrefix = prefix + classname + ".";
+		for (final String property : ownConfiguration.stringPropertyNames()) {
+			if (property.startsWith(writerPrefix)) {
+				configuration.setProperty(property.substring(prefix.length()), ownConfiguration.getStringProperty(property));
+			}
+		}
+		try {
+			final Class<?> clazz = Class.forName(classname);
+			return clazz.asSubclass(IMonitoringWriter.class).getConstructor(Configuration.class)
+					.newInstance(configuration.getPropertiesStartingWith(classname));
+		} catch (final Exception ex) { // NOPMD NOCS (IllegalCatchCheck)
+			// ClassNotFoundException, ClassCastException, NoSuchMethodException, InstantiationException, InvocationTargetException, ...
+			throw new IllegalArgumentException("Failed to create the downstream writer '" + classname + "'", ex);
+		}
+	}
+
+	@Override
+	protected void init() throws Exception {
+		this.writer.setController(this.monitoringController);
+		this.lastEmissionTime = this.monitoringController.getTimeSource().getTime();
+		this.summaryThread = new SummaryThread();
+		this.summaryThread.setDaemon(true);
+		this.summaryThread.start();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean newMonitoringRecord(final IMonitoringRecord record) {
+		if (record instanceof OperationExecutionRecord) {
+			this.aggregate((OperationExecutionRecord) record);
+			return !this.forwardRecords || this.writer.newMonitoringRecord(record);
+		}
+		return this.writer.newMonitoringRecord(record);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean newMonitoringRecordNonBlocking(final IMonitoringRecord record) {
+		if (record instanceof OperationExecutionRecord) {
+			this.aggregate((OperationExecutionRecord) record);
+			return !this.forwardRecords || this.writer.newMonitoringRecordNonBlocking(record);
+		}
+		return this.writer.newMonitoringRecordNonBlocking(record);
+	}
+
+	private void aggregate(final OperationExecutionRecord record) {
+		final Accumulator accumulator = this.threadLocalAccumulator.get();
+		accumulator.acquire();
+		try {
+			accumulator.current(record.getHostname(), record.getOperationSignature()).add(record.getTout() - record.getTin());
+		} finally {
+			accumulator.release();
+		}
+	}
+
+	/**
+	 * The framework ensures, that this method is called only once!
+	 */
+	@Override
+	public void terminate() {
+		this.terminationLatch.countDown();
+		if ((this.summaryThread != null) && (Thread.currentThread() != this.summaryThread)) { // NOPMD (CompareObjectsWithEquals)
+			try {
+				this.summaryThread.join();
+			} catch (final InterruptedException ex) {
+				Thread.currentThread().interrupt(); // propagate interrupt
+				LOG.warn("Interrupted while waiting for the summary thread; the last summaries might be lost.", ex);
+			}
+			this.emitSummaries();
+		}
+		this.writer.terminate();
+	}
+
+	/**
+	 * Collects the statistics of all threads and passes a summary per hostname and operation signature to the downstream writer. Only called by a single
+	 * thread at a time.
+	 */
+	private void emitSummaries() {
+		final Iterator<Accumulator> iter = this.accumulators.iterator();
+		while (iter.hasNext()) {
+			final Accumulator accumulator = iter.next();
+			// a thread which is not alive any more before the swap does not add further records
+			final boolean threadAlive = accumulator.isThreadAlive();
+			accumulator.acquire();
+			final Map<String, Map<String, ResponseTimeStatistics>> collected;
+			try {
+				collected = accumulator.swap();
+			} finally {
+				accumulator.release();
+			}
+			this.collect(collected);
+			if (!threadAlive) {
+				// the accumulator is not reachable any more via its thread local
+				this.accumulators.remove(accumulator);
+			}
+		}
+
+		final long time = this.monitoringController.getTimeSource().getTime();
+		final long interval = time - this.lastEmissionTime;
+		this.lastEmissionTime = time;
+		for (final Iterator<Map.Entry<String, Map<String, ResponseTimeStatistics>>> hostIter = this.periodStatistics.entrySet().iterator(); hostIter
+				.hasNext();) {
+			final Map.Entry<String, Map<String, ResponseTimeStatistics>> hostEntry = hostIter.next();
+			final Iterator<Map.Entry<String, ResponseTimeStatistics>> operationIter = hostEntry.getValue().entrySet().iterator();
+			while (operationIter.hasNext()) {
+				final Map.Entry<String, ResponseTimeStatistics> operationEntry = operationIter.next();
+				final ResponseTimeStatistics statistics = operationEntry.getValue();
+				if (statistics.getCount() == 0) {
+					// not executed in this period
+					operationIter.remove();
+					continue;
+				}
+				final OperationExecutionSummaryRecord summary = new OperationExecutionSummaryRecord(time, interval, hostEntry.getKey(),
+						operationEntry.getKey(), statistics.getCount(), statistics.getMin(), statistics.getMax(), statistics.getSum(),
+						statistics.getPercentile(50), statistics.getPercentile(90), statistics.getPercentile(99));
+				summary.setLoggingTimestamp(time);
+				this.writer.newMonitoringRecord(summary);
+				statistics.reset();
+			}
+			if (hostEntry.getValue().isEmpty()) {
+				hostIter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Adds the given statistics of a single thread to the statistics of the current period and resets them.
+	 */
+	private void collect(final Map<String, Map<String, ResponseTimeStatistics>> threadStatistics) {
+		for (final Iterator<Map.Entry<String, Map<String, ResponseTimeStatistics>>> hostIter = threadStatistics.entrySet().iterator(); hostIter.hasNext();) {
+			final Map.Entry<String, Map<String, ResponseTimeStatistics>> hostEntry = hostIter.next();
+			final Iterator<Map.Entry<String, ResponseTimeStatistics>> operationIter = hostEntry.getValue().entrySet().iterator();
+			while (operationIter.hasNext()) {
+				final Map.Entry<String, ResponseTimeStatistics> operationEntry = operationIter.next();
+				final ResponseTimeStatistics statistics = operationEntry.getValue();
+				if (statistics.getCount() == 0) {
+					// not executed by the thread in the last period, so the entry is not kept for reuse
+					operationIter.remove();
+					continue;
+				}
+				Accumulator.statistics(this.periodStatistics, hostEntry.getKey(), operationEntry.getKey()).addAll(statistics);
+				statistics.reset();
+			}
+			if (hostEntry.getValue().isEmpty()) {
+				hostIter.remove();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder(256);
+		sb.append(super.toString());
+		sb.append("\n\tThreads with accumulators: ");
+		sb.append(this.accumulators.size());
+		sb.append("\n\tDownstream ");
+		sb.append(this.writer.toString());
+		return sb.toString();
+	}
+
+	/**
+	 * The statistics of a single thread. The thread adds to the current statistics, while the statistics of the previous period are collected by the summary
+	 * thread. Both threads acquire the accumulator before accessing it, but only the summary thread swaps the statistics, once per period.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class Accumulator {
+		private final AtomicBoolean acquired = new AtomicBoolean();
+		private final WeakReference<Thread> thread;
+		// only accessed while the accumulator is acquired
+		private Map<String, Map<String, ResponseTimeStatistics>> current = new HashMap<String, Map<String, ResponseTimeStatistics>>(); // NOPMD
+		// only accessed by the summary thread, apart from the swap
+		private Map<String, Map<String, ResponseTimeStatistics>> spare = new HashMap<String, Map<String, ResponseTimeStatistics>>(); // NOPMD
+
+		public Accumulator(final Thread thread) {
+			this.thread = new WeakReference<Thread>(thread);
+		}
+
+		public void acquire() {
+			// only contended while the summary thread swaps the statistics
+			while (!this.acquired.compareAndSet(false, true)) {
+				Thread.yield();
+			}
+		}
+
+		public void release() {
+			this.acquired.lazySet(false); // an ordered store suffices to publish the changes
+		}
+
+		public ResponseTimeStatistics current(final String hostname, final String operationSignature) {
+			return Accumulator.statistics(this.current, hostname, operationSignature);
+		}
+
+		/**
+		 * Replaces the current statistics by the (reset) statistics returned by the previous call.
+		 *
+		 * @return The statistics collected since the previous call.
+		 */
+		public Map<String, Map<String, ResponseTimeStatistics>> swap() {
+			final Map<String, Map<String, ResponseTimeStatistics>> previous = this.current;
+			this.current = this.spare;
+			this.spare = previous;
+			return previous;
+		}
+
+		public boolean isThreadAlive() {
+			final Thread t = this.thread.get();
+			return (t != null) && t.isAlive();
+		}
+
+		static ResponseTimeStatistics statistics(final Map<String, Map<String, ResponseTimeStatistics>> statisticsByHost, final String hostname,
+				final String operationSignature) {
+			Map<String, ResponseTimeStatistics> statisticsByOperation = statisticsByHost.get(hostname);
+			if (statisticsByOperation == null) {
+				statisticsByOperation = new HashMap<String, ResponseTimeStatistics>(); // NOPMD (no concurrent access)
+				statisticsByHost.put(hostname, statisticsByOperation);
+			}
+			ResponseTimeStatistics statistics = statisticsByOperation.get(operationSignature);
+			if (statistics == null) {
+				statistics = new ResponseTimeStatistics();
+				statisticsByOperation.put(operationSignature, statistics);
+			}
+			return statistics;
+		}
+	}
+
+	/**
+	 * The thread emitting the summaries at the end of each period.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private final class SummaryThread extends Thread {
+
+		public SummaryThread() {
+			super(OperationExecutionAggregationWriter.class.getSimpleName() + "-SummaryThread");
+		}
+
+		@Override
+		public void run() {
+			final OperationExecutionAggregationWriter aggregationWriter = OperationExecutionAggregationWriter.this;
+			try {
+				while (!aggregationWriter.terminationLatch.await(aggregationWriter.periodMillis, TimeUnit.MILLISECONDS)) {
+					aggregationWriter.emitSummaries();
+				}
+			} catch (final InterruptedException ex) {
+				LOG.warn("Summary thread interrupted; no further summaries are emitted before termination.", ex);
+			}
+		}
+	}
+}
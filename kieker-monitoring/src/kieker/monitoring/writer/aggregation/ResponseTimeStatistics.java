@@ -0,0 +1,178 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.monitoring.writer.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * The response time statistics of a single operation within a single interval: the number of executions, the minimal, maximal, and total response time,
+ * and a compact log-linear histogram of the response times. Each power of two is divided into {@value #SUB_BUCKETS} buckets of equal width, hence a
+ * percentile is determined with a relative error of at most 1/{@value #SUB_BUCKETS}. The histogram grows only up to the largest response time observed.
+ *
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+final class ResponseTimeStatistics {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final long[] NO_BUCKETS = new long[0];
+
+	private long count;
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+	private long sum;
+	private long[] buckets = NO_BUCKETS;
+
+	/**
+	 * Creates new statistics without any response times.
+	 */
+	public ResponseTimeStatistics() {
+		// empty default constructor
+	}
+
+	/**
+	 * Adds a single response time. Negative response times (e.g., due to clock adjustments) are counted as 0.
+	 *
+	 * @param responseTime
+	 *            The response time to add.
+	 */
+	public void add(final long responseTime) {
+		final long value = Math.max(0L, responseTime);
+		this.count++;
+		this.sum += value;
+		if (value < this.min) {
+			this.min = value;
+		}
+		if (value > this.max) {
+			this.max = value;
+		}
+		final int index = ResponseTimeStatistics.bucketIndex(value);
+		if (index >= this.buckets.length) {
+			this.buckets = Arrays.copyOf(this.buckets, Math.max(index + 1, SUB_BUCKETS << 2));
+		}
+		this.buckets[index]++;
+	}
+
+	/**
+	 * Adds all response times of the given statistics.
+	 *
+	 * @param other
+	 *            The statistics to add; it is not modified.
+	 */
+	public void addAll(final ResponseTimeStatistics other) {
+		if (other.count == 0) {
+			return;
+		}
+		this.count += other.count;
+		this.sum += other.sum;
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+		if (other.buckets.length > this.buckets.length) {
+			this.buckets = Arrays.copyOf(this.buckets, other.buckets.length);
+		}
+		for (int i = 0; i < other.buckets.length; i++) {
+			this.buckets[i] += other.buckets[i];
+		}
+	}
+
+	/**
+	 * Removes all response times, keeping the histogram allocated.
+	 */
+	public void reset() {
+		this.count = 0;
+		this.min = Long.MAX_VALUE;
+		this.max = Long.MIN_VALUE;
+		this.sum = 0;
+		Arrays.fill(this.buckets, 0L);
+	}
+
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * @return The minimal response time or 0 if there are no response times.
+	 */
+	public long getMin() {
+		return (this.count == 0) ? 0L : this.min; // NOCS (inline cond)
+	}
+
+	/**
+	 * @return The maximal response time or 0 if there are no response times.
+	 */
+	public long getMax() {
+		return (this.count == 0) ? 0L : this.max; // NOCS (inline cond)
+	}
+
+	public long getSum() {
+		return this.sum;
+	}
+
+	/**
+	 * Approximates a percentile of the response times by the upper bound of the histogram bucket containing it, limited by the minimal and maximal
+	 * response time.
+	 *
+	 * @param percentile
+	 *            The percentile in the range (0, 100].
+	 * @return The approximated percentile or 0 if there are no response times.
+	 */
+	public long getPercentile(final double percentile) {
+		if (this.count == 0) {
+			return 0L;
+		}
+		final long rank = Math.max(1L, (long) Math.ceil((percentile / 100.0) * this.count));
+		long seen = 0;
+		for (int i = 0; i < this.buckets.length; i++) {
+			seen += this.buckets[i];
+			if (seen >= rank) {
+				return Math.max(this.min, Math.min(this.max, ResponseTimeStatistics.bucketUpperBound(i)));
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * @return The index of the bucket containing the given non-negative value.
+	 */
+	static int bucketIndex(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+		final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+	}
+
+	/**
+	 * @return The largest value contained in the bucket with the given index.
+	 */
+	static long bucketUpperBound(final int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		final int shift = (index >>> SUB_BUCKET_BITS) - 1; // exponent - SUB_BUCKET_BITS
+		final long lowerBound = ((long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1)))) << shift;
+		return lowerBound + ((1L << shift) - 1);
+	}
+}
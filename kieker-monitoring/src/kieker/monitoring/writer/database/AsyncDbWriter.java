@@ -20,6 +20,8 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -82,6 +84,9 @@ public final class AsyncDbWriter extends AbstractAsyncWriter {
 
 	@Override
 	public void init() throws Exception {
+		if ((this.connections > 1) && this.hasSingleConsumerQueue()) {
+			throw new Exception("A lock-free queue can only be used with a single connection. Either set 'numberOfConnections' to 1 or change 'QueueType'.");
+		}
 		final AtomicInteger tableCounter = new AtomicInteger();
 		Connection connection = null;
 		try {
@@ -122,6 +127,7 @@ final class DbWriterThread extends AbstractAsyncThread {
 	private final ConcurrentMap<Class<? extends IMonitoringRecord>, PreparedStatement> recordTypeInformation =
 			new ConcurrentHashMap<Class<? extends IMonitoringRecord>, PreparedStatement>();
 	private final AtomicLong recordId;
+	private final List<PreparedStatement> batchStatements = new ArrayList<PreparedStatement>();
 
 	/**
 	 * Creates a new instance of this class using the given parameters.
@@ -154,6 +160,52 @@ final class DbWriterThread extends AbstractAsyncThread {
 
 	@Override
 	protected final void consume(final IMonitoringRecord record) throws Exception {
+		final PreparedStatement preparedStatement = this.prepareStatement(record);
+		if (preparedStatement != null) {
+			try {
+				preparedStatement.executeUpdate();
+			} catch (final SQLException ex) {
+				throw new Exception("SQLException with SQLState: '" + ex.getSQLState() + "' and VendorError: '" + ex.getErrorCode() + "'", ex);
+			}
+		}
+	}
+
+	@Override
+	protected final void consume(final List<IMonitoringRecord> records) throws Exception {
+		final List<PreparedStatement> batchStatements = this.batchStatements;
+		try {
+			for (int i = 0; i < records.size(); i++) { // NOPMD (no iterator allocation on the hot path)
+				final PreparedStatement preparedStatement = this.prepareStatement(records.get(i));
+				if (preparedStatement != null) {
+					preparedStatement.addBatch();
+					if (!batchStatements.contains(preparedStatement)) {
+						batchStatements.add(preparedStatement);
+					}
+				}
+			}
+			// one round trip per record type instead of one per record
+			for (int i = 0; i < batchStatements.size(); i++) { // NOPMD (no iterator allocation on the hot path)
+				batchStatements.get(i).executeBatch();
+			}
+		} catch (final SQLException ex) {
+			throw new Exception("SQLException with SQLState: '" + ex.getSQLState() + "' and VendorError: '" + ex.getErrorCode() + "'", ex);
+		} finally {
+			batchStatements.clear();
+		}
+	}
+
+	/**
+	 * Creates the table for the record type if necessary and sets all parameters of the corresponding insert statement.
+	 * 
+	 * @param record
+	 *            The record to insert.
+	 * 
+	 * @return The prepared statement ready for execution or null if records of this type are ignored.
+	 * 
+	 * @throws Exception
+	 *             If something went wrong during the preparation.
+	 */
+	private PreparedStatement prepareStatement(final IMonitoringRecord record) throws Exception {
 		final Class<? extends IMonitoringRecord> recordClass = record.getClass();
 		final String recordClassName = recordClass.getSimpleName();
 		if (!this.recordTypeInformation.containsKey(recordClass)) { // not yet seen record
@@ -175,7 +227,7 @@ final class DbWriterThread extends AbstractAsyncThread {
 			} catch (final SQLException ex) {
 				if (null == ex.getSQLState()) { // probably an exception by Kieker
 					LOG.error("Unable to log records of type " + recordClass.getName() + ": " + ex.getMessage());
-					return; // we ignore this kind of error
+					return null; // we ignore this kind of error
 				} else {
 					throw new Exception("SQLException with SQLState: '" + ex.getSQLState() + "' and VendorError: '" + ex.getErrorCode() + "'", ex);
 				}
@@ -193,7 +245,7 @@ final class DbWriterThread extends AbstractAsyncThread {
 					throw new Exception("Failed to add record to database.");
 				}
 			}
-			preparedStatement.executeUpdate();
+			return preparedStatement;
 		} catch (final SQLException ex) {
 			throw new Exception("SQLException with SQLState: '" + ex.getSQLState() + "' and VendorError: '" + ex.getErrorCode() + "'", ex);
 		}
@@ -46,6 +46,10 @@ public abstract class AbstractAsyncFSWriter extends AbstractAsyncWriter {
 	public static final String CONFIG_MAXLOGSIZE = "maxLogSize"; // in MiB
 	/** The name of the configuration determining the maximal number of log files. */
 	public static final String CONFIG_MAXLOGFILES = "maxLogFiles";
+	/** The name of the configuration determining the number of buffered mappings after which the mapping file is flushed. */
+	public static final String CONFIG_MAPFLUSHENTRIES = "mapFlushEntries";
+	/** The name of the configuration determining the interval (in milliseconds) after which buffered mappings are flushed. */
+	public static final String CONFIG_MAPFLUSHINTERVAL = "mapFlushInterval";
 	/** The name of the configuration determining whether to store the data in the temporary directory or not. */
 	private static final String CONFIG_TEMP = "storeInJavaIoTmpdir";
 
@@ -53,6 +57,8 @@ public abstract class AbstractAsyncFSWriter extends AbstractAsyncWriter {
 	private final int configMaxEntriesInFile;
 	private final int configMaxlogSize;
 	private final int configMaxLogFiles;
+	private final int configMapFlushEntries;
+	private final long configMapFlushInterval;
 
 	/**
 	 * 
@@ -85,6 +91,9 @@ public abstract class AbstractAsyncFSWriter extends AbstractAsyncWriter {
 		// get values for size limitations
 		this.configMaxlogSize = configuration.getIntProperty(prefix + CONFIG_MAXLOGSIZE);
 		this.configMaxLogFiles = configuration.getIntProperty(prefix + CONFIG_MAXLOGFILES);
+		// get flush points of the mapping file
+		this.configMapFlushEntries = configuration.getIntProperty(prefix + CONFIG_MAPFLUSHENTRIES);
+		this.configMapFlushInterval = configuration.getLongProperty(prefix + CONFIG_MAPFLUSHINTERVAL);
 
 	}
 
@@ -99,6 +108,8 @@ public abstract class AbstractAsyncFSWriter extends AbstractAsyncWriter {
 		configuration.setProperty(prefix + CONFIG_MAXENTRIESINFILE, "25000");
 		configuration.setProperty(prefix + CONFIG_MAXLOGSIZE, "-1");
 		configuration.setProperty(prefix + CONFIG_MAXLOGFILES, "-1");
+		configuration.setProperty(prefix + CONFIG_MAPFLUSHENTRIES, Integer.toString(MappingFileWriter.DEFAULT_FLUSH_ENTRIES));
+		configuration.setProperty(prefix + CONFIG_MAPFLUSHINTERVAL, Long.toString(MappingFileWriter.DEFAULT_FLUSH_INTERVAL));
 		return configuration;
 	}
 
@@ -118,7 +129,7 @@ public abstract class AbstractAsyncFSWriter extends AbstractAsyncWriter {
 			throw new IllegalArgumentException("Failed to create directory '" + path + "'");
 		}
 		// Mapping file
-		final MappingFileWriter mappingFileWriter = new MappingFileWriter(path);
+		final MappingFileWriter mappingFileWriter = new MappingFileWriter(path, this.configMapFlushEntries, this.configMapFlushInterval);
 		// Create writer thread
 		this.addWorker(this.initWorker(super.monitoringController, this.blockingQueue, mappingFileWriter, path, this.configMaxEntriesInFile, this.configMaxlogSize,
 				this.configMaxLogFiles));
@@ -0,0 +1,85 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.filesystem;
+
+import java.util.concurrent.BlockingQueue;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.IMonitoringRecord;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.writer.filesystem.async.AbstractFsWriterThread;
+import kieker.monitoring.writer.filesystem.async.BinaryMmapFsWriterThread;
+import kieker.monitoring.writer.filesystem.map.MappingFileWriter;
+
+/**
+ * A binary file system writer which writes the records directly into memory mapped files of a fixed size (segments). The written files can be read by the
+ * usual file system readers.
+ * 
+ * @author Kieker Team
+ * 
+ * @since 1.13
+ */
+public final class AsyncBinaryMmapFsWriter extends AbstractAsyncFSWriter {
+
+	private static final String PREFIX = AsyncBinaryMmapFsWriter.class.getName() + ".";
+	public static final String CONFIG_SEGMENTSIZE = PREFIX + "segmentSize"; // NOCS (afterPREFIX)
+	public static final String CONFIG_FORCE = PREFIX + "force"; // NOCS (afterPREFIX)
+
+	private static final Log LOG = LogFactory.getLog(AsyncBinaryMmapFsWriter.class);
+
+	private static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	private final int segmentSize;
+	private final boolean force;
+
+	/**
+	 * Creates a new instance of this class using the given parameters.
+	 * 
+	 * @param configuration
+	 *            The configuration for this writer.
+	 */
+	public AsyncBinaryMmapFsWriter(final Configuration configuration) {
+		super(configuration);
+		int tmpSegmentSize = configuration.getIntProperty(CONFIG_SEGMENTSIZE);
+		if (tmpSegmentSize <= 0) {
+			LOG.warn("Segment size has to be greater than zero. Using " + DEFAULT_SEGMENT_SIZE + " instead.");
+			tmpSegmentSize = DEFAULT_SEGMENT_SIZE;
+		}
+		this.segmentSize = tmpSegmentSize;
+		this.force = configuration.getBooleanProperty(CONFIG_FORCE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Configuration getDefaultConfiguration() {
+		final Configuration configuration = new Configuration(super.getDefaultConfiguration());
+		configuration.setProperty(CONFIG_SEGMENTSIZE, Integer.toString(DEFAULT_SEGMENT_SIZE));
+		configuration.setProperty(CONFIG_FORCE, "false");
+		return configuration;
+	}
+
+	@Override
+	protected final AbstractFsWriterThread initWorker(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
+			final MappingFileWriter mappingFileWriter, final String path, final int maxEntiresInFile, final int maxlogSize, final int maxLogFiles) {
+		return new BinaryMmapFsWriterThread(monitoringController, writeQueue, mappingFileWriter, path, maxEntiresInFile, maxlogSize, maxLogFiles,
+				this.segmentSize, this.force);
+	}
+}
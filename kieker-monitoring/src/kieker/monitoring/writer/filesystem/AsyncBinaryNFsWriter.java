@@ -37,10 +37,14 @@ public final class AsyncBinaryNFsWriter extends AbstractAsyncFSWriter {
 	private static final String PREFIX = AsyncBinaryNFsWriter.class.getName() + ".";
 	public static final String CONFIG_BUFFER = PREFIX + "bufferSize"; // NOCS (afterPREFIX)
 	public static final String CONFIG_COMPRESS = PREFIX + "compress"; // NOCS (afterPREFIX)
+	public static final String CONFIG_FLUSH = PREFIX + "flush"; // NOCS (afterPREFIX)
+	public static final String CONFIG_COMPACT = PREFIX + "compact"; // NOCS (afterPREFIX)
 
 	private static final Log LOG = LogFactory.getLog(AsyncBinaryNFsWriter.class);
 
 	private final int buffersize;
+	private final boolean flush;
+	private final boolean compact;
 
 	/**
 	 * Creates a new instance of this class using the given parameters.
@@ -57,6 +61,8 @@ public final class AsyncBinaryNFsWriter extends AbstractAsyncFSWriter {
 			tmpBuffersize = 65535;
 		}
 		this.buffersize = tmpBuffersize;
+		this.flush = configuration.getBooleanProperty(CONFIG_FLUSH);
+		this.compact = configuration.getBooleanProperty(CONFIG_COMPACT);
 	}
 
 	/**
@@ -67,6 +73,8 @@ public final class AsyncBinaryNFsWriter extends AbstractAsyncFSWriter {
 		final Configuration configuration = new Configuration(super.getDefaultConfiguration());
 		configuration.setProperty(CONFIG_BUFFER, "65535");
 		configuration.setProperty(CONFIG_COMPRESS, "NONE");
+		configuration.setProperty(CONFIG_FLUSH, "false");
+		configuration.setProperty(CONFIG_COMPACT, "false");
 		return configuration;
 	}
 
@@ -74,6 +82,6 @@ public final class AsyncBinaryNFsWriter extends AbstractAsyncFSWriter {
 	protected final AbstractFsWriterThread initWorker(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
 			final MappingFileWriter mappingFileWriter, final String path, final int maxEntiresInFile, final int maxlogSize, final int maxLogFiles) {
 		return new BinaryNFsWriterThread(monitoringController, writeQueue, mappingFileWriter, path, maxEntiresInFile, maxlogSize, maxLogFiles,
-				this.buffersize);
+				this.buffersize, this.flush, this.compact);
 	}
 }
@@ -69,6 +69,8 @@ public final class SyncFsWriter extends AbstractMonitoringWriter {
 	public static final String CONFIG_MAXLOGFILES = PREFIX + "maxLogFiles"; // NOCS (afterPREFIX)
 	public static final String CONFIG_FLUSH = PREFIX + "flush"; // NOCS (afterPREFIX)
 	public static final String CONFIG_BUFFER = PREFIX + "bufferSize"; // NOCS (afterPREFIX)
+	public static final String CONFIG_MAPFLUSHENTRIES = PREFIX + "mapFlushEntries"; // NOCS (afterPREFIX)
+	public static final String CONFIG_MAPFLUSHINTERVAL = PREFIX + "mapFlushInterval"; // NOCS (afterPREFIX)
 	private static final String CONFIG_TEMP = PREFIX + "storeInJavaIoTmpdir"; // NOCS (afterPREFIX)
 
 	private static final Log LOG = LogFactory.getLog(SyncFsWriter.class);
@@ -76,6 +78,8 @@ public final class SyncFsWriter extends AbstractMonitoringWriter {
 	// internal variables
 	private final boolean autoflush;
 	private final int bufferSize;
+	private final int mapFlushEntries;
+	private final long mapFlushInterval;
 	private final int maxEntriesInFile;
 	private final long maxLogSize;
 	private final int maxLogFiles;
@@ -109,6 +113,8 @@ public final class SyncFsWriter extends AbstractMonitoringWriter {
 		super(configuration);
 		this.autoflush = configuration.getBooleanProperty(CONFIG_FLUSH);
 		this.bufferSize = configuration.getIntProperty(CONFIG_BUFFER);
+		this.mapFlushEntries = configuration.getIntProperty(CONFIG_MAPFLUSHENTRIES);
+		this.mapFlushInterval = configuration.getLongProperty(CONFIG_MAPFLUSHINTERVAL);
 		// get number of entries per file
 		this.maxEntriesInFile = configuration.getIntProperty(CONFIG_MAXENTRIESINFILE);
 		if (this.maxEntriesInFile < 1) {
@@ -158,7 +164,7 @@ public final class SyncFsWriter extends AbstractMonitoringWriter {
 		}
 		synchronized (this) { // visibility
 			this.path = f.getAbsolutePath();
-			this.mappingFileWriter = new MappingFileWriter(this.path);
+			this.mappingFileWriter = new MappingFileWriter(this.path, this.mapFlushEntries, this.mapFlushInterval);
 		}
 	}
 
@@ -188,6 +194,8 @@ public final class SyncFsWriter extends AbstractMonitoringWriter {
 			}
 			try {
 				synchronized (this) { // we must not synch on pos, it changes within!
+					// the record must not refer to mappings which are still buffered
+					this.mappingFileWriter.flush();
 					if (++this.entriesInCurrentFileCounter > this.maxEntriesInFile) { // NOPMD
 						final String filename = this.getFilename();
 						this.prepareFile(filename); // may throw FileNotFoundException
@@ -277,6 +285,11 @@ public final class SyncFsWriter extends AbstractMonitoringWriter {
 			if (this.pos != null) {
 				this.pos.close();
 			}
+			try {
+				this.mappingFileWriter.close();
+			} catch (final IOException ex) {
+				LOG.error("Failed to close the mapping file", ex);
+			}
 		}
 		LOG.info("Writer: SyncFsWriter shutdown complete");
 	}
@@ -21,10 +21,13 @@ import java.io.IOException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.concurrent.BlockingQueue;
 
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
 import kieker.common.record.IMonitoringRecord;
 import kieker.common.record.misc.RegistryRecord;
 import kieker.common.util.filesystem.FSUtil;
@@ -38,10 +41,12 @@ import kieker.monitoring.writer.filesystem.map.MappingFileWriter;
  * @since 1.5
  */
 public abstract class AbstractFsWriterThread extends AbstractAsyncThread {
+	private static final Log LOG = LogFactory.getLog(AbstractFsWriterThread.class);
 
 	/** The extension of the written files. */
 	protected String fileExtension = FSUtil.NORMAL_FILE_EXTENSION;
 
+	private final BlockingQueue<IMonitoringRecord> writeQueue;
 	private final MappingFileWriter mappingFileWriter;
 	private final String filenamePrefix;
 	private final String path;
@@ -80,6 +85,7 @@ public abstract class AbstractFsWriterThread extends AbstractAsyncThread {
 	public AbstractFsWriterThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
 			final MappingFileWriter mappingFileWriter, final String path, final int maxEntriesInFile, final int maxLogSize, final int maxLogFiles) {
 		super(monitoringController, writeQueue);
+		this.writeQueue = writeQueue;
 		this.mappingFileWriter = mappingFileWriter;
 		this.path = new File(path).getAbsolutePath();
 		this.filenamePrefix = path + File.separatorChar + FSUtil.FILE_PREFIX;
@@ -127,37 +133,89 @@ public abstract class AbstractFsWriterThread extends AbstractAsyncThread {
 		if (monitoringRecord instanceof RegistryRecord) {
 			this.mappingFileWriter.write((RegistryRecord) monitoringRecord);
 		} else {
+			// the record must not refer to mappings which are still buffered
+			this.mappingFileWriter.flush();
 			if (++this.entriesInCurrentFileCounter > this.maxEntriesInFile) { // NOPMD
-				this.entriesInCurrentFileCounter = 1;
-				final String filename = this.getFilename();
-				this.prepareFile(filename);
-				if (this.listOfLogFiles != null) {
-					if (!this.listOfLogFiles.isEmpty()) {
-						final FileNameSize fns = this.listOfLogFiles.getLast();
-						final long filesize = new File(fns.name).length();
-						fns.size = filesize;
-						this.totalLogSize += filesize;
-					}
-					this.listOfLogFiles.add(new FileNameSize(filename));
-					if ((this.maxLogFiles > 0) && (this.listOfLogFiles.size() > this.maxLogFiles)) { // too many files (at most one!)
-						final FileNameSize removeFile = this.listOfLogFiles.removeFirst();
-						if (!new File(removeFile.name).delete()) { // NOCS (nested if)
-							throw new IOException("Failed to delete file " + removeFile.name);
-						}
-						this.totalLogSize -= removeFile.size;
-					}
-					if (this.maxLogSize > 0) {
-						while ((this.listOfLogFiles.size() > 1) && (this.totalLogSize > this.maxLogSize)) {
-							final FileNameSize removeFile = this.listOfLogFiles.removeFirst();
-							if (!new File(removeFile.name).delete()) { // NOCS (nested if)
-								throw new IOException("Failed to delete file " + removeFile.name);
-							}
-							this.totalLogSize -= removeFile.size;
-						}
+				this.rotateFile();
+			}
+			this.write(monitoringRecord);
+		}
+	}
+
+	@Override
+	protected final void consume(final List<IMonitoringRecord> monitoringRecords) throws Exception {
+		for (int i = 0; i < monitoringRecords.size(); i++) { // NOPMD (no iterator allocation on the hot path)
+			this.consume(monitoringRecords.get(i));
+		}
+		if (this.writeQueue.isEmpty()) { // the thread is going to wait for further records
+			this.mappingFileWriter.flush();
+		} else {
+			this.mappingFileWriter.flushIfDue();
+		}
+		this.flushBatch();
+	}
+
+	/**
+	 * Closes the current log file and starts a new one, respecting the configured limits for the number and the total size of the log files. This happens
+	 * automatically whenever the current file has reached the maximal number of entries. Inheriting classes may additionally call this method from within
+	 * {@link #write(IMonitoringRecord)} if the current file cannot take the record to be written, e.g., because the file has a fixed size. The record being
+	 * written then counts as the first entry of the new file.
+	 * 
+	 * @throws IOException
+	 *             If something went wrong during the preparation of the new file or the removal of old files.
+	 */
+	protected final void rotateFile() throws IOException {
+		this.mappingFileWriter.flush();
+		this.entriesInCurrentFileCounter = 1;
+		final String filename = this.getFilename();
+		this.prepareFile(filename);
+		if (this.listOfLogFiles != null) {
+			if (!this.listOfLogFiles.isEmpty()) {
+				final FileNameSize fns = this.listOfLogFiles.getLast();
+				final long filesize = new File(fns.name).length();
+				fns.size = filesize;
+				this.totalLogSize += filesize;
+			}
+			this.listOfLogFiles.add(new FileNameSize(filename));
+			if ((this.maxLogFiles > 0) && (this.listOfLogFiles.size() > this.maxLogFiles)) { // too many files (at most one!)
+				final FileNameSize removeFile = this.listOfLogFiles.removeFirst();
+				if (!new File(removeFile.name).delete()) { // NOCS (nested if)
+					throw new IOException("Failed to delete file " + removeFile.name);
+				}
+				this.totalLogSize -= removeFile.size;
+			}
+			if (this.maxLogSize > 0) {
+				while ((this.listOfLogFiles.size() > 1) && (this.totalLogSize > this.maxLogSize)) {
+					final FileNameSize removeFile = this.listOfLogFiles.removeFirst();
+					if (!new File(removeFile.name).delete()) { // NOCS (nested if)
+						throw new IOException("Failed to delete file " + removeFile.name);
 					}
+					this.totalLogSize -= removeFile.size;
 				}
 			}
-			this.write(monitoringRecord);
+		}
+	}
+
+	/**
+	 * Called once after each batch of records taken from the queue has been written. Inheriting classes may override this method to pass buffered data to the
+	 * file system once per batch instead of once per record. The default implementation does nothing.
+	 * 
+	 * @throws IOException
+	 *             If something went wrong during the flushing.
+	 */
+	protected void flushBatch() throws IOException {
+		// nothing to do by default
+	}
+
+	/**
+	 * Flushes and closes the mapping file. Inheriting classes should call this method from within {@link #cleanup()}. The mapping file is reopened if
+	 * another thread writes further mappings.
+	 */
+	protected final void closeMappingFile() {
+		try {
+			this.mappingFileWriter.close();
+		} catch (final IOException ex) {
+			LOG.error("Failed to close the mapping file.", ex);
 		}
 	}
 
@@ -23,6 +23,7 @@ import java.io.PrintWriter;
 import java.util.concurrent.BlockingQueue;
 
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.TextValueSerializer;
 import kieker.common.util.filesystem.FSUtil;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.writer.filesystem.map.StringMappingFileWriter;
@@ -34,7 +35,9 @@ import kieker.monitoring.writer.filesystem.map.StringMappingFileWriter;
  */
 public class AsciiZipWriterThread extends AbstractZipWriterThread {
 
+	// a PrintWriter does not throw I/O errors (e.g., a full disk), which would terminate the monitoring
 	private final PrintWriter out;
+	private final TextValueSerializer serializer = new TextValueSerializer();
 
 	/**
 	 * Create a new AsciiZipWriterThread.
@@ -66,17 +69,14 @@ public class AsciiZipWriterThread extends AbstractZipWriterThread {
 
 	@Override
 	protected void write(final IMonitoringRecord monitoringRecord) throws IOException {
-		final Object[] recordFields = monitoringRecord.toArray();
-		final StringBuilder sb = new StringBuilder(256);
-		sb.append('$');
-		sb.append(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
-		sb.append(';');
-		sb.append(monitoringRecord.getLoggingTimestamp());
-		for (final Object recordField : recordFields) {
-			sb.append(';');
-			sb.append(String.valueOf(recordField));
-		}
-		this.out.println(sb.toString());
+		final TextValueSerializer line = this.serializer;
+		line.reset();
+		line.appendChar('$');
+		line.putInt(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
+		line.putLong(monitoringRecord.getLoggingTimestamp());
+		monitoringRecord.serialize(line);
+		line.appendLineSeparator();
+		line.writeTo(this.out);
 	}
 
 	@Override
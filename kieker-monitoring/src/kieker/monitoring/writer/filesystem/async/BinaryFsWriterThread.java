@@ -16,10 +16,10 @@
 
 package kieker.monitoring.writer.filesystem.async;
 
-import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.concurrent.BlockingQueue;
 
 import kieker.common.logging.Log;
@@ -38,9 +38,9 @@ import kieker.monitoring.writer.filesystem.map.MappingFileWriter;
 public class BinaryFsWriterThread extends AbstractFsWriterThread {
 	private static final Log LOG = LogFactory.getLog(BinaryFsWriterThread.class);
 
-	private DataOutputStream out;
+	private WritableByteChannel channel;
 
-	private final int bufferSize;
+	private final ByteBuffer byteBuffer;
 	private final BinaryCompressionMethod compressionMethod;
 	private final IRegistry<String> stringRegistry;
 
@@ -72,43 +72,66 @@ public class BinaryFsWriterThread extends AbstractFsWriterThread {
 		super(monitoringController, writeQueue, mappingFileWriter, path, maxEntriesInFile, maxLogSize, maxLogFiles);
 		this.compressionMethod = compressionMethod;
 		this.fileExtension = compressionMethod.getFileExtension();
-		this.bufferSize = bufferSize;
+		// the compressors work on arrays, hence a heap buffer avoids an additional copy
+		this.byteBuffer = (compressionMethod == BinaryCompressionMethod.NONE) ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize); // NOCS
 		this.stringRegistry = monitoringController.getStringRegistry();
 	}
 
 	@Override
 	protected void write(final IMonitoringRecord monitoringRecord) throws IOException {
 		final int size = monitoringRecord.getSize() + 4 + 8;
-
-		// FIXME performance issue due to too many object instantiations: ByteBuffer
-		final ByteBuffer buffer = ByteBuffer.allocateDirect(size);
+		ByteBuffer buffer = this.byteBuffer;
+		if (size > buffer.remaining()) {
+			this.flushBuffer();
+			if (size > buffer.capacity()) { // the record does not fit into the buffer at all
+				buffer = ByteBuffer.allocate(size);
+			}
+		}
 		buffer.putInt(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
 		buffer.putLong(monitoringRecord.getLoggingTimestamp());
 		monitoringRecord.writeBytes(buffer, this.stringRegistry);
-
-		// FIXME performance issue due to too many object instantiations: byte[]
-		final byte[] bytes = new byte[size];
-		buffer.flip();
-		buffer.get(bytes, 0, size);
-		this.out.write(bytes);
+		if (buffer != this.byteBuffer) { // NOPMD (CompareObjectsWithEquals)
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				this.channel.write(buffer);
+			}
+		}
 	}
 
 	@Override
 	protected void prepareFile(final String filename) throws IOException {
-		if (null != this.out) {
-			this.out.close();
+		if (null != this.channel) {
+			this.flushBuffer();
+			this.channel.close();
 		}
-		this.out = this.compressionMethod.getDataOutputStream(new File(filename), this.bufferSize);
+		this.channel = this.compressionMethod.getWritableByteChannel(new File(filename));
 	}
 
 	@Override
 	protected void cleanup() {
-		if (this.out != null) {
+		if (this.channel != null) {
 			try {
-				this.out.close();
+				this.flushBuffer();
+				this.channel.close();
 			} catch (final IOException ex) {
 				LOG.error("Failed to close channel.", ex);
 			}
 		}
+		this.closeMappingFile();
+	}
+
+	/**
+	 * Passes the content of the buffer as one block to the (compressing) channel.
+	 * 
+	 * @throws IOException
+	 *             If the block could not be written.
+	 */
+	private void flushBuffer() throws IOException {
+		final ByteBuffer buffer = this.byteBuffer;
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			this.channel.write(buffer);
+		}
+		buffer.clear();
 	}
 }
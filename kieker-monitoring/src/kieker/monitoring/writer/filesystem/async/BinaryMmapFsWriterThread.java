@@ -0,0 +1,156 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.filesystem.async;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.BlockingQueue;
+
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.util.filesystem.BinaryCompressionMethod;
+import kieker.common.util.filesystem.FSUtil;
+import kieker.common.util.registry.IRegistry;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.writer.filesystem.map.MappingFileWriter;
+
+/**
+ * Writes the records in the binary format directly into files of a fixed size which are mapped into memory. A new file (segment) is started as soon as the
+ * current one is full or has reached the maximal number of entries.
+ *
+ * <p>
+ * After each record, the id {@link FSUtil#END_OF_DATA_ID} is written (but not counted) as end marker. The type id of a record is written last, replacing the
+ * previous end marker. Thus, a segment left behind by a crashed JVM contains only complete records before its end marker. On rotation and termination, each
+ * segment is truncated to the written data.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class BinaryMmapFsWriterThread extends AbstractFsWriterThread {
+	private static final Log LOG = LogFactory.getLog(BinaryMmapFsWriterThread.class);
+
+	private static final int HEADER_SIZE = 4 + 8; // type id and logging timestamp
+
+	private final IRegistry<String> stringRegistry;
+	private final int segmentSize;
+	private final boolean force;
+
+	private RandomAccessFile file;
+	private MappedByteBuffer segment;
+
+	/**
+	 * Create a new BinaryMmapFsWriterThread.
+	 *
+	 * @param monitoringController
+	 *            the monitoring controller accessed by this thread
+	 * @param writeQueue
+	 *            the queue where the writer fetches its records from
+	 * @param mappingFileWriter
+	 *            writer for the mapping file (the file where class names are mapped to record ids)
+	 * @param path
+	 *            location where to files should go to (the path must point to a directory)
+	 * @param maxEntriesInFile
+	 *            limit for the number of records per log file
+	 * @param maxLogSize
+	 *            limit of the log file size
+	 * @param maxLogFiles
+	 *            limit of the number of log files
+	 * @param segmentSize
+	 *            the size (in bytes) each file is preallocated with
+	 * @param force
+	 *            whether each file is forced to the storage device before it is closed
+	 */
+	public BinaryMmapFsWriterThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
+			final MappingFileWriter mappingFileWriter, final String path, final int maxEntriesInFile, final int maxLogSize, final int maxLogFiles,
+			final int segmentSize, final boolean force) {
+		super(monitoringController, writeQueue, mappingFileWriter, path, maxEntriesInFile, maxLogSize, maxLogFiles);
+		this.stringRegistry = monitoringController.getStringRegistry();
+		this.fileExtension = BinaryCompressionMethod.NONE.getFileExtension();
+		this.segmentSize = segmentSize;
+		this.force = force;
+	}
+
+	@Override
+	protected void write(final IMonitoringRecord monitoringRecord) throws IOException {
+		final int recordSize = HEADER_SIZE + monitoringRecord.getSize();
+		if (recordSize > this.segment.remaining()) {
+			if (recordSize > this.segmentSize) {
+				throw new IOException("Record of size " + recordSize + " exceeds the segment size of " + this.segmentSize + " bytes");
+			}
+			this.rotateFile();
+		}
+		final int id = this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName());
+		final MappedByteBuffer buffer = this.segment;
+		final int start = buffer.position();
+		buffer.putLong(start + 4, monitoringRecord.getLoggingTimestamp());
+		buffer.position(start + HEADER_SIZE);
+		monitoringRecord.writeBytes(buffer, this.stringRegistry);
+		this.markEndOfData();
+		buffer.putInt(start, id); // publishes the record by replacing the previous end marker
+	}
+
+	@Override
+	protected void prepareFile(final String filename) throws IOException {
+		this.closeSegment();
+		this.file = new RandomAccessFile(filename, "rw");
+		this.file.setLength(this.segmentSize);
+		this.segment = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+		this.markEndOfData();
+	}
+
+	@Override
+	protected void cleanup() {
+		try {
+			this.closeSegment();
+		} catch (final IOException ex) {
+			LOG.error("Failed to close segment.", ex);
+		}
+		this.closeMappingFile();
+	}
+
+	private void markEndOfData() {
+		final MappedByteBuffer buffer = this.segment;
+		if (buffer.remaining() >= 4) {
+			buffer.putInt(buffer.position(), FSUtil.END_OF_DATA_ID);
+		}
+	}
+
+	private void closeSegment() throws IOException {
+		if (null == this.file) {
+			return;
+		}
+		final int length = this.segment.position();
+		if (this.force) {
+			this.segment.force();
+		}
+		this.segment = null; // NOPMD (must not be accessed after the truncation)
+		try {
+			// truncating a mapped file is not possible on all platforms, but the end marker is sufficient for readers
+			this.file.setLength(length);
+		} catch (final IOException ex) {
+			LOG.warn("Failed to truncate segment to its used size of " + length + " bytes.", ex);
+		} finally {
+			this.file.close();
+			this.file = null; // NOPMD (set explicitly to null)
+		}
+	}
+}
@@ -25,6 +25,8 @@ import java.util.concurrent.BlockingQueue;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.compact.CompactEncoding;
+import kieker.common.record.compact.CompactRecordEncoder;
 import kieker.common.util.filesystem.BinaryCompressionMethod;
 import kieker.common.util.registry.IRegistry;
 import kieker.monitoring.core.controller.IMonitoringController;
@@ -43,6 +45,9 @@ public class BinaryNFsWriterThread extends AbstractFsWriterThread {
 
 	private final ByteBuffer byteBuffer;
 	private final IRegistry<String> stringRegistry;
+	private final boolean flush;
+	// null if the fixed-width layout is used
+	private final CompactRecordEncoder compactEncoder;
 
 	/**
 	 * Create a new BinaryNFsWriterThread.
@@ -67,27 +72,110 @@ public class BinaryNFsWriterThread extends AbstractFsWriterThread {
 	public BinaryNFsWriterThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
 			final MappingFileWriter mappingFileWriter, final String path, final int maxEntriesInFile, final int maxLogSize, final int maxLogFiles,
 			final int bufferSize) {
+		this(monitoringController, writeQueue, mappingFileWriter, path, maxEntriesInFile, maxLogSize, maxLogFiles, bufferSize, false);
+	}
+
+	/**
+	 * Create a new BinaryNFsWriterThread.
+	 * 
+	 * @param monitoringController
+	 *            the monitoring controller accessed by this thread
+	 * @param writeQueue
+	 *            the queue where the writer fetches its records from
+	 * @param mappingFileWriter
+	 *            writer for the mapping file (the file where class names are mapped to record ids)
+	 * @param path
+	 *            location where to files should go to (the path must point to a directory)
+	 * @param maxEntriesInFile
+	 *            limit for the number of records per log file
+	 * @param maxLogSize
+	 *            limit of the log file size
+	 * @param maxLogFiles
+	 *            limit of the number of log files
+	 * @param bufferSize
+	 *            size of the output buffer
+	 * @param flush
+	 *            whether the output buffer is written to the file after each batch of records
+	 * 
+	 * @since 1.13
+	 */
+	public BinaryNFsWriterThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
+			final MappingFileWriter mappingFileWriter, final String path, final int maxEntriesInFile, final int maxLogSize, final int maxLogFiles,
+			final int bufferSize, final boolean flush) {
+		this(monitoringController, writeQueue, mappingFileWriter, path, maxEntriesInFile, maxLogSize, maxLogFiles, bufferSize, flush, false);
+	}
+
+	/**
+	 * Create a new BinaryNFsWriterThread.
+	 * 
+	 * @param monitoringController
+	 *            the monitoring controller accessed by this thread
+	 * @param writeQueue
+	 *            the queue where the writer fetches its records from
+	 * @param mappingFileWriter
+	 *            writer for the mapping file (the file where class names are mapped to record ids)
+	 * @param path
+	 *            location where to files should go to (the path must point to a directory)
+	 * @param maxEntriesInFile
+	 *            limit for the number of records per log file
+	 * @param maxLogSize
+	 *            limit of the log file size
+	 * @param maxLogFiles
+	 *            limit of the number of log files
+	 * @param bufferSize
+	 *            size of the output buffer
+	 * @param flush
+	 *            whether the output buffer is written to the file after each batch of records
+	 * @param compact
+	 *            whether the records are written in the {@link CompactEncoding compact encoding} instead of the fixed-width layout
+	 * 
+	 * @since 1.13
+	 */
+	public BinaryNFsWriterThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
+			final MappingFileWriter mappingFileWriter, final String path, final int maxEntriesInFile, final int maxLogSize, final int maxLogFiles,
+			final int bufferSize, final boolean flush, final boolean compact) {
 		super(monitoringController, writeQueue, mappingFileWriter, path, maxEntriesInFile, maxLogSize, maxLogFiles);
 		this.byteBuffer = ByteBuffer.allocateDirect(bufferSize);
 		this.stringRegistry = monitoringController.getStringRegistry();
 		this.fileExtension = BinaryCompressionMethod.NONE.getFileExtension();
+		this.flush = flush;
+		this.compactEncoder = compact ? new CompactRecordEncoder(this.stringRegistry) : null; // NOCS (inline cond)
 	}
 
 	@Override
 	protected void write(final IMonitoringRecord monitoringRecord) throws IOException {
 		final ByteBuffer buffer = this.byteBuffer;
-		if ((monitoringRecord.getSize() + 4 + 8) > buffer.remaining()) {
+		final CompactRecordEncoder encoder = this.compactEncoder;
+		final int maxSize = (encoder != null) ? CompactEncoding.maxRecordSize(monitoringRecord.getValueTypes()) // NOCS (inline cond)
+				: (monitoringRecord.getSize() + 4 + 8);
+		if (maxSize > buffer.remaining()) {
 			buffer.flip();
 			while (buffer.hasRemaining()) {
 				this.channel.write(buffer);
 			}
 			buffer.clear();
 		}
+		if (encoder != null) {
+			encoder.encode(monitoringRecord, this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()), buffer);
+			return;
+		}
 		buffer.putInt(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
 		buffer.putLong(monitoringRecord.getLoggingTimestamp());
 		monitoringRecord.writeBytes(buffer, this.stringRegistry);
 	}
 
+	@Override
+	protected void flushBatch() throws IOException {
+		if (this.flush && (null != this.channel)) {
+			final ByteBuffer buffer = this.byteBuffer;
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				this.channel.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
 	@Override
 	protected void prepareFile(final String filename) throws IOException {
 		if (null != this.out) {
@@ -102,6 +190,9 @@ public class BinaryNFsWriterThread extends AbstractFsWriterThread {
 		}
 		this.out = new FileOutputStream(filename);
 		this.channel = this.out.getChannel();
+		if (this.compactEncoder != null) {
+			this.compactEncoder.startStream(this.byteBuffer);
+		}
 	}
 
 	@Override
@@ -120,5 +211,6 @@ public class BinaryNFsWriterThread extends AbstractFsWriterThread {
 				LOG.error("Failed to close channel.", ex);
 			}
 		}
+		this.closeMappingFile();
 	}
 }
@@ -26,6 +26,7 @@ import java.io.UnsupportedEncodingException;
 import java.util.concurrent.BlockingQueue;
 
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.TextValueSerializer;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.writer.filesystem.map.MappingFileWriter;
 
@@ -38,9 +39,11 @@ public final class FsWriterThread extends AbstractFsWriterThread {
 
 	private static final String ENCODING = "UTF-8";
 
+	// a PrintWriter does not throw I/O errors (e.g., a full disk), which would terminate the monitoring
 	private PrintWriter pos = null; // NOPMD (init for findbugs)
 	private final boolean autoflush;
 	private final int bufferSize;
+	private final TextValueSerializer serializer = new TextValueSerializer();
 
 	/**
 	 * Create a new FsWriterThread.
@@ -74,17 +77,17 @@ public final class FsWriterThread extends AbstractFsWriterThread {
 
 	@Override
 	protected final void write(final IMonitoringRecord monitoringRecord) throws IOException {
-		final Object[] recordFields = monitoringRecord.toArray();
-		final StringBuilder sb = new StringBuilder(256);
-		sb.append('$');
-		sb.append(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
-		sb.append(';');
-		sb.append(monitoringRecord.getLoggingTimestamp());
-		for (final Object recordField : recordFields) {
-			sb.append(';');
-			sb.append(String.valueOf(recordField));
+		final TextValueSerializer line = this.serializer;
+		line.reset();
+		line.appendChar('$');
+		line.putInt(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
+		line.putLong(monitoringRecord.getLoggingTimestamp());
+		monitoringRecord.serialize(line);
+		line.appendLineSeparator();
+		line.writeTo(this.pos);
+		if (this.autoflush) {
+			this.pos.flush();
 		}
-		this.pos.println(sb.toString());
 	}
 
 	/**
@@ -116,5 +119,6 @@ public final class FsWriterThread extends AbstractFsWriterThread {
 		if (this.pos != null) {
 			this.pos.close();
 		}
+		this.closeMappingFile();
 	}
 }
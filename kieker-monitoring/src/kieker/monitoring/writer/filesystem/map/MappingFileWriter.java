@@ -16,11 +16,13 @@
 
 package kieker.monitoring.writer.filesystem.map;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
 
 import kieker.common.record.misc.RegistryRecord;
 import kieker.common.util.filesystem.FSUtil;
@@ -29,16 +31,39 @@ import kieker.common.util.filesystem.FSUtil;
  * This writer is a helper class to handle the mapping files for Kieker's records, containing the mapping between short IDs and actual record classes. It provides
  * the possibility to create these mapping files and to write the mappings into them.
  * 
+ * <p>
+ * The mapping file is kept open and the mappings are buffered. They are passed to the file system after a number of mappings, after an interval (checked
+ * whenever a mapping is written and via {@link #flushIfDue()}), and on {@link #flush()}, which the writer threads call before writing a record to a data
+ * file and before waiting for further records. Hence, no record in a data file refers to a mapping which has been lost in case the monitored application
+ * crashes.
+ * </p>
+ * 
  * @author Andre van Hoorn, Jan Waller
  * 
  * @since 1.7
  */
 public final class MappingFileWriter {
 
+	/** The default number of buffered mappings after which the mapping file is flushed. */
+	public static final int DEFAULT_FLUSH_ENTRIES = 1000;
+	/** The default interval (in milliseconds) after which buffered mappings are flushed. */
+	public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+	private static final int BUFFER_SIZE = 65536;
+
 	private final File mappingFile;
+	private final int flushEntries;
+	private final long flushIntervalNanos;
+
+	// the following fields are guarded by the mapping file
+	private Writer writer; // null as long as the file is closed
+	private int pendingEntries;
+	private long lastFlushNanos;
+	// allows to skip the synchronization if nothing has to be flushed
+	private volatile boolean pending;
 
 	/**
-	 * Creates a new instance of this class using the given parameters.
+	 * Creates a new instance of this class using the given parameters and the default flush points.
 	 * 
 	 * @param path
 	 *            The path containing the record files. The writer will put the mapping file into this directory.
@@ -47,6 +72,23 @@ public final class MappingFileWriter {
 	 *             If the mapping file has already been created.
 	 */
 	public MappingFileWriter(final String path) throws IOException {
+		this(path, DEFAULT_FLUSH_ENTRIES, DEFAULT_FLUSH_INTERVAL);
+	}
+
+	/**
+	 * Creates a new instance of this class using the given parameters.
+	 * 
+	 * @param path
+	 *            The path containing the record files. The writer will put the mapping file into this directory.
+	 * @param flushEntries
+	 *            The number of buffered mappings after which the mapping file is flushed; values below 1 flush each mapping.
+	 * @param flushInterval
+	 *            The interval (in milliseconds) after which buffered mappings are flushed.
+	 * 
+	 * @throws IOException
+	 *             If the mapping file has already been created.
+	 */
+	public MappingFileWriter(final String path, final int flushEntries, final long flushInterval) throws IOException {
 		final StringBuilder sbm = new StringBuilder(path.length() + 11);
 		sbm.append(path).append(File.separatorChar).append(FSUtil.MAP_FILENAME);
 		final String mappingFileFn = sbm.toString();
@@ -54,6 +96,9 @@ public final class MappingFileWriter {
 		if (!this.mappingFile.createNewFile()) {
 			throw new IOException("Mapping File '" + mappingFileFn + "' already exists.");
 		}
+		this.flushEntries = Math.max(1, flushEntries);
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, flushInterval));
+		this.lastFlushNanos = System.nanoTime();
 	}
 
 	/**
@@ -67,22 +112,81 @@ public final class MappingFileWriter {
 	 */
 	public final void write(final RegistryRecord hashRecord) throws IOException {
 		synchronized (this.mappingFile) {
-			PrintWriter pw = null;
-			try {
-				pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(this.mappingFile, true), FSUtil.ENCODING));
-				pw.write('$');
-				pw.write(String.valueOf(hashRecord.getId()));
-				pw.write('=');
-				pw.write(FSUtil.encodeNewline(hashRecord.getString()));
-				pw.write('\n');
-				if (pw.checkError()) {
-					throw new IOException("Error writing to mappingFile " + this.mappingFile.toString());
+			if (this.writer == null) { // opened lazily and reopened after close
+				this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(this.mappingFile, true), FSUtil.ENCODING), BUFFER_SIZE);
+			}
+			final Writer w = this.writer;
+			w.write('$');
+			w.write(String.valueOf(hashRecord.getId()));
+			w.write('=');
+			w.write(FSUtil.encodeNewline(hashRecord.getString()));
+			w.write('\n');
+			this.pending = true;
+			if ((++this.pendingEntries >= this.flushEntries) || ((System.nanoTime() - this.lastFlushNanos) >= this.flushIntervalNanos)) {
+				this.flushWriter();
+			}
+		}
+	}
+
+	/**
+	 * Passes all buffered mappings to the file system. Has to be called before a record is written to a data file.
+	 * 
+	 * @throws IOException
+	 *             If something went wrong during the flushing.
+	 */
+	public final void flush() throws IOException {
+		if (this.pending) {
+			synchronized (this.mappingFile) {
+				this.flushWriter();
+			}
+		}
+	}
+
+	/**
+	 * Passes all buffered mappings to the file system if the flush interval has elapsed since the last flush.
+	 * 
+	 * @throws IOException
+	 *             If something went wrong during the flushing.
+	 */
+	public final void flushIfDue() throws IOException {
+		if (this.pending) {
+			synchronized (this.mappingFile) {
+				if ((System.nanoTime() - this.lastFlushNanos) >= this.flushIntervalNanos) {
+					this.flushWriter();
 				}
-			} finally {
-				if (pw != null) {
-					pw.close();
+			}
+		}
+	}
+
+	/**
+	 * Flushes and closes the mapping file. It is reopened if further mappings are written.
+	 * 
+	 * @throws IOException
+	 *             If something went wrong during the closing.
+	 */
+	public final void close() throws IOException {
+		synchronized (this.mappingFile) {
+			if (this.writer != null) {
+				try {
+					this.writer.close();
+				} finally {
+					this.writer = null; // NOPMD (null)
+					this.pendingEntries = 0;
+					this.pending = false;
 				}
 			}
 		}
 	}
+
+	/**
+	 * Must only be called while holding the lock.
+	 */
+	private void flushWriter() throws IOException {
+		if (this.writer != null) {
+			this.writer.flush();
+		}
+		this.pendingEntries = 0;
+		this.pending = false;
+		this.lastFlushNanos = System.nanoTime();
+	}
 }
@@ -0,0 +1,169 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.monitoring.writer.tcp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.misc.RegistryRecord;
+import kieker.monitoring.writer.AbstractAsyncWriter;
+
+/**
+ * A TCP writer which survives restarts of the analysis side. It sends the records and the registry records over a single connection, using the protocol
+ * of the {@link SingleSocketTcpWriter}; hence, it can be used with the {@code SingleSocketTcpReader}.
+ *
+ * <p>
+ * In contrast to the other TCP writers, a failing connection does not terminate the monitoring. The writer connects in the background with an exponentially
+ * growing interval and keeps the records in a bounded spill buffer meanwhile. Since every new connection may lead to a new reader, all registry records are
+ * sent again on each connection. The registry records are sent together with the records in a single gathering write. The buffer is sent as soon as it
+ * contains {@code flushThreshold} bytes or its oldest record is {@code flushInterval} milliseconds old. A write which makes no progress for
+ * {@code writeTimeout} milliseconds, e.g., since the analysis side does not read anymore, is handled like a lost connection.
+ * </p>
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class ResilientTcpWriter extends AbstractAsyncWriter {
+	private static final Log LOG = LogFactory.getLog(ResilientTcpWriter.class);
+
+	private static final String PREFIX = ResilientTcpWriter.class.getName() + ".";
+	public static final String CONFIG_HOSTNAME = PREFIX + "hostname"; // NOCS (afterPREFIX)
+	public static final String CONFIG_PORT = PREFIX + "port"; // NOCS (afterPREFIX)
+	public static final String CONFIG_BUFFERSIZE = PREFIX + "bufferSize"; // NOCS (afterPREFIX)
+	public static final String CONFIG_FLUSH_THRESHOLD = PREFIX + "flushThreshold"; // NOCS (afterPREFIX)
+	public static final String CONFIG_FLUSH_INTERVAL = PREFIX + "flushInterval"; // NOCS (afterPREFIX)
+	public static final String CONFIG_RECONNECT_INTERVAL = PREFIX + "reconnectInterval"; // NOCS (afterPREFIX)
+	public static final String CONFIG_MAX_RECONNECT_INTERVAL = PREFIX + "maxReconnectInterval"; // NOCS (afterPREFIX)
+	public static final String CONFIG_WRITE_TIMEOUT = PREFIX + "writeTimeout"; // NOCS (afterPREFIX)
+	public static final String CONFIG_SPILLSIZE = PREFIX + "spillSize"; // NOCS (afterPREFIX)
+
+	private final String hostname;
+	private final int port;
+	private final int bufferSize;
+	private final int flushThreshold;
+	private final long flushInterval;
+	private final long reconnectInterval;
+	private final long maxReconnectInterval;
+	private final long writeTimeout;
+	private final int spillSize;
+
+	// all registry records of this monitoring session, in the order of their arrival; also used as the lock for the list
+	private final List<RegistryRecord> registryRecords = new ArrayList<RegistryRecord>();
+
+	private ResilientTcpWriterThread worker;
+
+	public ResilientTcpWriter(final Configuration configuration) {
+		super(configuration);
+		this.hostname = configuration.getStringProperty(CONFIG_HOSTNAME);
+		this.port = configuration.getIntProperty(CONFIG_PORT);
+		this.bufferSize = configuration.getIntProperty(CONFIG_BUFFERSIZE);
+		final int flushThresholdTmp = configuration.getIntProperty(CONFIG_FLUSH_THRESHOLD);
+		if ((flushThresholdTmp <= 0) || (flushThresholdTmp > this.bufferSize)) {
+			this.flushThreshold = this.bufferSize;
+		} else {
+			this.flushThreshold = flushThresholdTmp;
+		}
+		this.flushInterval = Math.max(1, configuration.getLongProperty(CONFIG_FLUSH_INTERVAL));
+		this.reconnectInterval = Math.max(1, configuration.getLongProperty(CONFIG_RECONNECT_INTERVAL));
+		this.maxReconnectInterval = Math.max(this.reconnectInterval, configuration.getLongProperty(CONFIG_MAX_RECONNECT_INTERVAL));
+		this.writeTimeout = Math.max(1, configuration.getLongProperty(CONFIG_WRITE_TIMEOUT));
+		this.spillSize = Math.max(0, configuration.getIntProperty(CONFIG_SPILLSIZE));
+	}
+
+	@Override
+	protected void init() throws Exception {
+		this.worker = new ResilientTcpWriterThread(this.monitoringController, this.blockingQueue, this.registryRecords, this.hostname, this.port,
+				this.bufferSize, this.flushThreshold, this.flushInterval, this.reconnectInterval, this.maxReconnectInterval, this.writeTimeout,
+				this.spillSize);
+		this.addWorker(this.worker);
+		final FlushTimerThread flushTimerThread = new FlushTimerThread();
+		flushTimerThread.setDaemon(true);
+		flushTimerThread.start();
+	}
+
+	/**
+	 * Keeps the given registry record for the current and all future connections. The worker sends it before the next records which might refer to it.
+	 *
+	 * @param monitoringRecord
+	 *            The registry record.
+	 *
+	 * @return always true
+	 */
+	@Override
+	public boolean newMonitoringRecordNonBlocking(final IMonitoringRecord monitoringRecord) {
+		if (monitoringRecord instanceof RegistryRecord) {
+			synchronized (this.registryRecords) {
+				this.registryRecords.add((RegistryRecord) monitoringRecord);
+			}
+			return true;
+		}
+		return super.newMonitoringRecordNonBlocking(monitoringRecord);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder(super.toString());
+		sb.append("\n\tConnection: '");
+		sb.append(this.hostname);
+		sb.append(':');
+		sb.append(this.port);
+		sb.append("'\n\tFlush threshold (bytes): '");
+		sb.append(this.flushThreshold);
+		sb.append("'\n\tFlush interval (ms): '");
+		sb.append(this.flushInterval);
+		sb.append("'\n\tWrite timeout (ms): '");
+		sb.append(this.writeTimeout);
+		sb.append("'\n\tSpill size (bytes): '");
+		sb.append(this.spillSize);
+		sb.append('\'');
+		return sb.toString();
+	}
+
+	/**
+	 * Regularly passes a marker to the worker, so that it sends buffered records and reconnects even if no further records arrive.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private final class FlushTimerThread extends Thread {
+
+		public FlushTimerThread() {
+			super(ResilientTcpWriter.class.getSimpleName() + "-FlushTimer");
+		}
+
+		@Override
+		public void run() {
+			final ResilientTcpWriter writer = ResilientTcpWriter.this;
+			try {
+				while (!writer.worker.isFinished()) {
+					Thread.sleep(writer.flushInterval);
+					// if the queue is full, the worker is busy and flushes anyway
+					writer.blockingQueue.offer(ResilientTcpWriterThread.FLUSH_MARKER);
+				}
+			} catch (final InterruptedException ex) {
+				LOG.warn("Flush timer interrupted; buffered records are only sent with further records.", ex);
+			}
+		}
+	}
+}
@@ -0,0 +1,419 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.monitoring.writer.tcp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.AbstractMonitoringRecord;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.misc.EmptyRecord;
+import kieker.common.record.misc.RegistryRecord;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.writer.AbstractAsyncThread;
+import kieker.monitoring.writer.RecordSerializer;
+
+/**
+ * The worker of the {@link ResilientTcpWriter}. It never passes an {@link IOException} to the {@link AbstractAsyncThread}, which would terminate the
+ * monitoring, but reconnects instead.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+final class ResilientTcpWriterThread extends AbstractAsyncThread {
+	/** Passed by the {@link ResilientTcpWriter} to trigger the time-based flush. */
+	static final IMonitoringRecord FLUSH_MARKER = new EmptyRecord();
+
+	private static final Log LOG = LogFactory.getLog(ResilientTcpWriterThread.class);
+
+	private static final int RECORD_HEADER_SIZE = AbstractMonitoringRecord.TYPE_SIZE_INT + AbstractMonitoringRecord.TYPE_SIZE_LONG;
+	private static final long WRITE_SELECT_TIMEOUT = 1000; // ms
+
+	private final String hostname;
+	private final int port;
+	// the collector for log messages; the address is resolved on each connection attempt, since the collector might come back on a new IP
+	private final String address;
+	private final List<RegistryRecord> registryRecords;
+	private final RecordSerializer recordSerializer;
+	private final int flushThreshold;
+	private final long flushInterval; // ns
+	private final long reconnectInterval; // ns
+	private final long maxReconnectInterval; // ns
+	private final long writeTimeout; // ns
+	private final int spillSize;
+
+	private final ByteBuffer dataBuffer;
+	// the registry records not yet sent over the current connection
+	private final ByteBuffer registryBuffer;
+	private final ByteBuffer[] gatherBuffers = new ByteBuffer[2];
+	// reads the (never expected) data of the analysis side to detect a closed connection
+	private final ByteBuffer probeBuffer = ByteBuffer.allocate(64);
+	// the records not sent while disconnected; allocated on the first disconnection
+	private ByteBuffer spillBuffer;
+
+	private SocketChannel channel;
+	private Selector selector;
+	private boolean connected;
+	private int sentRegistryRecords;
+	private long currentReconnectInterval;
+	private long nextConnectTime;
+	private long connectDeadline;
+	// a write which makes no progress until this deadline is treated as a lost connection
+	private long writeDeadline;
+	private long oldestUnsentTime;
+	private boolean unreachableLogged;
+	private long droppedBytes;
+
+	public ResilientTcpWriterThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
+			final List<RegistryRecord> registryRecords, final String hostname, final int port, final int bufferSize, final int flushThreshold,
+			final long flushInterval, final long reconnectInterval, final long maxReconnectInterval, final long writeTimeout, final int spillSize) {
+		super(monitoringController, writeQueue);
+		this.hostname = hostname;
+		this.port = port;
+		this.address = hostname + ':' + port;
+		this.registryRecords = registryRecords;
+		this.recordSerializer = new RecordSerializer(this.monitoringController.getStringRegistry());
+		this.flushThreshold = flushThreshold;
+		this.flushInterval = TimeUnit.MILLISECONDS.toNanos(flushInterval);
+		this.reconnectInterval = TimeUnit.MILLISECONDS.toNanos(reconnectInterval);
+		this.maxReconnectInterval = TimeUnit.MILLISECONDS.toNanos(maxReconnectInterval);
+		this.writeTimeout = TimeUnit.MILLISECONDS.toNanos(writeTimeout);
+		this.currentReconnectInterval = this.reconnectInterval;
+		this.spillSize = spillSize;
+		this.dataBuffer = ByteBuffer.allocateDirect(bufferSize);
+		this.registryBuffer = ByteBuffer.allocateDirect(bufferSize);
+		this.nextConnectTime = System.nanoTime();
+	}
+
+	@Override
+	protected void consume(final IMonitoringRecord monitoringRecord) {
+		if (monitoringRecord != FLUSH_MARKER) { // NOPMD (CompareObjectsWithEquals)
+			this.serialize(monitoringRecord);
+		}
+		this.flushIfDue();
+	}
+
+	@Override
+	protected void consume(final List<IMonitoringRecord> monitoringRecords) {
+		for (int i = 0; i < monitoringRecords.size(); i++) { // NOPMD (no iterator allocation on the hot path)
+			final IMonitoringRecord monitoringRecord = monitoringRecords.get(i);
+			if (monitoringRecord != FLUSH_MARKER) { // NOPMD (CompareObjectsWithEquals)
+				this.serialize(monitoringRecord);
+			}
+		}
+		this.flushIfDue();
+	}
+
+	private void serialize(final IMonitoringRecord monitoringRecord) {
+		final ByteBuffer buffer = this.dataBuffer;
+		if ((monitoringRecord.getSize() + RECORD_HEADER_SIZE) > buffer.remaining()) {
+			this.flush();
+		}
+		if (buffer.position() == 0) {
+			this.oldestUnsentTime = System.nanoTime();
+		}
+		this.recordSerializer.serialize(monitoringRecord, buffer);
+		if (buffer.position() >= this.flushThreshold) {
+			this.flush();
+		}
+	}
+
+	private void flushIfDue() {
+		final boolean dataDue = (this.dataBuffer.position() > 0) && ((System.nanoTime() - this.oldestUnsentTime) >= this.flushInterval);
+		// while disconnected, each flush marker is also a chance to reconnect and to send the spilled records
+		final boolean spillPending = (this.spillBuffer != null) && (this.spillBuffer.position() > 0);
+		if (dataDue || spillPending) {
+			this.flush();
+		}
+	}
+
+	/**
+	 * Sends the spilled records and the data buffer, preceded by the pending registry records. While disconnected, the data buffer is spilled instead.
+	 */
+	private void flush() {
+		final ByteBuffer data = this.dataBuffer;
+		data.flip();
+		if (this.ensureConnected() && this.sendSpilled()) {
+			this.send(data);
+		}
+		if (data.hasRemaining()) {
+			this.spill(data);
+		}
+		data.clear();
+	}
+
+	/**
+	 * @return true iff the spill buffer is empty and the connection is still usable afterwards
+	 */
+	private boolean sendSpilled() {
+		final ByteBuffer spill = this.spillBuffer;
+		if ((spill == null) || (spill.position() == 0)) {
+			return true;
+		}
+		spill.flip();
+		this.send(spill);
+		if (spill.hasRemaining()) { // not sent at all, keep it
+			spill.position(spill.limit());
+			spill.limit(spill.capacity());
+			return false;
+		}
+		spill.clear();
+		if (this.connected) {
+			LOG.info("Sent the records spilled while disconnected from " + this.address);
+		}
+		return this.connected;
+	}
+
+	/**
+	 * Sends the given buffer together with the pending registry records. If the connection fails before any byte of the buffer has been sent, the buffer
+	 * keeps its position. Otherwise, the remaining bytes are dropped, since the stream cannot be resumed in the middle of a record.
+	 */
+	private void send(final ByteBuffer payload) {
+		final int start = payload.position();
+		try {
+			this.fillRegistryBuffer();
+			final ByteBuffer registry = this.registryBuffer;
+			registry.flip();
+			final ByteBuffer[] buffers = this.gatherBuffers;
+			buffers[0] = registry;
+			buffers[1] = payload;
+			this.writeDeadline = System.nanoTime() + this.writeTimeout;
+			while (registry.hasRemaining() || payload.hasRemaining()) {
+				if (this.channel.write(buffers) == 0) {
+					this.awaitWritable();
+				} else {
+					this.writeDeadline = System.nanoTime() + this.writeTimeout;
+				}
+			}
+			registry.clear();
+		} catch (final IOException ex) {
+			this.disconnect("Connection to " + this.address + " lost", ex);
+			if (payload.position() != start) {
+				this.dropped(payload.remaining());
+				payload.position(payload.limit());
+			}
+		}
+	}
+
+	/**
+	 * Appends the registry records not yet sent over the current connection to the registry buffer. Registry records which do not fit are sent ahead.
+	 */
+	private void fillRegistryBuffer() throws IOException {
+		final ByteBuffer registry = this.registryBuffer;
+		synchronized (this.registryRecords) {
+			final int numRegistryRecords = this.registryRecords.size();
+			for (; this.sentRegistryRecords < numRegistryRecords; this.sentRegistryRecords++) {
+				final RegistryRecord registryRecord = this.registryRecords.get(this.sentRegistryRecords);
+				final int size = AbstractMonitoringRecord.TYPE_SIZE_INT + registryRecord.getSize();
+				if (size > registry.remaining()) {
+					registry.flip();
+					this.writeFully(registry);
+					registry.clear();
+					if (size > registry.remaining()) { // very long string, larger than the buffer
+						final ByteBuffer largeBuffer = ByteBuffer.allocate(size);
+						this.recordSerializer.serialize(registryRecord, largeBuffer);
+						largeBuffer.flip();
+						this.writeFully(largeBuffer);
+						continue;
+					}
+				}
+				this.recordSerializer.serialize(registryRecord, registry);
+			}
+		}
+	}
+
+	private void writeFully(final ByteBuffer buffer) throws IOException {
+		this.writeDeadline = System.nanoTime() + this.writeTimeout;
+		while (buffer.hasRemaining()) {
+			if (this.channel.write(buffer) == 0) {
+				this.awaitWritable();
+			} else {
+				this.writeDeadline = System.nanoTime() + this.writeTimeout;
+			}
+		}
+	}
+
+	/**
+	 * Waits until the channel is writable again. A collector which is alive but does not read anymore would otherwise stall the writer forever, and the full
+	 * queue would finally block the application threads.
+	 */
+	private void awaitWritable() throws IOException {
+		final long remaining = this.writeDeadline - System.nanoTime();
+		if (remaining <= 0) {
+			throw new SocketTimeoutException("No data written for " + TimeUnit.NANOSECONDS.toMillis(this.writeTimeout) + " ms");
+		}
+		this.selector.select(Math.max(1, Math.min(WRITE_SELECT_TIMEOUT, TimeUnit.NANOSECONDS.toMillis(remaining))));
+		this.selector.selectedKeys().clear();
+	}
+
+	private void spill(final ByteBuffer data) {
+		if (this.spillBuffer == null) {
+			this.spillBuffer = ByteBuffer.allocate(this.spillSize);
+		}
+		if (data.remaining() <= this.spillBuffer.remaining()) {
+			this.spillBuffer.put(data);
+		} else {
+			this.dropped(data.remaining());
+			data.position(data.limit());
+		}
+	}
+
+	private void dropped(final int numBytes) {
+		final long droppedBefore = this.droppedBytes;
+		this.droppedBytes += numBytes;
+		// warn upon the first drop and upon every further MiB
+		if ((droppedBefore == 0) || ((droppedBefore >>> 20) != (this.droppedBytes >>> 20))) {
+			LOG.warn("Dropped records since the connection to " + this.address + " is not available. Dropped bytes so far: " + this.droppedBytes);
+		}
+	}
+
+	/**
+	 * Checks the current connection or advances a pending non-blocking connect. A new connection is only initiated after the current reconnect interval.
+	 *
+	 * @return true iff the connection is usable
+	 */
+	private boolean ensureConnected() {
+		if (this.connected) {
+			if (!this.isClosedByPeer()) {
+				return true;
+			}
+			this.disconnect("Connection closed by " + this.address, null);
+		}
+		final long now = System.nanoTime();
+		try {
+			if (this.channel == null) {
+				if ((now - this.nextConnectTime) < 0) {
+					return false;
+				}
+				final InetSocketAddress socketAddress = new InetSocketAddress(this.hostname, this.port);
+				if (socketAddress.isUnresolved()) {
+					// connect would throw an UnresolvedAddressException, which is not an IOException
+					this.disconnect("Failed to resolve " + this.hostname, null);
+					return false;
+				}
+				this.channel = SocketChannel.open();
+				this.channel.configureBlocking(false);
+				this.connectDeadline = now + this.currentReconnectInterval;
+				if (this.channel.connect(socketAddress)) {
+					return this.connectionEstablished();
+				}
+			}
+			if (this.channel.finishConnect()) {
+				return this.connectionEstablished();
+			}
+			if ((now - this.connectDeadline) >= 0) {
+				this.disconnect("Timeout while connecting to " + this.address, null);
+			}
+		} catch (final IOException ex) {
+			this.disconnect("Failed to connect to " + this.address, ex);
+		}
+		return false;
+	}
+
+	private boolean connectionEstablished() throws IOException {
+		this.selector = Selector.open();
+		this.channel.register(this.selector, SelectionKey.OP_WRITE);
+		this.connected = true;
+		this.currentReconnectInterval = this.reconnectInterval;
+		this.unreachableLogged = false;
+		// the other side might be a new reader which does not know any registry record
+		this.sentRegistryRecords = 0;
+		this.registryBuffer.clear();
+		LOG.info("Connected to " + this.address);
+		return true;
+	}
+
+	/**
+	 * Detects an orderly close of the analysis side, which does not send anything; otherwise, the next records would be written into the void.
+	 */
+	private boolean isClosedByPeer() {
+		try {
+			int read;
+			do {
+				this.probeBuffer.clear();
+				read = this.channel.read(this.probeBuffer);
+			} while (read > 0);
+			return read < 0;
+		} catch (final IOException ex) {
+			return true;
+		}
+	}
+
+	private void disconnect(final String reason, final IOException cause) {
+		if (this.connected) {
+			LOG.warn(reason + "; reconnecting", cause);
+		} else if (!this.unreachableLogged) {
+			LOG.warn(reason + "; retrying with increasing intervals", cause);
+			this.unreachableLogged = true;
+		} else if (LOG.isDebugEnabled()) {
+			LOG.debug(reason, cause);
+		}
+		this.closeChannel();
+		this.connected = false;
+		this.nextConnectTime = System.nanoTime() + this.currentReconnectInterval;
+		this.currentReconnectInterval = Math.min(this.currentReconnectInterval * 2, this.maxReconnectInterval);
+	}
+
+	private void closeChannel() {
+		try {
+			if (this.selector != null) {
+				this.selector.close();
+			}
+			if (this.channel != null) {
+				this.channel.close();
+			}
+		} catch (final IOException ex) {
+			LOG.debug("Failed to close connection", ex);
+		}
+		this.selector = null;
+		this.channel = null;
+	}
+
+	@Override
+	protected void cleanup() {
+		// one last attempt to deliver everything, regardless of the reconnect interval
+		this.nextConnectTime = System.nanoTime();
+		this.flush();
+		if ((this.spillBuffer != null) && (this.spillBuffer.position() > 0)) {
+			LOG.warn("Terminating without connection to " + this.address + "; " + this.spillBuffer.position() + " bytes of records are lost.");
+		}
+		this.closeChannel();
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder(super.toString());
+		sb.append("; Connected: '");
+		sb.append(this.connected);
+		sb.append("'; Dropped bytes: '");
+		sb.append(this.droppedBytes);
+		sb.append('\'');
+		return sb.toString();
+	}
+}
@@ -20,13 +20,19 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 import kieker.common.configuration.Configuration;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.compact.CompactEncoding;
+import kieker.common.record.compact.CompactRecordEncoder;
 import kieker.common.record.misc.RegistryRecord;
+import kieker.common.util.filesystem.BinaryCompressionMethod;
+import kieker.common.util.filesystem.Lz4BlockByteChannel;
 import kieker.common.util.registry.IRegistry;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.writer.AbstractAsyncThread;
@@ -45,12 +51,18 @@ public final class TCPWriter extends AbstractAsyncWriter {
 	public static final String CONFIG_PORT2 = PREFIX + "port2"; // NOCS (afterPREFIX)
 	public static final String CONFIG_BUFFERSIZE = PREFIX + "bufferSize"; // NOCS (afterPREFIX)
 	public static final String CONFIG_FLUSH = PREFIX + "flush"; // NOCS (afterPREFIX)
+	public static final String CONFIG_COMPACT = PREFIX + "compact"; // NOCS (afterPREFIX)
+	public static final String CONFIG_COMPRESS = PREFIX + "compress"; // NOCS (afterPREFIX)
+
+	private static final Log LOG = LogFactory.getLog(TCPWriter.class);
 
 	private final String hostname;
 	private final int port1;
 	private final int port2;
 	private final int bufferSize;
 	private final boolean flush;
+	private final boolean compact;
+	private final boolean compress;
 
 	public TCPWriter(final Configuration configuration) {
 		super(configuration);
@@ -60,12 +72,25 @@ public final class TCPWriter extends AbstractAsyncWriter {
 		// should be check for buffers too small for a single record?
 		this.bufferSize = configuration.getIntProperty(CONFIG_BUFFERSIZE);
 		this.flush = configuration.getBooleanProperty(CONFIG_FLUSH);
+		this.compact = configuration.getBooleanProperty(CONFIG_COMPACT);
+		final String compressionMethod = configuration.getStringProperty(CONFIG_COMPRESS);
+		if (BinaryCompressionMethod.LZ4.name().equals(compressionMethod)) {
+			this.compress = true;
+		} else {
+			if (!compressionMethod.isEmpty() && !BinaryCompressionMethod.NONE.name().equals(compressionMethod)) {
+				LOG.warn("Unsupported compression method '" + compressionMethod + "' (only NONE and LZ4 are supported). Using NONE instead.");
+			}
+			this.compress = false;
+		}
 	}
 
 	@Override
 	protected void init() throws Exception {
-		this.addWorker(new TCPWriterThread(this.monitoringController, this.blockingQueue, this.hostname, this.port1, this.bufferSize, this.flush));
-		this.addWorker(new TCPWriterThread(this.monitoringController, this.prioritizedBlockingQueue, this.hostname, this.port2, this.bufferSize, this.flush));
+		this.addWorker(new TCPWriterThread(this.monitoringController, this.blockingQueue, this.hostname, this.port1, this.bufferSize, this.flush,
+				this.compact, this.compress));
+		// the registry records are always sent uncompressed in their fixed-width layout
+		this.addWorker(new TCPWriterThread(this.monitoringController, this.prioritizedBlockingQueue, this.hostname, this.port2, this.bufferSize, this.flush,
+				false, false));
 	}
 }
 
@@ -79,59 +104,111 @@ final class TCPWriterThread extends AbstractAsyncThread {
 	private static final Log LOG = LogFactory.getLog(TCPWriterThread.class);
 
 	private final SocketChannel socketChannel;
+	// the socket channel or a channel compressing each sent buffer as one block
+	private final WritableByteChannel channel;
 	private final ByteBuffer byteBuffer;
 	private final IRegistry<String> stringRegistry;
 	private final boolean flush;
+	// null if the fixed-width layout is used
+	private final CompactRecordEncoder compactEncoder;
 
 	public TCPWriterThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue, final String hostname,
-			final int port, final int bufferSize, final boolean flush) throws IOException {
+			final int port, final int bufferSize, final boolean flush, final boolean compact,
+			final boolean compress) throws IOException {
 		super(monitoringController, writeQueue);
-		this.byteBuffer = ByteBuffer.allocateDirect(bufferSize);
+		// the compression requires the data in an array
+		this.byteBuffer = compress ? ByteBuffer.allocate(bufferSize) : ByteBuffer.allocateDirect(bufferSize); // NOCS (inline cond)
 		this.socketChannel = SocketChannel.open(new InetSocketAddress(hostname, port));
+		this.channel = compress ? new Lz4BlockByteChannel(this.socketChannel) : this.socketChannel; // NOCS (inline cond)
 		this.stringRegistry = this.monitoringController.getStringRegistry();
 		this.flush = flush;
+		if (compact) {
+			this.compactEncoder = new CompactRecordEncoder(this.stringRegistry);
+			this.compactEncoder.startStream(this.byteBuffer);
+		} else {
+			this.compactEncoder = null;
+		}
 	}
 
 	@Override
 	protected void consume(final IMonitoringRecord monitoringRecord) throws Exception {
+		final boolean registryRecord = this.serialize(monitoringRecord);
+		if (this.flush || registryRecord) {
+			this.flushBuffer();
+		}
+	}
+
+	@Override
+	protected void consume(final List<IMonitoringRecord> monitoringRecords) throws Exception {
+		boolean flushBatch = this.flush;
+		for (int i = 0; i < monitoringRecords.size(); i++) { // NOPMD (no iterator allocation on the hot path)
+			flushBatch |= this.serialize(monitoringRecords.get(i));
+		}
+		if (flushBatch) {
+			this.flushBuffer();
+		}
+	}
+
+	/**
+	 * Serializes the given record into the buffer and sends the buffer if it is full.
+	 *
+	 * @param monitoringRecord
+	 *            the record to serialize
+	 *
+	 * @throws IOException
+	 *             if the buffer could not be sent
+	 *
+	 * @return true iff the record is a {@link RegistryRecord} (which have to be sent immediately)
+	 */
+	private boolean serialize(final IMonitoringRecord monitoringRecord) throws IOException {
+		final ByteBuffer buffer = this.byteBuffer;
 		if (monitoringRecord instanceof RegistryRecord) {
-			final ByteBuffer buffer = ByteBuffer.allocateDirect(monitoringRecord.getSize());
+			final int size = monitoringRecord.getSize();
+			if (size > buffer.remaining()) {
+				this.flushBuffer();
+				if (size > buffer.remaining()) { // very long string, larger than the buffer
+					final ByteBuffer largeBuffer = ByteBuffer.allocate(size);
+					monitoringRecord.writeBytes(largeBuffer, this.stringRegistry);
+					largeBuffer.flip();
+					while (largeBuffer.hasRemaining()) {
+						this.channel.write(largeBuffer);
+					}
+					return true;
+				}
+			}
 			monitoringRecord.writeBytes(buffer, this.stringRegistry);
-			buffer.flip();
-			while (buffer.hasRemaining()) {
-				this.socketChannel.write(buffer);
+			return true;
+		} else if (this.compactEncoder != null) {
+			if (CompactEncoding.maxRecordSize(monitoringRecord.getValueTypes()) > buffer.remaining()) {
+				this.flushBuffer();
 			}
+			this.compactEncoder.encode(monitoringRecord, this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()), buffer);
+			return false;
 		} else {
-			final ByteBuffer buffer = this.byteBuffer;
 			if ((monitoringRecord.getSize() + 4 + 8) > buffer.remaining()) {
-				buffer.flip();
-				while (buffer.hasRemaining()) {
-					this.socketChannel.write(buffer);
-				}
-				buffer.clear();
+				this.flushBuffer();
 			}
 			buffer.putInt(this.monitoringController.getUniqueIdForString(monitoringRecord.getClass().getName()));
 			buffer.putLong(monitoringRecord.getLoggingTimestamp());
 			monitoringRecord.writeBytes(buffer, this.stringRegistry);
-			if (this.flush) {
-				buffer.flip();
-				while (buffer.hasRemaining()) {
-					this.socketChannel.write(buffer);
-				}
-				buffer.clear();
-			}
+			return false;
 		}
 	}
 
+	private void flushBuffer() throws IOException {
+		final ByteBuffer buffer = this.byteBuffer;
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			this.channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
 	@Override
 	protected void cleanup() {
 		try {
-			final ByteBuffer buffer = this.byteBuffer;
-			buffer.flip();
-			while (buffer.hasRemaining()) {
-				this.socketChannel.write(buffer);
-			}
-			this.socketChannel.close();
+			this.flushBuffer();
+			this.channel.close();
 		} catch (final IOException ex) {
 			LOG.error("Error closing connection", ex);
 		}
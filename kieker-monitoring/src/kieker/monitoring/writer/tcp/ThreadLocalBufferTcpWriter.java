@@ -0,0 +1,107 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.monitoring.writer.tcp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.IMonitoringRecord;
+import kieker.monitoring.writer.AbstractThreadLocalBufferWriter;
+
+/**
+ * A TCP writer which serializes the records in the monitored threads (see {@link AbstractThreadLocalBufferWriter}). The records are sent to the first port
+ * and the registry records to the second port, just like the {@link TCPWriter} does. Hence, it can be used with the same reader.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public final class ThreadLocalBufferTcpWriter extends AbstractThreadLocalBufferWriter {
+	private static final Log LOG = LogFactory.getLog(ThreadLocalBufferTcpWriter.class);
+
+	private static final String PREFIX = ThreadLocalBufferTcpWriter.class.getName() + ".";
+	public static final String CONFIG_HOSTNAME = PREFIX + "hostname"; // NOCS (afterPREFIX)
+	public static final String CONFIG_PORT1 = PREFIX + "port1"; // NOCS (afterPREFIX)
+	public static final String CONFIG_PORT2 = PREFIX + "port2"; // NOCS (afterPREFIX)
+	public static final String CONFIG_BUFFERSIZE = PREFIX + "bufferSize"; // NOCS (afterPREFIX)
+
+	private final String hostname;
+	private final int port1;
+	private final int port2;
+	private final int bufferSize;
+
+	private SocketChannel recordChannel;
+	private SocketChannel registryChannel;
+	private ByteBuffer registryBuffer;
+
+	public ThreadLocalBufferTcpWriter(final Configuration configuration) {
+		super(configuration);
+		this.hostname = configuration.getStringProperty(CONFIG_HOSTNAME);
+		this.port1 = configuration.getIntProperty(CONFIG_PORT1);
+		this.port2 = configuration.getIntProperty(CONFIG_PORT2);
+		this.bufferSize = configuration.getIntProperty(CONFIG_BUFFERSIZE);
+	}
+
+	@Override
+	protected void openOutput() throws IOException {
+		this.registryBuffer = ByteBuffer.allocateDirect(this.bufferSize);
+		this.recordChannel = SocketChannel.open(new InetSocketAddress(this.hostname, this.port1));
+		this.registryChannel = SocketChannel.open(new InetSocketAddress(this.hostname, this.port2));
+	}
+
+	@Override
+	protected void writeChunk(final ByteBuffer chunk) throws IOException {
+		while (chunk.hasRemaining()) {
+			this.recordChannel.write(chunk);
+		}
+	}
+
+	@Override
+	protected void writeRegistryRecord(final IMonitoringRecord registryRecord) throws IOException {
+		final int size = registryRecord.getSize();
+		// very long strings do not fit into the buffer
+		final ByteBuffer buffer = (size > this.registryBuffer.capacity()) ? ByteBuffer.allocate(size) : this.registryBuffer; // NOCS (inline cond)
+		registryRecord.writeBytes(buffer, this.stringRegistry);
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			this.registryChannel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	@Override
+	protected void closeOutput() {
+		ThreadLocalBufferTcpWriter.close(this.recordChannel);
+		ThreadLocalBufferTcpWriter.close(this.registryChannel);
+	}
+
+	private static void close(final SocketChannel channel) {
+		if (channel == null) { // the connection might have failed
+			return;
+		}
+		try {
+			channel.close();
+		} catch (final IOException ex) {
+			LOG.error("Error closing connection", ex);
+		}
+	}
+}
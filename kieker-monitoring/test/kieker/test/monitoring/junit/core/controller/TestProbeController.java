@@ -49,6 +49,7 @@ import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
 import kieker.monitoring.core.signaturePattern.InvalidPatternException;
 import kieker.monitoring.core.signaturePattern.SignatureFactory;
+import kieker.monitoring.probe.aspectj.JoinPointInfo;
 import kieker.monitoring.writer.DummyWriter;
 
 import kieker.test.common.junit.AbstractKiekerTest;
@@ -371,6 +372,53 @@ public class TestProbeController extends AbstractKiekerTest {
 		ctrl.terminateMonitoring();
 	}
 
+	/**
+	 * Test that the activation state cached for a join point is invalidated whenever the probe patterns change.
+	 */
+	@Test
+	public void testCachedActivationOfJoinPoints() {
+		final Configuration configuration = ConfigurationFactory.createSingletonConfiguration();
+		configuration.setProperty(ConfigurationFactory.WRITER_CLASSNAME, DummyWriter.class.getName());
+		configuration.setProperty(ConfigurationFactory.ADAPTIVE_MONITORING_ENABLED, "true");
+		final IMonitoringController ctrl = MonitoringController.createInstance(configuration);
+
+		final JoinPointInfo joinPointInfo = new JoinPointInfo("public void test.Test.getNothing()");
+		final int initialVersion = ctrl.getProbePatternVersion();
+		Assert.assertTrue(joinPointInfo.isProbeActivated(ctrl));
+		Assert.assertTrue(joinPointInfo.isProbeActivated(ctrl)); // cached
+
+		ctrl.deactivateProbe("public void test.Test.get*()");
+		Assert.assertTrue(ctrl.getProbePatternVersion() != initialVersion);
+		Assert.assertFalse(joinPointInfo.isProbeActivated(ctrl));
+		Assert.assertFalse(joinPointInfo.isProbeActivated(ctrl)); // cached
+
+		final List<String> patternList = new ArrayList<String>();
+		patternList.add("+ public void test.Test.getNothing()");
+		ctrl.setProbePatternList(patternList);
+		Assert.assertTrue(joinPointInfo.isProbeActivated(ctrl));
+
+		ctrl.setProbePatternList(new ArrayList<String>());
+		Assert.assertTrue(joinPointInfo.isProbeActivated(ctrl));
+		ctrl.terminateMonitoring();
+	}
+
+	/**
+	 * Test that warming up the signature cache for a class does not change the activation of its operations.
+	 */
+	@Test
+	public void testWarmUpSignatureCache() {
+		final Configuration configuration = ConfigurationFactory.createSingletonConfiguration();
+		configuration.setProperty(ConfigurationFactory.WRITER_CLASSNAME, DummyWriter.class.getName());
+		configuration.setProperty(ConfigurationFactory.ADAPTIVE_MONITORING_ENABLED, "true");
+		final IMonitoringController ctrl = MonitoringController.createInstance(configuration);
+
+		ctrl.deactivateProbe("* kieker.monitoring.writer.DummyWriter.*(..)"); // does not match constructors
+		ctrl.warmUpSignatureCache(DummyWriter.class);
+		Assert.assertFalse(ctrl.isProbeActivated("public void kieker.monitoring.writer.DummyWriter.terminate()"));
+		Assert.assertTrue(ctrl.isProbeActivated("public kieker.monitoring.writer.DummyWriter.<init>(kieker.common.configuration.Configuration)"));
+		ctrl.terminateMonitoring();
+	}
+
 	/**
 	 * Replaces the old content of the config file with the given pattern and a few additional information.
 	 */
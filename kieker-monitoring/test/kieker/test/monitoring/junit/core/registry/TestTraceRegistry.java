@@ -0,0 +1,155 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.monitoring.junit.core.registry;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.record.flow.trace.TraceMetadata;
+import kieker.monitoring.core.registry.TraceRegistry;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the nesting of traces, the hand-off of split points, and the concurrent creation of traces by the {@link TraceRegistry}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestTraceRegistry extends AbstractKiekerTest {
+
+	private static final int NUMBER_OF_THREADS = 8;
+	private static final int TRACES_PER_THREAD = 5000;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestTraceRegistry() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests that nested traces refer to their enclosing traces and that the enclosing traces are restored.
+	 */
+	@Test
+	public void testNestedTraces() {
+		final TraceRegistry registry = TraceRegistry.INSTANCE;
+		Assert.assertNull(registry.getTrace());
+
+		final TraceMetadata outer = registry.registerTrace();
+		Assert.assertEquals(outer.getTraceId(), outer.getParentTraceId());
+		TraceMetadata enclosing = outer;
+		for (int i = 0; i < 10; i++) { // exceeds the initial capacity of the stack
+			final TraceMetadata inner = registry.registerTrace();
+			Assert.assertEquals(enclosing.getTraceId(), inner.getParentTraceId());
+			Assert.assertEquals(-1, inner.getParentOrderId());
+			Assert.assertSame(inner, registry.getTrace());
+			enclosing = inner;
+		}
+		for (int i = 0; i < 10; i++) {
+			registry.unregisterTrace();
+		}
+		Assert.assertSame(outer, registry.getTrace());
+		registry.unregisterTrace();
+		Assert.assertNull(registry.getTrace());
+	}
+
+	/**
+	 * Tests that a split point registered for a thread is used by the first trace of this thread only.
+	 *
+	 * @throws InterruptedException
+	 *             If the test has been interrupted.
+	 */
+	@Test
+	public void testSplitPointHandOff() throws InterruptedException {
+		final TraceRegistry registry = TraceRegistry.INSTANCE;
+		final TraceMetadata[] traces = new TraceMetadata[2];
+		final Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				traces[0] = registry.registerTrace();
+				registry.unregisterTrace();
+				traces[1] = registry.registerTrace();
+				registry.unregisterTrace();
+			}
+		});
+		registry.setParentTraceId(thread, 4711L, 42);
+		thread.start();
+		thread.join();
+
+		Assert.assertEquals(4711L, traces[0].getParentTraceId());
+		Assert.assertEquals(42, traces[0].getParentOrderId());
+		Assert.assertEquals(traces[1].getTraceId(), traces[1].getParentTraceId());
+		Assert.assertEquals(-1, traces[1].getParentOrderId());
+	}
+
+	/**
+	 * Tests that traces created concurrently by several threads have unique ids and do not affect each other.
+	 *
+	 * @throws InterruptedException
+	 *             If the test has been interrupted.
+	 */
+	@Test
+	public void testConcurrentTraces() throws InterruptedException {
+		final TraceRegistry registry = TraceRegistry.INSTANCE;
+		final Set<Long> traceIds = Collections.synchronizedSet(new HashSet<Long>());
+		final boolean[] failed = new boolean[NUMBER_OF_THREADS];
+		final Thread[] threads = new Thread[NUMBER_OF_THREADS];
+		for (int t = 0; t < NUMBER_OF_THREADS; t++) {
+			final int threadIndex = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					final long threadId = Thread.currentThread().getId();
+					for (int i = 0; i < TRACES_PER_THREAD; i++) {
+						final TraceMetadata outer = registry.registerTrace();
+						final TraceMetadata inner = registry.registerTrace();
+						traceIds.add(outer.getTraceId());
+						traceIds.add(inner.getTraceId());
+						if ((outer.getThreadId() != threadId) || (inner.getParentTraceId() != outer.getTraceId())) {
+							failed[threadIndex] = true;
+						}
+						registry.unregisterTrace();
+						if (registry.getTrace() != outer) { // NOPMD (CompareObjectsWithEquals)
+							failed[threadIndex] = true;
+						}
+						registry.unregisterTrace();
+					}
+					if (registry.getTrace() != null) {
+						failed[threadIndex] = true;
+					}
+				}
+			});
+		}
+		for (final Thread thread : threads) {
+			thread.start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		for (int t = 0; t < NUMBER_OF_THREADS; t++) {
+			Assert.assertFalse("Inconsistent traces in thread " + t, failed[t]);
+		}
+		Assert.assertEquals(NUMBER_OF_THREADS * TRACES_PER_THREAD * 2, traceIds.size());
+	}
+}
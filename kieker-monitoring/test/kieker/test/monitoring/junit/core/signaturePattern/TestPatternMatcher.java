@@ -0,0 +1,116 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.monitoring.junit.core.signaturePattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.monitoring.core.signaturePattern.InvalidPatternException;
+import kieker.monitoring.core.signaturePattern.PatternEntry;
+import kieker.monitoring.core.signaturePattern.PatternMatcher;
+import kieker.monitoring.core.signaturePattern.SignatureFactory;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests that the {@link PatternMatcher} finds the same entries as testing all patterns in order.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestPatternMatcher extends AbstractKiekerTest {
+
+	private static final String[] PATTERNS = {
+		"*",
+		"- public * ..Clazz.get*(..)",
+		"+ public int kieker.test.Clazz.getValue()",
+		"- * kieker.test..*.*(..)",
+		"+ * kieker.test.sub.Other.*(..)",
+		"- private * ..*.set*(int, ..)",
+		"+ * *.Outer$Inner.run()",
+		"- public new kieker.test.Clazz.<init>(..)",
+		"- %CPU::.*",
+		"+ java.lang.String ..Clazz.toString()",
+		"- * ..*Service.handle(..)",
+	};
+
+	private static final String[] SIGNATURES = {
+		"public int kieker.test.Clazz.getValue()",
+		"public java.lang.String kieker.test.Clazz.getName()",
+		"public static void other.Clazz.getNothing(int, long)",
+		"public java.lang.String other.Clazz.toString()",
+		"private void kieker.test.sub.Other.setValue(int, java.lang.String)",
+		"private void kieker.test.sub.Other.setValue(long)",
+		"public void a.b.Outer$Inner.run()",
+		"public void a.b.Outer.run()",
+		"public kieker.test.Clazz.<init>(int)",
+		"public void a.b.OrderService.handle(a.b.Order)",
+		"public void a.b.Service.handle()",
+		"%CPU::1",
+		"%MEM_SWAP",
+	};
+
+	/**
+	 * Default constructor.
+	 */
+	public TestPatternMatcher() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests each prefix of the pattern list against all signatures.
+	 *
+	 * @throws InvalidPatternException
+	 *             If a pattern is invalid.
+	 */
+	@Test
+	public void testSameResultsAsLinearSearch() throws InvalidPatternException {
+		final List<PatternEntry> entries = new ArrayList<PatternEntry>();
+		for (final String pattern : PATTERNS) {
+			final String strPattern = pattern.startsWith(String.valueOf(SignatureFactory.PATTERN_PREFIX)) ? pattern : pattern.substring(pattern.indexOf(' ') + 1);
+			try {
+				entries.add(new PatternEntry(strPattern.trim(), !pattern.startsWith("-")));
+			} catch (final InvalidPatternException ex) {
+				continue; // the matcher only gets valid patterns
+			}
+			final PatternMatcher matcher = new PatternMatcher(entries);
+			for (final String signature : SIGNATURES) {
+				Assert.assertSame("Unexpected entry for " + signature + " and " + entries.size() + " patterns",
+						TestPatternMatcher.findLastMatchingEntry(entries, signature), matcher.findLastMatchingEntry(signature));
+			}
+		}
+		Assert.assertEquals(PATTERNS.length - 1, entries.size()); // the constructor pattern is invalid
+		final PatternMatcher matcher = new PatternMatcher(entries);
+		Assert.assertEquals("java.lang.String ..Clazz.toString()", matcher.findLastMatchingEntry("public java.lang.String other.Clazz.toString()").getStrPattern());
+		Assert.assertEquals("* ..*Service.handle(..)", matcher.findLastMatchingEntry("public void a.b.OrderService.handle(a.b.Order)").getStrPattern());
+		Assert.assertEquals("%CPU::.*", matcher.findLastMatchingEntry("%CPU::1").getStrPattern());
+		Assert.assertEquals("*", matcher.findLastMatchingEntry("%MEM_SWAP").getStrPattern());
+	}
+
+	private static PatternEntry findLastMatchingEntry(final List<PatternEntry> entries, final String signature) {
+		for (int i = entries.size() - 1; i >= 0; i--) {
+			if (entries.get(i).getPattern().matcher(signature).matches()) {
+				return entries.get(i);
+			}
+		}
+		return null;
+	}
+}
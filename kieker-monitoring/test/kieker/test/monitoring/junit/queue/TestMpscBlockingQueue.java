@@ -0,0 +1,166 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.monitoring.junit.queue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.monitoring.queue.MpscBlockingQueue;
+import kieker.monitoring.queue.ParkWaitStrategy;
+import kieker.monitoring.queue.YieldWaitStrategy;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the {@link MpscBlockingQueue}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestMpscBlockingQueue extends AbstractKiekerTest {
+
+	private static final int NUMBER_OF_PRODUCERS = 4;
+	private static final int ELEMENTS_PER_PRODUCER = 100000;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestMpscBlockingQueue() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests the iterator and the collection operations based on it.
+	 */
+	@Test
+	public void testIterator() {
+		final MpscBlockingQueue<Integer> queue = new MpscBlockingQueue<Integer>(4, new ParkWaitStrategy());
+		Assert.assertFalse(queue.iterator().hasNext());
+		for (int i = 0; i < 4; i++) {
+			Assert.assertTrue(queue.offer(i));
+		}
+		Assert.assertEquals(Integer.valueOf(0), queue.poll());
+		Assert.assertTrue(queue.offer(4)); // wraps around the ring buffer
+
+		final Iterator<Integer> iterator = queue.iterator();
+		Assert.assertEquals(Integer.valueOf(1), iterator.next());
+		Assert.assertEquals(Integer.valueOf(1), queue.poll()); // consumed meanwhile
+		Assert.assertEquals(Integer.valueOf(2), iterator.next());
+		Assert.assertEquals(Integer.valueOf(3), iterator.next());
+		Assert.assertEquals(Integer.valueOf(4), iterator.next());
+		Assert.assertFalse(iterator.hasNext());
+
+		Assert.assertArrayEquals(new Object[] { 2, 3, 4 }, queue.toArray());
+		Assert.assertTrue(queue.contains(3));
+		Assert.assertFalse(queue.contains(1));
+		Assert.assertTrue(queue.containsAll(Arrays.asList(2, 4)));
+		Assert.assertEquals(3, queue.size());
+	}
+
+	/**
+	 * Tests the behavior of the non-blocking operations on a full and on an empty queue.
+	 *
+	 * @throws InterruptedException
+	 *             If the test was interrupted.
+	 */
+	@Test
+	public void testFullAndEmptyQueue() throws InterruptedException {
+		final MpscBlockingQueue<Integer> queue = new MpscBlockingQueue<Integer>(4, new ParkWaitStrategy());
+		Assert.assertNull(queue.poll());
+		Assert.assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+		for (int i = 0; i < 4; i++) {
+			Assert.assertTrue(queue.offer(i));
+		}
+		Assert.assertFalse(queue.offer(4));
+		Assert.assertFalse(queue.offer(4, 1, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(0, queue.remainingCapacity());
+		try {
+			queue.add(4);
+			Assert.fail("Expected an IllegalStateException on a full queue");
+		} catch (final IllegalStateException ex) { // NOPMD (expected)
+			// expected
+		}
+		Assert.assertEquals(Integer.valueOf(0), queue.take());
+		final List<Integer> drained = new ArrayList<Integer>();
+		Assert.assertEquals(2, queue.drainTo(drained, 2));
+		Assert.assertEquals(Integer.valueOf(1), drained.get(0));
+		Assert.assertEquals(Integer.valueOf(2), drained.get(1));
+		Assert.assertEquals(1, queue.size());
+	}
+
+	/**
+	 * Tests that concurrently produced elements are all consumed exactly once and in the order of each single producer.
+	 *
+	 * @throws InterruptedException
+	 *             If the test was interrupted.
+	 */
+	@Test
+	public void testMultipleProducers() throws InterruptedException {
+		final MpscBlockingQueue<Integer> queue = new MpscBlockingQueue<Integer>(64, new YieldWaitStrategy());
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final Thread[] producers = new Thread[NUMBER_OF_PRODUCERS];
+		for (int p = 0; p < NUMBER_OF_PRODUCERS; p++) {
+			final int producerId = p;
+			producers[p] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						startLatch.await();
+						for (int i = 0; i < ELEMENTS_PER_PRODUCER; i++) {
+							queue.put((i * NUMBER_OF_PRODUCERS) + producerId);
+						}
+					} catch (final InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			};
+			producers[p].start();
+		}
+		startLatch.countDown();
+
+		final int[] lastSeen = new int[NUMBER_OF_PRODUCERS];
+		for (int p = 0; p < NUMBER_OF_PRODUCERS; p++) {
+			lastSeen[p] = -1;
+		}
+		final List<Integer> batch = new ArrayList<Integer>();
+		int consumed = 0;
+		while (consumed < (NUMBER_OF_PRODUCERS * ELEMENTS_PER_PRODUCER)) {
+			batch.add(queue.take());
+			queue.drainTo(batch, 31);
+			for (final Integer element : batch) {
+				final int producerId = element % NUMBER_OF_PRODUCERS;
+				final int sequence = element / NUMBER_OF_PRODUCERS;
+				Assert.assertEquals("Elements of a single producer must not be reordered", lastSeen[producerId] + 1, sequence);
+				lastSeen[producerId] = sequence;
+			}
+			consumed += batch.size();
+			batch.clear();
+		}
+		for (final Thread producer : producers) {
+			producer.join();
+		}
+		Assert.assertTrue(queue.isEmpty());
+	}
+}
@@ -0,0 +1,131 @@
+/***************************************************************************
+ * Copyright 2015 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.monitoring.junit.timer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.configuration.Configuration;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.timer.CachedSystemTimer;
+
+/**
+ * This class is a JUnit test for the {@link CachedSystemTimer}, testing the timer with different configurations.
+ * 
+ * @author Kieker Team
+ * 
+ * @since 1.13
+ */
+public final class TestCachedSystemTimer extends AbstractTestTimeSource {
+
+	/**
+	 * Default constructor.
+	 */
+	public TestCachedSystemTimer() {
+		// empty default constructor
+	}
+
+	/**
+	 * This method tests the {@link CachedSystemTimer} with default configuration.
+	 */
+	@Test
+	public final void testDefault() { // NOPMD (assert in superclass)
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		final CachedSystemTimer ts = new CachedSystemTimer(configuration);
+		super.testTime(ts, TimeUnit.NANOSECONDS);
+		ts.close();
+	}
+
+	/**
+	 * This method tests the {@link CachedSystemTimer} with nanoseconds as time unit.
+	 */
+	@Test
+	public final void testNanoseconds() { // NOPMD (assert in superclass)
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(CachedSystemTimer.CONFIG_UNIT, "0");
+		final CachedSystemTimer ts = new CachedSystemTimer(configuration);
+		super.testTime(ts, TimeUnit.NANOSECONDS);
+		ts.close();
+	}
+
+	/**
+	 * This method tests the {@link CachedSystemTimer} with microseconds as time unit.
+	 */
+	@Test
+	public final void testMicroseconds() { // NOPMD (assert in superclass)
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(CachedSystemTimer.CONFIG_UNIT, "1");
+		final CachedSystemTimer ts = new CachedSystemTimer(configuration);
+		super.testTime(ts, TimeUnit.MICROSECONDS);
+		ts.close();
+	}
+
+	/**
+	 * This method tests the {@link CachedSystemTimer} with milliseconds as time unit.
+	 */
+	@Test
+	public final void testMilliseconds() { // NOPMD (assert in superclass)
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(CachedSystemTimer.CONFIG_UNIT, "2");
+		final CachedSystemTimer ts = new CachedSystemTimer(configuration);
+		super.testTime(ts, TimeUnit.MILLISECONDS);
+		ts.close();
+	}
+
+	/**
+	 * This method tests the {@link CachedSystemTimer} with seconds as time unit.
+	 */
+	@Test
+	public final void testSeconds() { // NOPMD (assert in superclass)
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(CachedSystemTimer.CONFIG_UNIT, "3");
+		final CachedSystemTimer ts = new CachedSystemTimer(configuration);
+		super.testTime(ts, TimeUnit.SECONDS);
+		ts.close();
+	}
+
+	/**
+	 * This method tests that the {@link CachedSystemTimer} advances and that the hybrid mode measures durations within a single tick.
+	 * 
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public final void testHybridMode() throws InterruptedException {
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(CachedSystemTimer.CONFIG_RESOLUTION, "1000000"); // a single tick for the whole test
+		configuration.setProperty(CachedSystemTimer.CONFIG_HYBRID, "false");
+		final CachedSystemTimer coarseTimer = new CachedSystemTimer(configuration);
+		configuration.setProperty(CachedSystemTimer.CONFIG_HYBRID, "true");
+		final CachedSystemTimer hybridTimer = new CachedSystemTimer(configuration);
+		Thread.sleep(100); // wait for the first tick of the ticker threads
+
+		final long coarseBefore = coarseTimer.getTime();
+		final long hybridBefore = hybridTimer.getTime();
+		Thread.sleep(10);
+		final long coarseAfter = coarseTimer.getTime();
+		final long hybridAfter = hybridTimer.getTime();
+
+		Assert.assertEquals("Coarse timestamps within a tick should be equal", coarseBefore, coarseAfter);
+		Assert.assertTrue("Hybrid timestamps should measure the duration", (hybridAfter - hybridBefore) >= TimeUnit.MILLISECONDS.toNanos(10));
+		Assert.assertTrue("Hybrid timestamps have to be monotonic", hybridTimer.getTime() >= hybridAfter);
+		coarseTimer.close();
+		hybridTimer.close();
+	}
+}
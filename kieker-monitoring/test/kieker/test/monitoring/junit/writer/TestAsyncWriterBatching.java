@@ -0,0 +1,151 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.monitoring.junit.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.misc.EmptyRecord;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.writer.AbstractAsyncThread;
+import kieker.monitoring.writer.AbstractAsyncWriter;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the batch consumption of the {@link AbstractAsyncThread}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestAsyncWriterBatching extends AbstractKiekerTest {
+
+	private static final int NUMBER_OF_RECORDS = 1000;
+	private static final int MAX_BATCH_SIZE = 64;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestAsyncWriterBatching() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests that all records are consumed in batches not exceeding the configured batch size, for both queue implementations.
+	 *
+	 * @throws Exception
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testAllRecordsConsumedInBatches() throws Exception {
+		this.testBatching("0");
+		this.testBatching("1");
+	}
+
+	private void testBatching(final String queueType) throws Exception {
+		final String prefix = BatchRecordingWriter.class.getName() + ".";
+		final Configuration configuration = new Configuration();
+		configuration.setProperty(prefix + AbstractAsyncWriter.CONFIG_QUEUETYPE, queueType);
+		configuration.setProperty(prefix + AbstractAsyncWriter.CONFIG_QUEUESIZE, Integer.toString(NUMBER_OF_RECORDS));
+		configuration.setProperty(prefix + AbstractAsyncWriter.CONFIG_MAXBATCHSIZE, Integer.toString(MAX_BATCH_SIZE));
+		configuration.setProperty(prefix + AbstractAsyncWriter.CONFIG_MAXBATCHLATENCY, "50");
+		final BatchRecordingWriter writer = new BatchRecordingWriter(configuration);
+		writer.setController(null);
+
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+			Assert.assertTrue(writer.newMonitoringRecord(new EmptyRecord()));
+		}
+		writer.terminate();
+		Assert.assertEquals("Unexpected number of written records", NUMBER_OF_RECORDS, writer.getNumberOfWrittenRecords());
+		Assert.assertEquals("Unexpected number of dropped records", 0L, writer.getNumberOfDroppedRecords());
+
+		int consumed = 0;
+		for (final Integer batchSize : writer.getBatchSizes()) {
+			Assert.assertTrue("Batch exceeds the maximal batch size", batchSize <= MAX_BATCH_SIZE);
+			consumed += batchSize;
+		}
+		Assert.assertEquals("Unexpected number of consumed records", NUMBER_OF_RECORDS, consumed);
+		Assert.assertTrue("Records have not been consumed in batches", writer.getBatchSizes().size() < NUMBER_OF_RECORDS);
+	}
+
+	/**
+	 * A writer recording the size of each consumed batch.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class BatchRecordingWriter extends AbstractAsyncWriter {
+
+		private final List<Integer> batchSizes = new ArrayList<Integer>();
+
+		public BatchRecordingWriter(final Configuration configuration) {
+			super(configuration);
+		}
+
+		@Override
+		protected void init() throws Exception {
+			this.addWorker(new BatchRecordingThread(this.monitoringController, this.blockingQueue, this.batchSizes));
+		}
+
+		public List<Integer> getBatchSizes() {
+			synchronized (this.batchSizes) {
+				return new ArrayList<Integer>(this.batchSizes);
+			}
+		}
+	}
+
+	/**
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class BatchRecordingThread extends AbstractAsyncThread {
+
+		private final List<Integer> batchSizes;
+
+		public BatchRecordingThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
+				final List<Integer> batchSizes) {
+			super(monitoringController, writeQueue);
+			this.batchSizes = batchSizes;
+		}
+
+		@Override
+		protected void consume(final IMonitoringRecord monitoringRecord) throws Exception {
+			Assert.fail("Records should be consumed in batches");
+		}
+
+		@Override
+		protected void consume(final List<IMonitoringRecord> monitoringRecords) throws Exception {
+			synchronized (this.batchSizes) {
+				this.batchSizes.add(monitoringRecords.size());
+			}
+		}
+
+		@Override
+		protected void cleanup() {
+			// nothing to do
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.monitoring.junit.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.misc.RegistryRecord;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.writer.AbstractAsyncThread;
+import kieker.monitoring.writer.AbstractAsyncWriter;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the overflow of the prioritized queue of the {@link AbstractAsyncWriter}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestAsyncWriterRegistryOverflow extends AbstractKiekerTest {
+
+	private static final int NUMBER_OF_RECORDS = 50;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestAsyncWriterRegistryOverflow() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests that registry records exceeding the prioritized queue are neither dropped nor reordered, while the registering thread is not blocked.
+	 *
+	 * @throws Exception
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testOverflowingRegistryRecordsKeepTheirOrder() throws Exception {
+		final String prefix = RegistryRecordingWriter.class.getName() + ".";
+		final Configuration configuration = new Configuration();
+		configuration.setProperty(prefix + AbstractAsyncWriter.CONFIG_PRIORITIZED_QUEUESIZE, "1");
+		configuration.setProperty(prefix + AbstractAsyncWriter.CONFIG_PRIORITIZED_OVERFLOWSIZE, Integer.toString(NUMBER_OF_RECORDS));
+		final RegistryRecordingWriter writer = new RegistryRecordingWriter(configuration);
+		writer.setController(null);
+
+		// the worker is blocked, hence all records but the first two (one taken by the worker, one in the queue) overflow
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+			Assert.assertTrue(writer.newMonitoringRecordNonBlocking(new RegistryRecord(i, "string" + i)));
+		}
+		Assert.assertTrue("Too few overflowing records", writer.getNumberOfRegistryOverflows() >= (NUMBER_OF_RECORDS - 2));
+
+		writer.getWorkerLatch().countDown();
+		writer.terminate();
+
+		final List<Integer> ids = writer.getIds();
+		Assert.assertEquals("Unexpected number of registry records", NUMBER_OF_RECORDS, ids.size());
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+			Assert.assertEquals("Registry records reordered", Integer.valueOf(i), ids.get(i));
+		}
+	}
+
+	/**
+	 * A writer recording the ids of the consumed registry records. Its worker is blocked until the latch is released.
+	 *
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class RegistryRecordingWriter extends AbstractAsyncWriter {
+
+		private final List<Integer> ids = new ArrayList<Integer>();
+		private final CountDownLatch workerLatch = new CountDownLatch(1);
+
+		public RegistryRecordingWriter(final Configuration configuration) {
+			super(configuration);
+		}
+
+		@Override
+		protected void init() throws Exception {
+			this.addWorker(new RegistryRecordingThread(this.monitoringController, this.prioritizedBlockingQueue, this.ids, this.workerLatch));
+		}
+
+		public CountDownLatch getWorkerLatch() {
+			return this.workerLatch;
+		}
+
+		public List<Integer> getIds() {
+			synchronized (this.ids) {
+				return new ArrayList<Integer>(this.ids);
+			}
+		}
+	}
+
+	/**
+	 * @author Kieker Team
+	 *
+	 * @since 1.13
+	 */
+	private static final class RegistryRecordingThread extends AbstractAsyncThread {
+
+		private final List<Integer> ids;
+		private final CountDownLatch latch;
+
+		public RegistryRecordingThread(final IMonitoringController monitoringController, final BlockingQueue<IMonitoringRecord> writeQueue,
+				final List<Integer> ids, final CountDownLatch latch) {
+			super(monitoringController, writeQueue);
+			this.ids = ids;
+			this.latch = latch;
+		}
+
+		@Override
+		protected void consume(final IMonitoringRecord monitoringRecord) throws Exception {
+			this.latch.await();
+			synchronized (this.ids) {
+				this.ids.add(((RegistryRecord) monitoringRecord).getId());
+			}
+		}
+
+		@Override
+		protected void cleanup() {
+			// nothing to do
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.test.monitoring.junit.writer.aggregation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.BranchingRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.common.record.controlflow.OperationExecutionSummaryRecord;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.writer.aggregation.OperationExecutionAggregationWriter;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+import kieker.test.monitoring.util.NamedListWriter;
+
+/**
+ * Tests the {@link OperationExecutionAggregationWriter}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestOperationExecutionAggregationWriter extends AbstractKiekerTest {
+
+	private static final String PREFIX = OperationExecutionAggregationWriter.class.getName() + ".";
+	private static final String OPERATION = "public void package.Class.operation()";
+	private static final int NUMBER_OF_THREADS = 4;
+	private static final int MAX_RESPONSE_TIME = 1000;
+
+	/**
+	 * Default constructor.
+	 */
+	public TestOperationExecutionAggregationWriter() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests that the records of several threads are summarized per hostname and operation signature, while other records are passed through.
+	 *
+	 * @throws InterruptedException
+	 *             If the test is interrupted.
+	 */
+	@Test
+	public void testSummariesOfSeveralThreads() throws InterruptedException {
+		final String listName = TestOperationExecutionAggregationWriter.class.getName();
+		final Configuration config = ConfigurationFactory.createDefaultConfiguration();
+		config.setProperty(ConfigurationFactory.METADATA, "false");
+		config.setProperty(ConfigurationFactory.WRITER_CLASSNAME, OperationExecutionAggregationWriter.class.getName());
+		config.setProperty(PREFIX + OperationExecutionAggregationWriter.CONFIG_WRITER, NamedListWriter.class.getName());
+		config.setProperty(PREFIX + OperationExecutionAggregationWriter.CONFIG_PERIOD, "3600000"); // only summarized on termination
+		config.setProperty(PREFIX + NamedListWriter.CONFIG_PROPERTY_NAME_LIST_NAME, listName);
+		final IMonitoringController monitoringController = MonitoringController.createInstance(config);
+
+		final List<Thread> threads = new ArrayList<Thread>(NUMBER_OF_THREADS);
+		for (int t = 0; t < NUMBER_OF_THREADS; t++) {
+			final String hostname = "host" + (t % 2);
+			threads.add(new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int responseTime = 1; responseTime <= MAX_RESPONSE_TIME; responseTime++) {
+						monitoringController.newMonitoringRecord(new OperationExecutionRecord(OPERATION, "session", 1L, 0L, responseTime, hostname, 0, 0));
+					}
+				}
+			}));
+		}
+		for (final Thread thread : threads) {
+			thread.start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+		monitoringController.newMonitoringRecord(new BranchingRecord(1L, 2, 3));
+		monitoringController.terminateMonitoring();
+
+		final List<IMonitoringRecord> records = NamedListWriter.getNamedList(listName);
+		final List<OperationExecutionSummaryRecord> summaries = new ArrayList<OperationExecutionSummaryRecord>();
+		int numberOfBranchingRecords = 0;
+		synchronized (records) {
+			for (final IMonitoringRecord record : records) {
+				Assert.assertFalse("Aggregated record passed through", record instanceof OperationExecutionRecord);
+				if (record instanceof OperationExecutionSummaryRecord) {
+					summaries.add((OperationExecutionSummaryRecord) record);
+				} else if (record instanceof BranchingRecord) {
+					numberOfBranchingRecords++;
+				}
+			}
+		}
+		Assert.assertEquals("Unexpected number of passed through records", 1, numberOfBranchingRecords);
+		Assert.assertEquals("Unexpected number of summaries", 2, summaries.size());
+		for (final OperationExecutionSummaryRecord summary : summaries) {
+			Assert.assertTrue("Unexpected hostname", "host0".equals(summary.getHostname()) || "host1".equals(summary.getHostname()));
+			Assert.assertEquals("Unexpected operation", OPERATION, summary.getOperationSignature());
+			Assert.assertEquals("Unexpected count", (NUMBER_OF_THREADS / 2) * MAX_RESPONSE_TIME, summary.getCount());
+			Assert.assertEquals("Unexpected minimum", 1, summary.getMinResponseTime());
+			Assert.assertEquals("Unexpected maximum", MAX_RESPONSE_TIME, summary.getMaxResponseTime());
+			Assert.assertEquals("Unexpected sum", (NUMBER_OF_THREADS / 2) * ((MAX_RESPONSE_TIME * (MAX_RESPONSE_TIME + 1L)) / 2), summary.getSumResponseTime());
+			// the histogram has a relative error of at most 1/8
+			TestOperationExecutionAggregationWriter.assertApproximately("median", 500, summary.getMedianResponseTime());
+			TestOperationExecutionAggregationWriter.assertApproximately("90th percentile", 900, summary.getP90ResponseTime());
+			TestOperationExecutionAggregationWriter.assertApproximately("99th percentile", 990, summary.getP99ResponseTime());
+		}
+	}
+
+	private static void assertApproximately(final String name, final long expected, final long actual) {
+		Assert.assertTrue("Unexpected " + name + ": " + actual, (actual >= expected) && (actual <= (expected + (expected / 8))));
+	}
+}
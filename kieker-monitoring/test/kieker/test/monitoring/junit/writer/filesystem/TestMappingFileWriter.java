@@ -0,0 +1,85 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.test.monitoring.junit.writer.filesystem;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import kieker.common.record.misc.RegistryRecord;
+import kieker.common.util.filesystem.FSUtil;
+import kieker.monitoring.writer.filesystem.map.MappingFileWriter;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests the flush points of the {@link MappingFileWriter}.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class TestMappingFileWriter extends AbstractKiekerTest {
+
+	private static final long NO_FLUSH_INTERVAL = 3600000;
+
+	/** A rule making sure that a temporary folder exists for every test method (which is removed after the test). */
+	@Rule
+	public final TemporaryFolder tmpFolder = new TemporaryFolder(); // NOCS (Rule has to be public)
+
+	/**
+	 * Default constructor.
+	 */
+	public TestMappingFileWriter() {
+		// empty default constructor
+	}
+
+	/**
+	 * Tests that the mappings are buffered until the configured number of mappings is reached or until they are flushed explicitly.
+	 *
+	 * @throws IOException
+	 *             If something went wrong while writing the mapping file.
+	 */
+	@Test
+	public void testFlushPoints() throws IOException {
+		final File folder = this.tmpFolder.getRoot();
+		final File mappingFile = new File(folder, FSUtil.MAP_FILENAME);
+		final MappingFileWriter writer = new MappingFileWriter(folder.getAbsolutePath(), 3, NO_FLUSH_INTERVAL);
+
+		writer.write(new RegistryRecord(0, "a"));
+		writer.write(new RegistryRecord(1, "b"));
+		Assert.assertEquals("Mappings not buffered", 0, mappingFile.length());
+		writer.write(new RegistryRecord(2, "c"));
+		Assert.assertEquals("Mappings not flushed after the configured number of entries", "$0=a\n$1=b\n$2=c\n".length(), mappingFile.length());
+
+		writer.write(new RegistryRecord(3, "d"));
+		writer.flushIfDue();
+		Assert.assertEquals("Mappings flushed before the interval has elapsed", "$0=a\n$1=b\n$2=c\n".length(), mappingFile.length());
+		writer.flush();
+		Assert.assertEquals("Mappings not flushed explicitly", "$0=a\n$1=b\n$2=c\n$3=d\n".length(), mappingFile.length());
+
+		writer.close();
+		writer.write(new RegistryRecord(4, "e"));
+		writer.close();
+		Assert.assertEquals("Mappings not appended after reopening", "$0=a\n$1=b\n$2=c\n$3=d\n$4=e\n".length(), mappingFile.length());
+	}
+}
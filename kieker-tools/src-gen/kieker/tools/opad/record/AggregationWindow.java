@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -130,6 +131,15 @@ public class AggregationWindow extends AbstractMonitoringRecord implements IMoni
 		buffer.putLong(this.getWindowEnd());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getWindowStart());
+		serializer.putLong(this.getWindowEnd());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -20,6 +20,7 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -151,6 +152,19 @@ public class ExtendedStorableDetectionResult extends StorableDetectionResult  {
 		buffer.putDouble(this.getAnomalyThreshold());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putString(this.getApplicationName());
+		serializer.putDouble(this.getValue());
+		serializer.putLong(this.getTimestamp());
+		serializer.putDouble(this.getForecast());
+		serializer.putDouble(this.getScore());
+		serializer.putDouble(this.getAnomalyThreshold());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -143,6 +144,16 @@ public class NamedDoubleRecord extends AbstractMonitoringRecord implements IMoni
 		buffer.putDouble(this.getResponseTime());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putString(this.getApplicationName());
+		serializer.putLong(this.getTimestamp());
+		serializer.putDouble(this.getResponseTime());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
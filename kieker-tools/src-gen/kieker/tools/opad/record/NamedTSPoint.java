@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -143,6 +144,16 @@ public class NamedTSPoint extends AbstractMonitoringRecord implements IMonitorin
 		buffer.putInt(stringRegistry.get(this.getName()));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putLong(this.getTimestamp());
+		serializer.putDouble(this.getValue());
+		serializer.putString(this.getName());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 
 import kieker.common.record.AbstractMonitoringRecord;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 import kieker.common.util.Version;
 
@@ -165,6 +166,18 @@ public class StorableDetectionResult extends AbstractMonitoringRecord implements
 		buffer.putDouble(this.getScore());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		serializer.putString(this.getApplicationName());
+		serializer.putDouble(this.getValue());
+		serializer.putLong(this.getTimestamp());
+		serializer.putDouble(this.getForecast());
+		serializer.putDouble(this.getScore());
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -25,6 +25,7 @@ import java.util.concurrent.ConcurrentMap;
 import kieker.common.logging.Log;
 import kieker.common.logging.LogFactory;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.compact.CompactEncoding;
 import kieker.tools.bridge.LookupEntity;
 import kieker.tools.bridge.connector.ConnectorDataTransmissionException;
 import kieker.tools.bridge.connector.ConnectorEndOfDataException;
@@ -112,6 +113,10 @@ public class TCPMultiServerConnectionRunnable implements Runnable {
 	private IMonitoringRecord deserialize(final DataInputStream in) throws ConnectorDataTransmissionException, ConnectorEndOfDataException {
 		try {
 			final Integer id = in.readInt();
+			if (id == CompactEncoding.MAGIC) {
+				// the compact encoding refers to a string registry, which is not part of the bridge protocol
+				throw new IOException("The compact encoding of the TCPWriter is not supported by the bridge.");
+			}
 			final LookupEntity recordProperty = this.lookupEntityMap.get(id);
 			if (recordProperty != null) {
 				final Object[] values = new Object[recordProperty.getParameterTypes().length];
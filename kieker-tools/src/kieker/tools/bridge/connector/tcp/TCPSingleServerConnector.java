@@ -24,6 +24,7 @@ import java.util.concurrent.ConcurrentMap;
 
 import kieker.common.configuration.Configuration;
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.compact.CompactEncoding;
 import kieker.tools.bridge.LookupEntity;
 import kieker.tools.bridge.connector.AbstractConnector;
 import kieker.tools.bridge.connector.ConnectorDataTransmissionException;
@@ -126,6 +127,10 @@ public class TCPSingleServerConnector extends AbstractConnector {
 		// read structure ID
 		try {
 			final Integer id = this.in.readInt();
+			if (id == CompactEncoding.MAGIC) {
+				// the compact encoding refers to a string registry, which is not part of the bridge protocol
+				throw new ConnectorDataTransmissionException("The compact encoding of the TCPWriter is not supported by the bridge.");
+			}
 			final LookupEntity recordProperty = this.lookupEntityMap.get(id);
 			if (recordProperty != null) {
 				final Object[] values = new Object[recordProperty.getParameterTypes().length];
@@ -0,0 +1,93 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.test.tools.junit.writeRead.filesystem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.monitoring.writer.IMonitoringWriter;
+import kieker.monitoring.writer.filesystem.AsyncBinaryNFsWriter;
+
+/**
+ * Removes the mapping of a string used by a single record from the mapping file of a compactly encoded log. Only this record must be affected: the string
+ * is read as an empty string, and the following records of the file are still read correctly.
+ * 
+ * @author Kieker Team
+ * 
+ * @since 1.13
+ */
+public class CompactUnmappedStringTest extends AbstractTestFSWriterReader { // NOPMD (TestClassWithoutTestCases) // NOCS (MissingCtorCheck)
+
+	private static final String UNMAPPED_OPERATION = "unmapped.operation()";
+	private static final int NUMBER_OF_RECORDS = 10;
+	private static final int UNMAPPED_RECORD_INDEX = 3;
+
+	@Override
+	protected List<IMonitoringRecord> provideEvents() {
+		final List<IMonitoringRecord> events = new ArrayList<IMonitoringRecord>(NUMBER_OF_RECORDS);
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+			events.add(this.createRecord((i == UNMAPPED_RECORD_INDEX) ? UNMAPPED_OPERATION : "mapped.operation()", i)); // NOCS (inline cond)
+		}
+		return events;
+	}
+
+	private OperationExecutionRecord createRecord(final String operationSignature, final int index) {
+		// increasing values, since the compact encoding stores the differences to the previous record
+		return new OperationExecutionRecord(operationSignature, "session", 1000L + index, 2000L + (3 * index), 2001L + (3 * index), "host", index, index % 3);
+	}
+
+	@Override
+	protected Class<? extends IMonitoringWriter> getTestedWriterClazz() {
+		return AsyncBinaryNFsWriter.class;
+	}
+
+	@Override
+	protected void refineWriterConfiguration(final Configuration config, final int numRecordsWritten) {
+		config.setProperty(AsyncBinaryNFsWriter.CONFIG_COMPACT, "true");
+	}
+
+	@Override
+	protected boolean terminateBeforeLogInspection() {
+		return true; // because the AsyncBinaryFsWriter does not flush
+	}
+
+	@Override
+	protected void doSomethingBeforeReading(final String[] monitoringLogs) throws IOException {
+		this.replaceStringInMapFiles(monitoringLogs, "\\$\\d+=" + UNMAPPED_OPERATION.replace(".", "\\.").replace("(", "\\(").replace(")", "\\)") + "\n", "");
+	}
+
+	@Override
+	protected void refineFSReaderConfiguration(final Configuration config) {
+		// no need to refine
+	}
+
+	@Override
+	protected void inspectRecords(final List<IMonitoringRecord> eventsPassedToController, final List<IMonitoringRecord> eventFromMonitoringLog) {
+		final List<IMonitoringRecord> expectedEvents = new ArrayList<IMonitoringRecord>(eventsPassedToController);
+		final IMonitoringRecord unmappedRecord = this.createRecord("", UNMAPPED_RECORD_INDEX);
+		unmappedRecord.setLoggingTimestamp(eventsPassedToController.get(UNMAPPED_RECORD_INDEX).getLoggingTimestamp());
+		expectedEvents.set(UNMAPPED_RECORD_INDEX, unmappedRecord);
+		Assert.assertEquals("Unexpected set of records", expectedEvents, eventFromMonitoringLog);
+	}
+}
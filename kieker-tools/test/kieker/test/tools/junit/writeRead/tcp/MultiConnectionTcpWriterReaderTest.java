@@ -0,0 +1,190 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+package kieker.test.tools.junit.writeRead.tcp;
+
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.analysis.AnalysisController;
+import kieker.analysis.AnalysisControllerThread;
+import kieker.analysis.plugin.filter.forward.ListCollectionFilter;
+import kieker.analysis.plugin.reader.tcp.MultiConnectionTcpReader;
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.writer.AbstractAsyncWriter;
+import kieker.monitoring.writer.tcp.TCPWriter;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests that the {@link MultiConnectionTcpReader} receives the records of several {@link TCPWriter}s at once, each of them having its own string registry.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class MultiConnectionTcpWriterReaderTest extends AbstractKiekerTest {
+
+	private static final String PORT1 = "10433";
+	private static final String PORT2 = "10434";
+	private static final String PORT3 = "10435";
+	private static final String PORT4 = "10436";
+
+	private static final int NUMBER_OF_WRITERS = 3;
+	private static final int RECORDS_PER_WRITER = 2000;
+	private static final long TIMEOUT_MILLIS = 30000;
+	private static final int READ_TIMEOUT_MILLIS = 10000;
+
+	/**
+	 * Default constructor.
+	 */
+	public MultiConnectionTcpWriterReaderTest() {
+		// empty default constructor
+	}
+
+	/**
+	 * Writes records with different strings from several monitoring controllers and checks that each writer's records are received completely and in order.
+	 *
+	 * @throws Exception
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testRecordsOfAllWritersReceived() throws Exception {
+		final AnalysisController analysisController = new AnalysisController();
+		final Configuration readerConfig = new Configuration();
+		readerConfig.setProperty(MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_PORT1, PORT1);
+		readerConfig.setProperty(MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_PORT2, PORT2);
+		readerConfig.setProperty(MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_MAX_RECORDS_PER_ROUND, "16");
+		final MultiConnectionTcpReader tcpReader = new MultiConnectionTcpReader(readerConfig, analysisController);
+		final ListCollectionFilter<IMonitoringRecord> sinkFilter = new ListCollectionFilter<IMonitoringRecord>(new Configuration(), analysisController);
+		analysisController.connect(tcpReader, MultiConnectionTcpReader.OUTPUT_PORT_NAME_RECORDS, sinkFilter, ListCollectionFilter.INPUT_PORT_NAME);
+		final AnalysisControllerThread analysisThread = new AnalysisControllerThread(analysisController);
+		analysisThread.start();
+
+		Thread.sleep(1000);
+
+		final List<List<IMonitoringRecord>> recordsPerWriter = new ArrayList<List<IMonitoringRecord>>();
+		final List<IMonitoringController> monitoringControllers = new ArrayList<IMonitoringController>();
+		for (int w = 0; w < NUMBER_OF_WRITERS; w++) {
+			final Configuration monitoringConfig = ConfigurationFactory.createDefaultConfiguration();
+			monitoringConfig.setProperty(ConfigurationFactory.CONTROLLER_NAME, "writer" + w);
+			monitoringConfig.setProperty(ConfigurationFactory.WRITER_CLASSNAME, TCPWriter.class.getName());
+			monitoringConfig.setProperty(TCPWriter.CONFIG_PORT1, PORT1);
+			monitoringConfig.setProperty(TCPWriter.CONFIG_PORT2, PORT2);
+			monitoringConfig.setProperty(TCPWriter.class.getName() + "." + AbstractAsyncWriter.CONFIG_QUEUESIZE, Integer.toString(RECORDS_PER_WRITER));
+			monitoringConfig.setProperty(TCPWriter.class.getName() + "." + AbstractAsyncWriter.CONFIG_BEHAVIOR, "1");
+			monitoringControllers.add(MonitoringController.createInstance(monitoringConfig));
+			recordsPerWriter.add(new ArrayList<IMonitoringRecord>());
+		}
+
+		for (int i = 0; i < RECORDS_PER_WRITER; i++) {
+			for (int w = 0; w < NUMBER_OF_WRITERS; w++) {
+				// each writer uses its own strings, which are registered under the same ids in the different writers
+				final IMonitoringRecord record = new OperationExecutionRecord("writer" + w + ".operation" + (i % 7) + "()", "session" + w, i, i, i + 1,
+						"host" + w, i, i);
+				recordsPerWriter.get(w).add(record);
+				Assert.assertTrue(monitoringControllers.get(w).newMonitoringRecord(record));
+			}
+		}
+		for (final IMonitoringController monitoringController : monitoringControllers) {
+			monitoringController.terminateMonitoring();
+		}
+
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while ((sinkFilter.size() < (NUMBER_OF_WRITERS * RECORDS_PER_WRITER)) && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(50);
+		}
+		analysisController.terminate();
+		Assert.assertTrue("Analysis did not terminate", analysisThread.awaitTermination(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+		final List<List<IMonitoringRecord>> receivedPerWriter = new ArrayList<List<IMonitoringRecord>>();
+		for (int w = 0; w < NUMBER_OF_WRITERS; w++) {
+			receivedPerWriter.add(new ArrayList<IMonitoringRecord>());
+		}
+		for (final IMonitoringRecord record : sinkFilter.getList()) {
+			final String hostname = ((OperationExecutionRecord) record).getHostname();
+			receivedPerWriter.get(Integer.parseInt(hostname.substring("host".length()))).add(record);
+		}
+		for (int w = 0; w < NUMBER_OF_WRITERS; w++) {
+			Assert.assertEquals("Unexpected records of writer " + w, recordsPerWriter.get(w), receivedPerWriter.get(w));
+		}
+	}
+
+	/**
+	 * Opens two record connections from the same address before a string connection. Since it is unknown which record connection the string connection
+	 * belongs to, all of them have to be refused instead of being paired by guessing. Afterwards, a writer connecting alone is still served.
+	 *
+	 * @throws Exception
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testAmbiguousPairingRefused() throws Exception {
+		final AnalysisController analysisController = new AnalysisController();
+		final Configuration readerConfig = new Configuration();
+		readerConfig.setProperty(MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_PORT1, PORT3);
+		readerConfig.setProperty(MultiConnectionTcpReader.CONFIG_PROPERTY_NAME_PORT2, PORT4);
+		final MultiConnectionTcpReader tcpReader = new MultiConnectionTcpReader(readerConfig, analysisController);
+		final ListCollectionFilter<IMonitoringRecord> sinkFilter = new ListCollectionFilter<IMonitoringRecord>(new Configuration(), analysisController);
+		analysisController.connect(tcpReader, MultiConnectionTcpReader.OUTPUT_PORT_NAME_RECORDS, sinkFilter, ListCollectionFilter.INPUT_PORT_NAME);
+		final AnalysisControllerThread analysisThread = new AnalysisControllerThread(analysisController);
+		analysisThread.start();
+
+		Thread.sleep(1000);
+
+		final List<Socket> sockets = new ArrayList<Socket>();
+		try {
+			sockets.add(new Socket("localhost", Integer.parseInt(PORT3)));
+			sockets.add(new Socket("localhost", Integer.parseInt(PORT3)));
+			sockets.add(new Socket("localhost", Integer.parseInt(PORT4)));
+			for (final Socket socket : sockets) {
+				socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+				Assert.assertEquals("Connection not refused", -1, socket.getInputStream().read());
+			}
+		} finally {
+			for (final Socket socket : sockets) {
+				socket.close();
+			}
+		}
+
+		final Configuration monitoringConfig = ConfigurationFactory.createDefaultConfiguration();
+		monitoringConfig.setProperty(ConfigurationFactory.WRITER_CLASSNAME, TCPWriter.class.getName());
+		monitoringConfig.setProperty(TCPWriter.CONFIG_PORT1, PORT3);
+		monitoringConfig.setProperty(TCPWriter.CONFIG_PORT2, PORT4);
+		final IMonitoringController monitoringController = MonitoringController.createInstance(monitoringConfig);
+		final IMonitoringRecord record = new OperationExecutionRecord("operation()", "session", 1, 1, 2, "host", 0, 0);
+		Assert.assertTrue(monitoringController.newMonitoringRecord(record));
+		monitoringController.terminateMonitoring();
+
+		final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while ((sinkFilter.size() < 1) && (System.currentTimeMillis() < deadline)) {
+			Thread.sleep(50);
+		}
+		analysisController.terminate();
+		Assert.assertTrue("Analysis did not terminate", analysisThread.awaitTermination(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		Assert.assertEquals(Collections.singletonList(record), sinkFilter.getList());
+	}
+}
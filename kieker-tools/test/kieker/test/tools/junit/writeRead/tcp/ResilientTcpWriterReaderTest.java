@@ -0,0 +1,253 @@
+/***************************************************************************
+ * Copyright 2016 Kieker Project (http://kieker-monitoring.net)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ***************************************************************************/
+
+
+package kieker.test.tools.junit.writeRead.tcp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import kieker.analysis.plugin.reader.tcp.util.IRecordReceivedListener;
+import kieker.analysis.plugin.reader.tcp.util.SingleSocketRecordReader;
+import kieker.common.configuration.Configuration;
+import kieker.common.logging.Log;
+import kieker.common.logging.LogFactory;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.core.controller.MonitoringController;
+import kieker.monitoring.writer.AbstractAsyncWriter;
+import kieker.monitoring.writer.tcp.ResilientTcpWriter;
+
+import kieker.test.common.junit.AbstractKiekerTest;
+
+/**
+ * Tests that the {@link ResilientTcpWriter} keeps the records while the analysis side is not available and that it sends the registry records again after
+ * the analysis side has been restarted.
+ *
+ * @author Kieker Team
+ *
+ * @since 1.13
+ */
+public class ResilientTcpWriterReaderTest extends AbstractKiekerTest {
+
+	private static final Log LOG = LogFactory.getLog(ResilientTcpWriterReaderTest.class);
+
+	private static final int PORT = 10339;
+	private static final int STALLING_PORT = 10340;
+	private static final int NUMBER_OF_RECORDS = 500;
+	private static final long TIMEOUT_MILLIS = 30000;
+
+	/**
+	 * Default constructor.
+	 */
+	public ResilientTcpWriterReaderTest() {
+		// empty default constructor
+	}
+
+	/**
+	 * Writes records before the reader is started and after it has been replaced by a new reader.
+	 *
+	 * @throws Exception
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testReaderStartedLaterAndRestarted() throws Exception {
+		final Configuration monitoringConfig = ConfigurationFactory.createDefaultConfiguration();
+		monitoringConfig.setProperty(ConfigurationFactory.WRITER_CLASSNAME, ResilientTcpWriter.class.getName());
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_PORT, Integer.toString(PORT));
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_FLUSH_INTERVAL, "20");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_RECONNECT_INTERVAL, "20");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_MAX_RECONNECT_INTERVAL, "100");
+		final IMonitoringController monitoringController = MonitoringController.createInstance(monitoringConfig);
+
+		// no reader yet: the records are spilled
+		final List<IMonitoringRecord> recordsBeforeStart = this.writeRecords(monitoringController, "before");
+		Thread.sleep(200);
+		Assert.assertTrue(monitoringController.isMonitoringEnabled());
+
+		final Collector firstCollector = new Collector();
+		firstCollector.start();
+		Assert.assertEquals(recordsBeforeStart, firstCollector.awaitRecords(NUMBER_OF_RECORDS));
+
+		// restart the analysis side; the record sent meanwhile might be lost with the first reader
+		firstCollector.stop(monitoringController);
+		final Collector secondCollector = new Collector();
+		secondCollector.start();
+
+		// the same strings as before: the new reader only knows them if the registry records are sent again
+		final List<IMonitoringRecord> recordsAfterRestart = this.writeRecords(monitoringController, "before");
+		Assert.assertEquals(recordsAfterRestart, secondCollector.awaitRecords(NUMBER_OF_RECORDS));
+		Assert.assertTrue(monitoringController.isMonitoringEnabled());
+
+		monitoringController.terminateMonitoring();
+		secondCollector.join();
+	}
+
+	/**
+	 * Writes records while the hostname of the analysis side cannot be resolved, which must not terminate the monitoring.
+	 *
+	 * @throws Exception
+	 *             If something went wrong during the test.
+	 */
+	@Test
+	public void testUnresolvableHostname() throws Exception {
+		final Configuration monitoringConfig = ConfigurationFactory.createDefaultConfiguration();
+		monitoringConfig.setProperty(ConfigurationFactory.WRITER_CLASSNAME, ResilientTcpWriter.class.getName());
+		// the top-level domain "invalid" is reserved and never resolved (RFC 2606)
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_HOSTNAME, "collector.invalid");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_PORT, Integer.toString(PORT));
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_FLUSH_INTERVAL, "20");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_RECONNECT_INTERVAL, "20");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_MAX_RECONNECT_INTERVAL, "100");
+		final IMonitoringController monitoringController = MonitoringController.createInstance(monitoringConfig);
+
+		this.writeRecords(monitoringController, "unresolvable");
+		Thread.sleep(500);
+		this.writeRecords(monitoringController, "unresolvable");
+		Assert.assertTrue(monitoringController.isMonitoringEnabled());
+		Assert.assertFalse(monitoringController.isMonitoringTerminated());
+
+		monitoringController.terminateMonitoring();
+	}
+
+	/**
+	 * Writes records to an analysis side which accepts the connections but never reads. The writer must neither stall nor terminate the monitoring, but
+	 * reconnect after the write timeout.
+	 *
+	 * @throws Exception
+	 *             If something went wrong during the test.
+	 */
+	@Test(timeout = TIMEOUT_MILLIS)
+	public void testAnalysisSideNotReading() throws Exception {
+		final ServerSocket serverSocket = new ServerSocket();
+		serverSocket.setReceiveBufferSize(4096);
+		serverSocket.bind(new InetSocketAddress(STALLING_PORT));
+		final List<Socket> acceptedSockets = Collections.synchronizedList(new ArrayList<Socket>());
+		final Thread acceptThread = new Thread() {
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						acceptedSockets.add(serverSocket.accept()); // and never read
+					}
+				} catch (final IOException ex) { // NOPMD (EmptyCatchBlock)
+					// the server socket has been closed
+				}
+			}
+		};
+		acceptThread.start();
+
+		final String prefix = ResilientTcpWriter.class.getName() + ".";
+		final Configuration monitoringConfig = ConfigurationFactory.createDefaultConfiguration();
+		monitoringConfig.setProperty(ConfigurationFactory.WRITER_CLASSNAME, ResilientTcpWriter.class.getName());
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_PORT, Integer.toString(STALLING_PORT));
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_RECONNECT_INTERVAL, "20");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_MAX_RECONNECT_INTERVAL, "100");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_WRITE_TIMEOUT, "200");
+		monitoringConfig.setProperty(ResilientTcpWriter.CONFIG_SPILLSIZE, "65536");
+		// a stalled writer would block this thread
+		monitoringConfig.setProperty(prefix + AbstractAsyncWriter.CONFIG_QUEUESIZE, "100");
+		monitoringConfig.setProperty(prefix + AbstractAsyncWriter.CONFIG_BEHAVIOR, "1");
+		final IMonitoringController monitoringController = MonitoringController.createInstance(monitoringConfig);
+
+		try {
+			for (int i = 0; i < 200; i++) {
+				this.writeRecords(monitoringController, "notReading");
+			}
+			Assert.assertTrue(monitoringController.isMonitoringEnabled());
+			// the writer has given up the first connection due to the write timeout
+			Assert.assertTrue(acceptedSockets.size() > 1);
+		} finally {
+			monitoringController.terminateMonitoring();
+			serverSocket.close();
+			acceptThread.join();
+			synchronized (acceptedSockets) {
+				for (final Socket socket : acceptedSockets) {
+					socket.close();
+				}
+			}
+		}
+	}
+
+	private List<IMonitoringRecord> writeRecords(final IMonitoringController monitoringController, final String prefix) {
+		final List<IMonitoringRecord> records = new ArrayList<IMonitoringRecord>(NUMBER_OF_RECORDS);
+		for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+			final IMonitoringRecord record = new OperationExecutionRecord(prefix + ".operation" + (i % 7) + "()", "session", i, i, i + 1, "host", i, i);
+			records.add(record);
+			Assert.assertTrue(monitoringController.newMonitoringRecord(record));
+		}
+		return records;
+	}
+
+	/**
+	 * Stands for the analysis side: accepts a single connection and collects the received records.
+	 */
+	private static final class Collector implements IRecordReceivedListener {
+
+		private final List<IMonitoringRecord> records = Collections.synchronizedList(new ArrayList<IMonitoringRecord>());
+		private final SingleSocketRecordReader reader = new SingleSocketRecordReader(PORT, 65535, LOG, this);
+		private final Thread thread = new Thread(this.reader);
+
+		public Collector() {
+			// nothing to do
+		}
+
+		public void start() {
+			this.thread.start();
+		}
+
+		public void join() throws InterruptedException {
+			this.thread.join(TIMEOUT_MILLIS);
+			Assert.assertFalse("Reader did not terminate", this.thread.isAlive());
+		}
+
+		/**
+		 * Terminates the reader. Since the reader only notices the termination after its next read, a record is written to wake it up.
+		 */
+		public void stop(final IMonitoringController monitoringController) throws InterruptedException {
+			this.reader.terminate();
+			monitoringController.newMonitoringRecord(new OperationExecutionRecord("wakeUp()", "session", -1, -1, -1, "host", -1, -1));
+			this.join();
+		}
+
+		@Override
+		public void onRecordReceived(final IMonitoringRecord record) {
+			if (record instanceof OperationExecutionRecord) { // ignore the metadata record
+				this.records.add(record);
+			}
+		}
+
+		public List<IMonitoringRecord> awaitRecords(final int numRecords) throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+			while ((this.records.size() < numRecords) && (System.currentTimeMillis() < deadline)) {
+				Thread.sleep(20);
+			}
+			synchronized (this.records) {
+				return new ArrayList<IMonitoringRecord>(this.records);
+			}
+		}
+	}
+}
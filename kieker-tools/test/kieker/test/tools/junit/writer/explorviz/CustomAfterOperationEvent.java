@@ -21,6 +21,7 @@ import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 
 import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.io.IValueSerializer;
 import kieker.common.util.registry.IRegistry;
 
 /**
@@ -77,6 +78,11 @@ public class CustomAfterOperationEvent implements IMonitoringRecord {
 		// No code necessary
 	}
 
+	@Override
+	public void serialize(final IValueSerializer serializer) {
+		// No code necessary
+	}
+
 	@Override
 	public void initFromBytes(final ByteBuffer buffer, final IRegistry<String> stringRegistry) throws BufferUnderflowException {
 		// No code necessary